@@ -3,14 +3,35 @@ package com.worldsmanager;
 import com.worldsmanager.commands.WorldsAdminCommand;
 import com.worldsmanager.commands.WorldsCommand;
 import com.worldsmanager.gui.WorldCreateGUI;
+import com.worldsmanager.listeners.EntityLimitListener;
+import com.worldsmanager.listeners.LagMachineListener;
 import com.worldsmanager.listeners.MenuClickListener;
+import com.worldsmanager.listeners.WorldFlagListener;
+import com.worldsmanager.listeners.WorldProtectionListener;
 import com.worldsmanager.listeners.WorldsListener;
 import com.worldsmanager.listeners.WorldsMessageListener;
 import com.worldsmanager.managers.ConfigManager;
 import com.worldsmanager.managers.DatabaseManager;
 import com.worldsmanager.managers.LanguageManager;
+import com.worldsmanager.managers.MemoryGovernor;
 import com.worldsmanager.managers.MessagingManager;
+import com.worldsmanager.managers.ResourceProfileManager;
+import com.worldsmanager.managers.ServerHeartbeatManager;
+import com.worldsmanager.managers.SnapshotManager;
+import com.worldsmanager.managers.WorldFilePrefetcher;
+import com.worldsmanager.managers.WorldLeaseManager;
+import com.worldsmanager.managers.WorldLoadScheduler;
 import com.worldsmanager.managers.WorldManager;
+import com.worldsmanager.managers.WorldMigrationManager;
+import com.worldsmanager.managers.WorldPlacementManager;
+import com.worldsmanager.managers.WorldPreloader;
+import com.worldsmanager.managers.WorldProfiler;
+import com.worldsmanager.managers.WorldQuiescenceManager;
+import com.worldsmanager.managers.WorldRegistryManager;
+import com.worldsmanager.managers.WorldThrottleManager;
+import com.worldsmanager.managers.WorldTransferManager;
+import com.worldsmanager.messaging.MessageOutbox;
+import com.worldsmanager.messaging.OutboundDispatcher;
 import com.worldsmanager.models.CustomWorld;
 import com.worldsmanager.utils.WorldCreationUtils;
 import org.bukkit.Bukkit;
@@ -36,12 +57,32 @@ public class WorldsManager extends JavaPlugin {
     private LanguageManager languageManager;
     private DatabaseManager databaseManager;
     private MessagingManager messagingManager; // Movido antes de worldManager
+    private OutboundDispatcher outboundDispatcher;
+    private MessageOutbox messageOutbox;
+    private WorldPlacementManager worldPlacementManager;
+    private ServerHeartbeatManager serverHeartbeatManager;
+    private WorldMigrationManager worldMigrationManager;
+    private WorldRegistryManager worldRegistryManager;
+    private WorldLeaseManager worldLeaseManager;
+    private MemoryGovernor memoryGovernor;
+    private WorldLoadScheduler worldLoadScheduler;
+    private WorldFilePrefetcher worldFilePrefetcher;
+    private ResourceProfileManager resourceProfileManager;
     private WorldManager worldManager;
+    private SnapshotManager snapshotManager;
+    private WorldTransferManager worldTransferManager;
+    private WorldProfiler worldProfiler;
+    private WorldThrottleManager worldThrottleManager;
+    private WorldQuiescenceManager worldQuiescenceManager;
+    private WorldPreloader worldPreloader;
 
     // Listeners
     private MenuClickListener menuClickListener;
     private WorldsListener worldsListener;
     private WorldsMessageListener worldsMessageListener;
+    private EntityLimitListener entityLimitListener;
+    private WorldProtectionListener worldProtectionListener;
+    private LagMachineListener lagMachineListener;
 
     // Executores de comando
     private WorldsCommand worldsCommand;
@@ -102,16 +143,48 @@ public class WorldsManager extends JavaPlugin {
 
             // Registra comunicação entre servidores
             setupCrossServerCommunication();
+            outboundDispatcher.start();
+            messageOutbox.start();
+            serverHeartbeatManager.start();
 
             // Registra listeners
             registerListeners();
 
+            // Descarta os leases de mundos da execução anterior antes de qualquer carregamento
+            worldLeaseManager.start();
+
+            // Inicia o controle de memória e a fila de carregamento de mundos
+            memoryGovernor.start();
+            worldLoadScheduler.start();
+
             // Carrega todos os mundos do banco de dados
             loadWorlds();
 
+            // Retoma ou desfaz migrações interrompidas
+            worldMigrationManager.start();
+
             // Configurar integração com Multiverse se disponível
             setupMultiverseHook();
 
+            // Agenda snapshots automáticos dos mundos
+            snapshotManager.start();
+
+            // Inicia a varredura do limite de entidades por chunk
+            entityLimitListener.start();
+
+            // Inicia a detecção de máquinas de lag
+            lagMachineListener.start();
+
+            // Inicia a amostragem de custo dos mundos
+            worldProfiler.start();
+            worldThrottleManager.start();
+
+            // Coloca mundos vazios em repouso
+            worldQuiescenceManager.start();
+
+            // Pré-carrega os mundos mais prováveis de receber visitas
+            worldPreloader.start();
+
             getLogger().info("=======================");
             getLogger().info("WorldsManager Ativado!");
             getLogger().info("Versão: " + getDescription().getVersion());
@@ -168,12 +241,87 @@ public class WorldsManager extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (serverHeartbeatManager != null) {
+            serverHeartbeatManager.shutdown();
+        }
+        if (worldMigrationManager != null) {
+            worldMigrationManager.shutdown();
+        }
+
+        // Envia as mensagens ainda pendentes antes de desregistrar os canais
+        if (messageOutbox != null) {
+            messageOutbox.shutdown();
+        }
+        if (outboundDispatcher != null) {
+            outboundDispatcher.shutdown();
+        }
+
         // Desregistra canais de plugin messaging
         if (getServer() != null && getServer().getMessenger() != null) {
             getServer().getMessenger().unregisterOutgoingPluginChannel(this);
             getServer().getMessenger().unregisterIncomingPluginChannel(this);
         }
 
+        // Salva a popularidade dos mundos
+        if (worldPreloader != null) {
+            worldPreloader.shutdown(false);
+        }
+
+        // Restaura os mundos em repouso antes de salvá-los
+        if (worldQuiescenceManager != null) {
+            worldQuiescenceManager.shutdown();
+        }
+
+        // Remove limitações automáticas dos mundos
+        if (worldThrottleManager != null) {
+            worldThrottleManager.shutdown();
+        }
+
+        // Interrompe o profiler de mundos
+        if (worldProfiler != null) {
+            worldProfiler.shutdown();
+        }
+
+        // Interrompe o detector de máquinas de lag
+        if (lagMachineListener != null) {
+            lagMachineListener.shutdown();
+        }
+
+        // Interrompe a varredura de entidades
+        if (entityLimitListener != null) {
+            entityLimitListener.shutdown();
+        }
+
+        // Interrompe snapshots agendados
+        if (snapshotManager != null) {
+            snapshotManager.shutdown();
+        }
+
+        // Interrompe exportações e importações pendentes
+        if (worldTransferManager != null) {
+            worldTransferManager.shutdown();
+        }
+
+        // Cancela carregamentos de mundo pendentes
+        if (worldLoadScheduler != null) {
+            worldLoadScheduler.shutdown();
+        }
+
+        // Encerra a thread de pré-leitura de arquivos
+        if (worldFilePrefetcher != null) {
+            worldFilePrefetcher.shutdown();
+        }
+
+        // Remove o listener de notificações de memória
+        if (memoryGovernor != null) {
+            memoryGovernor.shutdown();
+        }
+
+        // Encurta os leases dos mundos; o servidor ainda salva os mundos depois do plugin
+        if (worldLeaseManager != null) {
+            worldLeaseManager.shutdown();
+        }
+
         // Salva todos os mundos antes de desativar o plugin
         if (worldManager != null) {
             worldManager.saveAllWorlds();
@@ -196,6 +344,8 @@ public class WorldsManager extends JavaPlugin {
         // Recarrega configurações
         configManager.reloadConfig();
         languageManager.reload();
+        resourceProfileManager.loadProfiles();
+        worldPlacementManager.loadServers();
 
         // Recarrega comunicação cross-server
         setupCrossServerCommunication();
@@ -203,6 +353,10 @@ public class WorldsManager extends JavaPlugin {
         // Recarrega todos os mundos
         worldManager.reloadAllWorlds();
 
+        // Listas de confiáveis e ações bloqueadas podem ter mudado
+        worldProtectionListener.reload();
+        lagMachineListener.reload();
+
         getLogger().info("WorldsManager foi recarregado com sucesso!");
     }
 
@@ -215,6 +369,13 @@ public class WorldsManager extends JavaPlugin {
         this.languageManager = new LanguageManager(this);
         this.databaseManager = new DatabaseManager(this);
         this.messagingManager = new MessagingManager(this); // Inicializa o MessagingManager antes do WorldManager
+        this.outboundDispatcher = new OutboundDispatcher(this);
+        this.messageOutbox = new MessageOutbox(this);
+        this.worldPlacementManager = new WorldPlacementManager(this);
+        this.serverHeartbeatManager = new ServerHeartbeatManager(this);
+        this.worldMigrationManager = new WorldMigrationManager(this);
+        this.worldRegistryManager = new WorldRegistryManager(this);
+        this.worldLeaseManager = new WorldLeaseManager(this);
 
         // Verificação ADICIONAL para garantir registro de canais em modo cross-server
         if (configManager.isCrossServerMode()) {
@@ -225,7 +386,17 @@ public class WorldsManager extends JavaPlugin {
             getLogger().info("Canais de mensagens registrados para modo cross-server");
         }
 
+        this.memoryGovernor = new MemoryGovernor(this);
+        this.worldLoadScheduler = new WorldLoadScheduler(this);
+        this.worldFilePrefetcher = new WorldFilePrefetcher(this);
+        this.resourceProfileManager = new ResourceProfileManager(this);
         this.worldManager = new WorldManager(this);
+        this.snapshotManager = new SnapshotManager(this);
+        this.worldTransferManager = new WorldTransferManager(this);
+        this.worldProfiler = new WorldProfiler(this);
+        this.worldThrottleManager = new WorldThrottleManager(this);
+        this.worldQuiescenceManager = new WorldQuiescenceManager(this);
+        this.worldPreloader = new WorldPreloader(this);
     }
 
     /**
@@ -336,6 +507,9 @@ public class WorldsManager extends JavaPlugin {
         // Cria listeners
         this.menuClickListener = new MenuClickListener(this);
         this.worldsListener = new WorldsListener(this);
+        this.entityLimitListener = new EntityLimitListener(this);
+        this.worldProtectionListener = new WorldProtectionListener(this);
+        this.lagMachineListener = new LagMachineListener(this);
 
         // Registra WorldCreateGUI como listener separadamente
         // Isso garante que ele seja registrado explicitamente
@@ -350,6 +524,13 @@ public class WorldsManager extends JavaPlugin {
         // Registra listeners
         pm.registerEvents(menuClickListener, this);
         pm.registerEvents(worldsListener, this);
+        pm.registerEvents(entityLimitListener, this);
+        pm.registerEvents(new WorldFlagListener(worldManager.getWorldFlagTable()), this);
+        pm.registerEvents(worldProtectionListener, this);
+        pm.registerEvents(lagMachineListener, this);
+        pm.registerEvents(worldQuiescenceManager, this);
+        pm.registerEvents(messageOutbox, this);
+        pm.registerEvents(worldLeaseManager, this);
 
         // Registra também o WorldsMessageListener se estiver em modo cross-server
         if (configManager.isCrossServerMode() && worldsMessageListener != null) {
@@ -400,10 +581,82 @@ public class WorldsManager extends JavaPlugin {
         return worldManager;
     }
 
+    public MemoryGovernor getMemoryGovernor() {
+        return memoryGovernor;
+    }
+
+    public WorldLoadScheduler getWorldLoadScheduler() {
+        return worldLoadScheduler;
+    }
+
+    public WorldFilePrefetcher getWorldFilePrefetcher() {
+        return worldFilePrefetcher;
+    }
+
+    public ResourceProfileManager getResourceProfileManager() {
+        return resourceProfileManager;
+    }
+
     public MessagingManager getMessagingManager() {
         return messagingManager;
     }
 
+    public OutboundDispatcher getOutboundDispatcher() {
+        return outboundDispatcher;
+    }
+
+    public MessageOutbox getMessageOutbox() {
+        return messageOutbox;
+    }
+
+    public WorldsMessageListener getWorldsMessageListener() {
+        return worldsMessageListener;
+    }
+
+    public WorldPlacementManager getWorldPlacementManager() {
+        return worldPlacementManager;
+    }
+
+    public ServerHeartbeatManager getServerHeartbeatManager() {
+        return serverHeartbeatManager;
+    }
+
+    public WorldMigrationManager getWorldMigrationManager() {
+        return worldMigrationManager;
+    }
+
+    public WorldRegistryManager getWorldRegistryManager() {
+        return worldRegistryManager;
+    }
+
+    public WorldLeaseManager getWorldLeaseManager() {
+        return worldLeaseManager;
+    }
+
+    public SnapshotManager getSnapshotManager() {
+        return snapshotManager;
+    }
+
+    public WorldTransferManager getWorldTransferManager() {
+        return worldTransferManager;
+    }
+
+    public WorldProfiler getWorldProfiler() {
+        return worldProfiler;
+    }
+
+    public WorldThrottleManager getWorldThrottleManager() {
+        return worldThrottleManager;
+    }
+
+    public WorldQuiescenceManager getWorldQuiescenceManager() {
+        return worldQuiescenceManager;
+    }
+
+    public WorldPreloader getWorldPreloader() {
+        return worldPreloader;
+    }
+
     /**
      * Getters para listeners e comandos
      */
@@ -411,6 +664,18 @@ public class WorldsManager extends JavaPlugin {
         return menuClickListener;
     }
 
+    public EntityLimitListener getEntityLimitListener() {
+        return entityLimitListener;
+    }
+
+    public WorldProtectionListener getWorldProtectionListener() {
+        return worldProtectionListener;
+    }
+
+    public LagMachineListener getLagMachineListener() {
+        return lagMachineListener;
+    }
+
     public WorldsCommand getWorldsCommand() {
         return worldsCommand;
     }
@@ -2,7 +2,28 @@ package com.worldsmanager.commands;
 
 import com.worldsmanager.WorldsManager;
 import com.worldsmanager.gui.AdminWorldsGUI;
+import com.worldsmanager.listeners.LagMachineListener;
+import com.worldsmanager.managers.MemoryGovernor;
+import com.worldsmanager.managers.ResourceProfileManager;
+import com.worldsmanager.managers.ServerHeartbeatManager;
+import com.worldsmanager.managers.WorldLeaseManager;
+import com.worldsmanager.managers.WorldMigrationManager;
+import com.worldsmanager.managers.WorldPlacementManager;
+import com.worldsmanager.managers.WorldPreloader;
+import com.worldsmanager.managers.WorldProfiler;
+import com.worldsmanager.managers.WorldRegistryManager;
+import com.worldsmanager.messaging.MessageOutbox;
+import com.worldsmanager.messaging.MessageTransport;
+import com.worldsmanager.messaging.OutboundDispatcher;
+import com.worldsmanager.messaging.SocketTransport;
+import com.worldsmanager.messaging.TransportStats;
 import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.models.ResourceProfile;
+import com.worldsmanager.models.ServerHeartbeat;
+import com.worldsmanager.models.ThrottleState;
+import com.worldsmanager.models.WorldLease;
+import com.worldsmanager.models.WorldMigration;
+import com.worldsmanager.utils.ServerMetrics;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
@@ -12,6 +33,8 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -70,6 +93,66 @@ public class WorldsAdminCommand implements CommandExecutor {
                 handleDelete(player, args);
                 break;
 
+            case "snapshot":
+                handleSnapshot(player, args);
+                break;
+
+            case "snapshots":
+                handleSnapshotList(player, args);
+                break;
+
+            case "restore":
+                handleRestore(player, args);
+                break;
+
+            case "export":
+                handleExport(player, args);
+                break;
+
+            case "import":
+                handleImport(player, args);
+                break;
+
+            case "profile":
+                handleProfile(player, args);
+                break;
+
+            case "lag":
+                handleLag(player, args);
+                break;
+
+            case "lagmachines":
+                handleLagMachines(player, args);
+                break;
+
+            case "memory":
+                handleMemory(player);
+                break;
+
+            case "preload":
+                handlePreload(player);
+                break;
+
+            case "prefetch":
+                handlePrefetch(player);
+                break;
+
+            case "transport":
+                handleTransport(player);
+                break;
+
+            case "placement":
+                handlePlacement(player);
+                break;
+
+            case "migrate":
+                handleMigrate(player, args);
+                break;
+
+            case "leases":
+                handleLeases(player, args);
+                break;
+
             default:
                 player.sendMessage(ChatColor.translateAlternateColorCodes('&',
                         plugin.getLanguageManager().getPrefix() + "&cSubcomando desconhecido: &e" + args[0]));
@@ -205,20 +288,19 @@ public class WorldsAdminCommand implements CommandExecutor {
             return;
         }
 
-        // Teleporta jogador para o mundo
-        plugin.getWorldManager().loadWorld(world);
-
         // Armazena as informações necessárias em variáveis finais para uso no lambda
         final String worldNameFinal = world.getName();
-        final CustomWorld worldFinal = world;
 
-        if (world.teleportPlayer(player)) {
-            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
-                    plugin.getLanguageManager().getPrefix() + plugin.getLanguageManager().getMessage("worlds.teleport.success", worldNameFinal)));
-        } else {
-            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
-                    plugin.getLanguageManager().getPrefix() + plugin.getLanguageManager().getMessage("worlds.teleport.failed", worldNameFinal)));
-        }
+        // Carrega o mundo e os chunks do destino antes de teleportar
+        plugin.getWorldManager().getTeleportManager().teleportWhenReady(player, world).thenAccept(success -> {
+            if (success) {
+                player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                        plugin.getLanguageManager().getPrefix() + plugin.getLanguageManager().getMessage("worlds.teleport.success", worldNameFinal)));
+            } else {
+                player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                        plugin.getLanguageManager().getPrefix() + plugin.getLanguageManager().getMessage("worlds.teleport.failed", worldNameFinal)));
+            }
+        });
     }
 
     /**
@@ -282,6 +364,654 @@ public class WorldsAdminCommand implements CommandExecutor {
         });
     }
 
+    /**
+     * Processa o comando de criação de snapshot
+     *
+     * @param player Jogador executando o comando
+     * @param args Argumentos do comando
+     */
+    private void handleSnapshot(Player player, String[] args) {
+        if (args.length < 2) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cUso: /worldsadm snapshot <nome_mundo>"));
+            return;
+        }
+
+        CustomWorld world = findWorld(args[1]);
+        if (world == null) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + plugin.getLanguageManager().getMessage("general.world-not-found")));
+            return;
+        }
+
+        plugin.getSnapshotManager().createSnapshot(world, player);
+    }
+
+    /**
+     * Processa o comando de listagem de snapshots
+     *
+     * @param player Jogador executando o comando
+     * @param args Argumentos do comando
+     */
+    private void handleSnapshotList(Player player, String[] args) {
+        if (args.length < 2) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cUso: /worldsadm snapshots <nome_mundo>"));
+            return;
+        }
+
+        CustomWorld world = findWorld(args[1]);
+        if (world == null) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + plugin.getLanguageManager().getMessage("general.world-not-found")));
+            return;
+        }
+
+        java.util.List<String> snapshots = plugin.getSnapshotManager().listSnapshots(world.getWorldName());
+        if (snapshots.isEmpty()) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cNenhum snapshot encontrado para este mundo"));
+            return;
+        }
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&eSnapshots de &b" + world.getName() + "&e:"));
+        for (String snapshotId : snapshots) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&a- &f" + snapshotId));
+        }
+    }
+
+    /**
+     * Processa o comando de restauração de snapshot
+     *
+     * @param player Jogador executando o comando
+     * @param args Argumentos do comando
+     */
+    private void handleRestore(Player player, String[] args) {
+        if (args.length < 3) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cUso: /worldsadm restore <nome_mundo> <snapshot>"));
+            return;
+        }
+
+        CustomWorld world = findWorld(args[1]);
+        if (world == null) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + plugin.getLanguageManager().getMessage("general.world-not-found")));
+            return;
+        }
+
+        // Confirma restauração
+        if (args.length < 4 || !args[3].equalsIgnoreCase("confirm")) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cO estado atual do mundo será perdido. Digite &e/worldsadm restore " +
+                            args[1] + " " + args[2] + " confirm&c para confirmar."));
+            return;
+        }
+
+        plugin.getSnapshotManager().restoreSnapshot(world, args[2], player);
+    }
+
+    /**
+     * Processa o comando de exportação
+     *
+     * @param player Jogador executando o comando
+     * @param args Argumentos do comando
+     */
+    private void handleExport(Player player, String[] args) {
+        if (args.length < 2) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cUso: /worldsadm export <nome_mundo>"));
+            return;
+        }
+
+        CustomWorld world = findWorld(args[1]);
+        if (world == null) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + plugin.getLanguageManager().getMessage("general.world-not-found")));
+            return;
+        }
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&eExportando mundo &b" + world.getName() + "&e..."));
+
+        plugin.getWorldTransferManager().exportWorld(world).whenComplete((archive, error) -> {
+            if (error == null) {
+                plugin.getWorldTransferManager().notifySync(player, "&aMundo exportado para &eexports/" + archive.getName());
+            } else {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                plugin.getWorldTransferManager().notifySync(player, "&cFalha ao exportar mundo: " + cause.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Processa o comando de importação
+     *
+     * @param player Jogador executando o comando
+     * @param args Argumentos do comando
+     */
+    private void handleImport(Player player, String[] args) {
+        if (args.length < 3) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cUso: /worldsadm import <arquivo.zip> <jogador> [nome]"));
+            return;
+        }
+
+        // Apenas arquivos diretamente dentro da pasta imports
+        String fileName = args[1];
+        if (fileName.contains("/") || fileName.contains("\\") || fileName.contains("..")) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cNome de arquivo inválido."));
+            return;
+        }
+
+        java.io.File archive = new java.io.File(plugin.getWorldTransferManager().getImportsFolder(), fileName);
+        if (!archive.isFile()) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cArquivo não encontrado em &eimports/" + fileName));
+            return;
+        }
+
+        @SuppressWarnings("deprecation")
+        OfflinePlayer owner = Bukkit.getOfflinePlayer(args[2]);
+        if (!owner.hasPlayedBefore() && !owner.isOnline()) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + plugin.getLanguageManager().getMessage("general.player-not-found")));
+            return;
+        }
+
+        String displayName = args.length >= 4 ? args[3] : fileName.replaceFirst("(?i)\\.zip$", "");
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&eImportando &b" + fileName + "&e..."));
+
+        plugin.getWorldTransferManager().importWorld(archive, owner.getUniqueId(), displayName).whenComplete((world, error) -> {
+            if (error == null) {
+                plugin.getWorldTransferManager().notifySync(player, "&aMundo importado como &b" + world.getName() +
+                        " &7(" + world.getWorldName() + ")");
+            } else {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                plugin.getWorldTransferManager().notifySync(player, "&cFalha ao importar mundo: " + cause.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Processa o comando de perfil de recursos
+     *
+     * @param player Jogador executando o comando
+     * @param args Argumentos do comando
+     */
+    private void handleProfile(Player player, String[] args) {
+        if (args.length < 2) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cUso: /worldsadm profile <nome_mundo> [perfil|auto]"));
+            return;
+        }
+
+        CustomWorld world = findWorld(args[1]);
+        if (world == null) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + plugin.getLanguageManager().getMessage("general.world-not-found")));
+            return;
+        }
+
+        ResourceProfileManager profileManager = plugin.getResourceProfileManager();
+
+        // Sem perfil informado: mostra o perfil atual
+        if (args.length < 3) {
+            ResourceProfile current = profileManager.resolve(world);
+            String selected = world.getSettings().getResourceProfile();
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&eMundo &b" + world.getName() + "&e: perfil &b" +
+                            (current != null ? current.getName() : "nenhum") +
+                            (selected == null ? " &7(automático)" : "")));
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    "&7Perfis disponíveis: &f" + String.join(", ", profileManager.getProfileNames())));
+            return;
+        }
+
+        String profileName = args[2].toLowerCase();
+        if (profileName.equals("auto")) {
+            world.getSettings().setResourceProfile(null);
+        } else if (profileManager.getProfile(profileName) != null) {
+            world.getSettings().setResourceProfile(profileName);
+        } else {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cPerfil desconhecido: &e" + args[2]));
+            return;
+        }
+
+        plugin.getWorldRegistryManager().saveAndPublish(world, WorldRegistryManager.SECTION_SETTINGS);
+        if (world.isLoaded()) {
+            plugin.getWorldManager().applyWorldSettings(world);
+        }
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&aPerfil de recursos do mundo &b" + world.getName() +
+                        " &adefinido como &e" + profileName));
+    }
+
+    /**
+     * Processa o comando de diagnóstico de lag
+     *
+     * @param player Jogador executando o comando
+     * @param args Argumentos do comando
+     */
+    private void handleLag(Player player, String[] args) {
+        WorldProfiler profiler = plugin.getWorldProfiler();
+
+        if (args.length >= 2 && args[1].equalsIgnoreCase("dump")) {
+            profiler.dump().whenComplete((file, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                if (error == null) {
+                    player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                            plugin.getLanguageManager().getPrefix() + "&aRelatório gravado em &eprofiler/" + file.getName()));
+                } else {
+                    player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                            plugin.getLanguageManager().getPrefix() + "&cFalha ao gravar relatório: " + error.getMessage()));
+                }
+            }));
+            return;
+        }
+
+        ServerMetrics metrics = profiler.getServerMetrics();
+        double mspt = metrics.getAverageTickMillis();
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&eTPS: &f" + String.format("%.2f", metrics.getTps()) +
+                        " &eMSPT: &f" + (mspt >= 0 ? String.format("%.2f", mspt) : "n/d") +
+                        " &7(profiler: " + String.format("%.1f", profiler.getAverageSelfMicros()) + "µs/tick)"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&7Mundo &8| &7score 1m/5m/15m &8| &7entidades, tiles, chunks &8| &7ms estimados"));
+
+        List<WorldProfiler.WorldStats> ranking = profiler.getRanking(WorldProfiler.WINDOW_5M);
+        int shown = 0;
+        for (WorldProfiler.WorldStats stats : ranking) {
+            if (shown++ >= 10) {
+                break;
+            }
+            double estimated = profiler.getEstimatedTickMillis(stats, WorldProfiler.WINDOW_5M);
+            CustomWorld customWorld = plugin.getWorldManager().getWorldByName(stats.getWorldName());
+            int throttleLevel = customWorld != null ? customWorld.getThrottleState().getLevel() : 0;
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    (stats.isManaged() ? "&b" : "&7") + stats.getWorldName() + " &8| &f" +
+                            String.format("%.0f/%.0f/%.0f", stats.getAverageScore(WorldProfiler.WINDOW_1M),
+                                    stats.getAverageScore(WorldProfiler.WINDOW_5M),
+                                    stats.getAverageScore(WorldProfiler.WINDOW_15M)) +
+                            " &8| &f" + stats.getLatestEntities() + ", " + stats.getLatestTileEntities() + ", " +
+                            stats.getLatestChunks() + " &8| &f" + (estimated >= 0 ? String.format("%.2f", estimated) : "n/d") +
+                            (throttleLevel > 0 ? " &c[limitado: " + ThrottleState.describe(throttleLevel) + "]" : "") +
+                            (customWorld != null && customWorld.isQuiescent() ? " &7[repouso]" : "")));
+        }
+
+        if (ranking.isEmpty()) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&7Nenhuma amostra coletada ainda."));
+        }
+    }
+
+    /**
+     * Manipula o comando lagmachines: lista as detecções recentes ou reativa componentes desativados
+     *
+     * @param player Jogador executando o comando
+     * @param args Argumentos do comando
+     */
+    private void handleLagMachines(Player player, String[] args) {
+        LagMachineListener detector = plugin.getLagMachineListener();
+
+        if (args.length >= 3 && args[1].equalsIgnoreCase("clear")) {
+            CustomWorld customWorld = findWorld(args[2]);
+            if (customWorld == null || customWorld.getWorld() == null) {
+                player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                        plugin.getLanguageManager().getPrefix() + "&cMundo não encontrado ou não carregado: &e" + args[2]));
+                return;
+            }
+
+            int cleared = detector.clearDisabled(customWorld.getWorld());
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&a" + cleared + " componente(s) reativado(s) em &e" +
+                            customWorld.getName()));
+            return;
+        }
+
+        List<String> history = detector.getHistory();
+        if (history.isEmpty()) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&7Nenhuma máquina de lag detectada."));
+            return;
+        }
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&eDetecções recentes:"));
+        for (String entry : history) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&7- &f" + entry));
+        }
+    }
+
+    /**
+     * Manipula o comando memory: mostra o estado do controle de memória e as decisões recentes
+     *
+     * @param player Jogador executando o comando
+     */
+    private void handleMemory(Player player) {
+        MemoryGovernor governor = plugin.getMemoryGovernor();
+        Runtime runtime = Runtime.getRuntime();
+        long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        long maxMb = runtime.maxMemory() / (1024 * 1024);
+
+        String levelColor = governor.getLevel() == MemoryGovernor.HARD ? "&c" :
+                governor.getLevel() == MemoryGovernor.SOFT ? "&6" : "&a";
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&eMemória: " + levelColor +
+                        MemoryGovernor.describe(governor.getLevel()) + " &7(" + governor.getPoolName() + " " +
+                        String.format("%.0f%%", governor.getUsedFraction() * 100) + ", heap " + usedMb + "/" + maxMb + " MB)"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&7Marcas: suave " + String.format("%.0f%%", plugin.getConfigManager().getMemorySoftWatermark() * 100) +
+                        ", rígida " + String.format("%.0f%%", plugin.getConfigManager().getMemoryHardWatermark() * 100) +
+                        ", recuperação " + String.format("%.0f%%", plugin.getConfigManager().getMemoryRecoverWatermark() * 100)));
+
+        int loaded = 0;
+        for (CustomWorld customWorld : plugin.getWorldManager().getAllWorlds()) {
+            if (customWorld.isLoaded()) {
+                loaded++;
+            }
+        }
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&7Mundos carregados: &f" + loaded + " &7| Fila de carregamento: &f" +
+                        plugin.getWorldLoadScheduler().getQueuedCount() +
+                        (governor.isLoadingAllowed() ? "" : " &c(suspensa)")));
+
+        List<String> history = governor.getHistory();
+        if (!history.isEmpty()) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&eDecisões recentes:"));
+            for (String entry : history) {
+                player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&7- &f" + entry));
+            }
+        }
+    }
+
+    /**
+     * Manipula o comando preload: mostra a taxa de acerto e o ranking de popularidade
+     *
+     * @param player Jogador executando o comando
+     */
+    private void handlePreload(Player player) {
+        WorldPreloader preloader = plugin.getWorldPreloader();
+        int arrivals = preloader.getHits() + preloader.getMisses();
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&eChegadas em mundos já carregados: &f" + preloader.getHits() +
+                        "/" + arrivals + (arrivals > 0 ? String.format(" (%.0f%%)", preloader.getHits() * 100.0 / arrivals) : "") +
+                        " &7| Pré-carregados: &f" + preloader.getPreloadedCount()));
+
+        List<CustomWorld> ranking = preloader.getRanking();
+        for (int i = 0; i < ranking.size() && i < 10; i++) {
+            CustomWorld customWorld = ranking.get(i);
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    "&7" + (i + 1) + ". " + (customWorld.isLoaded() ? "&a" : "&f") + customWorld.getName() +
+                            " &8(" + customWorld.getWorldName() + ") &7popularidade &f" +
+                            String.format("%.1f", preloader.getPopularity(customWorld)) + " &7ranking &f" +
+                            String.format("%.1f", preloader.getRankScore(customWorld))));
+        }
+    }
+
+    /**
+     * Manipula o comando prefetch: mostra as estatísticas da pré-leitura de arquivos
+     *
+     * @param player Jogador executando o comando
+     */
+    private void handlePrefetch(Player player) {
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&ePré-leitura de arquivos de mundos" +
+                        (plugin.getConfigManager().isPrefetchEnabled() ? "" : " &c(desativada)")));
+        for (String line : plugin.getWorldFilePrefetcher().describeStats()) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', line));
+        }
+    }
+
+    /**
+     * Manipula o comando transport: mostra o tráfego e a latência de cada transporte de mensagens
+     *
+     * @param player Jogador executando o comando
+     */
+    private void handleTransport(Player player) {
+        OutboundDispatcher dispatcher = plugin.getOutboundDispatcher();
+        MessageOutbox outbox = plugin.getMessageOutbox();
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&eTransporte de mensagens: &f" +
+                        dispatcher.getPrimaryTransport().getName() + " &7| Servidor: &f" +
+                        (outbox.getServerName() != null ? outbox.getServerName() : "desconhecido") +
+                        " &7| Mensagens enviadas: &f" + dispatcher.getMessagesSent()));
+
+        for (MessageTransport transport : dispatcher.getTransports()) {
+            TransportStats stats = transport.getStats();
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    "&b" + transport.getName() + " &7enviados &f" + stats.getFramesSent() + " &7frames (" +
+                            String.format("%.1f", stats.getSendThroughput() / 1024) + " KB/s) &7| recebidos &f" +
+                            stats.getFramesReceived() + " &7frames (" +
+                            String.format("%.1f", stats.getReceiveThroughput() / 1024) + " KB/s) &7| falhas &f" +
+                            stats.getFailures()));
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    "  &7latência " + (stats.getLatencySamples() > 0
+                            ? "&f" + String.format("%.1f", stats.getLastLatencyMillis()) + "ms &7(média " +
+                            String.format("%.1f", stats.getAverageLatencyMillis()) + "ms, " + stats.getLatencySamples() + " medições)"
+                            : "&8sem medições") +
+                            (transport instanceof SocketTransport ? " &7| conexões &f" +
+                                    ((SocketTransport) transport).getConnectedPeers() + "/" +
+                                    ((SocketTransport) transport).getConfiguredPeers() + " &7saída, &f" +
+                                    ((SocketTransport) transport).getInboundConnections() + " &7entrada" : "")));
+        }
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&7Caixa de saída: &f" + outbox.getPendingCount() + " &7pendentes | confirmadas &f" +
+                        outbox.getAcknowledgedCount() + "/" + outbox.getSentCount() + " &7| reenvios &f" +
+                        outbox.getRetransmissions() + " &7| expiradas &f" + outbox.getExpiredCount() +
+                        " &7| duplicatas descartadas &f" + outbox.getDuplicatesDropped()));
+    }
+
+    /**
+     * Manipula o comando placement: mostra quantos mundos cada servidor de mundos hospeda
+     * e o último heartbeat de cada um
+     *
+     * @param player Jogador executando o comando
+     */
+    private void handlePlacement(Player player) {
+        WorldPlacementManager placement = plugin.getWorldPlacementManager();
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&eDistribuição dos mundos entre " +
+                        placement.getServers().size() + " servidores de mundos"));
+        for (Map.Entry<String, Integer> entry : placement.countWorldsByServer().entrySet()) {
+            boolean listed = false;
+            for (String server : placement.getServers()) {
+                if (server.equalsIgnoreCase(entry.getKey())) {
+                    listed = true;
+                    break;
+                }
+            }
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    "&7- " + (listed ? "&f" : "&c") + entry.getKey() + "&7: &f" + entry.getValue() + " &7mundos" +
+                            (listed ? "" : " &c(fora de cross-server.worlds-servers)")));
+        }
+
+        List<CustomWorld> misplaced = placement.getMisplacedWorlds();
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&7Mundos fora do servidor escolhido pela distribuição atual: &f" + misplaced.size() + "/" +
+                        plugin.getWorldManager().getAllWorlds().size()));
+
+        ServerHeartbeatManager heartbeats = plugin.getServerHeartbeatManager();
+        long now = System.currentTimeMillis();
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&eHeartbeats &7(publicados &f" + heartbeats.getPublishedCount() + "&7, recebidos &f" +
+                        heartbeats.getReceivedCount() + "&7, pontuação: menor recebe os novos mundos)"));
+        for (String server : placement.getServers()) {
+            ServerHeartbeat heartbeat = heartbeats.getHeartbeat(server);
+            if (heartbeat == null) {
+                player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                        "&7- &f" + server + "&7: &csem heartbeat recente"));
+                continue;
+            }
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    "&7- &f" + server + "&7: TPS &f" + String.format("%.2f", heartbeat.getTps()) +
+                            " &7MSPT &f" + (heartbeat.getMspt() >= 0 ? String.format("%.2f", heartbeat.getMspt()) : "n/d") +
+                            " &7| &f" + heartbeat.getLoadedWorlds() + " &7mundos, &f" + heartbeat.getOnlinePlayers() +
+                            " &7jogadores | heap &f" + heartbeat.getFreeHeapMb() + "/" + heartbeat.getMaxHeapMb() +
+                            "MB &7livre | disco &f" + (heartbeat.getFreeDiskMb() >= 0 ? heartbeat.getFreeDiskMb() + "MB" : "n/d") +
+                            " &7| pontuação &f" + String.format("%.2f", placement.getScorer().score(heartbeat)) +
+                            " &7| há &f" + heartbeat.getAgeMillis(now) / 1000 + "s" +
+                            (heartbeat.isOverloaded() ? " &c(sobrecarregado)" : "")));
+        }
+
+        WorldRegistryManager registry = plugin.getWorldRegistryManager();
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&eAvisos de mudança no registro &7| publicados &f" + registry.getPublishedCount() +
+                        " &7| aplicados &f" + registry.getPatchedCount() + " &7| relidos do banco &f" +
+                        registry.getRefreshedCount() + " &7| já atualizados &f" + registry.getIgnoredCount()));
+    }
+
+    /**
+     * Manipula o comando migrate: move um mundo deste servidor para outro servidor de mundos,
+     * desfaz uma migração em andamento ou mostra as migrações em andamento
+     *
+     * @param player Jogador executando o comando
+     * @param args Argumentos do comando
+     */
+    private void handleMigrate(Player player, String[] args) {
+        WorldMigrationManager migrations = plugin.getWorldMigrationManager();
+
+        if (args.length < 2 || args[1].equalsIgnoreCase("status")) {
+            long now = System.currentTimeMillis();
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&eMigrações em andamento: &f" + migrations.getMigrations().size() +
+                            " &7| concluídas &f" + migrations.getCompletedCount() + " &7| desfeitas &f" +
+                            migrations.getRolledBackCount() +
+                            (migrations.getLastUnavailableMillis() >= 0
+                                    ? " &7| última indisponibilidade &f" + migrations.getLastUnavailableMillis() + "ms" : "")));
+            for (WorldMigration migration : migrations.getMigrations()) {
+                player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                        "&7- &f" + migration.getWorldName() + "&7: " + migration.getSource() + " -> &f" +
+                                migration.getTarget() + " &7| etapa &f" + migration.getStep() + " &7| &f" +
+                                migration.getBytesSent() / 1024 + " KB &7enviados | há &f" +
+                                (now - migration.getStartedAt()) / 1000 + "s &7(" + migration.getTrigger() + ")"));
+            }
+            return;
+        }
+
+        if (args[1].equalsIgnoreCase("cancel")) {
+            if (args.length < 3) {
+                player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                        plugin.getLanguageManager().getPrefix() + "&cUso: /worldsadm migrate cancel <nome_mundo>"));
+                return;
+            }
+
+            CustomWorld world = findWorld(args[2]);
+            boolean cancelled = world != null && migrations.cancel(world.getWorldName());
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + (cancelled
+                            ? "&aMigração desfeita; o mundo continua neste servidor"
+                            : "&cNenhuma migração deste mundo que ainda possa ser desfeita")));
+            return;
+        }
+
+        CustomWorld world = findWorld(args[1]);
+        if (world == null) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + plugin.getLanguageManager().getMessage("general.world-not-found")));
+            return;
+        }
+
+        String target = args.length >= 3 ? args[2]
+                : plugin.getWorldPlacementManager().getLeastLoadedServer(null, plugin.getMessageOutbox().getServerName());
+        if (target == null) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cNenhum outro servidor de mundos disponível; " +
+                            "informe o destino: /worldsadm migrate <nome_mundo> <servidor>"));
+            return;
+        }
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&eMigrando &b" + world.getName() + " &epara &b" + target + "&e..."));
+        migrations.migrate(world, target, "admin " + player.getName()).whenComplete((unavailable, error) -> {
+            if (!player.isOnline()) {
+                return;
+            }
+            if (error != null) {
+                player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                        plugin.getLanguageManager().getPrefix() + "&cMigração de " + world.getName() + " não concluída: " +
+                                error.getMessage()));
+                return;
+            }
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&aMundo &b" + world.getName() + " &amovido para &b" +
+                            target + "&a; indisponível por &f" + unavailable + "ms"));
+        });
+    }
+
+    /**
+     * Manipula o comando leases: mostra os leases de mundos válidos de todos os servidores
+     * ou em qual servidor um mundo está aberto
+     *
+     * @param player Jogador executando o comando
+     * @param args Argumentos do comando
+     */
+    private void handleLeases(Player player, String[] args) {
+        WorldLeaseManager leases = plugin.getWorldLeaseManager();
+        if (!leases.isActive()) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + "&cLeases de mundos desativados (leases.enabled ou database.enabled)"));
+            return;
+        }
+
+        if (args.length >= 2) {
+            CustomWorld world = findWorld(args[1]);
+            String worldName = world != null ? world.getWorldName() : args[1];
+            leases.findLiveServer(worldName).thenAccept(server -> {
+                if (player.isOnline()) {
+                    player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                            plugin.getLanguageManager().getPrefix() + (server != null
+                                    ? "&eMundo &b" + worldName + " &eaberto no servidor &b" + server
+                                    : "&eMundo &b" + worldName + " &enão está aberto em nenhum servidor")));
+                }
+            });
+            return;
+        }
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + "&eLeases deste servidor (&f" + leases.getNodeId() + "&e): &f" +
+                        leases.getHeldCount() + " &7| obtidos &f" + leases.getAcquiredCount() + " &7| recusados &f" +
+                        leases.getRefusedCount() + " &7| tomados de outro servidor &f" + leases.getTakenOverCount() +
+                        " &7| perdidos &f" + leases.getLostCount()));
+        leases.getValidLeases().thenAccept(valid -> {
+            if (!player.isOnline()) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    "&eLeases válidos em todos os servidores: &f" + valid.size()));
+            for (WorldLease lease : valid) {
+                player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                        "&7- &f" + lease.getWorldName() + "&7: " +
+                                (lease.getNodeId().equals(leases.getNodeId()) ? "&a" : "&f") + lease.getNodeId() +
+                                " &7| vence em &f" + (lease.getExpiresAt() - now) / 1000 + "s"));
+            }
+        });
+    }
+
+    /**
+     * Procura um mundo pelo nome amigável ou pelo nome interno
+     *
+     * @param worldName Nome informado no comando
+     * @return Mundo encontrado ou null
+     */
+    private CustomWorld findWorld(String worldName) {
+        for (CustomWorld w : plugin.getWorldManager().getAllWorlds()) {
+            if (w.getName().equalsIgnoreCase(worldName)) {
+                return w;
+            }
+        }
+        return plugin.getWorldManager().getWorldByName(worldName);
+    }
+
     /**
      * Envia informações de uso
      *
@@ -300,5 +1030,35 @@ public class WorldsAdminCommand implements CommandExecutor {
                 "&b/worldsadm teleport <mundo> &7- Teleportar para um mundo"));
         player.sendMessage(ChatColor.translateAlternateColorCodes('&',
                 "&b/worldsadm delete <mundo> [confirm] &7- Deletar um mundo"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm snapshot <mundo> &7- Criar um snapshot do mundo"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm snapshots <mundo> &7- Listar snapshots do mundo"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm restore <mundo> <snapshot> [confirm] &7- Restaurar um snapshot"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm export <mundo> &7- Exportar um mundo para a pasta exports"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm import <arquivo.zip> <jogador> [nome] &7- Importar um mundo da pasta imports"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm profile <mundo> [perfil|auto] &7- Ver ou definir o perfil de recursos"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm lag [dump] &7- Ver os mundos mais custosos ou gravar relatório JSON"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm lagmachines [clear <mundo>] &7- Ver máquinas de lag detectadas ou reativar componentes"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm memory &7- Ver o estado do controle de memória"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm preload &7- Ver o ranking de popularidade e a taxa de acerto do pré-carregamento"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm prefetch &7- Ver as estatísticas da pré-leitura de arquivos"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm transport &7- Ver o tráfego e a latência dos transportes de mensagens"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm placement &7- Ver a distribuição dos mundos entre os servidores de mundos"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm migrate [<mundo> [servidor]|cancel <mundo>] &7- Mover um mundo para outro servidor de mundos"));
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                "&b/worldsadm leases [mundo] &7- Ver os leases de mundos ou em qual servidor um mundo está aberto"));
     }
 }
\ No newline at end of file
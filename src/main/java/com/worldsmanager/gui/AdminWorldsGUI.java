@@ -1,6 +1,7 @@
 package com.worldsmanager.gui;
 
 import com.worldsmanager.WorldsManager;
+import com.worldsmanager.managers.WorldRegistryManager;
 import com.worldsmanager.models.CustomWorld;
 import com.worldsmanager.utils.ItemBuilder;
 import org.bukkit.Bukkit;
@@ -670,9 +671,14 @@ public class AdminWorldsGUI implements Listener {
                         }
                     }
                 } else {
-                    // Carregar mundo
-                    plugin.getWorldManager().loadWorld(world);
-                    player.sendMessage(ChatColor.GREEN + "Mundo carregado com sucesso!");
+                    // Carregar mundo pela fila de carregamento
+                    plugin.getWorldManager().loadWorldQueued(world, player.getUniqueId()).whenComplete((loaded, error) -> {
+                        if (loaded != null) {
+                            player.sendMessage(ChatColor.GREEN + "Mundo carregado com sucesso!");
+                        } else {
+                            player.sendMessage(ChatColor.RED + "Falha ao carregar mundo!");
+                        }
+                    });
                 }
 
                 // Reabrir menu
@@ -757,7 +763,8 @@ public class AdminWorldsGUI implements Listener {
 
             // Remover jogador da lista de confiados
             world.removeTrustedPlayer(targetPlayer.getUniqueId());
-            plugin.getWorldManager().saveAllWorlds();
+            plugin.getWorldProtectionListener().invalidatePlayer(targetPlayer.getUniqueId());
+            plugin.getWorldRegistryManager().saveAndPublish(world, WorldRegistryManager.SECTION_TRUST);
 
             player.sendMessage(ChatColor.GREEN + "Jogador " + targetPlayer.getName() +
                     " removido da lista de confiados do mundo " + world.getName());
@@ -825,7 +832,8 @@ public class AdminWorldsGUI implements Listener {
             // Adiciona o jogador à lista de confiados
             CustomWorld world = selectedWorlds.get(playerUUID);
             world.addTrustedPlayer(targetPlayer.getUniqueId());
-            plugin.getWorldManager().saveAllWorlds();
+            plugin.getWorldProtectionListener().invalidatePlayer(targetPlayer.getUniqueId());
+            plugin.getWorldRegistryManager().saveAndPublish(world, WorldRegistryManager.SECTION_TRUST);
 
             player.sendMessage(ChatColor.GREEN + "Jogador " + targetPlayer.getName() +
                     " adicionado à lista de confiados do mundo " + world.getName());
@@ -1,6 +1,7 @@
 package com.worldsmanager.gui;
 
 import com.worldsmanager.WorldsManager;
+import com.worldsmanager.managers.WorldRegistryManager;
 import com.worldsmanager.models.CustomWorld;
 import com.worldsmanager.utils.ItemBuilder;
 import org.bukkit.Bukkit;
@@ -150,9 +151,10 @@ public class PlayerManagementGUI {
 
         // Add player to trusted players
         world.addTrustedPlayer(targetPlayer.getUniqueId());
+        plugin.getWorldProtectionListener().invalidatePlayer(targetPlayer.getUniqueId());
 
         // Save changes
-        plugin.getWorldManager().saveAllWorlds();
+        plugin.getWorldRegistryManager().saveAndPublish(world, WorldRegistryManager.SECTION_TRUST);
 
         // Notify player
         String successMessage = plugin.getLanguageManager().getMessage("worlds.players.added",
@@ -176,9 +178,10 @@ public class PlayerManagementGUI {
 
         // Remove player from trusted players
         world.removeTrustedPlayer(targetUUID);
+        plugin.getWorldProtectionListener().invalidatePlayer(targetUUID);
 
         // Save changes
-        plugin.getWorldManager().saveAllWorlds();
+        plugin.getWorldRegistryManager().saveAndPublish(world, WorldRegistryManager.SECTION_TRUST);
 
         // Notify player
         String successMessage = plugin.getLanguageManager().getMessage("worlds.players.removed",
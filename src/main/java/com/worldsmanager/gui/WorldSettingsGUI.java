@@ -1,6 +1,7 @@
 package com.worldsmanager.gui;
 
 import com.worldsmanager.WorldsManager;
+import com.worldsmanager.managers.WorldRegistryManager;
 import com.worldsmanager.models.CustomWorld;
 import com.worldsmanager.models.WorldSettings;
 import com.worldsmanager.utils.ItemBuilder;
@@ -299,19 +300,25 @@ public class WorldSettingsGUI {
 
         // Set spawn point
         world.setSpawnPoint(player.getLocation());
+        plugin.getWorldRegistryManager().saveAndPublish(world, WorldRegistryManager.SECTION_SPAWN);
 
         String successMessage = plugin.getLanguageManager().getMessage("worlds.spawnpoint.set", world.getName());
         player.sendMessage(ChatColor.translateAlternateColorCodes('&',
                 plugin.getLanguageManager().getPrefix() + successMessage));
     }
 
-    // Download world (to be implemented)
+    // Export the world to a zip archive in the plugin's exports folder
     private void downloadWorld(Player player) {
         String startMessage = plugin.getLanguageManager().getMessage("worlds.download.started");
         player.sendMessage(ChatColor.translateAlternateColorCodes('&',
                 plugin.getLanguageManager().getPrefix() + startMessage));
 
-        // This would be implemented elsewhere to handle the actual download
+        plugin.getWorldTransferManager().exportWorld(world).whenComplete((archive, error) -> {
+            String message = error == null
+                    ? plugin.getLanguageManager().getMessage("worlds.download.completed", "exports/" + archive.getName())
+                    : plugin.getLanguageManager().getMessage("worlds.download.failed");
+            plugin.getWorldTransferManager().notifySync(player, message);
+        });
     }
 
     // Reload world
@@ -0,0 +1,382 @@
+package com.worldsmanager.listeners;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.utils.LongIntHashMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.AbstractVillager;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Mob;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Tameable;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.entity.ItemMergeEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aplica performance.entity-limit-per-chunk nos mundos gerenciados.
+ *
+ * Cada mundo gerenciado mantém um contador de entidades por chunk, atualizado
+ * nos eventos de spawn, remoção e carregamento de entidades, o que permite
+ * recusar spawns acima do limite sem percorrer as entidades do chunk.
+ * Mortes e despawns naturais de mobs não geram eventos no Spigot, então os
+ * contadores podem se afastar do valor real; uma varredura distribuída entre
+ * os ticks reconta os chunks carregados e remove o excesso de itens e mobs.
+ */
+public class EntityLimitListener implements Listener {
+
+    // Intervalo mínimo entre duas varreduras completas dos chunks carregados
+    private static final long FULL_SWEEP_INTERVAL_TICKS = 100L;
+
+    private final WorldsManager plugin;
+
+    // Contadores por mundo gerenciado; mundos não gerenciados não têm entrada
+    private final Map<World, LongIntHashMap> counters = new IdentityHashMap<>();
+
+    // Chunks que passaram do limite, verificados antes da varredura completa
+    private final ArrayDeque<Chunk> overflowQueue = new ArrayDeque<>();
+    private final ArrayDeque<Chunk> sweepQueue = new ArrayDeque<>();
+
+    private long ticks;
+    private long lastFullSweep;
+    private int removedEntities;
+    private BukkitTask sweepTask;
+
+    public EntityLimitListener(WorldsManager plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Inicia a varredura de chunks
+     */
+    public void start() {
+        if (sweepTask == null) {
+            sweepTask = Bukkit.getScheduler().runTaskTimer(plugin, this::sweepTick, 20L, 1L);
+        }
+    }
+
+    /**
+     * Encerra a varredura e descarta os contadores
+     */
+    public void shutdown() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        counters.clear();
+        overflowQueue.clear();
+        sweepQueue.clear();
+    }
+
+    // Spawns
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onCreatureSpawn(CreatureSpawnEvent event) {
+        // Spawns de comandos e de outros plugins são intencionais
+        CreatureSpawnEvent.SpawnReason reason = event.getSpawnReason();
+        if (reason == CreatureSpawnEvent.SpawnReason.CUSTOM || reason == CreatureSpawnEvent.SpawnReason.COMMAND) {
+            return;
+        }
+
+        int limit = plugin.getConfigManager().getEntityLimitPerChunk();
+        if (limit <= 0) {
+            return;
+        }
+
+        Location location = event.getLocation();
+        LongIntHashMap worldCounters = getCounters(location.getWorld());
+        if (worldCounters != null && worldCounters.get(keyOf(location)) >= limit) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onCreatureSpawnMonitor(CreatureSpawnEvent event) {
+        increment(event.getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemSpawn(ItemSpawnEvent event) {
+        // Itens nunca são recusados para não sumir com drops; o excesso é removido na varredura
+        increment(event.getLocation());
+    }
+
+    // Remoções
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event) {
+        if (!(event.getEntity() instanceof Player)) {
+            decrement(event.getEntity().getLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDespawn(ItemDespawnEvent event) {
+        decrement(event.getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemMerge(ItemMergeEvent event) {
+        decrement(event.getEntity().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityPickupItem(EntityPickupItemEvent event) {
+        decrement(event.getItem().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryPickupItem(InventoryPickupItemEvent event) {
+        decrement(event.getItem().getLocation());
+    }
+
+    // Carregamento de chunks e mundos
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        LongIntHashMap worldCounters = getCounters(event.getWorld());
+        if (worldCounters == null) {
+            return;
+        }
+
+        Chunk chunk = event.getChunk();
+        int count = countEntities(event.getEntities());
+        worldCounters.put(LongIntHashMap.chunkKey(chunk.getX(), chunk.getZ()), count);
+
+        int limit = plugin.getConfigManager().getEntityLimitPerChunk();
+        if (limit > 0 && count > limit) {
+            overflowQueue.addLast(chunk);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        LongIntHashMap worldCounters = counters.get(event.getWorld());
+        if (worldCounters != null) {
+            Chunk chunk = event.getChunk();
+            worldCounters.remove(LongIntHashMap.chunkKey(chunk.getX(), chunk.getZ()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        LongIntHashMap worldCounters = counters.get(event.getWorld());
+        if (worldCounters != null) {
+            Chunk chunk = event.getChunk();
+            worldCounters.remove(LongIntHashMap.chunkKey(chunk.getX(), chunk.getZ()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        World world = event.getWorld();
+        counters.remove(world);
+        overflowQueue.removeIf(chunk -> chunk.getWorld() == world);
+        sweepQueue.removeIf(chunk -> chunk.getWorld() == world);
+    }
+
+    // Varredura
+
+    private void sweepTick() {
+        ticks++;
+
+        int limit = plugin.getConfigManager().getEntityLimitPerChunk();
+        if (limit <= 0) {
+            overflowQueue.clear();
+            sweepQueue.clear();
+            return;
+        }
+
+        if (sweepQueue.isEmpty() && ticks - lastFullSweep >= FULL_SWEEP_INTERVAL_TICKS) {
+            lastFullSweep = ticks;
+            for (World world : Bukkit.getWorlds()) {
+                if (getCounters(world) != null) {
+                    for (Chunk chunk : world.getLoadedChunks()) {
+                        sweepQueue.addLast(chunk);
+                    }
+                }
+            }
+        }
+
+        int budget = Math.max(1, plugin.getConfigManager().getEntitySweepChunksPerTick());
+        while (budget > 0 && (!overflowQueue.isEmpty() || !sweepQueue.isEmpty())) {
+            Chunk chunk = !overflowQueue.isEmpty() ? overflowQueue.pollFirst() : sweepQueue.pollFirst();
+            if (chunk.isLoaded()) {
+                sweepChunk(chunk, limit);
+                budget--;
+            }
+        }
+    }
+
+    /**
+     * Reconta as entidades de um chunk e remove o excesso
+     */
+    private void sweepChunk(Chunk chunk, int limit) {
+        LongIntHashMap worldCounters = counters.get(chunk.getWorld());
+        if (worldCounters == null) {
+            return;
+        }
+
+        Entity[] entities = chunk.getEntities();
+        int count = 0;
+        List<Item> items = null;
+        List<Mob> mobs = null;
+
+        for (Entity entity : entities) {
+            if (!isCounted(entity)) {
+                continue;
+            }
+            count++;
+
+            if (entity instanceof Item) {
+                if (items == null) {
+                    items = new ArrayList<>();
+                }
+                items.add((Item) entity);
+            } else if (entity instanceof Mob && isRemovableMob((Mob) entity)) {
+                if (mobs == null) {
+                    mobs = new ArrayList<>();
+                }
+                mobs.add((Mob) entity);
+            }
+        }
+
+        int excess = count - limit;
+        if (excess > 0) {
+            int before = count;
+            // Itens mais antigos primeiro, depois mobs sem valor para o jogador
+            if (items != null) {
+                items.sort((a, b) -> Integer.compare(b.getTicksLived(), a.getTicksLived()));
+                for (int i = 0; i < items.size() && excess > 0; i++) {
+                    items.get(i).remove();
+                    excess--;
+                    count--;
+                }
+            }
+            if (mobs != null) {
+                for (int i = 0; i < mobs.size() && excess > 0; i++) {
+                    mobs.get(i).remove();
+                    excess--;
+                    count--;
+                }
+            }
+
+            removedEntities += before - count;
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("[ENTIDADES] Chunk " + chunk.getX() + "," + chunk.getZ() + " em " +
+                        chunk.getWorld().getName() + " com " + count + " entidades após a limpeza (limite " + limit + ")");
+            }
+        }
+
+        worldCounters.put(LongIntHashMap.chunkKey(chunk.getX(), chunk.getZ()), count);
+    }
+
+    // Auxiliares
+
+    /**
+     * Obtém os contadores de um mundo, criando-os se o mundo for gerenciado
+     */
+    private LongIntHashMap getCounters(World world) {
+        if (world == null) {
+            return null;
+        }
+
+        LongIntHashMap worldCounters = counters.get(world);
+        if (worldCounters == null && plugin.getWorldManager().worldExists(world.getName())) {
+            // Chunks já carregados são contados pela próxima varredura
+            worldCounters = new LongIntHashMap(256);
+            counters.put(world, worldCounters);
+        }
+        return worldCounters;
+    }
+
+    private void increment(Location location) {
+        LongIntHashMap worldCounters = getCounters(location.getWorld());
+        if (worldCounters == null) {
+            return;
+        }
+
+        int count = worldCounters.addTo(keyOf(location), 1);
+        int limit = plugin.getConfigManager().getEntityLimitPerChunk();
+        if (limit > 0 && count == limit + 1) {
+            overflowQueue.addLast(location.getChunk());
+        }
+    }
+
+    private void decrement(Location location) {
+        LongIntHashMap worldCounters = counters.get(location.getWorld());
+        if (worldCounters == null) {
+            return;
+        }
+
+        long key = keyOf(location);
+        if (worldCounters.addTo(key, -1) < 0) {
+            worldCounters.put(key, 0);
+        }
+    }
+
+    private static long keyOf(Location location) {
+        return LongIntHashMap.chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    private static int countEntities(List<Entity> entities) {
+        int count = 0;
+        for (Entity entity : entities) {
+            if (isCounted(entity)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Entidades que contam para o limite: itens e criaturas, exceto jogadores
+     */
+    private static boolean isCounted(Entity entity) {
+        return entity instanceof Item || (entity instanceof LivingEntity && !(entity instanceof Player));
+    }
+
+    /**
+     * Mobs que podem ser removidos sem perda para o jogador
+     */
+    private static boolean isRemovableMob(Mob mob) {
+        if (mob.getCustomName() != null || mob.isLeashed() || mob.isInsideVehicle() || !mob.getPassengers().isEmpty()) {
+            return false;
+        }
+        if (mob instanceof Tameable && ((Tameable) mob).isTamed()) {
+            return false;
+        }
+        return !(mob instanceof AbstractVillager);
+    }
+
+    /**
+     * Obtém o número de entidades removidas pela varredura desde o início
+     *
+     * @return Entidades removidas
+     */
+    public int getRemovedEntities() {
+        return removedEntities;
+    }
+}
@@ -0,0 +1,336 @@
+package com.worldsmanager.listeners;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.utils.LongIntHashMap;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockRedstoneEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detector de relógios de redstone e máquinas de lag nos mundos gerenciados.
+ *
+ * Conta as atualizações de redstone e de pistões por posição de bloco em
+ * janelas de um segundo. A posição que atinge o limite é registrada em um
+ * buffer pré-alocado e, ao fim da janela, é informada ao dono e aos admins e,
+ * conforme lag-machines.action, desativada ou quebrada. Os handlers não
+ * alocam objetos próprios: usam apenas mapas de chaves primitivas e vetores.
+ */
+public class LagMachineListener implements Listener {
+
+    private static final int FLAGGED_CAPACITY = 64;
+    private static final int HISTORY_SIZE = 20;
+
+    // Marcador para mundos não gerenciados no cache de contadores
+    private static final LongIntHashMap UNMANAGED = new LongIntHashMap(4);
+
+    /**
+     * Ação aplicada às posições detectadas
+     */
+    public enum Action {
+        NONE,
+        DISABLE,
+        BREAK
+    }
+
+    private final WorldsManager plugin;
+
+    // Atualizações por posição no segundo atual, por mundo
+    private final Map<World, LongIntHashMap> counters = new IdentityHashMap<>();
+
+    // Componentes desativados, por mundo (valor sem uso)
+    private final Map<World, LongIntHashMap> disabled = new IdentityHashMap<>();
+
+    // Posições que atingiram o limite no segundo atual
+    private final World[] flaggedWorlds = new World[FLAGGED_CAPACITY];
+    private final long[] flaggedPositions = new long[FLAGGED_CAPACITY];
+    private int flaggedCount;
+    private int droppedFlags;
+
+    // Última notificação por mundo, para não repetir avisos a cada segundo
+    private final Map<World, Long> lastReport = new IdentityHashMap<>();
+    private final ArrayDeque<String> history = new ArrayDeque<>();
+
+    private int threshold;
+    private Action action = Action.NONE;
+    private BukkitTask windowTask;
+
+    public LagMachineListener(WorldsManager plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Relê o limite e a ação do config.yml
+     */
+    public void reload() {
+        threshold = plugin.getConfigManager().isLagMachineDetectionEnabled()
+                ? Math.max(2, plugin.getConfigManager().getLagMachineMaxUpdatesPerSecond()) : 0;
+        try {
+            action = Action.valueOf(plugin.getConfigManager().getLagMachineAction().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Ação inválida em lag-machines.action: " +
+                    plugin.getConfigManager().getLagMachineAction() + ". Usando NONE.");
+            action = Action.NONE;
+        }
+
+        // Reavalia quais mundos são gerenciados
+        counters.clear();
+    }
+
+    /**
+     * Inicia o fechamento das janelas de um segundo
+     */
+    public void start() {
+        if (windowTask == null) {
+            windowTask = Bukkit.getScheduler().runTaskTimer(plugin, this::closeWindow, 20L, 20L);
+        }
+    }
+
+    /**
+     * Encerra o detector
+     */
+    public void shutdown() {
+        if (windowTask != null) {
+            windowTask.cancel();
+            windowTask = null;
+        }
+        counters.clear();
+        disabled.clear();
+        clearFlagged();
+    }
+
+    // Eventos
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onBlockRedstone(BlockRedstoneEvent event) {
+        if (event.getNewCurrent() == event.getOldCurrent()) {
+            return;
+        }
+
+        Block block = event.getBlock();
+        if (record(block)) {
+            event.setNewCurrent(0);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        if (record(event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        if (record(event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        World world = event.getWorld();
+        counters.remove(world);
+        disabled.remove(world);
+        lastReport.remove(world);
+    }
+
+    /**
+     * Conta uma atualização na posição do bloco
+     *
+     * @return true se o componente estiver desativado e o evento deve ser anulado
+     */
+    private boolean record(Block block) {
+        if (threshold <= 0) {
+            return false;
+        }
+
+        World world = block.getWorld();
+        LongIntHashMap worldCounters = counters.get(world);
+        if (worldCounters == null) {
+            worldCounters = plugin.getWorldManager().worldExists(world.getName()) ? new LongIntHashMap(256) : UNMANAGED;
+            counters.put(world, worldCounters);
+        }
+        if (worldCounters == UNMANAGED) {
+            return false;
+        }
+
+        long key = LongIntHashMap.blockKey(block.getX(), block.getY(), block.getZ());
+
+        LongIntHashMap worldDisabled = disabled.get(world);
+        if (worldDisabled != null && worldDisabled.containsKey(key)) {
+            return true;
+        }
+
+        if (worldCounters.addTo(key, 1) == threshold) {
+            if (flaggedCount < FLAGGED_CAPACITY) {
+                flaggedWorlds[flaggedCount] = world;
+                flaggedPositions[flaggedCount] = key;
+                flaggedCount++;
+            } else {
+                droppedFlags++;
+            }
+        }
+        return false;
+    }
+
+    // Janela de um segundo
+
+    private void closeWindow() {
+        if (flaggedCount > 0) {
+            handleFlagged();
+        }
+
+        for (LongIntHashMap worldCounters : counters.values()) {
+            if (worldCounters != UNMANAGED) {
+                worldCounters.clear();
+            }
+        }
+        clearFlagged();
+    }
+
+    private void handleFlagged() {
+        long now = System.currentTimeMillis();
+        long cooldown = plugin.getConfigManager().getLagMachineReportCooldownSeconds() * 1000L;
+
+        for (int i = 0; i < flaggedCount; i++) {
+            World world = flaggedWorlds[i];
+            long key = flaggedPositions[i];
+            LongIntHashMap worldCounters = counters.get(world);
+            if (worldCounters == null) {
+                // Mundo descarregado durante a janela
+                continue;
+            }
+
+            int x = LongIntHashMap.blockKeyX(key);
+            int y = LongIntHashMap.blockKeyY(key);
+            int z = LongIntHashMap.blockKeyZ(key);
+            int updates = worldCounters.get(key);
+
+            String position = world.getName() + " " + x + ", " + y + ", " + z;
+            addHistory(position + " (" + updates + "/s, " + action.name() + ")");
+
+            switch (action) {
+                case DISABLE:
+                    LongIntHashMap worldDisabled = disabled.get(world);
+                    if (worldDisabled == null) {
+                        worldDisabled = new LongIntHashMap(16);
+                        disabled.put(world, worldDisabled);
+                    }
+                    worldDisabled.put(key, 1);
+                    break;
+                case BREAK:
+                    if (world.isChunkLoaded(x >> 4, z >> 4)) {
+                        world.getBlockAt(x, y, z).breakNaturally();
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            // Ações aplicadas sempre são avisadas; detecções sem ação respeitam o intervalo
+            Long last = lastReport.get(world);
+            if (action != Action.NONE || last == null || now - last >= cooldown) {
+                lastReport.put(world, now);
+                report(world, position, updates);
+            }
+        }
+
+        if (droppedFlags > 0) {
+            plugin.getLogger().warning("Detector de máquinas de lag: " + droppedFlags +
+                    " posições acima do limite não foram registradas neste segundo");
+        }
+    }
+
+    private void report(World world, String position, int updates) {
+        String suffix;
+        switch (action) {
+            case DISABLE:
+                suffix = " O componente foi desativado.";
+                break;
+            case BREAK:
+                suffix = " O componente foi quebrado.";
+                break;
+            default:
+                suffix = "";
+                break;
+        }
+
+        String message = ChatColor.RED + "[Lag] " + ChatColor.YELLOW + "Possível relógio de redstone em " +
+                ChatColor.WHITE + position + ChatColor.YELLOW + " (" + updates + " atualizações/s)." + suffix;
+
+        plugin.getLogger().warning(ChatColor.stripColor(message));
+
+        CustomWorld customWorld = plugin.getWorldManager().getWorldByName(world.getName());
+        Player owner = customWorld != null ? Bukkit.getPlayer(customWorld.getOwnerUUID()) : null;
+        if (owner != null) {
+            owner.sendMessage(message);
+        }
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (player != owner && player.hasPermission("worldsmanager.admin")) {
+                player.sendMessage(message);
+            }
+        }
+    }
+
+    private void addHistory(String entry) {
+        if (history.size() >= HISTORY_SIZE) {
+            history.pollFirst();
+        }
+        history.addLast(new SimpleDateFormat("HH:mm:ss").format(new Date()) + " " + entry);
+    }
+
+    private void clearFlagged() {
+        for (int i = 0; i < flaggedCount; i++) {
+            flaggedWorlds[i] = null;
+        }
+        flaggedCount = 0;
+        droppedFlags = 0;
+    }
+
+    /**
+     * Obtém as detecções mais recentes, da mais nova para a mais antiga
+     *
+     * @return Descrições das detecções
+     */
+    public List<String> getHistory() {
+        List<String> entries = new ArrayList<>(history.size());
+        Iterator<String> iterator = history.descendingIterator();
+        while (iterator.hasNext()) {
+            entries.add(iterator.next());
+        }
+        return entries;
+    }
+
+    /**
+     * Reativa os componentes desativados de um mundo
+     *
+     * @param world Mundo
+     * @return Número de componentes reativados
+     */
+    public int clearDisabled(World world) {
+        LongIntHashMap worldDisabled = disabled.remove(world);
+        return worldDisabled != null ? worldDisabled.size() : 0;
+    }
+}
@@ -0,0 +1,77 @@
+package com.worldsmanager.listeners;
+
+import com.worldsmanager.utils.WorldFlagTable;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPhysicsEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockRedstoneEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Aplica as configurações de redstone, física, fluidos e queda de folhas
+ * dos mundos gerenciados.
+ *
+ * Esses eventos disparam milhares de vezes por tick, por isso cada handler
+ * faz apenas uma consulta à WorldFlagTable.
+ */
+public class WorldFlagListener implements Listener {
+
+    private final WorldFlagTable flagTable;
+
+    public WorldFlagListener(WorldFlagTable flagTable) {
+        this.flagTable = flagTable;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onBlockRedstone(BlockRedstoneEvent event) {
+        // O evento não é cancelável; corrente zero mantém o circuito desligado
+        if (event.getNewCurrent() != 0 && flagTable.has(event.getBlock().getWorld(), WorldFlagTable.REDSTONE_DISABLED)) {
+            event.setNewCurrent(0);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        if (flagTable.has(event.getBlock().getWorld(), WorldFlagTable.REDSTONE_DISABLED)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        if (flagTable.has(event.getBlock().getWorld(), WorldFlagTable.REDSTONE_DISABLED)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onBlockPhysics(BlockPhysicsEvent event) {
+        if (flagTable.has(event.getBlock().getWorld(), WorldFlagTable.PHYSICS_DISABLED)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onBlockFromTo(BlockFromToEvent event) {
+        if (flagTable.has(event.getBlock().getWorld(), WorldFlagTable.FLUIDS_DISABLED)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) {
+        if (flagTable.has(event.getBlock().getWorld(), WorldFlagTable.LEAF_DECAY_DISABLED)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        flagTable.remove(event.getWorld());
+    }
+}
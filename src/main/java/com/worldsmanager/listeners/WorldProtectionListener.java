@@ -0,0 +1,213 @@
+package com.worldsmanager.listeners;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.CustomWorld;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockIgniteEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Aplica security.blocked-actions nos mundos gerenciados: jogadores que não
+ * são donos nem confiáveis não podem executar as ações bloqueadas.
+ *
+ * Eventos de bloco disparam milhares de vezes por segundo, então a decisão
+ * de acesso de cada jogador é guardada para o mundo em que ele está e só é
+ * recalculada quando o jogador muda de mundo, quando a lista de confiáveis
+ * muda, no reload ou quando expira (para acompanhar mudanças de permissão).
+ */
+public class WorldProtectionListener implements Listener {
+
+    private static final String BYPASS_PERMISSION = "worldsmanager.protection.bypass";
+    private static final long DENY_MESSAGE_COOLDOWN_MILLIS = 2000L;
+
+    /**
+     * Ações que podem ser bloqueadas pelo config.yml
+     */
+    private enum BlockedAction {
+        BLOCK_BREAK,
+        BLOCK_PLACE,
+        BUCKET_EMPTY,
+        BUCKET_FILL,
+        FLINT_AND_STEEL;
+
+        private final int bit = 1 << ordinal();
+    }
+
+    /**
+     * Decisão de acesso de um jogador para um mundo
+     */
+    private static class AccessDecision {
+        private World world;
+        private boolean allowed;
+        private long epoch;
+        private long computedAt;
+        private long lastDenyMessage;
+    }
+
+    private final WorldsManager plugin;
+    private final Map<UUID, AccessDecision> decisions = new HashMap<>();
+
+    private int blockedMask;
+    private long cacheMillis;
+    private long epoch;
+
+    public WorldProtectionListener(WorldsManager plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Relê as ações bloqueadas e descarta todas as decisões em cache
+     */
+    public void reload() {
+        int mask = 0;
+        List<String> actions = plugin.getConfigManager().getBlockedActions();
+        for (String name : actions) {
+            try {
+                mask |= BlockedAction.valueOf(name.toUpperCase()).bit;
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Ação bloqueada desconhecida em security.blocked-actions: " + name);
+            }
+        }
+        blockedMask = mask;
+        cacheMillis = plugin.getConfigManager().getAccessCacheSeconds() * 1000L;
+        invalidateAll();
+    }
+
+    /**
+     * Descarta as decisões de todos os jogadores
+     */
+    public void invalidateAll() {
+        epoch++;
+    }
+
+    /**
+     * Descarta a decisão de um jogador (ex.: ao ser adicionado ou removido como confiável)
+     *
+     * @param playerUUID UUID do jogador
+     */
+    public void invalidatePlayer(UUID playerUUID) {
+        decisions.remove(playerUUID);
+    }
+
+    // Eventos protegidos
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        if (isDenied(event.getPlayer(), event.getBlock().getWorld(), BlockedAction.BLOCK_BREAK)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (isDenied(event.getPlayer(), event.getBlock().getWorld(), BlockedAction.BLOCK_PLACE)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        if (isDenied(event.getPlayer(), event.getBlock().getWorld(), BlockedAction.BUCKET_EMPTY)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBucketFill(PlayerBucketFillEvent event) {
+        if (isDenied(event.getPlayer(), event.getBlock().getWorld(), BlockedAction.BUCKET_FILL)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBlockIgnite(BlockIgniteEvent event) {
+        if (event.getCause() != BlockIgniteEvent.IgniteCause.FLINT_AND_STEEL || event.getPlayer() == null) {
+            return;
+        }
+        if (isDenied(event.getPlayer(), event.getBlock().getWorld(), BlockedAction.FLINT_AND_STEEL)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW)
+    public void onInteract(PlayerInteractEvent event) {
+        // Isqueiro em entidades e blocos que não acendem (ex.: TNT) não gera BlockIgniteEvent
+        if (event.getAction() != Action.RIGHT_CLICK_BLOCK || event.getItem() == null ||
+                event.getItem().getType() != Material.FLINT_AND_STEEL || event.getClickedBlock() == null) {
+            return;
+        }
+        if (isDenied(event.getPlayer(), event.getClickedBlock().getWorld(), BlockedAction.FLINT_AND_STEEL)) {
+            event.setCancelled(true);
+        }
+    }
+
+    // Invalidação
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        decisions.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        decisions.remove(event.getPlayer().getUniqueId());
+    }
+
+    // Decisão
+
+    private boolean isDenied(Player player, World world, BlockedAction action) {
+        if ((blockedMask & action.bit) == 0) {
+            return false;
+        }
+
+        AccessDecision decision = decisions.get(player.getUniqueId());
+        long now = System.currentTimeMillis();
+
+        if (decision == null) {
+            decision = new AccessDecision();
+            decisions.put(player.getUniqueId(), decision);
+            compute(decision, player, world, now);
+        } else if (decision.world != world || decision.epoch != epoch || now - decision.computedAt >= cacheMillis) {
+            compute(decision, player, world, now);
+        }
+
+        if (decision.allowed) {
+            return false;
+        }
+
+        if (now - decision.lastDenyMessage >= DENY_MESSAGE_COOLDOWN_MILLIS) {
+            decision.lastDenyMessage = now;
+            player.sendMessage(ChatColor.RED + "Você não tem permissão para fazer isso neste mundo.");
+        }
+        return true;
+    }
+
+    private void compute(AccessDecision decision, Player player, World world, long now) {
+        CustomWorld customWorld = plugin.getWorldManager().getWorldByName(world.getName());
+
+        // Mundos que não são gerenciados pelo plugin não são protegidos aqui
+        decision.allowed = customWorld == null || customWorld.canAccess(player) || player.hasPermission(BYPASS_PERMISSION);
+        decision.world = world;
+        decision.epoch = epoch;
+        decision.computedAt = now;
+    }
+}
@@ -1,6 +1,12 @@
 package com.worldsmanager.listeners;
 
 import com.worldsmanager.WorldsManager;
+import com.worldsmanager.managers.WorldRegistryManager;
+import com.worldsmanager.messaging.MessageCodec;
+import com.worldsmanager.messaging.MessageOutbox;
+import com.worldsmanager.messaging.MessageReader;
+import com.worldsmanager.messaging.MessageTransport;
+import com.worldsmanager.messaging.WorldMessage;
 import com.worldsmanager.models.CustomWorld;
 import com.worldsmanager.models.WorldSettings;
 import com.worldsmanager.utils.WorldCreationUtils;
@@ -18,18 +24,17 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.plugin.messaging.PluginMessageListener;
 
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
-import java.io.EOFException;
 import java.io.IOException;
 import java.io.File;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 /**
  * Listener para processamento de mensagens entre servidores
  */
-public class WorldsMessageListener implements PluginMessageListener, Listener {
+public class WorldsMessageListener implements PluginMessageListener, Listener, MessageTransport.Receiver {
 
     private final WorldsManager plugin;
     private final String PLUGIN_CHANNEL = "WorldsManager";
@@ -48,7 +53,7 @@ public class WorldsMessageListener implements PluginMessageListener, Listener {
         }
 
         try {
-            DataInputStream in = new DataInputStream(new ByteArrayInputStream(message));
+            MessageReader in = new MessageReader(message);
             String subchannel = in.readUTF();
 
             // DEBUG para verificar subchannel
@@ -68,13 +73,15 @@ public class WorldsMessageListener implements PluginMessageListener, Listener {
                     return;
                 }
 
-                // Lê o tamanho do array de dados
-                short dataLength = in.readShort();
-                byte[] data = new byte[dataLength];
-                in.readFully(data);
+                // Lê o tamanho dos dados e decodifica direto do array recebido, sem cópia
+                int dataLength = in.readUnsignedShort();
+                int dataOffset = in.position();
+                in.skip(dataLength);
 
-                // Processa a mensagem
-                processPluginMessage(data);
+                // Processa a mensagem (pelo transporte BungeeCord, que contabiliza o tráfego recebido)
+                if (!plugin.getOutboundDispatcher().getBungeeTransport().onForward(message, dataOffset, dataLength)) {
+                    processPluginMessage(message, dataOffset, dataLength);
+                }
             } else {
                 plugin.getLogger().info("[DEBUG] Ignorando subchannel não processado: " + subchannel);
             }
@@ -85,63 +92,113 @@ public class WorldsMessageListener implements PluginMessageListener, Listener {
         }
     }
 
+    @Override
+    public void receive(byte[] data, int offset, int length) {
+        processPluginMessage(data, offset, length);
+    }
+
     /**
-     * Processa uma mensagem do plugin
+     * Processa uma mensagem ou um lote de mensagens do plugin, no formato binário ou legado
      *
-     * @param data Dados da mensagem
+     * @param data Array com a mensagem
+     * @param offset Início da mensagem no array
+     * @param length Tamanho da mensagem
      */
-    private void processPluginMessage(byte[] data) {
+    private void processPluginMessage(byte[] data, int offset, int length) {
+        List<WorldMessage> messages;
         try {
-            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
-            String action = in.readUTF();
-
-            plugin.getLogger().info("[DEBUG] Ação recebida: " + action);
-
-            switch (action) {
-                case "CreateWorld":
-                    handleCreateWorld(in);
-                    break;
-                case "TeleportToWorld":
-                    handleTeleportToWorld(in);
-                    break;
-                case "DeleteWorld":
-                    handleDeleteWorld(in);
-                    break;
-                case "UpdateWorldSettings":
-                    handleUpdateWorldSettings(in);
-                    break;
-                default:
-                    plugin.getLogger().warning("Ação desconhecida recebida: " + action);
-                    break;
-            }
-        } catch (IOException e) {
+            messages = MessageCodec.decodeAll(data, offset, length);
+        } catch (IOException | IllegalArgumentException e) {
             plugin.getLogger().log(Level.SEVERE, "Erro ao processar dados da mensagem", e);
+            return;
         }
+
+        // Mensagens de um lote são processadas na ordem em que foram enviadas
+        MessageOutbox outbox = plugin.getMessageOutbox();
+        for (WorldMessage message : messages) {
+            if (message.getType() == MessageCodec.TYPE_ACK) {
+                outbox.handleAck(message);
+            } else if (message.getType() == MessageCodec.TYPE_HEARTBEAT) {
+                plugin.getServerHeartbeatManager().record(message.getHeartbeat());
+            } else if (outbox.accept(message)) {
+                handleMessage(message);
+            } else if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("[DEBUG] Mensagem duplicada ignorada: " + message);
+            }
+        }
+
+        // Confirma as mensagens recebidas pelo jogador que as trouxe, ainda neste tick
+        outbox.flushAcks();
     }
 
     /**
-     * Trata o comando de criação de mundo
+     * Executa a ação de uma mensagem recebida
      *
-     * @param in Stream de dados
-     * @throws IOException Se ocorrer um erro de IO
+     * @param message Mensagem decodificada
      */
-    private void handleCreateWorld(DataInputStream in) throws IOException {
-        // Lê os parâmetros do mundo
-        String worldName = in.readUTF();
-        String displayName = in.readUTF();
-        UUID ownerUUID = UUID.fromString(in.readUTF());
-        Material icon = Material.valueOf(in.readUTF());
-
-        // Lê o caminho personalizado
-        String worldPath = "";
-        try {
-            worldPath = in.readUTF();
-        } catch (EOFException e) {
-            plugin.getLogger().warning("Mensagem recebida sem informação de caminho personalizado");
+    private void handleMessage(WorldMessage message) {
+        // Trechos de migração chegam às centenas; não passam pelo log de depuração
+        if (message.getType() == MessageCodec.TYPE_MIGRATION_CHUNK) {
+            plugin.getWorldMigrationManager().handleChunk(message);
+            return;
+        }
+
+        plugin.getLogger().info("[DEBUG] Ação recebida: " + MessageCodec.getTypeName(message.getType()));
+
+        switch (message.getType()) {
+            case MessageCodec.TYPE_CREATE_WORLD:
+                handleCreateWorld(message);
+                break;
+            case MessageCodec.TYPE_TELEPORT_TO_WORLD:
+                handleTeleportToWorld(message);
+                break;
+            case MessageCodec.TYPE_DELETE_WORLD:
+                handleDeleteWorld(message);
+                break;
+            case MessageCodec.TYPE_UPDATE_WORLD_SETTINGS:
+                handleUpdateWorldSettings(message);
+                break;
+            case MessageCodec.TYPE_WORLD_READY:
+            case MessageCodec.TYPE_WORLD_FAILED:
+                // Respostas a um commit de migração não são de nenhum jogador
+                if (!plugin.getWorldMigrationManager().handleReply(message)) {
+                    plugin.getMessagingManager().handleWorldReply(message);
+                }
+                break;
+            case MessageCodec.TYPE_MIGRATION_COMMIT:
+                plugin.getWorldMigrationManager().handleCommit(message);
+                break;
+            case MessageCodec.TYPE_MIGRATION_ABORT:
+                plugin.getWorldMigrationManager().handleAbort(message);
+                break;
+            case MessageCodec.TYPE_REGISTRY_CHANGE:
+                plugin.getWorldRegistryManager().handleChange(message);
+                break;
+            case MessageCodec.TYPE_PING:
+                plugin.getOutboundDispatcher().handlePing(message);
+                break;
+            case MessageCodec.TYPE_PONG:
+                plugin.getOutboundDispatcher().handlePong(message);
+                break;
+            default:
+                plugin.getLogger().warning("Ação desconhecida recebida: " + MessageCodec.getTypeName(message.getType()));
+                break;
         }
+    }
 
-        // Lê as configurações do mundo
-        WorldSettings settings = readWorldSettings(in);
+    /**
+     * Trata o comando de criação de mundo
+     *
+     * @param message Mensagem recebida
+     */
+    private void handleCreateWorld(WorldMessage message) {
+        // Parâmetros do mundo
+        String worldName = message.getWorldName();
+        String displayName = message.getDisplayName();
+        UUID ownerUUID = message.getOwnerUUID();
+        Material icon = message.getIcon();
+        String worldPath = message.getWorldPath();
+        WorldSettings settings = message.getSettings();
 
         // Determina o nome do jogador para o caminho personalizado
         String playerName = "unknown";
@@ -179,6 +236,21 @@ public class WorldsMessageListener implements PluginMessageListener, Listener {
                 owner.sendMessage(ChatColor.YELLOW + "Este mundo já existe. Teleportando para ele...");
                 owner.teleport(Bukkit.getWorld(worldName).getSpawnLocation());
             }
+            sendWorldReply(message, null);
+            return;
+        }
+
+        // Recusa a criação enquanto a memória estiver em nível crítico
+        if (!plugin.getMemoryGovernor().canCreateWorlds()) {
+            plugin.getLogger().warning("Criação de mundo recusada por falta de memória: " + worldName);
+
+            Player owner = Bukkit.getPlayer(ownerUUID);
+            if (owner != null) {
+                owner.sendMessage(ChatColor.RED + "O servidor de mundos está com pouca memória no momento. " +
+                        "Tente criar seu mundo novamente em alguns minutos.");
+            }
+            sendWorldReply(message, "O servidor de mundos está com pouca memória no momento. " +
+                    "Tente criar seu mundo novamente em alguns minutos.");
             return;
         }
 
@@ -189,16 +261,18 @@ public class WorldsMessageListener implements PluginMessageListener, Listener {
         final String finalPlayerName = playerName;
         final String finalWorldPath = worldPath;
 
-        // Executa a criação de mundo na thread principal
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        // Executa a criação de mundo pela fila de carregamento, na thread principal
+        plugin.getWorldLoadScheduler().submit(worldName, ownerUUID, null, () -> WorldCreationUtils.createWorldInPath(
+                worldName,
+                finalWorldPath,
+                plugin.getConfigManager().getWorldType(),
+                plugin.getConfigManager().getWorldEnvironment(),
+                plugin.getConfigManager().isGenerateStructures())
+        ).whenComplete((world, error) -> {
             try {
-                // Cria o mundo usando o método personalizado
-                World world = WorldCreationUtils.createWorldInPath(
-                        worldName,
-                        finalWorldPath,
-                        plugin.getConfigManager().getWorldType(),
-                        plugin.getConfigManager().getWorldEnvironment(),
-                        plugin.getConfigManager().isGenerateStructures());
+                if (error != null) {
+                    throw error;
+                }
 
                 if (world == null) {
                     plugin.getLogger().severe("Falha ao criar o mundo: " + worldName);
@@ -208,25 +282,34 @@ public class WorldsMessageListener implements PluginMessageListener, Listener {
                     if (owner != null) {
                         owner.sendMessage(ChatColor.RED + "Falha ao criar seu mundo! Tente novamente mais tarde.");
                     }
+                    sendWorldReply(message, "Falha ao criar seu mundo! Tente novamente mais tarde.");
                     return;
                 }
 
-                // Cria o objeto CustomWorld com o caminho personalizado
-                CustomWorld customWorld = new CustomWorld(displayName, ownerUUID, worldName, icon);
-                customWorld.setSettings(settings);
+                // O lobby já gravou o registro antes de enviar o pedido; este servidor só assume o mundo
+                CustomWorld stored = plugin.getDatabaseManager().getWorld(worldName);
+                CustomWorld customWorld = stored != null ? stored : new CustomWorld(displayName, ownerUUID, worldName, icon);
+                if (stored == null) {
+                    // Pedido de um lobby sem o registro no banco
+                    customWorld.setSettings(settings);
+                }
                 customWorld.setWorldPath(finalWorldPath);
+                customWorld.setServerName(plugin.getMessageOutbox().getServerName());
 
                 // Aplica as configurações ao mundo
                 plugin.getWorldManager().applyWorldSettings(customWorld);
 
-                // Salva no banco de dados
-                plugin.getDatabaseManager().saveWorld(customWorld);
+                plugin.getWorldRegistryManager().saveAndPublish(customWorld,
+                        stored != null ? WorldRegistryManager.SECTION_SERVER : WorldRegistryManager.SECTION_ALL);
 
                 // Adiciona aos mundos carregados
                 plugin.getWorldManager().addLoadedWorld(customWorld);
 
                 plugin.getLogger().info("Mundo criado com sucesso: " + worldName + " para jogador " + finalPlayerName);
 
+                // Avisa o lobby, que conecta o jogador assim que recebe a resposta
+                sendWorldReply(message, null);
+
                 // Notifica o proprietário se estiver online
                 Player owner = Bukkit.getPlayer(ownerUUID);
                 if (owner != null) {
@@ -236,18 +319,22 @@ public class WorldsMessageListener implements PluginMessageListener, Listener {
                     Bukkit.getScheduler().runTaskLater(plugin, () -> {
                         if (owner.isOnline()) {
                             owner.sendMessage(ChatColor.GREEN + "Teleportando para seu novo mundo: " + displayName);
-                            customWorld.teleportPlayer(owner);
-
-                            // Configura o jogador para modo criativo
-                            owner.setGameMode(GameMode.CREATIVE);
-
-                            // Mensagem de bem-vindo
-                            owner.sendMessage(ChatColor.GREEN + "Bem-vindo ao seu novo mundo! Você está no modo criativo.");
-                            owner.sendMessage(ChatColor.YELLOW + "Use /worlds para gerenciar seus mundos.");
+                            plugin.getWorldManager().getTeleportManager().teleportWhenReady(owner, customWorld).thenAccept(success -> {
+                                if (!success) {
+                                    return;
+                                }
+
+                                // Configura o jogador para modo criativo
+                                owner.setGameMode(GameMode.CREATIVE);
+
+                                // Mensagem de bem-vindo
+                                owner.sendMessage(ChatColor.GREEN + "Bem-vindo ao seu novo mundo! Você está no modo criativo.");
+                                owner.sendMessage(ChatColor.YELLOW + "Use /worlds para gerenciar seus mundos.");
+                            });
                         }
                     }, 10L); // 0.5 segundo de delay
                 }
-            } catch (Exception e) {
+            } catch (Throwable e) {
                 plugin.getLogger().log(Level.SEVERE, "Erro ao criar mundo via mensagem cross-server", e);
 
                 // Notifica o jogador sobre a falha
@@ -255,6 +342,7 @@ public class WorldsMessageListener implements PluginMessageListener, Listener {
                 if (owner != null) {
                     owner.sendMessage(ChatColor.RED + "Erro ao criar seu mundo: " + e.getMessage());
                 }
+                sendWorldReply(message, "Erro ao criar seu mundo: " + e.getMessage());
             }
         });
     }
@@ -262,94 +350,178 @@ public class WorldsMessageListener implements PluginMessageListener, Listener {
     /**
      * Trata o comando de teleporte para um mundo
      *
-     * @param in Stream de dados
-     * @throws IOException Se ocorrer um erro de IO
+     * @param message Mensagem recebida
      */
-    private void handleTeleportToWorld(DataInputStream in) throws IOException {
-        UUID playerUUID = UUID.fromString(in.readUTF());
-        String worldName = in.readUTF();
+    private void handleTeleportToWorld(WorldMessage message) {
+        UUID playerUUID = message.getPlayerUUID();
+        String worldName = message.getWorldName();
 
         plugin.getLogger().info("[DEBUG] Recebido pedido de teleporte para jogador " + playerUUID + " para mundo " + worldName);
 
+        // O jogador ainda está a caminho: aquece o cache de disco com os arquivos do mundo enquanto isso
+        plugin.getWorldFilePrefetcher().prefetch(worldName);
+
         // Programar para executar na próxima tick
         Bukkit.getScheduler().runTask(plugin, () -> {
             Player player = Bukkit.getPlayer(playerUUID);
             if (player == null) {
-                plugin.getLogger().warning("Jogador não encontrado para teleporte: " + playerUUID);
+                // A mensagem chegou antes do jogador: carrega o mundo agora e o teleporte acontece quando ele entrar
+                plugin.getWorldManager().addPendingTeleport(playerUUID, worldName);
+                prepareWorldForArrival(message);
                 return;
             }
 
-            // Verifica se o mundo está disponível no servidor atual
-            World world = Bukkit.getWorld(worldName);
+            // O jogador já está aqui; o lobby não precisa esperar o carregamento
+            sendWorldReply(message, null);
 
-            // Tenta carregar o mundo se não estiver carregado
-            if (world == null) {
-                plugin.getLogger().info("Tentando carregar mundo para teleporte: " + worldName);
+            // Mundos gerenciados: carrega pela fila e pré-carrega os chunks do destino antes de teleportar
+            CustomWorld customWorld = plugin.getWorldManager().getWorldByName(worldName);
+            if (customWorld != null) {
+                plugin.getWorldManager().getTeleportManager().teleportWhenReady(player, customWorld).thenAccept(success -> {
+                    if (success) {
+                        player.sendMessage(ChatColor.GREEN + plugin.getLanguageManager().getMessage("teleported-to-world")
+                                .replace("%world%", worldName));
+                    }
+                });
+                return;
+            }
 
-                // Tenta encontrar o mundo personalizado
-                CustomWorld customWorld = plugin.getWorldManager().getWorldByName(worldName);
+            // Verifica se o mundo está disponível no servidor atual
+            World world = Bukkit.getWorld(worldName);
+            if (world != null) {
+                teleportToLoadedWorld(player, world, worldName);
+                return;
+            }
 
-                if (customWorld != null) {
-                    // Tenta carregar do caminho personalizado
-                    String worldPath = customWorld.getWorldPath();
-                    plugin.getLogger().info("Tentando carregar mundo a partir do caminho personalizado: " + worldPath);
+            // Tenta carregar o mundo pela fila de carregamento
+            plugin.getLogger().info("Tentando carregar mundo para teleporte: " + worldName);
+            CompletableFuture<World> loading = plugin.getWorldLoadScheduler().submit(worldName, playerUUID, null,
+                    () -> WorldCreationUtils.loadWorld(worldName));
 
-                    if (worldPath != null && !worldPath.isEmpty()) {
-                        world = WorldCreationUtils.loadWorldFromPath(worldName, worldPath);
-                    }
+            loading.whenComplete((loaded, error) -> {
+                if (player.isOnline()) {
+                    teleportToLoadedWorld(player, loaded, worldName);
                 }
+            });
+        });
+    }
 
-                // Se ainda for nulo, tenta carregar normalmente
-                if (world == null) {
-                    plugin.getLogger().info("Tentando carregar mundo normalmente: " + worldName);
-                    world = WorldCreationUtils.loadWorld(worldName);
-                }
-            }
+    /**
+     * Carrega o mundo de destino de um jogador ainda a caminho e avisa o lobby quando estiver pronto
+     *
+     * @param message Mensagem TeleportToWorld recebida
+     */
+    private void prepareWorldForArrival(WorldMessage message) {
+        String worldName = message.getWorldName();
+        UUID playerUUID = message.getPlayerUUID();
+
+        CompletableFuture<World> loading;
+        CustomWorld customWorld = plugin.getWorldManager().getWorldByName(worldName);
+        if (customWorld != null) {
+            loading = plugin.getWorldManager().loadWorldQueued(customWorld, playerUUID);
+        } else if (Bukkit.getWorld(worldName) != null) {
+            loading = CompletableFuture.completedFuture(Bukkit.getWorld(worldName));
+        } else {
+            loading = plugin.getWorldLoadScheduler().submit(worldName, playerUUID, null,
+                    () -> WorldCreationUtils.loadWorld(worldName));
+        }
 
-            // Verifica se o mundo foi carregado com sucesso
-            if (world == null) {
-                plugin.getLogger().severe("Falha ao carregar mundo para teleporte: " + worldName);
-                player.sendMessage(ChatColor.RED + plugin.getLanguageManager().getMessage("world-not-found"));
+        boolean migrating = customWorld != null && customWorld.isMigrating();
+        loading.whenComplete((world, error) -> {
+            if (world != null) {
+                sendWorldReply(message, null);
                 return;
             }
 
-            // Teleporta o jogador
-            final World finalWorld = world;
-            plugin.getLogger().info("Teleportando jogador " + player.getName() + " para mundo " + worldName);
-
-            // Pequeno delay para garantir que o mundo está totalmente carregado
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                Location spawnLocation = finalWorld.getSpawnLocation();
-                player.teleport(spawnLocation);
-                player.sendMessage(ChatColor.GREEN + plugin.getLanguageManager().getMessage("teleported-to-world")
-                        .replace("%world%", worldName));
-
-                // Aplica modo de jogo se necessário
-                CustomWorld customWorld = plugin.getWorldManager().getWorldByName(worldName);
-                if (customWorld != null) {
-                    if (customWorld.getOwnerUUID().equals(playerUUID)) {
-                        // Proprietário recebe o modo criativo
-                        player.setGameMode(GameMode.CREATIVE);
-                    } else if (!player.hasPermission("worldsmanager.gamemode.bypass")) {
-                        // Outros jogadores recebem o modo definido nas configurações
-                        GameMode gameMode = customWorld.getSettings().getGameMode();
-                        if (gameMode != null) {
-                            player.setGameMode(gameMode);
-                        }
+            // Recusado porque o mundo está aberto em outro servidor
+            String leaseHolder = plugin.getWorldLeaseManager().getRefusedBy(worldName);
+            String failureReason = migrating
+                    ? plugin.getLanguageManager().getMessage("world-migrating")
+                    : leaseHolder != null
+                    ? plugin.getLanguageManager().getMessage("world-leased", leaseHolder)
+                    : plugin.getLanguageManager().getMessage("world-not-found");
+            sendWorldReply(message, failureReason);
+        });
+    }
+
+    /**
+     * Responde a um pedido de criação ou teleporte com WorldReady ou, se houver um motivo de falha, WorldFailed
+     *
+     * @param request Mensagem CreateWorld ou TeleportToWorld recebida
+     * @param failureReason Motivo da falha, ou null se o mundo estiver pronto
+     */
+    private void sendWorldReply(WorldMessage request, String failureReason) {
+        // Sem ID ou sem origem (protocolo anterior à versão 2) ninguém aguarda a resposta
+        if (request.getMessageId() == 0 || request.getOrigin() == null) {
+            return;
+        }
+
+        if (!Bukkit.isPrimaryThread()) {
+            Bukkit.getScheduler().runTask(plugin, () -> sendWorldReply(request, failureReason));
+            return;
+        }
+
+        WorldMessage reply = failureReason == null
+                ? WorldMessage.worldReady(request.getMessageId(), request.getWorldName())
+                : WorldMessage.worldFailed(request.getMessageId(), request.getWorldName(), failureReason);
+        try {
+            plugin.getMessageOutbox().send(request.getOrigin(), reply, null);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Erro ao responder ao servidor " + request.getOrigin(), e);
+        }
+    }
+
+    /**
+     * Teleporta o jogador para um mundo já carregado e aplica o modo de jogo
+     *
+     * @param player Jogador
+     * @param world Mundo carregado (null se o carregamento falhou)
+     * @param worldName Nome do mundo
+     */
+    private void teleportToLoadedWorld(Player player, World world, String worldName) {
+        UUID playerUUID = player.getUniqueId();
+
+        // Verifica se o mundo foi carregado com sucesso
+        if (world == null) {
+            plugin.getLogger().severe("Falha ao carregar mundo para teleporte: " + worldName);
+            player.sendMessage(ChatColor.RED + plugin.getLanguageManager().getMessage("world-not-found"));
+            return;
+        }
+
+        // Teleporta o jogador
+        plugin.getLogger().info("Teleportando jogador " + player.getName() + " para mundo " + worldName);
+
+        // Pequeno delay para garantir que o mundo está totalmente carregado
+        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            Location spawnLocation = world.getSpawnLocation();
+            player.teleport(spawnLocation);
+            player.sendMessage(ChatColor.GREEN + plugin.getLanguageManager().getMessage("teleported-to-world")
+                    .replace("%world%", worldName));
+
+            // Aplica modo de jogo se necessário
+            CustomWorld customWorld = plugin.getWorldManager().getWorldByName(worldName);
+            if (customWorld != null) {
+                if (customWorld.getOwnerUUID().equals(playerUUID)) {
+                    // Proprietário recebe o modo criativo
+                    player.setGameMode(GameMode.CREATIVE);
+                } else if (!player.hasPermission("worldsmanager.gamemode.bypass")) {
+                    // Outros jogadores recebem o modo definido nas configurações
+                    GameMode gameMode = customWorld.getSettings().getGameMode();
+                    if (gameMode != null) {
+                        player.setGameMode(gameMode);
                     }
                 }
-            }, 10L); // 0.5 segundo de delay
-        });
+            }
+        }, 10L); // 0.5 segundo de delay
     }
 
     /**
      * Trata o comando de exclusão de mundo
      *
-     * @param in Stream de dados
-     * @throws IOException Se ocorrer um erro de IO
+     * @param message Mensagem recebida
      */
-    private void handleDeleteWorld(DataInputStream in) throws IOException {
-        String worldName = in.readUTF();
+    private void handleDeleteWorld(WorldMessage message) {
+        String worldName = message.getWorldName();
 
         // Programar para executar na próxima tick
         Bukkit.getScheduler().runTask(plugin, () -> {
@@ -372,12 +544,11 @@ public class WorldsMessageListener implements PluginMessageListener, Listener {
     /**
      * Trata o comando de atualização de configurações de mundo
      *
-     * @param in Stream de dados
-     * @throws IOException Se ocorrer um erro de IO
+     * @param message Mensagem recebida
      */
-    private void handleUpdateWorldSettings(DataInputStream in) throws IOException {
-        String worldName = in.readUTF();
-        WorldSettings settings = readWorldSettings(in);
+    private void handleUpdateWorldSettings(WorldMessage message) {
+        String worldName = message.getWorldName();
+        WorldSettings settings = message.getSettings();
 
         // Programar para executar na próxima tick
         Bukkit.getScheduler().runTask(plugin, () -> {
@@ -389,59 +560,12 @@ public class WorldsMessageListener implements PluginMessageListener, Listener {
 
             customWorld.setSettings(settings);
             plugin.getWorldManager().applyWorldSettings(customWorld);
-            plugin.getDatabaseManager().saveWorld(customWorld);
+            plugin.getWorldRegistryManager().saveAndPublish(customWorld, WorldRegistryManager.SECTION_SETTINGS);
 
             plugin.getLogger().info("Configurações do mundo atualizadas: " + worldName);
         });
     }
 
-    /**
-     * Método auxiliar para ler as configurações de um mundo de um stream
-     *
-     * @param in Stream de dados
-     * @return Configurações do mundo
-     * @throws IOException Se ocorrer um erro de IO
-     */
-    private WorldSettings readWorldSettings(DataInputStream in) throws IOException {
-        WorldSettings settings = new WorldSettings();
-
-        // Lê configurações básicas
-        settings.setPvpEnabled(in.readBoolean());
-        settings.setMobSpawning(in.readBoolean());
-        settings.setTimeCycle(in.readBoolean());
-        settings.setFixedTime(in.readLong());
-        settings.setWeatherEnabled(in.readBoolean());
-        settings.setPhysicsEnabled(in.readBoolean());
-        settings.setRedstoneEnabled(in.readBoolean());
-        settings.setFluidFlow(in.readBoolean());
-        settings.setTickSpeed(in.readInt());
-
-        // Lê configurações adicionais (se disponíveis)
-        try {
-            settings.setKeepInventory(in.readBoolean());
-            settings.setAnnounceDeaths(in.readBoolean());
-            settings.setFallDamage(in.readBoolean());
-            settings.setHungerDepletion(in.readBoolean());
-            settings.setFireSpread(in.readBoolean());
-            settings.setLeafDecay(in.readBoolean());
-            settings.setBlockUpdates(in.readBoolean());
-
-            // Lê o modo de jogo
-            String gameModeStr = in.readUTF();
-            try {
-                settings.setGameMode(GameMode.valueOf(gameModeStr));
-            } catch (IllegalArgumentException e) {
-                settings.setGameMode(GameMode.SURVIVAL);
-                plugin.getLogger().warning("Modo de jogo inválido recebido: " + gameModeStr);
-            }
-        } catch (IOException e) {
-            // Ignora erro - pode ser uma versão antiga da mensagem
-            plugin.getLogger().info("Usando configurações padrão para campos adicionais");
-        }
-
-        return settings;
-    }
-
     /**
      * Evento de entrada de jogador - processa teleportes pendentes
      */
@@ -2,6 +2,7 @@ package com.worldsmanager.managers;
 
 import com.worldsmanager.WorldsManager;
 import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.models.WorldLease;
 import com.worldsmanager.models.WorldSettings;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
@@ -11,7 +12,12 @@ import org.bukkit.World;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Level;
 
@@ -172,6 +178,8 @@ public class DatabaseManager {
                         + "world_name VARCHAR(64) NOT NULL UNIQUE,"
                         + "icon VARCHAR(64) NOT NULL,"
                         + "world_path VARCHAR(255),"
+                        + "server_name VARCHAR(64),"
+                        + "version BIGINT NOT NULL DEFAULT 0,"
                         + "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,"
                         + "INDEX (owner_uuid)"
                         + ");";
@@ -192,6 +200,9 @@ public class DatabaseManager {
                         + "time_cycle BOOLEAN NOT NULL DEFAULT FALSE,"
                         + "fixed_time BIGINT NOT NULL DEFAULT 6000,"
                         + "tick_speed INT NOT NULL DEFAULT 3,"
+                        + "resource_profile VARCHAR(32),"
+                        + "owner_profile VARCHAR(32),"
+                        + "throttle_level INT NOT NULL DEFAULT 0,"
                         + "FOREIGN KEY (world_id) REFERENCES " + tablePrefix + "worlds(id) ON DELETE CASCADE"
                         + ");";
                 statement.executeUpdate(sql);
@@ -222,6 +233,28 @@ public class DatabaseManager {
                 statement.executeUpdate(sql);
             }
 
+            // Cria tabela de popularidade dos mundos
+            try (Statement statement = connection.createStatement()) {
+                String sql = "CREATE TABLE IF NOT EXISTS " + tablePrefix + "world_popularity ("
+                        + "world_id INT PRIMARY KEY,"
+                        + "score DOUBLE NOT NULL DEFAULT 0,"
+                        + "updated_at BIGINT NOT NULL,"
+                        + "FOREIGN KEY (world_id) REFERENCES " + tablePrefix + "worlds(id) ON DELETE CASCADE"
+                        + ");";
+                statement.executeUpdate(sql);
+            }
+
+            // Cria tabela de leases dos mundos (sem chave estrangeira: vale também para mundos fora do registro)
+            try (Statement statement = connection.createStatement()) {
+                String sql = "CREATE TABLE IF NOT EXISTS " + tablePrefix + "world_leases ("
+                        + "world_name VARCHAR(64) PRIMARY KEY,"
+                        + "node_id VARCHAR(64) NOT NULL,"
+                        + "expires_at BIGINT NOT NULL,"
+                        + "INDEX (node_id)"
+                        + ");";
+                statement.executeUpdate(sql);
+            }
+
             // Verificar se a coluna world_path existe, caso contrário adicioná-la
             try (Statement statement = connection.createStatement()) {
                 try {
@@ -233,6 +266,61 @@ public class DatabaseManager {
                     plugin.getLogger().info("Coluna world_path adicionada à tabela " + tablePrefix + "worlds");
                 }
             }
+
+            // Verificar se a coluna server_name existe, caso contrário adicioná-la
+            try (Statement statement = connection.createStatement()) {
+                try {
+                    ResultSet rs = statement.executeQuery("SELECT server_name FROM " + tablePrefix + "worlds LIMIT 1");
+                    rs.close();
+                } catch (SQLException e) {
+                    statement.executeUpdate("ALTER TABLE " + tablePrefix + "worlds ADD COLUMN server_name VARCHAR(64) AFTER world_path");
+                    plugin.getLogger().info("Coluna server_name adicionada à tabela " + tablePrefix + "worlds");
+                }
+            }
+
+            // Verificar se a coluna version existe, caso contrário adicioná-la
+            try (Statement statement = connection.createStatement()) {
+                try {
+                    ResultSet rs = statement.executeQuery("SELECT version FROM " + tablePrefix + "worlds LIMIT 1");
+                    rs.close();
+                } catch (SQLException e) {
+                    statement.executeUpdate("ALTER TABLE " + tablePrefix + "worlds ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER server_name");
+                    plugin.getLogger().info("Coluna version adicionada à tabela " + tablePrefix + "worlds");
+                }
+            }
+
+            // Verificar se a coluna resource_profile existe, caso contrário adicioná-la
+            try (Statement statement = connection.createStatement()) {
+                try {
+                    ResultSet rs = statement.executeQuery("SELECT resource_profile FROM " + tablePrefix + "world_settings LIMIT 1");
+                    rs.close();
+                } catch (SQLException e) {
+                    statement.executeUpdate("ALTER TABLE " + tablePrefix + "world_settings ADD COLUMN resource_profile VARCHAR(32) AFTER tick_speed");
+                    plugin.getLogger().info("Coluna resource_profile adicionada à tabela " + tablePrefix + "world_settings");
+                }
+            }
+
+            // Verificar se a coluna owner_profile existe, caso contrário adicioná-la
+            try (Statement statement = connection.createStatement()) {
+                try {
+                    ResultSet rs = statement.executeQuery("SELECT owner_profile FROM " + tablePrefix + "world_settings LIMIT 1");
+                    rs.close();
+                } catch (SQLException e) {
+                    statement.executeUpdate("ALTER TABLE " + tablePrefix + "world_settings ADD COLUMN owner_profile VARCHAR(32) AFTER resource_profile");
+                    plugin.getLogger().info("Coluna owner_profile adicionada à tabela " + tablePrefix + "world_settings");
+                }
+            }
+
+            // Verificar se a coluna throttle_level existe, caso contrário adicioná-la
+            try (Statement statement = connection.createStatement()) {
+                try {
+                    ResultSet rs = statement.executeQuery("SELECT throttle_level FROM " + tablePrefix + "world_settings LIMIT 1");
+                    rs.close();
+                } catch (SQLException e) {
+                    statement.executeUpdate("ALTER TABLE " + tablePrefix + "world_settings ADD COLUMN throttle_level INT NOT NULL DEFAULT 0 AFTER owner_profile");
+                    plugin.getLogger().info("Coluna throttle_level adicionada à tabela " + tablePrefix + "world_settings");
+                }
+            }
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Falha ao criar tabelas do banco de dados", e);
         }
@@ -303,17 +391,20 @@ public class DatabaseManager {
     private int saveWorldData(CustomWorld world) throws SQLException {
         if (world.getId() == -1) {
             // Insere novo mundo
-            String sql = "INSERT INTO " + tablePrefix + "worlds (name, owner_uuid, world_name, icon, world_path) VALUES (?, ?, ?, ?, ?)";
+            String sql = "INSERT INTO " + tablePrefix + "worlds (name, owner_uuid, world_name, icon, world_path, server_name, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, 1)";
             try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 statement.setString(1, world.getName());
                 statement.setString(2, world.getOwnerUUID().toString());
                 statement.setString(3, world.getWorldName());
                 statement.setString(4, world.getIcon().name());
                 statement.setString(5, world.getWorldPath());
+                statement.setString(6, world.getServerName());
                 statement.executeUpdate();
 
                 try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
+                        world.setVersion(1);
                         return generatedKeys.getInt(1);
                     } else {
                         throw new SQLException("Falha ao obter ID gerado para novo mundo");
@@ -321,16 +412,29 @@ public class DatabaseManager {
                 }
             }
         } else {
-            // Atualiza mundo existente
-            String sql = "UPDATE " + tablePrefix + "worlds SET name = ?, icon = ?, world_path = ? WHERE id = ?";
+            // Atualiza mundo existente (sem servidor definido no objeto, mantém o salvo)
+            String sql = "UPDATE " + tablePrefix + "worlds SET name = ?, icon = ?, world_path = ?, "
+                    + "server_name = COALESCE(?, server_name), version = version + 1 WHERE id = ?";
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, world.getName());
                 statement.setString(2, world.getIcon().name());
                 statement.setString(3, world.getWorldPath());
-                statement.setInt(4, world.getId());
+                statement.setString(4, world.getServerName());
+                statement.setInt(5, world.getId());
                 statement.executeUpdate();
-                return world.getId();
             }
+
+            // Versão gravada, que os outros servidores comparam com a sua cópia (ver WorldRegistryManager)
+            String versionSql = "SELECT version FROM " + tablePrefix + "worlds WHERE id = ?";
+            try (PreparedStatement statement = connection.prepareStatement(versionSql)) {
+                statement.setInt(1, world.getId());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        world.setVersion(resultSet.getLong(1));
+                    }
+                }
+            }
+            return world.getId();
         }
     }
 
@@ -344,11 +448,12 @@ public class DatabaseManager {
     private void saveWorldSettings(int worldId, WorldSettings settings) throws SQLException {
         String sql = "INSERT INTO " + tablePrefix + "world_settings "
                 + "(world_id, game_mode, pvp_enabled, mob_spawning, redstone_enabled, physics_enabled, "
-                + "weather_enabled, fluid_flow, time_cycle, fixed_time, tick_speed) "
-                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                + "weather_enabled, fluid_flow, time_cycle, fixed_time, tick_speed, resource_profile, owner_profile) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
                 + "ON DUPLICATE KEY UPDATE "
                 + "game_mode = ?, pvp_enabled = ?, mob_spawning = ?, redstone_enabled = ?, physics_enabled = ?, "
-                + "weather_enabled = ?, fluid_flow = ?, time_cycle = ?, fixed_time = ?, tick_speed = ?";
+                + "weather_enabled = ?, fluid_flow = ?, time_cycle = ?, fixed_time = ?, tick_speed = ?, resource_profile = ?, "
+                + "owner_profile = ?";
 
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
             // Valores de inserção
@@ -363,18 +468,22 @@ public class DatabaseManager {
             statement.setBoolean(9, settings.isTimeCycle());
             statement.setLong(10, settings.getFixedTime());
             statement.setInt(11, settings.getTickSpeed());
+            statement.setString(12, settings.getResourceProfile());
+            statement.setString(13, settings.getOwnerProfile());
 
             // Valores de atualização
-            statement.setString(12, settings.getGameMode().name());
-            statement.setBoolean(13, settings.isPvpEnabled());
-            statement.setBoolean(14, settings.isMobSpawning());
-            statement.setBoolean(15, settings.isRedstoneEnabled());
-            statement.setBoolean(16, settings.isPhysicsEnabled());
-            statement.setBoolean(17, settings.isWeatherEnabled());
-            statement.setBoolean(18, settings.isFluidFlow());
-            statement.setBoolean(19, settings.isTimeCycle());
-            statement.setLong(20, settings.getFixedTime());
-            statement.setInt(21, settings.getTickSpeed());
+            statement.setString(14, settings.getGameMode().name());
+            statement.setBoolean(15, settings.isPvpEnabled());
+            statement.setBoolean(16, settings.isMobSpawning());
+            statement.setBoolean(17, settings.isRedstoneEnabled());
+            statement.setBoolean(18, settings.isPhysicsEnabled());
+            statement.setBoolean(19, settings.isWeatherEnabled());
+            statement.setBoolean(20, settings.isFluidFlow());
+            statement.setBoolean(21, settings.isTimeCycle());
+            statement.setLong(22, settings.getFixedTime());
+            statement.setInt(23, settings.getTickSpeed());
+            statement.setString(24, settings.getResourceProfile());
+            statement.setString(25, settings.getOwnerProfile());
 
             statement.executeUpdate();
         }
@@ -494,79 +603,507 @@ public class DatabaseManager {
                 }
             }
 
-            String sql = "SELECT w.id, w.name, w.owner_uuid, w.world_name, w.icon, w.world_path, "
-                    + "s.game_mode, s.pvp_enabled, s.mob_spawning, s.redstone_enabled, s.physics_enabled, "
-                    + "s.weather_enabled, s.fluid_flow, s.time_cycle, s.fixed_time, s.tick_speed "
-                    + "FROM " + tablePrefix + "worlds w "
-                    + "LEFT JOIN " + tablePrefix + "world_settings s ON w.id = s.world_id";
+            try (PreparedStatement statement = connection.prepareStatement(selectWorldsSql());
+                 ResultSet resultSet = statement.executeQuery()) {
+
+                while (resultSet.next()) {
+                    worlds.add(readWorld(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Falha ao obter mundos do banco de dados", e);
+        }
+
+        return worlds;
+    }
+
+    /**
+     * Obtém um mundo do banco de dados
+     *
+     * @param worldName Nome interno do mundo
+     * @return Mundo ou null se não existir (ou se o banco não estiver disponível)
+     */
+    public CustomWorld getWorld(String worldName) {
+        if (!enabled) {
+            return null;
+        }
+
+        try {
+            // Verifica se a conexão está ativa
+            if (!isConnected()) {
+                plugin.getLogger().warning("Conexão com banco de dados perdida. Tentando reconectar...");
+                connect();
+                if (!isConnected()) {
+                    plugin.getLogger().severe("Não foi possível reconectar ao banco de dados. Operação cancelada.");
+                    return null;
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(selectWorldsSql() + " WHERE w.world_name = ?")) {
+                statement.setString(1, worldName);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? readWorld(resultSet) : null;
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Falha ao obter mundo " + worldName + " do banco de dados", e);
+            return null;
+        }
+    }
+
+    /**
+     * Consulta dos mundos com as suas configurações
+     */
+    private String selectWorldsSql() {
+        return "SELECT w.id, w.name, w.owner_uuid, w.world_name, w.icon, w.world_path, w.server_name, w.version, "
+                + "s.game_mode, s.pvp_enabled, s.mob_spawning, s.redstone_enabled, s.physics_enabled, "
+                + "s.weather_enabled, s.fluid_flow, s.time_cycle, s.fixed_time, s.tick_speed, s.resource_profile, s.owner_profile, s.throttle_level "
+                + "FROM " + tablePrefix + "worlds w "
+                + "LEFT JOIN " + tablePrefix + "world_settings s ON w.id = s.world_id";
+    }
+
+    /**
+     * Monta um mundo a partir da linha atual da consulta de selectWorldsSql
+     *
+     * @param resultSet Resultado posicionado na linha
+     * @return Mundo com configurações, jogadores confiáveis e spawn
+     * @throws SQLException Se ocorrer um erro
+     */
+    private CustomWorld readWorld(ResultSet resultSet) throws SQLException {
+        int id = resultSet.getInt("id");
+        String name = resultSet.getString("name");
+        UUID ownerUUID = UUID.fromString(resultSet.getString("owner_uuid"));
+        String worldName = resultSet.getString("world_name");
+        String worldPath = resultSet.getString("world_path");
+
+        // Handle potentially invalid material names
+        Material icon;
+        try {
+            icon = Material.valueOf(resultSet.getString("icon"));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Material inválido para o mundo " + name + ": " +
+                    resultSet.getString("icon") + ". Usando GRASS_BLOCK como padrão.");
+            icon = Material.GRASS_BLOCK;
+        }
+
+        CustomWorld world = new CustomWorld(id, name, ownerUUID, worldName, icon);
+        if (worldPath != null) {
+            world.setWorldPath(worldPath);
+        }
+        world.setServerName(resultSet.getString("server_name"));
+        world.setVersion(resultSet.getLong("version"));
+
+        // Carrega configurações se disponíveis
+        if (resultSet.getString("game_mode") != null) {
+            WorldSettings settings = new WorldSettings();
+
+            try {
+                settings.setGameMode(GameMode.valueOf(resultSet.getString("game_mode")));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("GameMode inválido para o mundo " + name + ": " +
+                        resultSet.getString("game_mode") + ". Usando SURVIVAL como padrão.");
+                settings.setGameMode(GameMode.SURVIVAL);
+            }
+
+            settings.setPvpEnabled(resultSet.getBoolean("pvp_enabled"));
+            settings.setMobSpawning(resultSet.getBoolean("mob_spawning"));
+            settings.setRedstoneEnabled(resultSet.getBoolean("redstone_enabled"));
+            settings.setPhysicsEnabled(resultSet.getBoolean("physics_enabled"));
+            settings.setWeatherEnabled(resultSet.getBoolean("weather_enabled"));
+            settings.setFluidFlow(resultSet.getBoolean("fluid_flow"));
+            settings.setTimeCycle(resultSet.getBoolean("time_cycle"));
+            settings.setFixedTime(resultSet.getLong("fixed_time"));
+            settings.setTickSpeed(resultSet.getInt("tick_speed"));
+            settings.setResourceProfile(resultSet.getString("resource_profile"));
+            settings.setOwnerProfile(resultSet.getString("owner_profile"));
+
+            world.setSettings(settings);
+            // Com a limitação desativada o nível guardado não é aplicado
+            if (plugin.getConfigManager().isThrottleEnabled()) {
+                world.getThrottleState().setLevel(resultSet.getInt("throttle_level"));
+            }
+        }
+
+        // Carrega jogadores confiáveis
+        world.setTrustedPlayers(getTrustedPlayers(id));
+
+        // Carrega ponto de spawn
+        Location spawnPoint = getSpawnPoint(id, worldName);
+        if (spawnPoint != null) {
+            world.setSpawnPoint(spawnPoint);
+        }
+
+        return world;
+    }
+
+    /**
+     * Salva o perfil de recursos obtido pelas permissões do dono, sem regravar o resto do mundo
+     *
+     * @param worldId ID do mundo
+     * @param ownerProfile Nome do perfil
+     */
+    public void saveOwnerProfile(int worldId, String ownerProfile) {
+        if (!enabled || worldId <= 0) {
+            return;
+        }
+
+        String sql = "UPDATE " + tablePrefix + "world_settings SET owner_profile = ? WHERE world_id = ?";
+
+        try {
+            if (!isConnected()) {
+                connect();
+                if (!isConnected()) {
+                    plugin.getLogger().warning("Sem conexão com o banco de dados; perfil do dono não salvo");
+                    return;
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, ownerProfile);
+                statement.setInt(2, worldId);
+                statement.executeUpdate();
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Falha ao salvar perfil do dono do mundo " + worldId, e);
+        }
+    }
+
+    /**
+     * Salva o nível de limitação automática de um mundo, sem regravar o resto do mundo
+     *
+     * @param worldId ID do mundo
+     * @param level Nível de limitação
+     */
+    public void saveThrottleLevel(int worldId, int level) {
+        if (!enabled || worldId <= 0) {
+            return;
+        }
+
+        String sql = "UPDATE " + tablePrefix + "world_settings SET throttle_level = ? WHERE world_id = ?";
+
+        try {
+            if (!isConnected()) {
+                connect();
+                if (!isConnected()) {
+                    plugin.getLogger().warning("Sem conexão com o banco de dados; nível de limitação não salvo");
+                    return;
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setInt(1, level);
+                statement.setInt(2, worldId);
+                statement.executeUpdate();
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Falha ao salvar nível de limitação do mundo " + worldId, e);
+        }
+    }
+
+    /**
+     * Soma visitas à pontuação de popularidade dos mundos. A pontuação gravada
+     * é reduzida pelo tempo passado desde a última gravação antes da soma, então
+     * vários servidores podem gravar sem sobrescrever as visitas uns dos outros.
+     *
+     * @param increments Pontuação a somar por ID do mundo
+     * @param updatedAt Momento da gravação (em milissegundos)
+     * @param halfLifeMillis Meia-vida da pontuação (em milissegundos)
+     */
+    public void addPopularityScores(Map<Integer, Double> increments, long updatedAt, long halfLifeMillis) {
+        if (!enabled || increments.isEmpty()) {
+            return;
+        }
+
+        // score é atualizado antes de updated_at, que ainda tem o valor antigo na conta
+        String sql = "INSERT INTO " + tablePrefix + "world_popularity (world_id, score, updated_at) VALUES (?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE "
+                + "score = score * POW(0.5, GREATEST(0, VALUES(updated_at) - updated_at) / ?) + VALUES(score), "
+                + "updated_at = GREATEST(updated_at, VALUES(updated_at))";
+
+        try {
+            if (!isConnected()) {
+                connect();
+                if (!isConnected()) {
+                    plugin.getLogger().warning("Sem conexão com o banco de dados; popularidade dos mundos não salva");
+                    return;
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (Map.Entry<Integer, Double> entry : increments.entrySet()) {
+                    statement.setInt(1, entry.getKey());
+                    statement.setDouble(2, entry.getValue());
+                    statement.setLong(3, updatedAt);
+                    statement.setLong(4, Math.max(1, halfLifeMillis));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Falha ao salvar popularidade dos mundos", e);
+        }
+    }
+
+    /**
+     * Obtém a pontuação de popularidade dos mundos, já reduzida pelo tempo
+     * passado desde a última gravação
+     *
+     * @param halfLifeMillis Meia-vida da pontuação (em milissegundos)
+     * @return Pontuação por ID do mundo
+     */
+    public Map<Integer, Double> getPopularityScores(long halfLifeMillis) {
+        Map<Integer, Double> scores = new HashMap<>();
+        if (!enabled) {
+            return scores;
+        }
+
+        long now = System.currentTimeMillis();
+        String sql = "SELECT world_id, score, updated_at FROM " + tablePrefix + "world_popularity";
+
+        try {
+            if (!isConnected()) {
+                connect();
+            }
 
             try (PreparedStatement statement = connection.prepareStatement(sql);
                  ResultSet resultSet = statement.executeQuery()) {
-
                 while (resultSet.next()) {
-                    int id = resultSet.getInt("id");
-                    String name = resultSet.getString("name");
-                    UUID ownerUUID = UUID.fromString(resultSet.getString("owner_uuid"));
-                    String worldName = resultSet.getString("world_name");
-                    String worldPath = resultSet.getString("world_path");
-
-                    // Handle potentially invalid material names
-                    Material icon;
-                    try {
-                        icon = Material.valueOf(resultSet.getString("icon"));
-                    } catch (IllegalArgumentException e) {
-                        plugin.getLogger().warning("Material inválido para o mundo " + name + ": " +
-                                resultSet.getString("icon") + ". Usando GRASS_BLOCK como padrão.");
-                        icon = Material.GRASS_BLOCK;
-                    }
+                    long elapsed = Math.max(0, now - resultSet.getLong("updated_at"));
+                    double decay = Math.pow(0.5, (double) elapsed / Math.max(1, halfLifeMillis));
+                    scores.put(resultSet.getInt("world_id"), resultSet.getDouble("score") * decay);
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Falha ao obter popularidade dos mundos", e);
+        }
 
-                    CustomWorld world = new CustomWorld(id, name, ownerUUID, worldName, icon);
-                    if (worldPath != null) {
-                        world.setWorldPath(worldPath);
-                    }
+        return scores;
+    }
 
-                    // Carrega configurações se disponíveis
-                    if (resultSet.getString("game_mode") != null) {
-                        WorldSettings settings = new WorldSettings();
-
-                        try {
-                            settings.setGameMode(GameMode.valueOf(resultSet.getString("game_mode")));
-                        } catch (IllegalArgumentException e) {
-                            plugin.getLogger().warning("GameMode inválido para o mundo " + name + ": " +
-                                    resultSet.getString("game_mode") + ". Usando SURVIVAL como padrão.");
-                            settings.setGameMode(GameMode.SURVIVAL);
-                        }
-
-                        settings.setPvpEnabled(resultSet.getBoolean("pvp_enabled"));
-                        settings.setMobSpawning(resultSet.getBoolean("mob_spawning"));
-                        settings.setRedstoneEnabled(resultSet.getBoolean("redstone_enabled"));
-                        settings.setPhysicsEnabled(resultSet.getBoolean("physics_enabled"));
-                        settings.setWeatherEnabled(resultSet.getBoolean("weather_enabled"));
-                        settings.setFluidFlow(resultSet.getBoolean("fluid_flow"));
-                        settings.setTimeCycle(resultSet.getBoolean("time_cycle"));
-                        settings.setFixedTime(resultSet.getLong("fixed_time"));
-                        settings.setTickSpeed(resultSet.getInt("tick_speed"));
-
-                        world.setSettings(settings);
-                    }
+    /**
+     * Tenta obter ou renovar o lease de um mundo. Um lease de outro servidor só
+     * é tomado depois de vencido, na mesma instrução, então dois servidores
+     * nunca ficam com o mesmo mundo.
+     *
+     * @param worldName Nome do mundo
+     * @param nodeId Identificador deste servidor
+     * @param now Instante atual em milissegundos
+     * @param expiresAt Vencimento do lease se ele for obtido
+     * @return Lease vigente depois da tentativa (de quem o tiver), ou null se o banco não estiver disponível
+     */
+    public WorldLease acquireLease(String worldName, String nodeId, long now, long expiresAt) {
+        if (!enabled) {
+            return null;
+        }
+
+        // node_id é atualizado antes de expires_at, que ainda tem o valor antigo na comparação
+        String sql = "INSERT INTO " + tablePrefix + "world_leases (world_name, node_id, expires_at) VALUES (?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE "
+                + "node_id = IF(node_id = VALUES(node_id) OR expires_at < ?, VALUES(node_id), node_id), "
+                + "expires_at = IF(node_id = VALUES(node_id), VALUES(expires_at), expires_at)";
+
+        try {
+            if (!isConnected()) {
+                connect();
+                if (!isConnected()) {
+                    plugin.getLogger().warning("Sem conexão com o banco de dados; lease de " + worldName + " não verificado");
+                    return null;
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, worldName);
+                statement.setString(2, nodeId);
+                statement.setLong(3, expiresAt);
+                statement.setLong(4, now);
+                statement.executeUpdate();
+            }
+            return getLease(worldName);
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Falha ao obter lease de " + worldName, e);
+            return null;
+        }
+    }
+
+    /**
+     * Renova em uma só instrução os leases de um servidor
+     *
+     * @param nodeId Identificador deste servidor
+     * @param worldNames Mundos cujos leases devem ser renovados
+     * @param expiresAt Novo vencimento
+     * @return Mundos cujos leases ainda são deste servidor, ou null se o banco não estiver disponível
+     */
+    public Set<String> renewLeases(String nodeId, Collection<String> worldNames, long expiresAt) {
+        if (!enabled) {
+            return null;
+        }
+
+        Set<String> held = new HashSet<>();
+        if (worldNames.isEmpty()) {
+            return held;
+        }
+
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < worldNames.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+
+        try {
+            if (!isConnected()) {
+                connect();
+                if (!isConnected()) {
+                    plugin.getLogger().warning("Sem conexão com o banco de dados; leases não renovados");
+                    return null;
+                }
+            }
+
+            String updateSql = "UPDATE " + tablePrefix + "world_leases SET expires_at = ? "
+                    + "WHERE node_id = ? AND world_name IN (" + placeholders + ")";
+            int updated;
+            try (PreparedStatement statement = connection.prepareStatement(updateSql)) {
+                statement.setLong(1, expiresAt);
+                statement.setString(2, nodeId);
+                int index = 3;
+                for (String worldName : worldNames) {
+                    statement.setString(index++, worldName);
+                }
+                updated = statement.executeUpdate();
+            }
 
-                    // Carrega jogadores confiáveis
-                    world.setTrustedPlayers(getTrustedPlayers(id));
+            if (updated >= worldNames.size()) {
+                held.addAll(worldNames);
+                return held;
+            }
 
-                    // Carrega ponto de spawn
-                    Location spawnPoint = getSpawnPoint(id, worldName);
-                    if (spawnPoint != null) {
-                        world.setSpawnPoint(spawnPoint);
+            // Algum lease foi perdido: descobre quais ainda são deste servidor
+            String selectSql = "SELECT world_name FROM " + tablePrefix + "world_leases "
+                    + "WHERE node_id = ? AND world_name IN (" + placeholders + ")";
+            try (PreparedStatement statement = connection.prepareStatement(selectSql)) {
+                statement.setString(1, nodeId);
+                int index = 2;
+                for (String worldName : worldNames) {
+                    statement.setString(index++, worldName);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        held.add(resultSet.getString("world_name"));
                     }
+                }
+            }
+            return held;
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Falha ao renovar leases", e);
+            return null;
+        }
+    }
+
+    /**
+     * Libera o lease de um mundo, se ele ainda for deste servidor
+     *
+     * @param worldName Nome do mundo
+     * @param nodeId Identificador deste servidor
+     */
+    public void releaseLease(String worldName, String nodeId) {
+        executeLeaseUpdate("DELETE FROM " + tablePrefix + "world_leases WHERE world_name = ? AND node_id = ?",
+                "Falha ao liberar lease de " + worldName, worldName, nodeId);
+    }
+
+    /**
+     * Libera todos os leases de um servidor
+     *
+     * @param nodeId Identificador do servidor
+     */
+    public void releaseLeases(String nodeId) {
+        executeLeaseUpdate("DELETE FROM " + tablePrefix + "world_leases WHERE node_id = ?",
+                "Falha ao liberar leases", nodeId);
+    }
+
+    /**
+     * Antecipa o vencimento de todos os leases de um servidor
+     *
+     * @param nodeId Identificador do servidor
+     * @param expiresAt Vencimento máximo
+     */
+    public void shortenLeases(String nodeId, long expiresAt) {
+        executeLeaseUpdate("UPDATE " + tablePrefix + "world_leases SET expires_at = LEAST(expires_at, ?) WHERE node_id = ?",
+                "Falha ao encurtar leases", expiresAt, nodeId);
+    }
+
+    private void executeLeaseUpdate(String sql, String failureMessage, Object... params) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (!isConnected()) {
+                connect();
+                if (!isConnected()) {
+                    plugin.getLogger().warning("Sem conexão com o banco de dados; " + failureMessage.toLowerCase());
+                    return;
+                }
+            }
 
-                    worlds.add(world);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    statement.setObject(i + 1, params[i]);
                 }
+                statement.executeUpdate();
             }
         } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Falha ao obter mundos do banco de dados", e);
+            plugin.getLogger().log(Level.SEVERE, failureMessage, e);
         }
+    }
 
-        return worlds;
+    /**
+     * Obtém o lease de um mundo, vencido ou não
+     *
+     * @param worldName Nome do mundo
+     * @return Lease ou null se não houver um
+     */
+    public WorldLease getLease(String worldName) {
+        List<WorldLease> leases = queryLeases("WHERE world_name = ?", worldName);
+        return leases == null || leases.isEmpty() ? null : leases.get(0);
+    }
+
+    /**
+     * Obtém os leases ainda válidos de todos os servidores
+     *
+     * @param now Instante atual em milissegundos
+     * @return Leases, ou null se o banco não estiver disponível
+     */
+    public List<WorldLease> getValidLeases(long now) {
+        return queryLeases("WHERE expires_at >= ? ORDER BY node_id, world_name", now);
+    }
+
+    private List<WorldLease> queryLeases(String condition, Object param) {
+        if (!enabled) {
+            return null;
+        }
+
+        try {
+            if (!isConnected()) {
+                connect();
+                if (!isConnected()) {
+                    return null;
+                }
+            }
+
+            String sql = "SELECT world_name, node_id, expires_at FROM " + tablePrefix + "world_leases " + condition;
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setObject(1, param);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    List<WorldLease> leases = new ArrayList<>();
+                    while (resultSet.next()) {
+                        leases.add(new WorldLease(resultSet.getString("world_name"), resultSet.getString("node_id"),
+                                resultSet.getLong("expires_at")));
+                    }
+                    return leases;
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Falha ao consultar leases", e);
+            return null;
+        }
     }
 
     /**
@@ -0,0 +1,305 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.CustomWorld;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Controle de carga do servidor de mundos pela memória da old gen.
+ *
+ * Usa as notificações de limite de uso do MemoryPoolMXBean da old gen, com
+ * verificação periódica como reforço. Acima da marca suave, descarrega aos
+ * poucos os mundos vazios usados há mais tempo. Acima da marca rígida, também
+ * suspende novos carregamentos e recusa criações. As restrições são removidas
+ * quando o uso volta para baixo da marca de recuperação.
+ */
+public class MemoryGovernor {
+
+    public static final int NORMAL = 0;
+    public static final int SOFT = 1;
+    public static final int HARD = 2;
+
+    private static final int HISTORY_SIZE = 20;
+
+    private final WorldsManager plugin;
+    private final MemoryPoolMXBean oldGen;
+    private final ArrayDeque<String> history = new ArrayDeque<>();
+
+    private NotificationListener notificationListener;
+    private BukkitTask checkTask;
+    private volatile int level = NORMAL;
+    private double lastFraction;
+
+    public MemoryGovernor(WorldsManager plugin) {
+        this.plugin = plugin;
+        this.oldGen = findOldGenPool();
+    }
+
+    /**
+     * Procura o pool da old gen (ou o maior pool de heap com suporte a limites)
+     */
+    private static MemoryPoolMXBean findOldGenPool() {
+        MemoryPoolMXBean fallback = null;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isUsageThresholdSupported()) {
+                continue;
+            }
+
+            String name = pool.getName().toLowerCase();
+            if (name.contains("old") || name.contains("tenured")) {
+                return pool;
+            }
+            if (fallback == null || pool.getUsage().getMax() > fallback.getUsage().getMax()) {
+                fallback = pool;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Registra as notificações de limite e inicia a verificação periódica
+     */
+    public void start() {
+        if (checkTask != null || !plugin.getConfigManager().isMemoryGovernorEnabled()) {
+            return;
+        }
+
+        if (oldGen != null) {
+            long max = oldGen.getUsage().getMax();
+            if (max > 0) {
+                long threshold = (long) (max * plugin.getConfigManager().getMemorySoftWatermark());
+                oldGen.setUsageThreshold(threshold);
+                if (oldGen.isCollectionUsageThresholdSupported()) {
+                    oldGen.setCollectionUsageThreshold(threshold);
+                }
+            }
+
+            // As notificações chegam em uma thread do JMX; a decisão é tomada na thread principal
+            notificationListener = (Notification notification, Object handback) -> {
+                String type = notification.getType();
+                if (MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(type) ||
+                        MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(type)) {
+                    Bukkit.getScheduler().runTask(plugin, this::evaluate);
+                }
+            };
+            ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(notificationListener, null, null);
+            plugin.getLogger().info("Controle de memória monitorando o pool: " + oldGen.getName());
+        } else {
+            plugin.getLogger().warning("Nenhum pool de old gen com suporte a limites encontrado. " +
+                    "O controle de memória usará apenas a verificação periódica do heap.");
+        }
+
+        long intervalTicks = Math.max(1, plugin.getConfigManager().getMemoryCheckIntervalSeconds()) * 20L;
+        checkTask = Bukkit.getScheduler().runTaskTimer(plugin, this::evaluate, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Remove o listener de notificações e interrompe a verificação
+     */
+    public void shutdown() {
+        if (checkTask != null) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+
+        if (notificationListener != null) {
+            try {
+                ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(notificationListener);
+            } catch (ListenerNotFoundException e) {
+                plugin.getLogger().log(Level.FINE, "Listener de memória já removido", e);
+            }
+            notificationListener = null;
+        }
+        level = NORMAL;
+    }
+
+    /**
+     * Avalia o uso de memória e aplica as restrições do nível correspondente
+     */
+    private void evaluate() {
+        double fraction = getUsedFraction();
+        lastFraction = fraction;
+
+        double soft = plugin.getConfigManager().getMemorySoftWatermark();
+        double hard = plugin.getConfigManager().getMemoryHardWatermark();
+        double recover = plugin.getConfigManager().getMemoryRecoverWatermark();
+
+        // Sobe de nível imediatamente; desce só depois de cruzar a marca inferior seguinte
+        int newLevel = level;
+        if (fraction >= hard) {
+            newLevel = HARD;
+        } else if (fraction >= soft) {
+            newLevel = Math.max(level, SOFT);
+        } else if (fraction < recover) {
+            newLevel = NORMAL;
+        } else if (level == HARD) {
+            newLevel = SOFT;
+        }
+
+        if (newLevel != level) {
+            record("Nível " + describe(level) + " -> " + describe(newLevel) + " (uso " + formatPercent(fraction) + ")");
+            if (newLevel == HARD) {
+                plugin.getLogger().warning("Memória crítica: novos carregamentos suspensos e criações recusadas");
+            } else if (level == HARD) {
+                plugin.getLogger().info("Memória abaixo da marca rígida: carregamentos liberados");
+            }
+            level = newLevel;
+        }
+
+        if (level >= SOFT) {
+            unloadLeastRecentlyUsed(Math.max(1, plugin.getConfigManager().getMemoryUnloadPerCheck()));
+        }
+    }
+
+    /**
+     * Descarrega os mundos vazios que estão sem jogadores há mais tempo
+     */
+    private void unloadLeastRecentlyUsed(int limit) {
+        long now = System.currentTimeMillis();
+        List<CustomWorld> candidates = new ArrayList<>();
+        for (CustomWorld customWorld : plugin.getWorldManager().getAllWorlds()) {
+            World world = customWorld.getWorld();
+            if (world == null || !world.getPlayers().isEmpty()) {
+                continue;
+            }
+
+            // Mundos que ainda não tinham o início do período vazio registrado entram como recentes
+            if (customWorld.getEmptySince() == 0) {
+                customWorld.setEmptySince(now);
+            }
+            candidates.add(customWorld);
+        }
+
+        candidates.sort(Comparator.comparingLong(CustomWorld::getEmptySince));
+
+        int unloaded = 0;
+        for (CustomWorld customWorld : candidates) {
+            if (unloaded >= limit) {
+                break;
+            }
+
+            String worldName = customWorld.getWorldName();
+            long idleSeconds = (now - customWorld.getEmptySince()) / 1000;
+            customWorld.setQuiescent(false);
+            customWorld.setEmptySince(0);
+            if (plugin.getWorldManager().unloadWorld(worldName, true)) {
+                unloaded++;
+                record("Mundo descarregado por memória: " + worldName + " (vazio há " + idleSeconds + "s)");
+            }
+        }
+    }
+
+    /**
+     * Calcula a fração usada da old gen. Prefere o uso medido após a última
+     * coleta, que não inclui lixo ainda não coletado.
+     *
+     * @return Fração entre 0 e 1
+     */
+    public double getUsedFraction() {
+        if (oldGen != null) {
+            MemoryUsage usage = oldGen.isCollectionUsageThresholdSupported() ? oldGen.getCollectionUsage() : null;
+            if (usage == null || usage.getUsed() == 0) {
+                usage = oldGen.getUsage();
+            }
+            if (usage.getMax() > 0) {
+                return (double) usage.getUsed() / usage.getMax();
+            }
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        return (double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory();
+    }
+
+    /**
+     * Verifica se novos carregamentos de mundos podem ser iniciados
+     *
+     * @return true se a memória permitir
+     */
+    public boolean isLoadingAllowed() {
+        return level < HARD;
+    }
+
+    /**
+     * Verifica se novos mundos podem ser criados
+     *
+     * @return true se a memória permitir
+     */
+    public boolean canCreateWorlds() {
+        return level < HARD;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public double getLastFraction() {
+        return lastFraction;
+    }
+
+    public String getPoolName() {
+        return oldGen != null ? oldGen.getName() : "heap";
+    }
+
+    /**
+     * Obtém as decisões mais recentes, da mais nova para a mais antiga
+     *
+     * @return Descrições das decisões
+     */
+    public List<String> getHistory() {
+        List<String> entries = new ArrayList<>(history.size());
+        Iterator<String> iterator = history.descendingIterator();
+        while (iterator.hasNext()) {
+            entries.add(iterator.next());
+        }
+        return entries;
+    }
+
+    /**
+     * Obtém a descrição de um nível
+     *
+     * @param level Nível
+     * @return Descrição em texto
+     */
+    public static String describe(int level) {
+        switch (level) {
+            case SOFT:
+                return "alerta";
+            case HARD:
+                return "crítico";
+            default:
+                return "normal";
+        }
+    }
+
+    private void record(String decision) {
+        plugin.getLogger().info("[Memória] " + decision);
+        if (history.size() >= HISTORY_SIZE) {
+            history.pollFirst();
+        }
+        history.addLast(new SimpleDateFormat("HH:mm:ss").format(new Date()) + " " + decision);
+    }
+
+    private static String formatPercent(double fraction) {
+        return String.format("%.0f%%", fraction * 100);
+    }
+}
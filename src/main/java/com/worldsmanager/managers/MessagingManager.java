@@ -1,12 +1,15 @@
 package com.worldsmanager.managers;
 
 import com.worldsmanager.WorldsManager;
+import com.worldsmanager.messaging.MessageCodec;
+import com.worldsmanager.messaging.WorldMessage;
 import com.worldsmanager.models.CustomWorld;
 import com.worldsmanager.models.WorldSettings;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
@@ -14,6 +17,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 /**
@@ -25,13 +29,12 @@ public class MessagingManager {
     private final String BUNGEE_CHANNEL = "BungeeCord";
     private final String PLUGIN_CHANNEL = "WorldsManager";
 
-    // Controle de tentativas de teleporte para retry
-    private final Map<UUID, Integer> teleportAttempts = new HashMap<>();
-    private final int MAX_TELEPORT_ATTEMPTS = 3;
-
     // Rastreamento de mundos pendentes para criação
     private final Map<UUID, String> pendingWorldCreations = new HashMap<>();
 
+    // Pedidos aguardando WorldReady/WorldFailed, pelo ID da mensagem enviada
+    private final Map<Long, PendingReply> pendingReplies = new HashMap<>();
+
     public MessagingManager(WorldsManager plugin) {
         this.plugin = plugin;
 
@@ -63,8 +66,9 @@ public class MessagingManager {
             }
 
             // Log para debug
+            String server = plugin.getWorldPlacementManager().getServerFor(world);
             plugin.getLogger().info("[MUNDO] Preparando mensagem de criação de mundo: " + world.getWorldName());
-            plugin.getLogger().info("[MUNDO] Servidor de destino: " + plugin.getConfigManager().getWorldsServerName());
+            plugin.getLogger().info("[MUNDO] Servidor de destino: " + server);
 
             // Verificar se o canal está registrado
             if (!plugin.getServer().getMessenger().isOutgoingChannelRegistered(plugin, BUNGEE_CHANNEL)) {
@@ -78,58 +82,21 @@ public class MessagingManager {
                 return false;
             }
 
-            ByteArrayOutputStream b = new ByteArrayOutputStream();
-            DataOutputStream out = new DataOutputStream(b);
-
-            // Formato do PluginMessage do BungeeCord
-            out.writeUTF("Forward");
-            out.writeUTF(plugin.getConfigManager().getWorldsServerName()); // Nome do servidor destino
-            out.writeUTF(PLUGIN_CHANNEL);
-
-            // Escrever dados específicos
-            ByteArrayOutputStream msgbytes = new ByteArrayOutputStream();
-            DataOutputStream msgout = new DataOutputStream(msgbytes);
-
-            msgout.writeUTF("CreateWorld");
-            msgout.writeUTF(world.getWorldName());
-            msgout.writeUTF(world.getName());
-            msgout.writeUTF(world.getOwnerUUID().toString());
-            msgout.writeUTF(world.getIcon().name());
-
-            // Escrever o caminho personalizado do mundo
-            String worldPath = world.getWorldPath() != null ? world.getWorldPath() : "";
-            msgout.writeUTF(worldPath);
-
-            // Escrever configurações do mundo
-            WorldSettings settings = world.getSettings();
-            writeWorldSettings(msgout, settings);
-
-            // Coloque os bytes da mensagem no plugin message
-            out.writeShort(msgbytes.toByteArray().length);
-            out.write(msgbytes.toByteArray());
-
-            // Enviar a mensagem
-            try {
-                requester.sendPluginMessage(plugin, BUNGEE_CHANNEL, b.toByteArray());
-            } catch (Exception e) {
-                plugin.getLogger().severe("Erro ao enviar mensagem através do jogador: " + e.getMessage());
-
-                // Tenta usar outro jogador online se o primeiro falhar
-                Player alternativePlayer = null;
-                for (Player p : Bukkit.getOnlinePlayers()) {
-                    if (!p.equals(requester)) {
-                        alternativePlayer = p;
-                        break;
+            // Enviar a mensagem (a caixa de saída a reenvia até o servidor de mundos confirmar o recebimento)
+            WorldMessage request = WorldMessage.createWorld(world);
+            CompletableFuture<Boolean> delivery = sendToWorldsServer(server, request, requester);
+            if (delivery.isDone() && !delivery.join()) {
+                throw new IllegalStateException("Não há jogadores alternativos online para enviar a mensagem");
+            }
+            delivery.thenAccept(delivered -> {
+                if (!delivered) {
+                    pendingWorldCreations.remove(requester.getUniqueId());
+                    if (requester.isOnline()) {
+                        requester.sendMessage(ChatColor.RED + "O servidor de mundos não confirmou a criação do seu mundo. " +
+                                "Tente novamente mais tarde.");
                     }
                 }
-
-                if (alternativePlayer != null) {
-                    plugin.getLogger().info("Tentando enviar mensagem através de jogador alternativo: " + alternativePlayer.getName());
-                    alternativePlayer.sendPluginMessage(plugin, BUNGEE_CHANNEL, b.toByteArray());
-                } else {
-                    throw new IllegalStateException("Não há jogadores alternativos online para enviar a mensagem");
-                }
-            }
+            });
 
             // Adicionar ao mapa de mundos pendentes
             pendingWorldCreations.put(requester.getUniqueId(), world.getWorldName());
@@ -141,17 +108,10 @@ public class MessagingManager {
             requester.sendMessage(ChatColor.GREEN + plugin.getLanguageManager().getMessage("world-creation-requested"));
             requester.sendMessage(ChatColor.YELLOW + "Preparando mundo... Por favor aguarde.");
 
-            plugin.getLogger().info("[MUNDO] Mensagem de criação de mundo enviada para o servidor: " +
-                    plugin.getConfigManager().getWorldsServerName());
+            plugin.getLogger().info("[MUNDO] Mensagem de criação de mundo enviada para o servidor: " + server);
 
-            // Agendar teleporte após um delay para permitir que o mundo seja criado primeiro
-            int teleportDelay = plugin.getConfigManager().getTeleportDelay();
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                if (requester.isOnline() && pendingWorldCreations.containsKey(requester.getUniqueId())) {
-                    requester.sendMessage(ChatColor.GREEN + "Mundo pronto! Teleportando...");
-                    teleportPlayerToWorldsServer(requester);
-                }
-            }, teleportDelay); // Usar o delay configurado
+            // Teleportar quando o servidor de mundos avisar que o mundo foi criado
+            awaitWorldReply(request, requester, "Mundo pronto! Teleportando...");
 
             return true;
         } catch (IOException e) {
@@ -170,20 +130,21 @@ public class MessagingManager {
      * Teleporta o jogador para o servidor de mundos
      *
      * @param player Jogador a ser teleportado
+     * @param server Servidor de mundos de destino
      * @return true se o teleporte foi iniciado com sucesso
      */
-    private boolean teleportPlayerToWorldsServer(Player player) {
+    private boolean teleportPlayerToWorldsServer(Player player, String server) {
         try {
             ByteArrayOutputStream b = new ByteArrayOutputStream();
             DataOutputStream out = new DataOutputStream(b);
 
             out.writeUTF("Connect");
-            out.writeUTF(plugin.getConfigManager().getWorldsServerName());
+            out.writeUTF(server);
 
             player.sendPluginMessage(plugin, BUNGEE_CHANNEL, b.toByteArray());
 
             plugin.getLogger().info("[MUNDO] Jogador " + player.getName() +
-                    " enviado para o servidor " + plugin.getConfigManager().getWorldsServerName());
+                    " enviado para o servidor " + server);
 
             return true;
         } catch (IOException e) {
@@ -221,54 +182,27 @@ public class MessagingManager {
                     player.getName() + " ao mundo " + worldName);
 
             // Cria uma mensagem para alertar o servidor de destino sobre o teleporte pendente
-            ByteArrayOutputStream alertBytes = new ByteArrayOutputStream();
-            DataOutputStream alertOut = new DataOutputStream(alertBytes);
-
-            alertOut.writeUTF("Forward");
-            alertOut.writeUTF(plugin.getConfigManager().getWorldsServerName());
-            alertOut.writeUTF(PLUGIN_CHANNEL);
-
-            ByteArrayOutputStream alertMsgBytes = new ByteArrayOutputStream();
-            DataOutputStream alertMsgOut = new DataOutputStream(alertMsgBytes);
-
-            alertMsgOut.writeUTF("TeleportToWorld");
-            alertMsgOut.writeUTF(player.getUniqueId().toString());
-            alertMsgOut.writeUTF(worldName);
+            UUID playerUUID = player.getUniqueId();
+            WorldMessage request = WorldMessage.teleportToWorld(playerUUID, worldName);
+            String server = plugin.getWorldPlacementManager().getServerFor(worldName);
+            sendToWorldsServer(server, request, player).thenAccept(delivered -> {
+                if (delivered) {
+                    return;
+                }
 
-            alertOut.writeShort(alertMsgBytes.toByteArray().length);
-            alertOut.write(alertMsgBytes.toByteArray());
+                plugin.getLogger().warning("Servidor de mundos não confirmou o teleporte de " + playerUUID + " para " + worldName);
 
-            player.sendPluginMessage(plugin, BUNGEE_CHANNEL, alertBytes.toByteArray());
+                // Tenta notificar o jogador se ele ainda estiver neste servidor
+                Player target = Bukkit.getPlayer(playerUUID);
+                if (target != null && target.isOnline()) {
+                    target.sendMessage(ChatColor.RED + "Falha ao completar o teleporte.");
+                    target.sendMessage(ChatColor.YELLOW + "Tente novamente ou contate um administrador.");
+                }
+            });
             plugin.getLogger().info("[MUNDO] Mensagem de preparação para teleporte enviada");
 
-            // Pequeno delay antes de conectar ao servidor para garantir que a mensagem de preparação chegue primeiro
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                try {
-                    // Conecta o jogador ao servidor de mundos
-                    ByteArrayOutputStream connectBytes = new ByteArrayOutputStream();
-                    DataOutputStream connectOut = new DataOutputStream(connectBytes);
-
-                    connectOut.writeUTF("Connect");
-                    connectOut.writeUTF(plugin.getConfigManager().getWorldsServerName());
-
-                    if (player.isOnline()) {
-                        player.sendPluginMessage(plugin, BUNGEE_CHANNEL, connectBytes.toByteArray());
-                        plugin.getLogger().info("[MUNDO] Jogador " + player.getName() + " enviado para o servidor " +
-                                plugin.getConfigManager().getWorldsServerName());
-
-                        // Controle de tentativa de teleporte
-                        UUID playerUUID = player.getUniqueId();
-                        teleportAttempts.put(playerUUID, 0);
-
-                        // Inicie um loop para verificar se o jogador foi teleportado com sucesso
-                        scheduleFollowUpMessage(player.getUniqueId(), worldName);
-                    } else {
-                        plugin.getLogger().warning("Jogador desconectou antes do teleporte: " + player.getName());
-                    }
-                } catch (IOException e) {
-                    plugin.getLogger().log(Level.SEVERE, "Erro ao conectar jogador ao servidor de mundos", e);
-                }
-            }, 10L); // 0.5 segundos de delay
+            // Conecta o jogador quando o servidor de mundos avisar que o mundo está carregado
+            awaitWorldReply(request, player, null);
 
             return true;
         } catch (IOException e) {
@@ -280,77 +214,107 @@ public class MessagingManager {
     }
 
     /**
-     * Agenda mensagens adicionais de follow-up para garantir que o teleporte funcione
+     * Aguarda a resposta WorldReady/WorldFailed de um pedido e conecta o jogador ao
+     * servidor de mundos assim que o mundo estiver pronto. O cross-server.teleport-delay
+     * é só o tempo limite: sem resposta até lá, o jogador é conectado mesmo assim e o
+     * teleporte pendente no servidor de mundos o leva ao mundo quando ele chegar.
      *
-     * @param playerUUID UUID do jogador
-     * @param worldName Nome do mundo
+     * @param request Mensagem CreateWorld ou TeleportToWorld já enviada
+     * @param player Jogador a ser conectado
+     * @param readyMessage Mensagem exibida ao jogador antes de conectar (pode ser null)
      */
-    private void scheduleFollowUpMessage(UUID playerUUID, String worldName) {
-        int delay = plugin.getConfigManager().getTeleportDelay();
-
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            int attempts = teleportAttempts.getOrDefault(playerUUID, 0);
-
-            if (attempts < MAX_TELEPORT_ATTEMPTS) {
-                teleportAttempts.put(playerUUID, attempts + 1);
+    private void awaitWorldReply(WorldMessage request, Player player, String readyMessage) {
+        long requestId = request.getMessageId();
+        PendingReply reply = new PendingReply(player.getUniqueId(), request.getWorldName(), readyMessage,
+                request.getType() == MessageCodec.TYPE_CREATE_WORLD);
+
+        // Mensagens sem ID (protocolo anterior à versão 2) não recebem resposta: resta apenas o tempo limite
+        if (requestId != 0) {
+            pendingReplies.put(requestId, reply);
+        }
 
-                // Verifica se há jogadores online para enviar a mensagem
-                if (!Bukkit.getOnlinePlayers().isEmpty()) {
-                    Player anyPlayer = Bukkit.getOnlinePlayers().iterator().next();
+        int timeout = plugin.getConfigManager().getTeleportDelay();
+        reply.timeoutTask = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (requestId != 0) {
+                if (pendingReplies.remove(requestId) == null) {
+                    return;
+                }
+                plugin.getLogger().warning("[MUNDO] Sem resposta do servidor de mundos para " + reply.worldName +
+                        " em " + timeout + " ticks; conectando o jogador mesmo assim");
+            }
+            connectToWorldsServer(reply);
+        }, timeout);
+    }
 
-                    try {
-                        // Verifica se o canal está registrado
-                        if (!plugin.getServer().getMessenger().isOutgoingChannelRegistered(plugin, BUNGEE_CHANNEL)) {
-                            plugin.getLogger().severe("Canal BungeeCord não está registrado! Registrando novamente...");
-                            plugin.getServer().getMessenger().registerOutgoingPluginChannel(plugin, BUNGEE_CHANNEL);
-                        }
+    /**
+     * Trata a resposta do servidor de mundos a um pedido de criação ou teleporte
+     *
+     * @param message Mensagem WorldReady ou WorldFailed
+     */
+    public void handleWorldReply(WorldMessage message) {
+        PendingReply reply = pendingReplies.remove(message.getCorrelationId());
+        if (reply == null) {
+            // O tempo limite já conectou o jogador
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("[DEBUG] Resposta sem pedido pendente: " + message);
+            }
+            return;
+        }
+        reply.timeoutTask.cancel();
 
-                        // Envia uma nova mensagem de teleporte
-                        ByteArrayOutputStream msgBytes = new ByteArrayOutputStream();
-                        DataOutputStream msgOut = new DataOutputStream(msgBytes);
+        if (message.getType() == MessageCodec.TYPE_WORLD_READY) {
+            connectToWorldsServer(reply);
+            return;
+        }
 
-                        msgOut.writeUTF("TeleportToWorld");
-                        msgOut.writeUTF(playerUUID.toString());
-                        msgOut.writeUTF(worldName);
+        plugin.getLogger().warning("[MUNDO] Servidor de mundos não conseguiu preparar o mundo " + reply.worldName +
+                ": " + message.getReason());
+        pendingWorldCreations.remove(reply.playerUUID);
 
-                        byte[] msgData = msgBytes.toByteArray();
+        if (reply.creation) {
+            discardFailedCreation(reply);
+        }
 
-                        // Prepara a mensagem para o BungeeCord
-                        ByteArrayOutputStream b = new ByteArrayOutputStream();
-                        DataOutputStream out = new DataOutputStream(b);
+        Player player = Bukkit.getPlayer(reply.playerUUID);
+        if (player != null && player.isOnline()) {
+            player.sendMessage(ChatColor.RED + "Não foi possível preparar o mundo: " + message.getReason());
+            player.sendMessage(ChatColor.YELLOW + "Tente novamente ou contate um administrador.");
+        }
+    }
 
-                        out.writeUTF("Forward");
-                        out.writeUTF(plugin.getConfigManager().getWorldsServerName());
-                        out.writeUTF(PLUGIN_CHANNEL);
-                        out.writeShort(msgData.length);
-                        out.write(msgData);
+    /**
+     * Remove o registro de um mundo que o servidor de mundos recusou criar.
+     * O servidor de mundos não cria arquivos quando recusa, então sobra apenas
+     * o registro salvo por WorldManager.createWorld, que ainda contaria no
+     * limite de mundos do jogador.
+     */
+    private void discardFailedCreation(PendingReply reply) {
+        plugin.getWorldManager().removePendingTeleport(reply.playerUUID);
 
-                        // Envia a mensagem
-                        anyPlayer.sendPluginMessage(plugin, BUNGEE_CHANNEL, b.toByteArray());
+        CustomWorld customWorld = plugin.getWorldManager().getWorldByName(reply.worldName);
+        if (customWorld == null || customWorld.isLoaded()) {
+            return;
+        }
 
-                        plugin.getLogger().info("[MUNDO] Enviada tentativa adicional de teleporte: " + (attempts + 1));
+        plugin.getWorldManager().removeLoadedWorld(reply.worldName);
+        plugin.getWorldRegistryManager().publish(customWorld, WorldRegistryManager.SECTION_DELETED);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            plugin.getDatabaseManager().deleteWorld(customWorld);
+            plugin.getLogger().info("[MUNDO] Registro do mundo não criado removido: " + reply.worldName);
+        });
+    }
 
-                        // Agenda a próxima tentativa se necessário
-                        scheduleFollowUpMessage(playerUUID, worldName);
+    private void connectToWorldsServer(PendingReply reply) {
+        Player player = Bukkit.getPlayer(reply.playerUUID);
+        if (player == null || !player.isOnline()) {
+            plugin.getLogger().warning("Jogador desconectou antes do teleporte: " + reply.playerUUID);
+            return;
+        }
 
-                    } catch (IOException e) {
-                        plugin.getLogger().log(Level.SEVERE, "Erro ao enviar tentativa adicional de teleporte", e);
-                    }
-                }
-            } else {
-                // Removemos da lista de tentativas quando atingir o limite
-                teleportAttempts.remove(playerUUID);
-                plugin.getLogger().warning("Número máximo de tentativas de teleporte atingido para " + playerUUID);
-
-                // Tenta notificar o jogador se ele estiver online
-                Player player = Bukkit.getPlayer(playerUUID);
-                if (player != null && player.isOnline()) {
-                    player.sendMessage(ChatColor.RED + "Falha ao completar o teleporte após " +
-                            MAX_TELEPORT_ATTEMPTS + " tentativas.");
-                    player.sendMessage(ChatColor.YELLOW + "Tente novamente ou contate um administrador.");
-                }
-            }
-        }, delay); // Usa o delay configurado
+        if (reply.readyMessage != null) {
+            player.sendMessage(ChatColor.GREEN + reply.readyMessage);
+        }
+        teleportPlayerToWorldsServer(player, plugin.getWorldPlacementManager().getServerFor(reply.worldName));
     }
 
     /**
@@ -378,23 +342,12 @@ public class MessagingManager {
                 plugin.getLogger().info("Preparando mensagem de exclusão para o mundo: " + worldName);
             }
 
-            ByteArrayOutputStream b = new ByteArrayOutputStream();
-            DataOutputStream out = new DataOutputStream(b);
-
-            out.writeUTF("Forward");
-            out.writeUTF(plugin.getConfigManager().getWorldsServerName());
-            out.writeUTF(PLUGIN_CHANNEL);
-
-            ByteArrayOutputStream msgbytes = new ByteArrayOutputStream();
-            DataOutputStream msgout = new DataOutputStream(msgbytes);
-
-            msgout.writeUTF("DeleteWorld");
-            msgout.writeUTF(worldName);
-
-            out.writeShort(msgbytes.toByteArray().length);
-            out.write(msgbytes.toByteArray());
-
-            player.sendPluginMessage(plugin, BUNGEE_CHANNEL, b.toByteArray());
+            String server = plugin.getWorldPlacementManager().getServerFor(worldName);
+            sendToWorldsServer(server, WorldMessage.deleteWorld(worldName), player).thenAccept(delivered -> {
+                if (!delivered) {
+                    plugin.getLogger().warning("Servidor de mundos não confirmou a exclusão do mundo: " + worldName);
+                }
+            });
 
             plugin.getLogger().info("Mensagem de exclusão de mundo enviada para: " + worldName);
 
@@ -433,26 +386,12 @@ public class MessagingManager {
                 plugin.getLogger().info("Preparando mensagem de atualização de configurações para: " + worldName);
             }
 
-            ByteArrayOutputStream b = new ByteArrayOutputStream();
-            DataOutputStream out = new DataOutputStream(b);
-
-            out.writeUTF("Forward");
-            out.writeUTF(plugin.getConfigManager().getWorldsServerName());
-            out.writeUTF(PLUGIN_CHANNEL);
-
-            ByteArrayOutputStream msgbytes = new ByteArrayOutputStream();
-            DataOutputStream msgout = new DataOutputStream(msgbytes);
-
-            msgout.writeUTF("UpdateWorldSettings");
-            msgout.writeUTF(worldName);
-
-            // Escrever configurações do mundo
-            writeWorldSettings(msgout, settings);
-
-            out.writeShort(msgbytes.toByteArray().length);
-            out.write(msgbytes.toByteArray());
-
-            player.sendPluginMessage(plugin, BUNGEE_CHANNEL, b.toByteArray());
+            String server = plugin.getWorldPlacementManager().getServerFor(worldName);
+            sendToWorldsServer(server, WorldMessage.updateWorldSettings(worldName, settings), player).thenAccept(delivered -> {
+                if (!delivered) {
+                    plugin.getLogger().warning("Servidor de mundos não confirmou a atualização de configurações: " + worldName);
+                }
+            });
 
             plugin.getLogger().info("Mensagem de atualização de configurações enviada para: " + worldName);
 
@@ -466,35 +405,18 @@ public class MessagingManager {
     }
 
     /**
-     * Método auxiliar para escrever as configurações de um mundo em um stream
+     * Envia uma mensagem ao servidor de mundos dono do mundo pela caixa de saída,
+     * que a guarda até a confirmação e a reenvia se necessário
      *
-     * @param out Stream de dados
-     * @param settings Configurações a serem escritas
-     * @throws IOException Se ocorrer um erro de IO
+     * @param server Servidor de mundos onde o mundo fica
+     * @param message Mensagem a ser enviada
+     * @param carrier Jogador preferido para transportar a mensagem
+     * @return Futuro com true quando o servidor de mundos confirmar o recebimento
+     * @throws IOException Se a mensagem não puder ser codificada
      */
-    private void writeWorldSettings(DataOutputStream out, WorldSettings settings) throws IOException {
-        // Escreve configurações básicas
-        out.writeBoolean(settings.isPvpEnabled());
-        out.writeBoolean(settings.isMobSpawning());
-        out.writeBoolean(settings.isTimeCycle());
-        out.writeLong(settings.getFixedTime());
-        out.writeBoolean(settings.isWeatherEnabled());
-        out.writeBoolean(settings.isPhysicsEnabled());
-        out.writeBoolean(settings.isRedstoneEnabled());
-        out.writeBoolean(settings.isFluidFlow());
-        out.writeInt(settings.getTickSpeed());
-
-        // Escreve configurações adicionais
-        out.writeBoolean(settings.isKeepInventory());
-        out.writeBoolean(settings.isAnnounceDeaths());
-        out.writeBoolean(settings.isFallDamage());
-        out.writeBoolean(settings.isHungerDepletion());
-        out.writeBoolean(settings.isFireSpread());
-        out.writeBoolean(settings.isLeafDecay());
-        out.writeBoolean(settings.isBlockUpdates());
-
-        // Escreve o modo de jogo
-        out.writeUTF(settings.getGameMode() != null ? settings.getGameMode().name() : "SURVIVAL");
+    private CompletableFuture<Boolean> sendToWorldsServer(String server, WorldMessage message, Player carrier)
+            throws IOException {
+        return plugin.getMessageOutbox().send(server, message, carrier);
     }
 
     /**
@@ -587,4 +509,22 @@ public class MessagingManager {
     public String getPendingWorldName(UUID playerUUID) {
         return pendingWorldCreations.get(playerUUID);
     }
-}
\ No newline at end of file
+
+    /**
+     * Pedido de criação ou teleporte aguardando a resposta do servidor de mundos
+     */
+    private static class PendingReply {
+        private final UUID playerUUID;
+        private final String worldName;
+        private final String readyMessage;
+        private final boolean creation;
+        private BukkitTask timeoutTask;
+
+        private PendingReply(UUID playerUUID, String worldName, String readyMessage, boolean creation) {
+            this.playerUUID = playerUUID;
+            this.worldName = worldName;
+            this.readyMessage = readyMessage;
+            this.creation = creation;
+        }
+    }
+}
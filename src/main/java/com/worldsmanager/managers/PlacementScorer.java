@@ -0,0 +1,32 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.models.ServerHeartbeat;
+
+/**
+ * Função de pontuação usada para escolher o servidor de mundos de um novo
+ * mundo. O WorldPlacementManager escolhe, entre os servidores com heartbeat
+ * recente e que não estão sobrecarregados, o de menor pontuação. Outra
+ * implementação pode ser definida com WorldPlacementManager.setScorer.
+ */
+public interface PlacementScorer {
+
+    /**
+     * Calcula a carga de um servidor de mundos
+     *
+     * @param heartbeat Último heartbeat do servidor
+     * @return Pontuação; quanto menor, menos carregado
+     */
+    double score(ServerHeartbeat heartbeat);
+
+    /**
+     * Pontuação padrão: a fração do tick usada (MSPT/50, ou a perda de TPS quando
+     * o MSPT não é informado) somada à fração do heap em uso. Mundos carregados e
+     * jogadores online pesam pouco e desempatam servidores ociosos.
+     */
+    PlacementScorer DEFAULT = heartbeat -> {
+        double tickLoad = heartbeat.getMspt() >= 0 ? heartbeat.getMspt() / 50.0
+                : Math.max(0, 1.0 - heartbeat.getTps() / 20.0);
+        return tickLoad + heartbeat.getHeapUsedFraction() +
+                heartbeat.getLoadedWorlds() / 100.0 + heartbeat.getOnlinePlayers() / 200.0;
+    };
+}
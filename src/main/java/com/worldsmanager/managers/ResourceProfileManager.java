@@ -0,0 +1,167 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.models.ResourceProfile;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gerenciador de perfis de recursos dos mundos.
+ *
+ * O perfil de um mundo é o escolhido explicitamente nas configurações do mundo;
+ * caso contrário é o perfil de maior prioridade para o qual o dono possui a
+ * permissão worldsmanager.profile.&lt;nome&gt;, ou o perfil padrão.
+ *
+ * As permissões só podem ser consultadas com o dono online, então o perfil
+ * obtido por elas fica guardado no banco (owner_profile) e é usado quando o
+ * mundo é carregado por um visitante.
+ */
+public class ResourceProfileManager {
+
+    private static final String PERMISSION_PREFIX = "worldsmanager.profile.";
+
+    private final WorldsManager plugin;
+    private final Map<String, ResourceProfile> profiles = new LinkedHashMap<>();
+    private List<ResourceProfile> byPriority = Collections.emptyList();
+    private String defaultProfile;
+
+    public ResourceProfileManager(WorldsManager plugin) {
+        this.plugin = plugin;
+        loadProfiles();
+    }
+
+    /**
+     * Carrega os perfis do config.yml
+     */
+    public void loadProfiles() {
+        profiles.clear();
+
+        ConfigurationSection root = plugin.getConfigManager().getSection("resource-profiles");
+        defaultProfile = root != null ? root.getString("default-profile", "default").toLowerCase() : "default";
+
+        ConfigurationSection section = root != null ? root.getConfigurationSection("profiles") : null;
+        if (section != null) {
+            for (String name : section.getKeys(false)) {
+                ConfigurationSection profileSection = section.getConfigurationSection(name);
+                if (profileSection != null) {
+                    String key = name.toLowerCase();
+                    profiles.put(key, ResourceProfile.fromConfig(key, profileSection));
+                }
+            }
+        }
+
+        List<ResourceProfile> sorted = new ArrayList<>(profiles.values());
+        sorted.sort((a, b) -> Integer.compare(b.getPriority(), a.getPriority()));
+        byPriority = sorted;
+
+        if (!profiles.isEmpty() && !profiles.containsKey(defaultProfile)) {
+            plugin.getLogger().warning("Perfil de recursos padrão não encontrado: " + defaultProfile);
+        }
+
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Perfis de recursos carregados: " + profiles.keySet() +
+                    (ResourceProfile.supportsPerWorldDistances() ? "" : " (distâncias por mundo indisponíveis neste servidor)"));
+        }
+    }
+
+    /**
+     * Determina o perfil de recursos de um mundo
+     *
+     * @param customWorld Mundo personalizado
+     * @return Perfil a ser aplicado ou null se nenhum perfil estiver configurado
+     */
+    public ResourceProfile resolve(CustomWorld customWorld) {
+        String explicit = customWorld.getSettings() != null ? customWorld.getSettings().getResourceProfile() : null;
+        if (explicit != null && !explicit.isEmpty()) {
+            ResourceProfile profile = profiles.get(explicit.toLowerCase());
+            if (profile != null) {
+                return profile;
+            }
+            plugin.getLogger().warning("Perfil de recursos desconhecido no mundo " + customWorld.getWorldName() +
+                    ": " + explicit + ". Usando seleção automática.");
+        }
+
+        // A permissão só pode ser consultada com o dono online neste servidor
+        Player owner = customWorld.getOwnerUUID() != null ? Bukkit.getPlayer(customWorld.getOwnerUUID()) : null;
+        if (owner != null) {
+            ResourceProfile resolved = profiles.get(defaultProfile);
+            for (ResourceProfile profile : byPriority) {
+                if (owner.hasPermission(PERMISSION_PREFIX + profile.getName())) {
+                    resolved = profile;
+                    break;
+                }
+            }
+            rememberOwnerProfile(customWorld, resolved);
+            return resolved;
+        }
+
+        // Dono offline: último perfil obtido pelas permissões dele
+        String remembered = customWorld.getSettings() != null ? customWorld.getSettings().getOwnerProfile() : null;
+        ResourceProfile profile = remembered != null ? profiles.get(remembered) : null;
+        return profile != null ? profile : profiles.get(defaultProfile);
+    }
+
+    /**
+     * Guarda o perfil obtido pelas permissões do dono quando ele muda
+     */
+    private void rememberOwnerProfile(CustomWorld customWorld, ResourceProfile profile) {
+        if (profile == null || customWorld.getSettings() == null ||
+                profile.getName().equals(customWorld.getSettings().getOwnerProfile())) {
+            return;
+        }
+
+        customWorld.getSettings().setOwnerProfile(profile.getName());
+        int worldId = customWorld.getId();
+        String name = profile.getName();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin,
+                () -> plugin.getDatabaseManager().saveOwnerProfile(worldId, name));
+    }
+
+    /**
+     * Aplica o perfil de recursos de um mundo personalizado ao mundo carregado
+     *
+     * @param customWorld Mundo personalizado
+     * @param world Mundo carregado
+     */
+    public void applyProfile(CustomWorld customWorld, World world) {
+        ResourceProfile profile = resolve(customWorld);
+        if (profile == null) {
+            return;
+        }
+
+        profile.applyTo(world);
+
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Perfil de recursos '" + profile.getName() + "' aplicado ao mundo " + world.getName());
+        }
+    }
+
+    /**
+     * Obtém um perfil pelo nome
+     *
+     * @param name Nome do perfil
+     * @return Perfil ou null se não existir
+     */
+    public ResourceProfile getProfile(String name) {
+        return name != null ? profiles.get(name.toLowerCase()) : null;
+    }
+
+    /**
+     * Obtém os nomes dos perfis configurados
+     *
+     * @return Nomes dos perfis
+     */
+    public Collection<String> getProfileNames() {
+        return Collections.unmodifiableCollection(profiles.keySet());
+    }
+}
@@ -204,6 +204,81 @@ public class SecureConfigManager implements ConfigService {
         configCache.put("cross-server.worlds-server", config.getString("cross-server.worlds-server", "worlds"));
         configCache.put("cross-server.auto-teleport", config.getBoolean("cross-server.auto-teleport", true));
         configCache.put("cross-server.teleport-delay", config.getInt("cross-server.teleport-delay", 20));
+        configCache.put("snapshots.enabled", config.getBoolean("snapshots.enabled", true));
+        configCache.put("snapshots.io-limit-kb", config.getInt("snapshots.io-limit-kb", 4096));
+        configCache.put("snapshots.max-per-world", config.getInt("snapshots.max-per-world", 10));
+        configCache.put("snapshots.interval-minutes", config.getInt("snapshots.interval-minutes", 0));
+        configCache.put("transfer.io-threads", config.getInt("transfer.io-threads", 2));
+        configCache.put("transfer.io-limit-kb", config.getInt("transfer.io-limit-kb", 8192));
+        configCache.put("transfer.max-import-size-mb", config.getInt("transfer.max-import-size-mb", 1024));
+        configCache.put("world-loading.max-concurrent", config.getInt("world-loading.max-concurrent", 2));
+        configCache.put("world-loading.max-per-tick", config.getInt("world-loading.max-per-tick", 1));
+        configCache.put("world-loading.tick-budget-ms", config.getInt("world-loading.tick-budget-ms", 25));
+        configCache.put("world-loading.position-update-seconds", config.getInt("world-loading.position-update-seconds", 5));
+        configCache.put("performance.entity-limit-per-chunk", config.getInt("performance.entity-limit-per-chunk", 50));
+        configCache.put("performance.entity-sweep-chunks-per-tick", config.getInt("performance.entity-sweep-chunks-per-tick", 8));
+        configCache.put("security.access-cache-seconds", config.getInt("security.access-cache-seconds", 30));
+        configCache.put("profiler.enabled", config.getBoolean("profiler.enabled", true));
+        configCache.put("profiler.sample-interval-seconds", config.getInt("profiler.sample-interval-seconds", 5));
+        configCache.put("profiler.history-minutes", config.getInt("profiler.history-minutes", 15));
+        configCache.put("throttle.enabled", config.getBoolean("throttle.enabled", true));
+        configCache.put("throttle.check-interval-seconds", config.getInt("throttle.check-interval-seconds", 10));
+        configCache.put("throttle.max-world-mspt", config.getDouble("throttle.max-world-mspt", 10.0));
+        configCache.put("throttle.max-world-score", config.getInt("throttle.max-world-score", 3000));
+        configCache.put("throttle.escalate-after-checks", config.getInt("throttle.escalate-after-checks", 3));
+        configCache.put("throttle.restore-after-checks", config.getInt("throttle.restore-after-checks", 6));
+        configCache.put("throttle.restore-ratio", config.getDouble("throttle.restore-ratio", 0.5));
+        configCache.put("lag-machines.enabled", config.getBoolean("lag-machines.enabled", true));
+        configCache.put("lag-machines.max-updates-per-second", config.getInt("lag-machines.max-updates-per-second", 30));
+        configCache.put("lag-machines.action", config.getString("lag-machines.action", "NONE"));
+        configCache.put("lag-machines.report-cooldown-seconds", config.getInt("lag-machines.report-cooldown-seconds", 60));
+        configCache.put("performance.unload-unused-worlds", config.getInt("performance.unload-unused-worlds", 30));
+        configCache.put("quiescence.enabled", config.getBoolean("quiescence.enabled", true));
+        configCache.put("quiescence.grace-seconds", config.getInt("quiescence.grace-seconds", 60));
+        configCache.put("quiescence.check-interval-seconds", config.getInt("quiescence.check-interval-seconds", 10));
+        configCache.put("memory.enabled", config.getBoolean("memory.enabled", true));
+        configCache.put("memory.soft-watermark", config.getDouble("memory.soft-watermark", 0.8));
+        configCache.put("memory.hard-watermark", config.getDouble("memory.hard-watermark", 0.9));
+        configCache.put("memory.recover-watermark", config.getDouble("memory.recover-watermark", 0.7));
+        configCache.put("memory.check-interval-seconds", config.getInt("memory.check-interval-seconds", 5));
+        configCache.put("memory.unload-per-check", config.getInt("memory.unload-per-check", 2));
+        configCache.put("teleport.preload-radius", config.getInt("teleport.preload-radius", 2));
+        configCache.put("teleport.fallback-chunks-per-tick", config.getInt("teleport.fallback-chunks-per-tick", 4));
+        configCache.put("preload.enabled", config.getBoolean("preload.enabled", true));
+        configCache.put("preload.interval-seconds", config.getInt("preload.interval-seconds", 300));
+        configCache.put("preload.top-worlds", config.getInt("preload.top-worlds", 10));
+        configCache.put("preload.half-life-hours", config.getInt("preload.half-life-hours", 24));
+        configCache.put("prefetch.enabled", config.getBoolean("prefetch.enabled", true));
+        configCache.put("prefetch.chunk-radius", config.getInt("prefetch.chunk-radius", 8));
+        configCache.put("messaging.protocol-version", config.getInt("messaging.protocol-version", 2));
+        configCache.put("messaging.batching", config.getBoolean("messaging.batching", true));
+        configCache.put("messaging.batch-max-bytes", config.getInt("messaging.batch-max-bytes", 30000));
+        configCache.put("cross-server.server-name", config.getString("cross-server.server-name", ""));
+        configCache.put("messaging.ack-timeout-seconds", config.getInt("messaging.ack-timeout-seconds", 3));
+        configCache.put("messaging.max-attempts", config.getInt("messaging.max-attempts", 10));
+        configCache.put("messaging.outbox-max-age-seconds", config.getInt("messaging.outbox-max-age-seconds", 900));
+        configCache.put("messaging.transport", config.getString("messaging.transport", "bungee"));
+        configCache.put("messaging.ping-interval-seconds", config.getInt("messaging.ping-interval-seconds", 30));
+        configCache.put("messaging.socket.port", config.getInt("messaging.socket.port", 0));
+        configCache.put("messaging.socket.bind-address", config.getString("messaging.socket.bind-address", "127.0.0.1"));
+        configCache.put("messaging.socket.secret", config.getString("messaging.socket.secret", ""));
+        configCache.put("cross-server.heartbeat.interval-seconds", config.getInt("cross-server.heartbeat.interval-seconds", 5));
+        configCache.put("cross-server.heartbeat.timeout-seconds", config.getInt("cross-server.heartbeat.timeout-seconds", 15));
+        configCache.put("cross-server.heartbeat.overload-tps", config.getDouble("cross-server.heartbeat.overload-tps", 15.0));
+        configCache.put("cross-server.heartbeat.overload-mspt", config.getDouble("cross-server.heartbeat.overload-mspt", 45.0));
+        configCache.put("cross-server.heartbeat.min-free-disk-mb", config.getInt("cross-server.heartbeat.min-free-disk-mb", 2048));
+        configCache.put("migration.chunk-size-kb", config.getInt("migration.chunk-size-kb", 24));
+        configCache.put("migration.window", config.getInt("migration.window", 16));
+        configCache.put("migration.commit-timeout-seconds", config.getInt("migration.commit-timeout-seconds", 60));
+        configCache.put("migration.auto.enabled", config.getBoolean("migration.auto.enabled", false));
+        configCache.put("migration.auto.check-interval-seconds", config.getInt("migration.auto.check-interval-seconds", 300));
+        configCache.put("migration.auto.min-score-gap", config.getDouble("migration.auto.min-score-gap", 0.5));
+        configCache.put("migration.auto.max-players", config.getInt("migration.auto.max-players", 0));
+        configCache.put("leases.enabled", config.getBoolean("leases.enabled", true));
+        configCache.put("leases.node-id", config.getString("leases.node-id", ""));
+        configCache.put("leases.ttl-seconds", config.getInt("leases.ttl-seconds", 60));
+        configCache.put("leases.renew-interval-seconds", config.getInt("leases.renew-interval-seconds", 20));
+        configCache.put("leases.shutdown-grace-seconds", config.getInt("leases.shutdown-grace-seconds", 15));
         configCache.put("gui.main-title", config.getString("gui.main-title", "&8Seus Mundos"));
         configCache.put("gui.create-title", config.getString("gui.create-title", "&8Criar Novo Mundo"));
         configCache.put("gui.settings-title", config.getString("gui.settings-title", "&8Configurações do Mundo"));
@@ -238,6 +313,11 @@ public class SecureConfigManager implements ConfigService {
         loadSecureConfig();
     }
 
+    @Override
+    public ConfigurationSection getSection(String path) {
+        return config.getConfigurationSection(path);
+    }
+
     @Override
     public void saveConfig() {
         try {
@@ -446,6 +526,11 @@ public class SecureConfigManager implements ConfigService {
         return (String) configCache.getOrDefault("cross-server.worlds-server", "worlds");
     }
 
+    @Override
+    public List<String> getWorldsServers() {
+        return config.getStringList("cross-server.worlds-servers");
+    }
+
     @Override
     public boolean isAutoTeleport() {
         return (boolean) configCache.getOrDefault("cross-server.auto-teleport", true);
@@ -456,6 +541,391 @@ public class SecureConfigManager implements ConfigService {
         return (int) configCache.getOrDefault("cross-server.teleport-delay", 20);
     }
 
+    @Override
+    public boolean isSnapshotsEnabled() {
+        return (boolean) configCache.getOrDefault("snapshots.enabled", true);
+    }
+
+    @Override
+    public int getSnapshotIoLimitKb() {
+        return (int) configCache.getOrDefault("snapshots.io-limit-kb", 4096);
+    }
+
+    @Override
+    public int getSnapshotMaxPerWorld() {
+        return (int) configCache.getOrDefault("snapshots.max-per-world", 10);
+    }
+
+    @Override
+    public int getSnapshotIntervalMinutes() {
+        return (int) configCache.getOrDefault("snapshots.interval-minutes", 0);
+    }
+
+    @Override
+    public int getTransferIoThreads() {
+        return (int) configCache.getOrDefault("transfer.io-threads", 2);
+    }
+
+    @Override
+    public int getTransferIoLimitKb() {
+        return (int) configCache.getOrDefault("transfer.io-limit-kb", 8192);
+    }
+
+    @Override
+    public int getMaxImportSizeMb() {
+        return (int) configCache.getOrDefault("transfer.max-import-size-mb", 1024);
+    }
+
+    @Override
+    public int getWorldLoadMaxConcurrent() {
+        return (int) configCache.getOrDefault("world-loading.max-concurrent", 2);
+    }
+
+    @Override
+    public int getWorldLoadMaxPerTick() {
+        return (int) configCache.getOrDefault("world-loading.max-per-tick", 1);
+    }
+
+    @Override
+    public int getWorldLoadTickBudgetMs() {
+        return (int) configCache.getOrDefault("world-loading.tick-budget-ms", 25);
+    }
+
+    @Override
+    public int getWorldLoadPositionUpdateSeconds() {
+        return (int) configCache.getOrDefault("world-loading.position-update-seconds", 5);
+    }
+
+    @Override
+    public int getEntityLimitPerChunk() {
+        return (int) configCache.getOrDefault("performance.entity-limit-per-chunk", 50);
+    }
+
+    @Override
+    public int getEntitySweepChunksPerTick() {
+        return (int) configCache.getOrDefault("performance.entity-sweep-chunks-per-tick", 8);
+    }
+
+    @Override
+    public int getAccessCacheSeconds() {
+        return (int) configCache.getOrDefault("security.access-cache-seconds", 30);
+    }
+
+    @Override
+    public List<String> getBlockedActions() {
+        return config.getStringList("security.blocked-actions");
+    }
+
+    @Override
+    public boolean isProfilerEnabled() {
+        return (boolean) configCache.getOrDefault("profiler.enabled", true);
+    }
+
+    @Override
+    public int getProfilerSampleIntervalSeconds() {
+        return (int) configCache.getOrDefault("profiler.sample-interval-seconds", 5);
+    }
+
+    @Override
+    public int getProfilerHistoryMinutes() {
+        return (int) configCache.getOrDefault("profiler.history-minutes", 15);
+    }
+
+    @Override
+    public boolean isThrottleEnabled() {
+        return (boolean) configCache.getOrDefault("throttle.enabled", true);
+    }
+
+    @Override
+    public int getThrottleCheckIntervalSeconds() {
+        return (int) configCache.getOrDefault("throttle.check-interval-seconds", 10);
+    }
+
+    @Override
+    public double getThrottleMaxWorldMspt() {
+        return (double) configCache.getOrDefault("throttle.max-world-mspt", 10.0);
+    }
+
+    @Override
+    public int getThrottleMaxWorldScore() {
+        return (int) configCache.getOrDefault("throttle.max-world-score", 3000);
+    }
+
+    @Override
+    public int getThrottleEscalateAfterChecks() {
+        return (int) configCache.getOrDefault("throttle.escalate-after-checks", 3);
+    }
+
+    @Override
+    public int getThrottleRestoreAfterChecks() {
+        return (int) configCache.getOrDefault("throttle.restore-after-checks", 6);
+    }
+
+    @Override
+    public double getThrottleRestoreRatio() {
+        return (double) configCache.getOrDefault("throttle.restore-ratio", 0.5);
+    }
+
+    @Override
+    public boolean isLagMachineDetectionEnabled() {
+        return (boolean) configCache.getOrDefault("lag-machines.enabled", true);
+    }
+
+    @Override
+    public int getLagMachineMaxUpdatesPerSecond() {
+        return (int) configCache.getOrDefault("lag-machines.max-updates-per-second", 30);
+    }
+
+    @Override
+    public String getLagMachineAction() {
+        return (String) configCache.getOrDefault("lag-machines.action", "NONE");
+    }
+
+    @Override
+    public int getLagMachineReportCooldownSeconds() {
+        return (int) configCache.getOrDefault("lag-machines.report-cooldown-seconds", 60);
+    }
+
+    @Override
+    public int getUnloadUnusedWorldsMinutes() {
+        return (int) configCache.getOrDefault("performance.unload-unused-worlds", 30);
+    }
+
+    @Override
+    public boolean isQuiescenceEnabled() {
+        return (boolean) configCache.getOrDefault("quiescence.enabled", true);
+    }
+
+    @Override
+    public int getQuiescenceGraceSeconds() {
+        return (int) configCache.getOrDefault("quiescence.grace-seconds", 60);
+    }
+
+    @Override
+    public int getQuiescenceCheckIntervalSeconds() {
+        return (int) configCache.getOrDefault("quiescence.check-interval-seconds", 10);
+    }
+
+    @Override
+    public boolean isMemoryGovernorEnabled() {
+        return (boolean) configCache.getOrDefault("memory.enabled", true);
+    }
+
+    @Override
+    public double getMemorySoftWatermark() {
+        return (double) configCache.getOrDefault("memory.soft-watermark", 0.8);
+    }
+
+    @Override
+    public double getMemoryHardWatermark() {
+        return (double) configCache.getOrDefault("memory.hard-watermark", 0.9);
+    }
+
+    @Override
+    public double getMemoryRecoverWatermark() {
+        return (double) configCache.getOrDefault("memory.recover-watermark", 0.7);
+    }
+
+    @Override
+    public int getMemoryCheckIntervalSeconds() {
+        return (int) configCache.getOrDefault("memory.check-interval-seconds", 5);
+    }
+
+    @Override
+    public int getMemoryUnloadPerCheck() {
+        return (int) configCache.getOrDefault("memory.unload-per-check", 2);
+    }
+
+    @Override
+    public int getTeleportPreloadRadius() {
+        return (int) configCache.getOrDefault("teleport.preload-radius", 2);
+    }
+
+    @Override
+    public int getTeleportFallbackChunksPerTick() {
+        return (int) configCache.getOrDefault("teleport.fallback-chunks-per-tick", 4);
+    }
+
+    @Override
+    public boolean isPreloadEnabled() {
+        return (boolean) configCache.getOrDefault("preload.enabled", true);
+    }
+
+    @Override
+    public int getPreloadIntervalSeconds() {
+        return (int) configCache.getOrDefault("preload.interval-seconds", 300);
+    }
+
+    @Override
+    public int getPreloadTopWorlds() {
+        return (int) configCache.getOrDefault("preload.top-worlds", 10);
+    }
+
+    @Override
+    public int getPreloadHalfLifeHours() {
+        return (int) configCache.getOrDefault("preload.half-life-hours", 24);
+    }
+
+    @Override
+    public boolean isPrefetchEnabled() {
+        return (boolean) configCache.getOrDefault("prefetch.enabled", true);
+    }
+
+    @Override
+    public int getPrefetchChunkRadius() {
+        return (int) configCache.getOrDefault("prefetch.chunk-radius", 8);
+    }
+
+    @Override
+    public int getMessagingProtocolVersion() {
+        return (int) configCache.getOrDefault("messaging.protocol-version", 2);
+    }
+
+    @Override
+    public boolean isMessageBatchingEnabled() {
+        return (boolean) configCache.getOrDefault("messaging.batching", true);
+    }
+
+    @Override
+    public int getMessageBatchMaxBytes() {
+        return (int) configCache.getOrDefault("messaging.batch-max-bytes", 30000);
+    }
+
+    @Override
+    public String getServerName() {
+        return (String) configCache.getOrDefault("cross-server.server-name", "");
+    }
+
+    @Override
+    public int getMessageAckTimeoutSeconds() {
+        return (int) configCache.getOrDefault("messaging.ack-timeout-seconds", 3);
+    }
+
+    @Override
+    public int getMessageMaxAttempts() {
+        return (int) configCache.getOrDefault("messaging.max-attempts", 10);
+    }
+
+    @Override
+    public int getOutboxMaxAgeSeconds() {
+        return (int) configCache.getOrDefault("messaging.outbox-max-age-seconds", 900);
+    }
+
+    @Override
+    public String getMessageTransport() {
+        return (String) configCache.getOrDefault("messaging.transport", "bungee");
+    }
+
+    @Override
+    public int getTransportPingIntervalSeconds() {
+        return (int) configCache.getOrDefault("messaging.ping-interval-seconds", 30);
+    }
+
+    @Override
+    public int getSocketTransportPort() {
+        return (int) configCache.getOrDefault("messaging.socket.port", 0);
+    }
+
+    @Override
+    public String getSocketTransportBindAddress() {
+        return (String) configCache.getOrDefault("messaging.socket.bind-address", "127.0.0.1");
+    }
+
+    @Override
+    public List<String> getSocketTransportPeers() {
+        return config.getStringList("messaging.socket.peers");
+    }
+
+    @Override
+    public String getSocketTransportSecret() {
+        return (String) configCache.getOrDefault("messaging.socket.secret", "");
+    }
+
+    @Override
+    public int getHeartbeatIntervalSeconds() {
+        return (int) configCache.getOrDefault("cross-server.heartbeat.interval-seconds", 5);
+    }
+
+    @Override
+    public int getHeartbeatTimeoutSeconds() {
+        return (int) configCache.getOrDefault("cross-server.heartbeat.timeout-seconds", 15);
+    }
+
+    @Override
+    public double getHeartbeatOverloadTps() {
+        return (double) configCache.getOrDefault("cross-server.heartbeat.overload-tps", 15.0);
+    }
+
+    @Override
+    public double getHeartbeatOverloadMspt() {
+        return (double) configCache.getOrDefault("cross-server.heartbeat.overload-mspt", 45.0);
+    }
+
+    @Override
+    public int getHeartbeatMinFreeDiskMb() {
+        return (int) configCache.getOrDefault("cross-server.heartbeat.min-free-disk-mb", 2048);
+    }
+
+    @Override
+    public int getMigrationChunkSizeKb() {
+        return (int) configCache.getOrDefault("migration.chunk-size-kb", 24);
+    }
+
+    @Override
+    public int getMigrationWindow() {
+        return (int) configCache.getOrDefault("migration.window", 16);
+    }
+
+    @Override
+    public int getMigrationCommitTimeoutSeconds() {
+        return (int) configCache.getOrDefault("migration.commit-timeout-seconds", 60);
+    }
+
+    @Override
+    public boolean isMigrationAutoEnabled() {
+        return (boolean) configCache.getOrDefault("migration.auto.enabled", false);
+    }
+
+    @Override
+    public int getMigrationAutoCheckIntervalSeconds() {
+        return (int) configCache.getOrDefault("migration.auto.check-interval-seconds", 300);
+    }
+
+    @Override
+    public double getMigrationAutoMinScoreGap() {
+        return (double) configCache.getOrDefault("migration.auto.min-score-gap", 0.5);
+    }
+
+    @Override
+    public int getMigrationAutoMaxPlayers() {
+        return (int) configCache.getOrDefault("migration.auto.max-players", 0);
+    }
+
+    @Override
+    public boolean isLeasesEnabled() {
+        return (boolean) configCache.getOrDefault("leases.enabled", true);
+    }
+
+    @Override
+    public String getLeaseNodeId() {
+        return (String) configCache.getOrDefault("leases.node-id", "");
+    }
+
+    @Override
+    public int getLeaseTtlSeconds() {
+        return (int) configCache.getOrDefault("leases.ttl-seconds", 60);
+    }
+
+    @Override
+    public int getLeaseRenewIntervalSeconds() {
+        return (int) configCache.getOrDefault("leases.renew-interval-seconds", 20);
+    }
+
+    @Override
+    public int getLeaseShutdownGraceSeconds() {
+        return (int) configCache.getOrDefault("leases.shutdown-grace-seconds", 15);
+    }
+
     @Override
     public String getDefaultLanguage() {
         return (String) configCache.getOrDefault("messages.default-language", "en");
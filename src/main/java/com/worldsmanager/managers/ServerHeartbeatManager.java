@@ -0,0 +1,187 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.messaging.MessageCodec;
+import com.worldsmanager.messaging.WorldMessage;
+import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.models.ServerHeartbeat;
+import com.worldsmanager.utils.ServerMetrics;
+import com.worldsmanager.utils.WorldCreationUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Heartbeats dos servidores de mundos.
+ *
+ * Cada servidor de mundos (um dos servidores da distribuição) publica a cada
+ * cross-server.heartbeat.interval-seconds o seu TPS, MSPT, mundos carregados,
+ * jogadores online, heap e disco livres, e se está sobrecarregado pelos
+ * limites do seu próprio config.yml. O envio é para todos os servidores, sem
+ * confirmação: um heartbeat perdido é substituído pelo seguinte.
+ *
+ * Os lobbies guardam o último heartbeat de cada servidor, que só vale por
+ * cross-server.heartbeat.timeout-seconds, e o WorldPlacementManager usa essa
+ * visão para escolher onde criar novos mundos. Com o transporte bungee o
+ * envio depende de um jogador online no servidor, então a falta de heartbeat
+ * não indica que o servidor está fora do ar nem sobrecarregado.
+ */
+public class ServerHeartbeatManager {
+
+    private static final long MB = 1024L * 1024L;
+
+    private final WorldsManager plugin;
+
+    // Último heartbeat de cada servidor, pelo nome em minúsculas; lido também pela thread de criação de mundos
+    private final Map<String, ServerHeartbeat> heartbeats = new ConcurrentHashMap<>();
+
+    private BukkitTask task;
+    private long published;
+    private long received;
+
+    public ServerHeartbeatManager(WorldsManager plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Agenda a publicação periódica dos heartbeats
+     */
+    public void start() {
+        if (task != null || !plugin.getConfigManager().isCrossServerMode()) {
+            return;
+        }
+
+        int interval = plugin.getConfigManager().getHeartbeatIntervalSeconds();
+        if (interval > 0) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::publish, 20L * interval, 20L * interval);
+        }
+    }
+
+    /**
+     * Interrompe a publicação
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        heartbeats.clear();
+    }
+
+    /**
+     * Publica o heartbeat deste servidor, se ele for um servidor de mundos
+     */
+    private void publish() {
+        String self = plugin.getMessageOutbox().getServerName();
+        if (self == null || !plugin.getWorldPlacementManager().isWorldsServer(self) ||
+                plugin.getConfigManager().getMessagingProtocolVersion() < MessageCodec.RELIABLE_VERSION) {
+            return;
+        }
+
+        ServerHeartbeat heartbeat = measure(self);
+        record(heartbeat);
+        try {
+            if (plugin.getOutboundDispatcher().broadcast(WorldMessage.heartbeat(heartbeat))) {
+                published++;
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.FINE, "Falha ao publicar heartbeat", e);
+        }
+    }
+
+    /**
+     * Mede o estado de carga deste servidor
+     *
+     * @param self Nome deste servidor
+     * @return Heartbeat com os valores atuais
+     */
+    public ServerHeartbeat measure(String self) {
+        ServerMetrics metrics = plugin.getWorldProfiler().getServerMetrics();
+        double tps = metrics.getTps();
+        double mspt = metrics.getAverageTickMillis();
+
+        int loadedWorlds = 0;
+        for (CustomWorld customWorld : plugin.getWorldManager().getAllWorlds()) {
+            if (customWorld.isLoaded()) {
+                loadedWorlds++;
+            }
+        }
+
+        // O uso medido pelo MemoryGovernor (old gen após a coleta) não conta lixo ainda não coletado
+        MemoryGovernor governor = plugin.getMemoryGovernor();
+        long maxHeapMb = Runtime.getRuntime().maxMemory() / MB;
+        long freeHeapMb = (long) (maxHeapMb * (1.0 - governor.getUsedFraction()));
+
+        File worldsFolder = WorldCreationUtils.getWorldsBaseFolder();
+        long freeDiskMb = worldsFolder.exists() ? worldsFolder.getUsableSpace() / MB : -1;
+
+        boolean overloaded = tps < plugin.getConfigManager().getHeartbeatOverloadTps() ||
+                (mspt >= 0 && mspt > plugin.getConfigManager().getHeartbeatOverloadMspt()) ||
+                governor.getLevel() == MemoryGovernor.HARD ||
+                (freeDiskMb >= 0 && freeDiskMb < plugin.getConfigManager().getHeartbeatMinFreeDiskMb());
+
+        return new ServerHeartbeat(self, tps, mspt, loadedWorlds, Bukkit.getOnlinePlayers().size(),
+                freeHeapMb, maxHeapMb, freeDiskMb, overloaded);
+    }
+
+    /**
+     * Registra um heartbeat recebido
+     *
+     * @param heartbeat Heartbeat
+     */
+    public void record(ServerHeartbeat heartbeat) {
+        if (heartbeat == null || heartbeat.getServer() == null || heartbeat.getServer().isEmpty()) {
+            return;
+        }
+
+        heartbeat.setReceivedAt(System.currentTimeMillis());
+        ServerHeartbeat previous = heartbeats.put(heartbeat.getServer().toLowerCase(Locale.ROOT), heartbeat);
+        received++;
+
+        if (previous != null && previous.isOverloaded() != heartbeat.isOverloaded()) {
+            plugin.getLogger().info("Servidor de mundos " + heartbeat.getServer() +
+                    (heartbeat.isOverloaded() ? " sobrecarregado; novos mundos vão para outros servidores"
+                            : " voltou a aceitar novos mundos"));
+        }
+    }
+
+    /**
+     * Obtém o último heartbeat de um servidor, se ainda estiver valendo
+     *
+     * @param server Nome do servidor
+     * @return Heartbeat ou null se não houver um recente
+     */
+    public ServerHeartbeat getHeartbeat(String server) {
+        ServerHeartbeat heartbeat = heartbeats.get(server.toLowerCase(Locale.ROOT));
+        if (heartbeat == null ||
+                heartbeat.getAgeMillis(System.currentTimeMillis()) > plugin.getConfigManager().getHeartbeatTimeoutSeconds() * 1000L) {
+            return null;
+        }
+        return heartbeat;
+    }
+
+    /**
+     * Obtém o último heartbeat de cada servidor, inclusive os vencidos
+     *
+     * @return Heartbeats
+     */
+    public List<ServerHeartbeat> getAllHeartbeats() {
+        return new ArrayList<>(heartbeats.values());
+    }
+
+    public long getPublishedCount() {
+        return published;
+    }
+
+    public long getReceivedCount() {
+        return received;
+    }
+}
@@ -0,0 +1,867 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.utils.IoRateLimiter;
+import com.worldsmanager.utils.WorldCreationUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Gerenciador de snapshots incrementais dos mundos.
+ *
+ * Os chunks de cada arquivo de região são armazenados em um repositório
+ * endereçado por conteúdo (SHA-1), compartilhado entre snapshots e entre mundos.
+ * Arquivos que não mudaram desde o último snapshot (mesmo tamanho e data de
+ * modificação) reaproveitam as entradas do manifesto anterior sem serem lidos,
+ * então um snapshot de um mundo inalterado custa apenas a escrita do manifesto.
+ */
+public class SnapshotManager {
+
+    private static final int MANIFEST_MAGIC = 0x574D5353; // "WMSS"
+    private static final int MANIFEST_VERSION = 1;
+    private static final int SECTOR_SIZE = 4096;
+    private static final int CHUNKS_PER_REGION = 1024;
+    private static final int HASH_SIZE = 20;
+
+    private static final byte KIND_FILE = 0;
+    private static final byte KIND_REGION = 1;
+
+    private final WorldsManager plugin;
+    private final File snapshotsFolder;
+    private final File objectsFolder;
+    private final File manifestsFolder;
+    private final ExecutorService executor;
+    private final Set<String> busyWorlds = ConcurrentHashMap.newKeySet();
+    private BukkitTask autoSnapshotTask;
+
+    public SnapshotManager(WorldsManager plugin) {
+        this.plugin = plugin;
+        this.snapshotsFolder = new File(plugin.getDataFolder(), "snapshots");
+        this.objectsFolder = new File(snapshotsFolder, "objects");
+        this.manifestsFolder = new File(snapshotsFolder, "manifests");
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "WorldsManager-Snapshot");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        if (!objectsFolder.exists()) {
+            objectsFolder.mkdirs();
+        }
+        if (!manifestsFolder.exists()) {
+            manifestsFolder.mkdirs();
+        }
+    }
+
+    /**
+     * Inicia o agendamento automático de snapshots, se configurado
+     */
+    public void start() {
+        int intervalMinutes = plugin.getConfigManager().getSnapshotIntervalMinutes();
+        if (!plugin.getConfigManager().isSnapshotsEnabled() || intervalMinutes <= 0) {
+            return;
+        }
+
+        long intervalTicks = intervalMinutes * 60L * 20L;
+        autoSnapshotTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            for (CustomWorld customWorld : plugin.getWorldManager().getAllWorlds()) {
+                if (customWorld.isLoaded()) {
+                    createSnapshot(customWorld, null);
+                }
+            }
+        }, intervalTicks, intervalTicks);
+
+        plugin.getLogger().info("Snapshots automáticos agendados a cada " + intervalMinutes + " minutos");
+    }
+
+    /**
+     * Encerra o gerenciador
+     */
+    public void shutdown() {
+        if (autoSnapshotTask != null) {
+            autoSnapshotTask.cancel();
+            autoSnapshotTask = null;
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Cria um snapshot de um mundo. Se o mundo estiver carregado, ele é salvo
+     * na thread principal antes de a cópia começar em segundo plano, e o
+     * autosave fica desligado até a cópia terminar.
+     *
+     * @param customWorld Mundo a ser copiado
+     * @param sender Quem solicitou (pode ser null)
+     * @return true se o snapshot foi agendado
+     */
+    public boolean createSnapshot(CustomWorld customWorld, CommandSender sender) {
+        if (!plugin.getConfigManager().isSnapshotsEnabled()) {
+            notify(sender, "&cSnapshots estão desativados no config.yml.");
+            return false;
+        }
+
+        String worldName = customWorld.getWorldName();
+        if (!busyWorlds.add(worldName)) {
+            notify(sender, "&cJá existe uma operação de snapshot em andamento para este mundo.");
+            return false;
+        }
+
+        // Salva o mundo antes para que os arquivos de região estejam atualizados, e
+        // um autosave durante a cópia não grava chunks pela metade no snapshot
+        World world = customWorld.getWorld();
+        boolean autoSave = false;
+        if (world != null) {
+            autoSave = world.isAutoSave();
+            world.save();
+            world.setAutoSave(false);
+        }
+
+        File sourceFolder = WorldCreationUtils.resolveLiveWorldFolder(worldName, customWorld.getWorldPath());
+        if (sourceFolder == null) {
+            restoreAutoSave(worldName, autoSave);
+            busyWorlds.remove(worldName);
+            notify(sender, "&cArquivos do mundo não encontrados.");
+            return false;
+        }
+
+        notify(sender, "&eCriando snapshot de &b" + customWorld.getName() + "&e...");
+
+        boolean restoreAutoSave = autoSave;
+        executor.submit(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                SnapshotResult result = writeSnapshot(customWorld, sourceFolder);
+                int removed = pruneSnapshots(worldName);
+
+                plugin.getLogger().info("Snapshot " + result.snapshotId + " criado para " + worldName +
+                        " em " + (System.currentTimeMillis() - start) + "ms (" + result.newObjects +
+                        " objetos novos, " + formatBytes(result.bytesWritten) + " gravados, " +
+                        result.reusedFiles + " arquivos inalterados" +
+                        (removed > 0 ? ", " + removed + " snapshots antigos removidos" : "") + ")");
+
+                notifySync(sender, "&aSnapshot &e" + result.snapshotId + "&a criado: &f" +
+                        result.newObjects + "&a objetos novos, &f" + formatBytes(result.bytesWritten) + "&a gravados.");
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Falha ao criar snapshot do mundo " + worldName, e);
+                notifySync(sender, "&cFalha ao criar snapshot: " + e.getMessage());
+            } finally {
+                restoreAutoSave(worldName, restoreAutoSave);
+                busyWorlds.remove(worldName);
+            }
+        });
+
+        return true;
+    }
+
+    private void restoreAutoSave(String worldName, boolean autoSave) {
+        if (!autoSave || !plugin.isEnabled()) {
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            World world = Bukkit.getWorld(worldName);
+            if (world != null) {
+                world.setAutoSave(true);
+            }
+        });
+    }
+
+    /**
+     * Lista os snapshots de um mundo, do mais antigo para o mais recente
+     *
+     * @param worldName Nome do mundo
+     * @return Lista de IDs de snapshot
+     */
+    public List<String> listSnapshots(String worldName) {
+        File worldManifests = new File(manifestsFolder, worldName);
+        String[] names = worldManifests.list((dir, name) -> name.endsWith(".snap"));
+        if (names == null) {
+            return Collections.emptyList();
+        }
+
+        List<String> ids = new ArrayList<>();
+        for (String name : names) {
+            ids.add(name.substring(0, name.length() - ".snap".length()));
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Restaura um mundo para o estado de um snapshot.
+     * O mundo é descarregado (sem salvar) e seus arquivos são reconstruídos
+     * em uma pasta temporária antes de substituir a pasta de armazenamento.
+     *
+     * @param customWorld Mundo a ser restaurado
+     * @param snapshotId ID do snapshot
+     * @param sender Quem solicitou (pode ser null)
+     * @return true se a restauração foi agendada
+     */
+    public boolean restoreSnapshot(CustomWorld customWorld, String snapshotId, CommandSender sender) {
+        String worldName = customWorld.getWorldName();
+        File manifestFile = new File(new File(manifestsFolder, worldName), snapshotId + ".snap");
+        if (!manifestFile.exists()) {
+            notify(sender, "&cSnapshot não encontrado: &e" + snapshotId);
+            return false;
+        }
+
+        if (!busyWorlds.add(worldName)) {
+            notify(sender, "&cJá existe uma operação de snapshot em andamento para este mundo.");
+            return false;
+        }
+
+        // A fila de carregamento recusa o mundo até o fim da restauração
+        WorldLoadScheduler loadScheduler = plugin.getWorldLoadScheduler();
+        if (!loadScheduler.block(worldName)) {
+            busyWorlds.remove(worldName);
+            notify(sender, "&cO mundo está sendo carregado; tente novamente em alguns segundos.");
+            return false;
+        }
+
+        // Descarrega o mundo na thread principal antes de mexer nos arquivos
+        World world = customWorld.getWorld();
+        if (world != null) {
+            World defaultWorld = Bukkit.getWorlds().get(0);
+            for (Player player : world.getPlayers()) {
+                player.teleport(defaultWorld.getSpawnLocation());
+                player.sendMessage(ChatColor.YELLOW + "Este mundo está sendo restaurado de um snapshot.");
+            }
+
+            if (!Bukkit.unloadWorld(world, false)) {
+                loadScheduler.unblock(worldName);
+                busyWorlds.remove(worldName);
+                notify(sender, "&cNão foi possível descarregar o mundo para restauração.");
+                return false;
+            }
+        }
+
+        File targetFolder = customWorld.getWorldDirectory(plugin);
+        notify(sender, "&eRestaurando &b" + customWorld.getName() + "&e para o snapshot &f" + snapshotId + "&e...");
+
+        executor.submit(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                restoreInto(manifestFile, targetFolder);
+
+                // A cópia no container do servidor ficaria desatualizada; força uma nova cópia no próximo load
+                if (customWorld.getWorldPath() != null && !customWorld.getWorldPath().isEmpty()) {
+                    File containerCopy = new File(Bukkit.getWorldContainer(), worldName);
+                    WorldCreationUtils.deleteDirectory(containerCopy);
+                }
+
+                plugin.getLogger().info("Mundo " + worldName + " restaurado para o snapshot " + snapshotId +
+                        " em " + (System.currentTimeMillis() - start) + "ms");
+                notifySync(sender, "&aMundo restaurado para o snapshot &e" + snapshotId + "&a.");
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Falha ao restaurar snapshot " + snapshotId + " do mundo " + worldName, e);
+                notifySync(sender, "&cFalha ao restaurar snapshot: " + e.getMessage());
+            } finally {
+                loadScheduler.unblock(worldName);
+                busyWorlds.remove(worldName);
+            }
+        });
+
+        return true;
+    }
+
+    // Escrita de snapshots
+
+    /**
+     * Resultado de um snapshot
+     */
+    private static class SnapshotResult {
+        private String snapshotId;
+        private int newObjects;
+        private long bytesWritten;
+        private int reusedFiles;
+    }
+
+    /**
+     * Entrada de arquivo dentro de um manifesto
+     */
+    private static class FileEntry {
+        private String path;
+        private byte kind;
+        private long size;
+        private long lastModified;
+        private byte[] hash;              // KIND_FILE
+        private byte[][] chunkHashes;     // KIND_REGION
+        private int[] chunkTimestamps;    // KIND_REGION
+    }
+
+    /**
+     * Percorre a pasta do mundo e grava o snapshot
+     */
+    private SnapshotResult writeSnapshot(CustomWorld customWorld, File sourceFolder) throws IOException, InterruptedException {
+        String worldName = customWorld.getWorldName();
+        IoRateLimiter limiter = IoRateLimiter.ofKilobytes(plugin.getConfigManager().getSnapshotIoLimitKb());
+        MessageDigest digest = newDigest();
+
+        // Entradas do último snapshot para reaproveitar arquivos inalterados
+        Map<String, FileEntry> previous = new HashMap<>();
+        List<String> existing = listSnapshots(worldName);
+        if (!existing.isEmpty()) {
+            File lastManifest = new File(new File(manifestsFolder, worldName), existing.get(existing.size() - 1) + ".snap");
+            try {
+                for (FileEntry entry : readManifest(lastManifest)) {
+                    previous.put(entry.path, entry);
+                }
+            } catch (IOException e) {
+                plugin.getLogger().warning("Manifesto anterior ilegível, criando snapshot completo: " + e.getMessage());
+            }
+        }
+
+        SnapshotResult result = new SnapshotResult();
+        List<FileEntry> entries = new ArrayList<>();
+        List<File> files = new ArrayList<>();
+        collectFiles(sourceFolder, files);
+
+        byte[] buffer = new byte[64 * 1024];
+        String basePath = sourceFolder.getAbsolutePath();
+
+        for (File file : files) {
+            String relativePath = file.getAbsolutePath().substring(basePath.length() + 1).replace(File.separatorChar, '/');
+
+            FileEntry old = previous.get(relativePath);
+            if (old != null && old.size == file.length() && old.lastModified == file.lastModified()) {
+                entries.add(old);
+                result.reusedFiles++;
+                continue;
+            }
+
+            FileEntry entry;
+            if (isRegionFile(file)) {
+                entry = snapshotRegionFile(file, digest, limiter, result);
+            } else {
+                entry = snapshotPlainFile(file, digest, limiter, buffer, result);
+            }
+            entry.path = relativePath;
+            entries.add(entry);
+        }
+
+        result.snapshotId = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File worldManifests = new File(manifestsFolder, worldName);
+        if (!worldManifests.exists()) {
+            worldManifests.mkdirs();
+        }
+
+        // Evita colisão de IDs quando dois snapshots são feitos no mesmo segundo
+        File manifestFile = new File(worldManifests, result.snapshotId + ".snap");
+        int suffix = 1;
+        while (manifestFile.exists()) {
+            manifestFile = new File(worldManifests, result.snapshotId + "-" + suffix + ".snap");
+            suffix++;
+        }
+        if (suffix > 1) {
+            result.snapshotId = result.snapshotId + "-" + (suffix - 1);
+        }
+
+        writeManifest(manifestFile, customWorld, entries);
+        return result;
+    }
+
+    /**
+     * Guarda cada chunk de um arquivo de região como um objeto separado
+     */
+    private FileEntry snapshotRegionFile(File file, MessageDigest digest, IoRateLimiter limiter,
+                                         SnapshotResult result) throws IOException, InterruptedException {
+        FileEntry entry = new FileEntry();
+        entry.kind = KIND_REGION;
+        entry.size = file.length();
+        entry.lastModified = file.lastModified();
+        entry.chunkHashes = new byte[CHUNKS_PER_REGION][];
+        entry.chunkTimestamps = new int[CHUNKS_PER_REGION];
+
+        if (entry.size < SECTOR_SIZE * 2L) {
+            // Arquivo de região vazio ou truncado: nenhum chunk para guardar
+            return entry;
+        }
+
+        try (RandomAccessFile region = new RandomAccessFile(file, "r")) {
+            byte[] header = new byte[SECTOR_SIZE * 2];
+            region.readFully(header);
+            limiter.acquire(header.length);
+
+            byte[] chunkBuffer = new byte[SECTOR_SIZE * 8];
+            for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+                int location = readInt(header, i * 4);
+                if (location == 0) {
+                    continue;
+                }
+
+                long offset = (long) (location >>> 8) * SECTOR_SIZE;
+                int sectors = location & 0xFF;
+                if (offset < SECTOR_SIZE * 2L || offset + 5 > entry.size) {
+                    continue;
+                }
+
+                region.seek(offset);
+                int length = region.readInt();
+                if (length <= 0 || length > sectors * SECTOR_SIZE || offset + 4 + length > entry.size) {
+                    plugin.getLogger().warning("Chunk corrompido ignorado em " + file.getName() + " (índice " + i + ")");
+                    continue;
+                }
+
+                if (chunkBuffer.length < length) {
+                    chunkBuffer = new byte[length];
+                }
+                region.readFully(chunkBuffer, 0, length);
+                limiter.acquire(length);
+
+                // O conteúdo guardado inclui o byte de compressão seguido do payload
+                digest.reset();
+                digest.update(chunkBuffer, 0, length);
+                byte[] hash = digest.digest();
+
+                storeObject(hash, chunkBuffer, length, limiter, result);
+                entry.chunkHashes[i] = hash;
+                entry.chunkTimestamps[i] = readInt(header, SECTOR_SIZE + i * 4);
+            }
+        }
+
+        return entry;
+    }
+
+    /**
+     * Guarda um arquivo comum como um único objeto
+     */
+    private FileEntry snapshotPlainFile(File file, MessageDigest digest, IoRateLimiter limiter,
+                                        byte[] buffer, SnapshotResult result) throws IOException, InterruptedException {
+        FileEntry entry = new FileEntry();
+        entry.kind = KIND_FILE;
+        entry.size = file.length();
+        entry.lastModified = file.lastModified();
+
+        byte[] content = Files.readAllBytes(file.toPath());
+        limiter.acquire(content.length);
+
+        digest.reset();
+        digest.update(content);
+        entry.hash = digest.digest();
+
+        storeObject(entry.hash, content, content.length, limiter, result);
+        return entry;
+    }
+
+    /**
+     * Grava um objeto no repositório se ele ainda não existir
+     */
+    private void storeObject(byte[] hash, byte[] data, int length, IoRateLimiter limiter,
+                             SnapshotResult result) throws IOException, InterruptedException {
+        File objectFile = getObjectFile(hash);
+        if (objectFile.exists()) {
+            return;
+        }
+
+        File parent = objectFile.getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+
+        // Escreve em um arquivo temporário e move para evitar objetos parciais
+        File tempFile = new File(parent, objectFile.getName() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tempFile)) {
+            out.write(data, 0, length);
+        }
+        limiter.acquire(length);
+        Files.move(tempFile.toPath(), objectFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        result.newObjects++;
+        result.bytesWritten += length;
+    }
+
+    // Restauração
+
+    /**
+     * Reconstrói os arquivos de um snapshot e substitui a pasta de destino
+     */
+    private void restoreInto(File manifestFile, File targetFolder) throws IOException, InterruptedException {
+        List<FileEntry> entries = readManifest(manifestFile);
+        IoRateLimiter limiter = IoRateLimiter.ofKilobytes(plugin.getConfigManager().getSnapshotIoLimitKb());
+
+        File parent = targetFolder.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+
+        File staging = new File(parent, "." + targetFolder.getName() + ".restore");
+        WorldCreationUtils.deleteDirectory(staging);
+        staging.mkdirs();
+
+        for (FileEntry entry : entries) {
+            File output = new File(staging, entry.path.replace('/', File.separatorChar));
+            File outputParent = output.getParentFile();
+            if (!outputParent.exists()) {
+                outputParent.mkdirs();
+            }
+
+            if (entry.kind == KIND_REGION) {
+                rebuildRegionFile(entry, output, limiter);
+            } else {
+                File objectFile = getObjectFile(entry.hash);
+                if (!objectFile.exists()) {
+                    throw new IOException("Objeto ausente no repositório para " + entry.path);
+                }
+                Files.copy(objectFile.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                limiter.acquire(entry.size);
+            }
+            output.setLastModified(entry.lastModified);
+        }
+
+        // Troca a pasta antiga pela reconstruída; a antiga só é apagada depois que a nova estiver no lugar
+        File previous = new File(parent, "." + targetFolder.getName() + ".previous");
+        WorldCreationUtils.deleteDirectory(previous);
+        if (targetFolder.exists()) {
+            Files.move(targetFolder.toPath(), previous.toPath());
+        }
+
+        try {
+            Files.move(staging.toPath(), targetFolder.toPath());
+        } catch (IOException e) {
+            if (previous.exists()) {
+                Files.move(previous.toPath(), targetFolder.toPath());
+            }
+            throw e;
+        }
+        WorldCreationUtils.deleteDirectory(previous);
+    }
+
+    /**
+     * Monta um arquivo de região a partir dos chunks guardados
+     */
+    private void rebuildRegionFile(FileEntry entry, File output, IoRateLimiter limiter) throws IOException, InterruptedException {
+        byte[] header = new byte[SECTOR_SIZE * 2];
+        int nextSector = 2;
+
+        try (RandomAccessFile region = new RandomAccessFile(output, "rw")) {
+            region.setLength(0);
+            region.write(header);
+
+            for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+                byte[] hash = entry.chunkHashes[i];
+                if (hash == null) {
+                    continue;
+                }
+
+                File objectFile = getObjectFile(hash);
+                if (!objectFile.exists()) {
+                    plugin.getLogger().warning("Chunk ausente no repositório ignorado: " + entry.path + " (índice " + i + ")");
+                    continue;
+                }
+
+                byte[] data = Files.readAllBytes(objectFile.toPath());
+                limiter.acquire(data.length);
+
+                int sectors = (data.length + 4 + SECTOR_SIZE - 1) / SECTOR_SIZE;
+                if (sectors > 255) {
+                    plugin.getLogger().warning("Chunk grande demais para a região ignorado: " + entry.path + " (índice " + i + ")");
+                    continue;
+                }
+
+                region.seek((long) nextSector * SECTOR_SIZE);
+                region.writeInt(data.length);
+                region.write(data);
+
+                // Completa o último setor com zeros
+                int padding = sectors * SECTOR_SIZE - (data.length + 4);
+                if (padding > 0) {
+                    region.write(new byte[padding]);
+                }
+
+                writeInt(header, i * 4, (nextSector << 8) | sectors);
+                writeInt(header, SECTOR_SIZE + i * 4, entry.chunkTimestamps[i]);
+                nextSector += sectors;
+            }
+
+            region.seek(0);
+            region.write(header);
+        }
+    }
+
+    // Retenção
+
+    /**
+     * Remove snapshots excedentes de um mundo e coleta objetos sem referência
+     *
+     * @param worldName Nome do mundo
+     * @return Número de snapshots removidos
+     */
+    private int pruneSnapshots(String worldName) {
+        int maxSnapshots = plugin.getConfigManager().getSnapshotMaxPerWorld();
+        if (maxSnapshots <= 0) {
+            return 0;
+        }
+
+        List<String> ids = listSnapshots(worldName);
+        int removed = 0;
+        File worldManifests = new File(manifestsFolder, worldName);
+        while (ids.size() - removed > maxSnapshots) {
+            File manifest = new File(worldManifests, ids.get(removed) + ".snap");
+            if (!manifest.delete()) {
+                plugin.getLogger().warning("Não foi possível remover snapshot antigo: " + manifest.getName());
+                break;
+            }
+            removed++;
+        }
+
+        if (removed > 0) {
+            collectGarbage();
+        }
+        return removed;
+    }
+
+    /**
+     * Remove do repositório os objetos que nenhum manifesto referencia mais
+     */
+    private void collectGarbage() {
+        Set<String> referenced = new HashSet<>();
+        File[] worldFolders = manifestsFolder.listFiles(File::isDirectory);
+        if (worldFolders == null) {
+            return;
+        }
+
+        try {
+            for (File worldFolder : worldFolders) {
+                File[] manifests = worldFolder.listFiles((dir, name) -> name.endsWith(".snap"));
+                if (manifests == null) {
+                    continue;
+                }
+                for (File manifest : manifests) {
+                    for (FileEntry entry : readManifest(manifest)) {
+                        if (entry.kind == KIND_FILE) {
+                            referenced.add(toHex(entry.hash));
+                        } else {
+                            for (byte[] hash : entry.chunkHashes) {
+                                if (hash != null) {
+                                    referenced.add(toHex(hash));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Sem a lista completa de referências não é seguro apagar nada
+            plugin.getLogger().log(Level.WARNING, "Coleta de objetos cancelada: manifesto ilegível", e);
+            return;
+        }
+
+        int deleted = 0;
+        File[] buckets = objectsFolder.listFiles(File::isDirectory);
+        if (buckets != null) {
+            for (File bucket : buckets) {
+                File[] objects = bucket.listFiles();
+                if (objects == null) {
+                    continue;
+                }
+                for (File object : objects) {
+                    if (!referenced.contains(bucket.getName() + object.getName()) && object.delete()) {
+                        deleted++;
+                    }
+                }
+            }
+        }
+
+        if (deleted > 0) {
+            plugin.getLogger().info("Coleta de snapshots removeu " + deleted + " objetos sem referência");
+        }
+    }
+
+    // Manifestos
+
+    private void writeManifest(File manifestFile, CustomWorld customWorld, List<FileEntry> entries) throws IOException {
+        File tempFile = new File(manifestFile.getParentFile(), manifestFile.getName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(MANIFEST_MAGIC);
+            out.writeInt(MANIFEST_VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeUTF(customWorld.getWorldName());
+            out.writeInt(customWorld.getId());
+            out.writeInt(entries.size());
+
+            for (FileEntry entry : entries) {
+                out.writeUTF(entry.path);
+                out.writeByte(entry.kind);
+                out.writeLong(entry.size);
+                out.writeLong(entry.lastModified);
+
+                if (entry.kind == KIND_FILE) {
+                    out.write(entry.hash);
+                } else {
+                    for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+                        if (entry.chunkHashes[i] == null) {
+                            out.writeBoolean(false);
+                        } else {
+                            out.writeBoolean(true);
+                            out.write(entry.chunkHashes[i]);
+                            out.writeInt(entry.chunkTimestamps[i]);
+                        }
+                    }
+                }
+            }
+        }
+
+        Files.move(tempFile.toPath(), manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private List<FileEntry> readManifest(File manifestFile) throws IOException {
+        List<FileEntry> entries = new ArrayList<>();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(manifestFile)))) {
+            if (in.readInt() != MANIFEST_MAGIC) {
+                throw new IOException("Manifesto inválido: " + manifestFile.getName());
+            }
+            int version = in.readInt();
+            if (version != MANIFEST_VERSION) {
+                throw new IOException("Versão de manifesto não suportada: " + version);
+            }
+            in.readLong();  // Data de criação
+            in.readUTF();   // Nome do mundo
+            in.readInt();   // ID do mundo
+
+            int count = in.readInt();
+            for (int n = 0; n < count; n++) {
+                FileEntry entry = new FileEntry();
+                entry.path = in.readUTF();
+                entry.kind = in.readByte();
+                entry.size = in.readLong();
+                entry.lastModified = in.readLong();
+
+                if (entry.kind == KIND_FILE) {
+                    entry.hash = new byte[HASH_SIZE];
+                    in.readFully(entry.hash);
+                } else {
+                    entry.chunkHashes = new byte[CHUNKS_PER_REGION][];
+                    entry.chunkTimestamps = new int[CHUNKS_PER_REGION];
+                    for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+                        if (in.readBoolean()) {
+                            entry.chunkHashes[i] = new byte[HASH_SIZE];
+                            in.readFully(entry.chunkHashes[i]);
+                            entry.chunkTimestamps[i] = in.readInt();
+                        }
+                    }
+                }
+                entries.add(entry);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Manifesto truncado: " + manifestFile.getName(), e);
+        }
+
+        return entries;
+    }
+
+    // Métodos auxiliares
+
+    private void collectFiles(File folder, List<File> files) {
+        File[] children = folder.listFiles();
+        if (children == null) {
+            return;
+        }
+
+        Arrays.sort(children);
+        for (File child : children) {
+            if (child.isDirectory()) {
+                collectFiles(child, files);
+            } else if (!child.getName().equals("session.lock") && !child.getName().equals("uid.dat")) {
+                // session.lock é do servidor em execução e uid.dat identifica a instância carregada
+                files.add(child);
+            }
+        }
+    }
+
+    private boolean isRegionFile(File file) {
+        return file.getName().endsWith(".mca");
+    }
+
+    private File getObjectFile(byte[] hash) {
+        String hex = toHex(hash);
+        return new File(new File(objectsFolder, hex.substring(0, 2)), hex.substring(2));
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 não disponível", e);
+        }
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    private static void writeInt(byte[] data, int offset, int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+
+    private static String toHex(byte[] hash) {
+        StringBuilder builder = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+            builder.append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private void notify(CommandSender sender, String message) {
+        if (sender != null) {
+            sender.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                    plugin.getLanguageManager().getPrefix() + message));
+        }
+    }
+
+    private void notifySync(CommandSender sender, String message) {
+        if (sender != null) {
+            Bukkit.getScheduler().runTask(plugin, () -> notify(sender, message));
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.worldsmanager.managers;
 
 import com.worldsmanager.WorldsManager;
 import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.utils.ChunkPreloader;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 import java.io.ByteArrayOutputStream;
@@ -13,6 +15,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 /**
@@ -89,6 +92,7 @@ public class TeleportManager {
 
         // Verificar servidor atual (resposta assíncrona)
         String currentServer = playerServers.get(player.getUniqueId());
+        String worldsServer = plugin.getWorldPlacementManager().getServerFor(worldName);
 
         // Aguardar resposta GetServer (máximo 2 segundos)
         int maxAttempts = 10;
@@ -105,12 +109,10 @@ public class TeleportManager {
         if (currentServer == null) {
             plugin.getLogger().warning("Não foi possível determinar o servidor do jogador, assumindo que não é o servidor de mundos");
             // Como fallback, teleporta para o servidor de mundos
-            teleportToWorldsServer(player);
+            teleportToWorldsServer(player, worldsServer);
             return true;
         }
 
-        String worldsServer = plugin.getConfigManager().getWorldsServerName();
-
         if (currentServer.equalsIgnoreCase(worldsServer)) {
             // Jogador já está no servidor correto, teleportar diretamente
             plugin.getLogger().info("[TELEPORTE] Jogador já está no servidor de mundos, teleportando diretamente");
@@ -118,10 +120,8 @@ public class TeleportManager {
             Bukkit.getScheduler().runTaskLater(plugin, () -> {
                 CustomWorld world = plugin.getWorldManager().getWorldByName(worldName);
                 if (world != null) {
-                    // Tentar carregar e então teleportar
-                    plugin.getWorldManager().loadWorld(world);
-                    world.teleportPlayer(player);
-                    player.sendMessage(ChatColor.GREEN + "Teleportado para o mundo " + world.getName());
+                    // Carregar pela fila e então teleportar
+                    loadAndTeleport(player, world);
                 } else {
                     player.sendMessage(ChatColor.RED + "Mundo não encontrado: " + worldName);
                 }
@@ -131,23 +131,22 @@ public class TeleportManager {
         } else {
             // Jogador está em outro servidor, teleportar para o servidor de mundos primeiro
             plugin.getLogger().info("[TELEPORTE] Jogador está no servidor " + currentServer +
-                    ", teleportando para o servidor de mundos");
+                    ", teleportando para o servidor de mundos " + worldsServer);
 
             player.sendMessage(ChatColor.YELLOW + "Teleportando para o servidor de mundos...");
-            return teleportToWorldsServer(player);
+            return teleportToWorldsServer(player, worldsServer);
         }
     }
 
     /**
-     * Teleporta o jogador para o servidor de mundos
+     * Teleporta o jogador para um servidor de mundos
      *
      * @param player Jogador a teleportar
+     * @param worldsServer Servidor de mundos onde está o mundo de destino
      * @return true se o comando foi enviado com sucesso
      */
-    public boolean teleportToWorldsServer(Player player) {
+    public boolean teleportToWorldsServer(Player player, String worldsServer) {
         try {
-            String worldsServer = plugin.getConfigManager().getWorldsServerName();
-
             ByteArrayOutputStream b = new ByteArrayOutputStream();
             DataOutputStream out = new DataOutputStream(b);
 
@@ -195,7 +194,7 @@ public class TeleportManager {
         if (pendingWorldTeleports.containsKey(playerUUID)) {
             String worldName = pendingWorldTeleports.get(playerUUID);
             String currentServer = playerServers.get(playerUUID);
-            String worldsServer = plugin.getConfigManager().getWorldsServerName();
+            String worldsServer = plugin.getWorldPlacementManager().getServerFor(worldName);
 
             plugin.getLogger().info("[TELEPORTE] Verificando teleporte pendente para " + player.getName() +
                     " para mundo " + worldName + " (servidor atual: " + currentServer + ")");
@@ -205,9 +204,7 @@ public class TeleportManager {
                 Bukkit.getScheduler().runTaskLater(plugin, () -> {
                     CustomWorld world = plugin.getWorldManager().getWorldByName(worldName);
                     if (world != null) {
-                        plugin.getWorldManager().loadWorld(world);
-                        world.teleportPlayer(player);
-                        player.sendMessage(ChatColor.GREEN + "Teleportado para o mundo " + world.getName());
+                        loadAndTeleport(player, world);
                     } else {
                         player.sendMessage(ChatColor.RED + "Mundo não encontrado: " + worldName);
                     }
@@ -219,6 +216,101 @@ public class TeleportManager {
         }
     }
 
+    /**
+     * Carrega o mundo pela fila de carregamento e teleporta o jogador quando estiver pronto
+     *
+     * @param player Jogador
+     * @param world Mundo de destino
+     */
+    private void loadAndTeleport(Player player, CustomWorld world) {
+        teleportWhenReady(player, world).thenAccept(success -> {
+            if (success) {
+                player.sendMessage(ChatColor.GREEN + "Teleportado para o mundo " + world.getName());
+            }
+        });
+    }
+
+    /**
+     * Carrega o mundo pela fila, pré-carrega os chunks do destino e só então
+     * teleporta o jogador e aplica o modo de jogo. Cada etapa é cronometrada.
+     *
+     * @param player Jogador
+     * @param customWorld Mundo de destino
+     * @return CompletableFuture com o resultado, completado na thread principal
+     */
+    public CompletableFuture<Boolean> teleportWhenReady(Player player, CustomWorld customWorld) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        long start = System.nanoTime();
+
+        if (customWorld.isMigrating()) {
+            player.sendMessage(ChatColor.YELLOW + plugin.getLanguageManager().getMessage("world-migrating"));
+            result.complete(false);
+            return result;
+        }
+
+        // Conta a visita e se ela encontrou o mundo já carregado
+        WorldPreloader preloader = plugin.getWorldPreloader();
+        if (preloader != null) {
+            preloader.recordVisit(customWorld, customWorld.isLoaded());
+        }
+
+        plugin.getWorldManager().loadWorldQueued(customWorld, player.getUniqueId()).whenComplete((loaded, error) -> {
+            long loadedAt = System.nanoTime();
+            if (!player.isOnline()) {
+                result.complete(false);
+                return;
+            }
+            if (error != null || loaded == null) {
+                String leaseHolder = plugin.getWorldLeaseManager().getRefusedBy(customWorld.getWorldName());
+                player.sendMessage(ChatColor.RED + (leaseHolder != null
+                        ? plugin.getLanguageManager().getMessage("world-leased", leaseHolder)
+                        : plugin.getLanguageManager().getMessage("world-load-failed")));
+                result.complete(false);
+                return;
+            }
+
+            Location destination = customWorld.getTeleportLocation();
+            int radius = plugin.getConfigManager().getTeleportPreloadRadius();
+            ChunkPreloader.preload(plugin, destination, radius, plugin.getConfigManager().getTeleportFallbackChunksPerTick())
+                    .whenComplete((ignored, preloadError) -> {
+                        long preloadedAt = System.nanoTime();
+                        if (preloadError != null) {
+                            plugin.getLogger().log(Level.WARNING, "Falha ao pré-carregar chunks de " +
+                                    customWorld.getWorldName() + ", teleportando mesmo assim", preloadError);
+                        }
+                        if (!player.isOnline()) {
+                            ChunkPreloader.release(plugin, destination, radius);
+                            result.complete(false);
+                            return;
+                        }
+
+                        ChunkPreloader.teleport(player, destination).whenComplete((success, teleportError) -> {
+                            long teleportedAt = System.nanoTime();
+                            ChunkPreloader.release(plugin, destination, radius);
+
+                            boolean teleported = teleportError == null && Boolean.TRUE.equals(success);
+                            if (teleported) {
+                                customWorld.applyGameMode(player);
+                            }
+
+                            plugin.getLogger().info("[TELEPORTE] " + player.getName() + " -> " + customWorld.getWorldName() +
+                                    (teleported ? "" : " (falhou)") +
+                                    ": carregamento " + millisBetween(start, loadedAt) + "ms" +
+                                    ", chunks " + millisBetween(loadedAt, preloadedAt) + "ms" +
+                                    (ChunkPreloader.isAsyncSupported() ? " (async)" : " (por ticks)") +
+                                    ", teleporte " + millisBetween(preloadedAt, teleportedAt) + "ms" +
+                                    ", total " + millisBetween(start, System.nanoTime()) + "ms");
+                            result.complete(teleported);
+                        });
+                    });
+        });
+        return result;
+    }
+
+    private static long millisBetween(long startNanos, long endNanos) {
+        return (endNanos - startNanos) / 1_000_000L;
+    }
+
     /**
      * Método chamado quando um jogador entra no servidor
      */
@@ -0,0 +1,277 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.utils.WorldCreationUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Aquecimento do cache de páginas do sistema operacional com os arquivos de
+ * um mundo antes de ele ser carregado.
+ *
+ * Quando o lobby avisa que um jogador está a caminho (TeleportToWorld), os
+ * arquivos level.dat e as regiões (region, entities e poi) ao redor do spawn
+ * são lidos em uma thread de I/O. O carregamento seguinte encontra os dados
+ * em memória em vez de ler o disco na thread principal. As estatísticas
+ * comparam o tempo de carregamento dos mundos aquecidos e não aquecidos.
+ */
+public class WorldFilePrefetcher {
+
+    private static final String[] REGION_FOLDERS = {"region", "entities", "poi"};
+
+    // Uma pré-leitura vale para carregamentos que começarem dentro deste prazo
+    private static final long PREFETCH_TTL_MILLIS = 120_000L;
+
+    private static final int READ_BUFFER_SIZE = 256 * 1024;
+
+    private final WorldsManager plugin;
+    private final ExecutorService ioExecutor;
+
+    // Mundo -> momento em que a pré-leitura terminou (0 enquanto em andamento); acessado na thread principal
+    private final Map<String, Long> prefetched = new HashMap<>();
+
+    // Reutilizado pela thread de I/O
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+    private int prefetches;
+    private long bytesRead;
+    private long prefetchMillis;
+    private int hits;
+    private int misses;
+    private long hitLoadMillis;
+    private long missLoadMillis;
+
+    public WorldFilePrefetcher(WorldsManager plugin) {
+        this.plugin = plugin;
+        this.ioExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "WorldsManager-Prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Encerra a thread de I/O
+     */
+    public void shutdown() {
+        ioExecutor.shutdownNow();
+    }
+
+    /**
+     * Agenda a pré-leitura dos arquivos de um mundo não carregado. Deve ser chamado na thread principal.
+     *
+     * @param worldName Nome interno do mundo
+     */
+    public void prefetch(String worldName) {
+        if (!plugin.getConfigManager().isPrefetchEnabled() || Bukkit.getWorld(worldName) != null) {
+            return;
+        }
+
+        // Ignora pedidos repetidos enquanto a pré-leitura anterior estiver em andamento ou ainda valer
+        Long finishedAt = prefetched.get(worldName);
+        if (finishedAt != null && (finishedAt == 0 || System.currentTimeMillis() - finishedAt <= PREFETCH_TTL_MILLIS)) {
+            return;
+        }
+
+        CustomWorld customWorld = plugin.getWorldManager().getWorldByName(worldName);
+        String worldPath = customWorld != null ? customWorld.getWorldPath() : null;
+        Location spawnPoint = customWorld != null ? customWorld.getSpawnPoint() : null;
+        boolean hasSpawnPoint = spawnPoint != null;
+        int spawnX = hasSpawnPoint ? spawnPoint.getBlockX() : 0;
+        int spawnZ = hasSpawnPoint ? spawnPoint.getBlockZ() : 0;
+        int chunkRadius = Math.max(0, plugin.getConfigManager().getPrefetchChunkRadius());
+
+        prefetched.put(worldName, 0L);
+        ioExecutor.submit(() -> {
+            long start = System.nanoTime();
+            long read = 0;
+            try {
+                File folder = WorldCreationUtils.resolveLiveWorldFolder(worldName, worldPath);
+                if (folder != null) {
+                    read = prefetchFolder(folder, hasSpawnPoint, spawnX, spawnZ, chunkRadius);
+                }
+            } catch (Throwable t) {
+                plugin.getLogger().log(Level.WARNING, "Falha na pré-leitura dos arquivos do mundo " + worldName, t);
+            }
+
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+            long total = read;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                prefetches++;
+                bytesRead += total;
+                prefetchMillis += elapsedMillis;
+                if (prefetched.containsKey(worldName)) {
+                    prefetched.put(worldName, System.currentTimeMillis());
+                }
+                if (plugin.getConfigManager().isDebugEnabled()) {
+                    plugin.getLogger().info("[Prefetch] " + worldName + ": " + (total / 1024) + " KB em " + elapsedMillis + "ms");
+                }
+            });
+        });
+    }
+
+    /**
+     * Registra o tempo de carregamento de um mundo para as estatísticas. Deve ser chamado na thread principal.
+     *
+     * @param worldName Nome interno do mundo
+     * @param loadMillis Tempo gasto pelo WorldCreator
+     */
+    public void recordLoad(String worldName, long loadMillis) {
+        Long finishedAt = prefetched.remove(worldName);
+        boolean hit = finishedAt != null && finishedAt > 0 &&
+                System.currentTimeMillis() - finishedAt <= PREFETCH_TTL_MILLIS;
+
+        if (hit) {
+            hits++;
+            hitLoadMillis += loadMillis;
+        } else {
+            misses++;
+            missLoadMillis += loadMillis;
+        }
+    }
+
+    /**
+     * Lê os arquivos do mundo que o carregamento vai precisar primeiro
+     *
+     * @return Bytes lidos
+     */
+    private long prefetchFolder(File folder, boolean hasSpawnPoint, int spawnX, int spawnZ, int chunkRadius) throws IOException {
+        long read = 0;
+        File levelDat = new File(folder, "level.dat");
+
+        // Sem ponto de spawn definido, usa o spawn gravado no level.dat
+        if (!hasSpawnPoint && levelDat.exists()) {
+            int[] spawn = readLevelSpawn(levelDat);
+            if (spawn != null) {
+                spawnX = spawn[0];
+                spawnZ = spawn[1];
+            }
+        }
+        read += touch(levelDat);
+
+        // Mundos do Nether e do End guardam as regiões em DIM-1 e DIM1
+        File dimensionFolder = folder;
+        if (new File(folder, "DIM-1/region").isDirectory()) {
+            dimensionFolder = new File(folder, "DIM-1");
+        } else if (new File(folder, "DIM1/region").isDirectory()) {
+            dimensionFolder = new File(folder, "DIM1");
+        }
+
+        int minRegionX = ((spawnX >> 4) - chunkRadius) >> 5;
+        int maxRegionX = ((spawnX >> 4) + chunkRadius) >> 5;
+        int minRegionZ = ((spawnZ >> 4) - chunkRadius) >> 5;
+        int maxRegionZ = ((spawnZ >> 4) + chunkRadius) >> 5;
+
+        for (String regionFolder : REGION_FOLDERS) {
+            for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+                for (int regionZ = minRegionZ; regionZ <= maxRegionZ; regionZ++) {
+                    read += touch(new File(dimensionFolder, regionFolder + "/r." + regionX + "." + regionZ + ".mca"));
+                }
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Lê um arquivo inteiro para trazê-lo ao cache de páginas
+     *
+     * @return Bytes lidos (0 se o arquivo não existir)
+     */
+    private long touch(File file) throws IOException {
+        if (!file.isFile()) {
+            return 0;
+        }
+
+        long read = 0;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            int count;
+            readBuffer.clear();
+            while ((count = channel.read(readBuffer)) > 0) {
+                read += count;
+                readBuffer.clear();
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Procura as tags SpawnX e SpawnZ no level.dat sem interpretar o NBT inteiro
+     *
+     * @return {x, z} ou null se não encontradas
+     */
+    private static int[] readLevelSpawn(File levelDat) {
+        byte[] data;
+        try (InputStream in = new GZIPInputStream(new FileInputStream(levelDat))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+            data = out.toByteArray();
+        } catch (IOException e) {
+            return null;
+        }
+
+        Integer x = findIntTag(data, "SpawnX");
+        Integer z = findIntTag(data, "SpawnZ");
+        return x != null && z != null ? new int[]{x, z} : null;
+    }
+
+    /**
+     * Procura uma tag TAG_Int (tipo 3) pelo nome e retorna seu valor
+     */
+    private static Integer findIntTag(byte[] data, String name) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int headerLength = 3 + nameBytes.length;
+
+        outer:
+        for (int i = 0; i + headerLength + 4 <= data.length; i++) {
+            if (data[i] != 3 || data[i + 1] != 0 || data[i + 2] != nameBytes.length) {
+                continue;
+            }
+            for (int j = 0; j < nameBytes.length; j++) {
+                if (data[i + 3 + j] != nameBytes[j]) {
+                    continue outer;
+                }
+            }
+
+            int p = i + headerLength;
+            return ((data[p] & 0xFF) << 24) | ((data[p + 1] & 0xFF) << 16) | ((data[p + 2] & 0xFF) << 8) | (data[p + 3] & 0xFF);
+        }
+        return null;
+    }
+
+    /**
+     * Obtém um resumo das estatísticas para o comando de administração
+     *
+     * @return Linhas de texto com códigos de cor
+     */
+    public List<String> describeStats() {
+        List<String> lines = new ArrayList<>();
+        lines.add("&7Pré-leituras: &f" + prefetches + " &7(" + (bytesRead / (1024 * 1024)) + " MB, média " +
+                (prefetches > 0 ? prefetchMillis / prefetches : 0) + "ms)");
+        lines.add("&7Carregamentos aquecidos: &f" + hits + " &7(média " + (hits > 0 ? hitLoadMillis / hits : 0) + "ms)");
+        lines.add("&7Carregamentos sem pré-leitura: &f" + misses + " &7(média " + (misses > 0 ? missLoadMillis / misses : 0) + "ms)");
+        return lines;
+    }
+}
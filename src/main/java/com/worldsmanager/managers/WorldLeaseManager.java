@@ -0,0 +1,406 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.WorldLease;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Leases de mundos no banco, para que dois servidores nunca carreguem a mesma
+ * pasta de mundo ao mesmo tempo (servidores independentes ligados ao mesmo
+ * banco, reinícios, migrações).
+ *
+ * Antes de carregar um mundo, a WorldLoadScheduler obtém o lease na fase de
+ * preparação, fora da thread principal; se outro servidor tiver um lease
+ * válido, o carregamento é recusado. Os leases dos mundos carregados são
+ * renovados juntos a cada leases.renew-interval-seconds e liberados no tick
+ * seguinte ao descarregamento, quando o mundo já foi salvo. Um lease não
+ * renovado vence depois de leases.ttl-seconds e pode ser tomado por outro
+ * servidor. Um mundo carregado aqui cujo lease está com outro servidor para
+ * de gravar: o autosave é desligado e ele é descarregado sem salvar.
+ *
+ * Os vencimentos usam o relógio de cada servidor, então o TTL precisa ser bem
+ * maior que a diferença entre os relógios.
+ */
+public class WorldLeaseManager implements Listener {
+
+    private static final String NODE_ID_FILE = "node-id.txt";
+
+    private final WorldsManager plugin;
+    private final String nodeId;
+
+    // Consultas ao banco, na ordem em que foram pedidas
+    private final ExecutorService executor;
+
+    // Mundos com lease deste servidor
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    // Servidor que tinha o lease na última recusa de cada mundo
+    private final Map<String, String> refusedBy = new ConcurrentHashMap<>();
+
+    private volatile BukkitTask renewTask;
+    private volatile long acquired;
+    private volatile long refused;
+    private volatile long takenOver;
+    private volatile long lost;
+
+    public WorldLeaseManager(WorldsManager plugin) {
+        this.plugin = plugin;
+        this.nodeId = resolveNodeId();
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "WorldsManager-Leases");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Descarta os leases que este servidor deixou de uma execução anterior e agenda as renovações
+     */
+    public void start() {
+        if (renewTask != null || !isConfigured()) {
+            return;
+        }
+
+        // Nada foi carregado por esta execução ainda; roda antes da fila de carregamento começar
+        plugin.getDatabaseManager().releaseLeases(nodeId);
+
+        int interval = Math.max(1, plugin.getConfigManager().getLeaseRenewIntervalSeconds());
+        renewTask = Bukkit.getScheduler().runTaskTimer(plugin, this::renew, 20L * interval, 20L * interval);
+        plugin.getLogger().info("Leases de mundos ativos para o servidor " + nodeId);
+    }
+
+    /**
+     * Interrompe as renovações. Os leases não são liberados na hora, porque o
+     * servidor ainda salva os mundos depois que o plugin é desativado; eles
+     * vencem depois de leases.shutdown-grace-seconds.
+     */
+    public void shutdown() {
+        if (renewTask != null) {
+            renewTask.cancel();
+            renewTask = null;
+        }
+
+        executor.shutdownNow();
+        if (isConfigured() && !held.isEmpty()) {
+            long grace = Math.max(0, plugin.getConfigManager().getLeaseShutdownGraceSeconds()) * 1000L;
+            plugin.getDatabaseManager().shortenLeases(nodeId, System.currentTimeMillis() + grace);
+        }
+        held.clear();
+    }
+
+    /**
+     * Verifica se os leases estão em uso. Leases ativados por um reload só
+     * passam a valer no próximo início, quando as renovações são agendadas.
+     *
+     * @return true se os carregamentos dependem de lease
+     */
+    public boolean isActive() {
+        return renewTask != null && isConfigured();
+    }
+
+    private boolean isConfigured() {
+        return plugin.getConfigManager().isLeasesEnabled() && plugin.getConfigManager().isDatabaseEnabled();
+    }
+
+    /**
+     * Obtém o lease de um mundo para este servidor. Bloqueia durante a consulta
+     * ao banco, então não deve ser chamado na thread principal.
+     *
+     * @param worldName Nome do mundo
+     * @return false se outro servidor tiver um lease válido
+     */
+    public boolean acquire(String worldName) {
+        if (!isActive()) {
+            return true;
+        }
+
+        DatabaseManager database = plugin.getDatabaseManager();
+        long now = System.currentTimeMillis();
+        WorldLease previous = database.getLease(worldName);
+        WorldLease lease = database.acquireLease(worldName, nodeId, now,
+                now + Math.max(1, plugin.getConfigManager().getLeaseTtlSeconds()) * 1000L);
+
+        if (lease == null) {
+            // Sem banco não há como saber; o carregamento segue como antes dos leases
+            plugin.getLogger().warning("Lease de " + worldName + " não verificado; carregando sem lease");
+            return true;
+        }
+
+        if (!nodeId.equals(lease.getNodeId())) {
+            refused++;
+            refusedBy.put(worldName, lease.getNodeId());
+            plugin.getLogger().warning("Mundo " + worldName + " está aberto no servidor " + lease.getNodeId() +
+                    " (lease válido por mais " + (lease.getExpiresAt() - now) / 1000 + "s); carregamento recusado");
+            return false;
+        }
+
+        if (previous != null && !nodeId.equals(previous.getNodeId())) {
+            takenOver++;
+            plugin.getLogger().info("Lease de " + worldName + " tomado de " + previous.getNodeId() +
+                    " (vencido há " + (now - previous.getExpiresAt()) / 1000 + "s)");
+        }
+
+        held.add(worldName);
+        refusedBy.remove(worldName);
+        acquired++;
+        return true;
+    }
+
+    /**
+     * Libera o lease de um mundo deste servidor
+     *
+     * @param worldName Nome do mundo
+     */
+    public void release(String worldName) {
+        if (held.remove(worldName) && !executor.isShutdown()) {
+            executor.execute(() -> plugin.getDatabaseManager().releaseLease(worldName, nodeId));
+        }
+    }
+
+    /**
+     * Renova juntos os leases dos mundos carregados e trata os que foram perdidos
+     */
+    private void renew() {
+        if (held.isEmpty()) {
+            return;
+        }
+
+        List<String> worlds = new ArrayList<>(held);
+        long expiresAt = System.currentTimeMillis() + Math.max(1, plugin.getConfigManager().getLeaseTtlSeconds()) * 1000L;
+        executor.execute(() -> {
+            Set<String> still = plugin.getDatabaseManager().renewLeases(nodeId, worlds, expiresAt);
+            if (still == null) {
+                return;
+            }
+
+            List<String> missing = new ArrayList<>();
+            for (String worldName : worlds) {
+                if (!still.contains(worldName)) {
+                    missing.add(worldName);
+                }
+            }
+            if (!missing.isEmpty() && plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> recover(missing));
+            }
+        });
+    }
+
+    /**
+     * Tenta recuperar os leases perdidos dos mundos que continuam carregados aqui
+     */
+    private void recover(List<String> missing) {
+        for (String worldName : missing) {
+            // Descarregado enquanto a renovação rodava
+            if (!held.remove(worldName) || Bukkit.getWorld(worldName) == null) {
+                continue;
+            }
+
+            lost++;
+            plugin.getLogger().severe("Lease de " + worldName + " perdido (renovação atrasada?); tentando recuperar");
+            executor.execute(() -> {
+                if (!acquire(worldName)) {
+                    plugin.getLogger().severe("Mundo " + worldName + " está carregado aqui e no servidor " +
+                            refusedBy.get(worldName) + "; descarregando a cópia deste servidor sem salvar");
+                    runOnMainThread(() -> stopWrites(worldName));
+                }
+            });
+        }
+    }
+
+    /**
+     * Impede que este servidor grave um mundo cujo lease está com outro servidor:
+     * desliga o autosave, retira os jogadores e descarrega o mundo sem salvar
+     */
+    private void stopWrites(String worldName) {
+        World world = Bukkit.getWorld(worldName);
+        if (world == null || held.contains(worldName)) {
+            return;
+        }
+
+        world.setAutoSave(false);
+        for (Player player : world.getPlayers()) {
+            player.sendMessage(ChatColor.RED + "Este mundo está aberto em outro servidor e foi fechado aqui para " +
+                    "proteger os arquivos.");
+        }
+        if (!plugin.getWorldManager().unloadWorld(worldName, false)) {
+            plugin.getLogger().severe("Não foi possível descarregar " + worldName + "; o autosave continua desligado");
+        }
+    }
+
+    private void runOnMainThread(Runnable runnable) {
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, runnable);
+        }
+    }
+
+    /**
+     * Consulta onde um mundo está aberto agora, pelo lease válido
+     *
+     * @param worldName Nome do mundo
+     * @return Futuro com o servidor que tem o lease, ou null se ninguém tiver; completado na thread principal
+     */
+    public CompletableFuture<String> findLiveServer(String worldName) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        if (!isActive() || executor.isShutdown()) {
+            result.complete(null);
+            return result;
+        }
+
+        executor.execute(() -> {
+            WorldLease lease = plugin.getDatabaseManager().getLease(worldName);
+            String server = lease != null && lease.isValid(System.currentTimeMillis()) ? lease.getNodeId() : null;
+            Bukkit.getScheduler().runTask(plugin, () -> result.complete(server));
+        });
+        return result;
+    }
+
+    /**
+     * Lista os leases válidos de todos os servidores
+     *
+     * @return Futuro com os leases (vazio se os leases estiverem desativados); completado na thread principal
+     */
+    public CompletableFuture<List<WorldLease>> getValidLeases() {
+        CompletableFuture<List<WorldLease>> result = new CompletableFuture<>();
+        if (!isActive() || executor.isShutdown()) {
+            result.complete(Collections.emptyList());
+            return result;
+        }
+
+        executor.execute(() -> {
+            List<WorldLease> leases = plugin.getDatabaseManager().getValidLeases(System.currentTimeMillis());
+            List<WorldLease> found = leases != null ? leases : Collections.<WorldLease>emptyList();
+            Bukkit.getScheduler().runTask(plugin, () -> result.complete(found));
+        });
+        return result;
+    }
+
+    /**
+     * Mundos carregados por fora da fila (outros plugins, comandos do servidor)
+     * também precisam do lease; aqui ele só pode ser verificado depois do carregamento.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        String worldName = event.getWorld().getName();
+        if (!isActive() || held.contains(worldName) || plugin.getWorldManager().getWorldByName(worldName) == null) {
+            return;
+        }
+
+        executor.execute(() -> {
+            if (!acquire(worldName)) {
+                plugin.getLogger().severe("Mundo " + worldName + " foi carregado fora da fila enquanto está aberto no servidor " +
+                        refusedBy.get(worldName) + "; descarregando a cópia deste servidor sem salvar");
+                runOnMainThread(() -> stopWrites(worldName));
+            }
+        });
+    }
+
+    /**
+     * O evento vem antes do mundo ser salvo e descarregado, então o lease só é
+     * liberado no tick seguinte, e apenas se o descarregamento foi concluído
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        String worldName = event.getWorld().getName();
+        if (!held.contains(worldName)) {
+            return;
+        }
+
+        runOnMainThread(() -> {
+            if (Bukkit.getWorld(worldName) == null) {
+                release(worldName);
+            }
+        });
+    }
+
+    /**
+     * Identificador deste servidor: leases.node-id, cross-server.server-name ou um ID gerado e guardado na pasta do plugin
+     */
+    private String resolveNodeId() {
+        String configured = plugin.getConfigManager().getLeaseNodeId();
+        if (configured != null && !configured.isEmpty()) {
+            return configured;
+        }
+
+        String serverName = plugin.getConfigManager().getServerName();
+        if (serverName != null && !serverName.isEmpty()) {
+            return serverName;
+        }
+
+        File file = new File(plugin.getDataFolder(), NODE_ID_FILE);
+        try {
+            if (file.isFile()) {
+                String stored = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+                if (!stored.isEmpty()) {
+                    return stored;
+                }
+            }
+
+            String generated = "node-" + UUID.randomUUID().toString().substring(0, 8);
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), generated.getBytes(StandardCharsets.UTF_8));
+            return generated;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Falha ao guardar o identificador deste servidor em " + NODE_ID_FILE, e);
+            return "node-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+    }
+
+    /**
+     * Obtém o servidor que tinha o lease na última vez que o carregamento de um mundo foi recusado
+     *
+     * @param worldName Nome do mundo
+     * @return Servidor ou null se o último carregamento não foi recusado
+     */
+    public String getRefusedBy(String worldName) {
+        return refusedBy.get(worldName);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int getHeldCount() {
+        return held.size();
+    }
+
+    public long getAcquiredCount() {
+        return acquired;
+    }
+
+    public long getRefusedCount() {
+        return refused;
+    }
+
+    public long getTakenOverCount() {
+        return takenOver;
+    }
+
+    public long getLostCount() {
+        return lost;
+    }
+}
@@ -0,0 +1,439 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Fila de carregamento e criação de mundos com controle de admissão.
+ *
+ * Cada operação tem duas fases: uma preparação opcional fora da thread
+ * principal (cópia de arquivos) e a chamada ao WorldCreator na thread principal.
+ * A fila limita quantas operações estão em andamento ao mesmo tempo e quantas
+ * chamadas ao WorldCreator acontecem por tick, atende os jogadores em rodízio
+ * e junta pedidos repetidos para o mesmo mundo em uma única operação.
+ *
+ * Todas as estruturas são acessadas apenas na thread principal, exceto os
+ * mundos bloqueados, liberados pelas operações de arquivo em segundo plano.
+ */
+public class WorldLoadScheduler {
+
+    /**
+     * Solicitante usado para operações iniciadas pelo próprio servidor
+     */
+    public static final UUID SYSTEM_REQUESTER = new UUID(0L, 0L);
+
+    private static final long TICK_MILLIS = 50L;
+    private static final long MAX_BUDGET_DEBT_MILLIS = 1000L;
+
+    private final WorldsManager plugin;
+    private final ExecutorService prepareExecutor;
+
+    // Fila por solicitante, na ordem em que entraram no rodízio
+    private final Map<UUID, ArrayDeque<LoadTask>> queues = new LinkedHashMap<>();
+    private final ArrayDeque<UUID> rotation = new ArrayDeque<>();
+
+    // Operações pendentes ou em andamento por nome de mundo, para deduplicação
+    private final Map<String, LoadTask> tasksByWorld = new HashMap<>();
+
+    // Operações preparadas aguardando a fase da thread principal
+    private final ArrayDeque<LoadTask> ready = new ArrayDeque<>();
+
+    // Mundos cujos arquivos estão sendo substituídos; os pedidos para eles falham
+    private final Set<String> blockedWorlds = ConcurrentHashMap.newKeySet();
+
+    private int inFlight;
+    private long budgetDebtMillis;
+    private long ticks;
+    private BukkitTask tickTask;
+
+    public WorldLoadScheduler(WorldsManager plugin) {
+        this.plugin = plugin;
+        this.prepareExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "WorldsManager-WorldLoader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Operação de carregamento ou criação de mundo
+     */
+    private static class LoadTask {
+        private final String worldName;
+        private final Callable<Boolean> prepare;
+        private final Supplier<World> action;
+        private final CompletableFuture<World> future = new CompletableFuture<>();
+        private final Set<UUID> waiters = new LinkedHashSet<>();
+        private final long enqueuedAt = System.currentTimeMillis();
+
+        private LoadTask(String worldName, Callable<Boolean> prepare, Supplier<World> action) {
+            this.worldName = worldName;
+            this.prepare = prepare;
+            this.action = action;
+        }
+    }
+
+    /**
+     * Inicia o processamento da fila
+     */
+    public void start() {
+        if (tickTask == null) {
+            tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Encerra a fila, falhando as operações que não começaram
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        prepareExecutor.shutdownNow();
+
+        for (LoadTask task : new ArrayList<>(tasksByWorld.values())) {
+            task.future.completeExceptionally(new IllegalStateException("Plugin desativado"));
+        }
+        tasksByWorld.clear();
+        queues.clear();
+        rotation.clear();
+        ready.clear();
+    }
+
+    /**
+     * Enfileira uma operação de mundo. Se já houver uma operação pendente para
+     * o mesmo mundo, o solicitante passa a aguardar a operação existente.
+     *
+     * @param worldName Nome do mundo
+     * @param requester Jogador que solicitou (ou SYSTEM_REQUESTER)
+     * @param prepare Preparação fora da thread principal (pode ser null); deve retornar false em caso de falha
+     * @param action Chamada na thread principal que carrega ou cria o mundo
+     * @return CompletableFuture com o mundo, completado na thread principal
+     */
+    public CompletableFuture<World> submit(String worldName, UUID requester, Callable<Boolean> prepare, Supplier<World> action) {
+        if (!Bukkit.isPrimaryThread()) {
+            // Reencaminha para a thread principal mantendo o mesmo futuro para o chamador
+            CompletableFuture<World> relay = new CompletableFuture<>();
+            Bukkit.getScheduler().runTask(plugin, () -> submit(worldName, requester, prepare, action)
+                    .whenComplete((world, error) -> {
+                        if (error != null) {
+                            relay.completeExceptionally(error);
+                        } else {
+                            relay.complete(world);
+                        }
+                    }));
+            return relay;
+        }
+
+        UUID bucket = requester != null ? requester : SYSTEM_REQUESTER;
+
+        if (blockedWorlds.contains(worldName)) {
+            logDebug("Pedido para " + worldName + " recusado: arquivos do mundo em substituição");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        LoadTask existing = tasksByWorld.get(worldName);
+        if (existing != null) {
+            existing.waiters.add(bucket);
+            logDebug("Pedido para " + worldName + " unido à operação já pendente");
+            return existing.future;
+        }
+
+        World loaded = Bukkit.getWorld(worldName);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(loaded);
+        }
+
+        LoadTask task = new LoadTask(worldName, prepare, action);
+        task.waiters.add(bucket);
+        tasksByWorld.put(worldName, task);
+
+        ArrayDeque<LoadTask> queue = queues.get(bucket);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            queues.put(bucket, queue);
+            rotation.addLast(bucket);
+        }
+        queue.addLast(task);
+
+        int position = getQueuePosition(bucket);
+        if (position > 0 && !bucket.equals(SYSTEM_REQUESTER)) {
+            Player player = Bukkit.getPlayer(bucket);
+            if (player != null) {
+                player.sendMessage(ChatColor.YELLOW + "Seu mundo entrou na fila de carregamento. Posição: " +
+                        ChatColor.WHITE + position);
+            }
+        }
+        return task.future;
+    }
+
+    /**
+     * Processamento por tick: executa a fase principal das operações prontas
+     * dentro do orçamento e admite novas operações até o limite de concorrência.
+     */
+    private void tick() {
+        ticks++;
+
+        // Uma criação que estourou o orçamento é compensada pulando os ticks seguintes
+        if (budgetDebtMillis > 0) {
+            budgetDebtMillis = Math.max(0, budgetDebtMillis - TICK_MILLIS);
+        } else {
+            runReadyTasks();
+        }
+
+        admitTasks();
+
+        int intervalTicks = plugin.getConfigManager().getWorldLoadPositionUpdateSeconds() * 20;
+        if (intervalTicks > 0 && ticks % intervalTicks == 0) {
+            sendQueuePositions();
+        }
+    }
+
+    private void runReadyTasks() {
+        int maxPerTick = Math.max(1, plugin.getConfigManager().getWorldLoadMaxPerTick());
+        long budgetMillis = plugin.getConfigManager().getWorldLoadTickBudgetMs();
+        long tickStart = System.nanoTime();
+        int executed = 0;
+
+        while (!ready.isEmpty() && executed < maxPerTick) {
+            LoadTask task = ready.pollFirst();
+            executed++;
+
+            World world = null;
+            Throwable error = null;
+            try {
+                if (!blockedWorlds.contains(task.worldName)) {
+                    world = task.action.get();
+                }
+            } catch (Throwable t) {
+                error = t;
+            }
+            finish(task, world, error);
+
+            long elapsedMillis = (System.nanoTime() - tickStart) / 1_000_000L;
+            if (elapsedMillis >= budgetMillis) {
+                budgetDebtMillis = Math.min(MAX_BUDGET_DEBT_MILLIS, elapsedMillis - budgetMillis);
+                break;
+            }
+        }
+    }
+
+    private void admitTasks() {
+        // Com a memória em nível crítico os pedidos aguardam na fila até a recuperação
+        MemoryGovernor memoryGovernor = plugin.getMemoryGovernor();
+        if (memoryGovernor != null && !memoryGovernor.isLoadingAllowed()) {
+            return;
+        }
+
+        int maxConcurrent = Math.max(1, plugin.getConfigManager().getWorldLoadMaxConcurrent());
+
+        while (inFlight < maxConcurrent && !rotation.isEmpty()) {
+            UUID bucket = rotation.pollFirst();
+            ArrayDeque<LoadTask> queue = queues.get(bucket);
+            LoadTask task = queue.pollFirst();
+
+            if (queue.isEmpty()) {
+                queues.remove(bucket);
+            } else {
+                rotation.addLast(bucket);
+            }
+
+            inFlight++;
+
+            // O mundo pode ter sido carregado por outro caminho enquanto o pedido aguardava
+            World alreadyLoaded = Bukkit.getWorld(task.worldName);
+            if (alreadyLoaded != null) {
+                finish(task, alreadyLoaded, null);
+                continue;
+            }
+
+            logDebug("Iniciando operação de mundo " + task.worldName + " (aguardou " +
+                    (System.currentTimeMillis() - task.enqueuedAt) + "ms)");
+
+            // Com leases, toda operação passa pela preparação para obter o lease do mundo no banco
+            WorldLeaseManager leaseManager = plugin.getWorldLeaseManager();
+            boolean leased = leaseManager != null && leaseManager.isActive();
+            if (task.prepare == null && !leased) {
+                ready.addLast(task);
+                continue;
+            }
+
+            prepareExecutor.submit(() -> {
+                boolean prepared;
+                Throwable error = null;
+                try {
+                    prepared = (!leased || leaseManager.acquire(task.worldName)) &&
+                            (task.prepare == null || task.prepare.call());
+                } catch (Throwable t) {
+                    prepared = false;
+                    error = t;
+                }
+
+                final boolean success = prepared;
+                final Throwable failure = error;
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (success) {
+                        ready.addLast(task);
+                    } else {
+                        finish(task, null, failure);
+                    }
+                });
+            });
+        }
+    }
+
+    private void finish(LoadTask task, World world, Throwable error) {
+        inFlight--;
+        tasksByWorld.remove(task.worldName);
+
+        // Operação que falhou não mantém o lease obtido na preparação
+        WorldLeaseManager leaseManager = plugin.getWorldLeaseManager();
+        if (world == null && leaseManager != null && Bukkit.getWorld(task.worldName) == null) {
+            leaseManager.release(task.worldName);
+        }
+
+        if (error != null) {
+            plugin.getLogger().log(Level.SEVERE, "Erro na operação de mundo " + task.worldName, error);
+            task.future.completeExceptionally(error);
+        } else {
+            // Um mundo nulo indica falha; o chamador decide como avisar o jogador
+            task.future.complete(world);
+        }
+    }
+
+    /**
+     * Bloqueia os carregamentos de um mundo enquanto seus arquivos são
+     * substituídos. Deve ser chamado na thread principal; falha se já houver
+     * uma operação pendente para o mundo.
+     *
+     * @param worldName Nome do mundo
+     * @return true se o mundo foi bloqueado
+     */
+    public boolean block(String worldName) {
+        if (tasksByWorld.containsKey(worldName)) {
+            return false;
+        }
+        return blockedWorlds.add(worldName);
+    }
+
+    /**
+     * Libera os carregamentos de um mundo bloqueado; pode ser chamado de qualquer thread
+     *
+     * @param worldName Nome do mundo
+     */
+    public void unblock(String worldName) {
+        blockedWorlds.remove(worldName);
+    }
+
+    /**
+     * Verifica se os carregamentos de um mundo estão bloqueados
+     *
+     * @param worldName Nome do mundo
+     * @return true se o mundo estiver bloqueado
+     */
+    public boolean isBlocked(String worldName) {
+        return blockedWorlds.contains(worldName);
+    }
+
+    /**
+     * Calcula a posição do próximo pedido de um solicitante seguindo a ordem do rodízio
+     *
+     * @param requester Solicitante
+     * @return Posição (1 = próximo a ser admitido) ou 0 se não houver pedido na fila
+     */
+    public int getQueuePosition(UUID requester) {
+        ArrayDeque<LoadTask> own = queues.get(requester);
+        if (own == null || own.isEmpty()) {
+            return 0;
+        }
+
+        // Simula o rodízio: a cada volta cada solicitante com pedidos avança um
+        List<Iterator<LoadTask>> iterators = new ArrayList<>();
+        List<UUID> order = new ArrayList<>(rotation);
+        for (UUID bucket : order) {
+            iterators.add(queues.get(bucket).iterator());
+        }
+
+        int position = 0;
+        boolean progressed = true;
+        while (progressed) {
+            progressed = false;
+            for (int i = 0; i < order.size(); i++) {
+                Iterator<LoadTask> iterator = iterators.get(i);
+                if (!iterator.hasNext()) {
+                    continue;
+                }
+                iterator.next();
+                position++;
+                progressed = true;
+                if (order.get(i).equals(requester)) {
+                    return position;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Avisa os jogadores que ainda aguardam na fila sobre sua posição
+     */
+    private void sendQueuePositions() {
+        for (UUID bucket : rotation) {
+            if (bucket.equals(SYSTEM_REQUESTER)) {
+                continue;
+            }
+            Player player = Bukkit.getPlayer(bucket);
+            if (player != null) {
+                player.sendMessage(ChatColor.YELLOW + "Aguardando carregamento do mundo. Posição na fila: " +
+                        ChatColor.WHITE + getQueuePosition(bucket));
+            }
+        }
+    }
+
+    /**
+     * Obtém o número de operações aguardando admissão
+     *
+     * @return Operações na fila
+     */
+    public int getQueuedCount() {
+        return tasksByWorld.size() - inFlight;
+    }
+
+    /**
+     * Obtém o número de operações em andamento
+     *
+     * @return Operações admitidas e ainda não concluídas
+     */
+    public int getInFlightCount() {
+        return inFlight;
+    }
+
+    private void logDebug(String message) {
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("[FILA] " + message);
+        }
+    }
+}
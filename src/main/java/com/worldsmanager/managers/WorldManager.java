@@ -3,8 +3,10 @@ package com.worldsmanager.managers;
 import com.worldsmanager.WorldsManager;
 import com.worldsmanager.listeners.WorldsMessageListener;
 import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.models.ThrottleState;
 import com.worldsmanager.models.WorldSettings;
 import com.worldsmanager.utils.WorldCreationUtils;
+import com.worldsmanager.utils.WorldFlagTable;
 import org.bukkit.*;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -15,7 +17,9 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
@@ -34,6 +38,9 @@ public class WorldManager implements Listener {
     // Sistema de teleportes pendentes
     private final Map<UUID, String> pendingTeleports = new HashMap<>();
 
+    // Flags de redstone, física e fluidos consultadas pelo WorldFlagListener
+    private final WorldFlagTable worldFlagTable = new WorldFlagTable();
+
     public WorldManager(WorldsManager plugin) {
         this.plugin = plugin;
         this.loadedWorlds = new HashMap<>();
@@ -190,6 +197,16 @@ public class WorldManager implements Listener {
      * @return CompletableFuture com o CustomWorld criado
      */
     public CompletableFuture<CustomWorld> createWorld(String name, UUID ownerUUID, Material icon, Player requester) {
+        // No modo cross-server a memória que importa é a do servidor de mundos, que faz a própria verificação
+        if (!configManager.isCrossServerMode() && !plugin.getMemoryGovernor().canCreateWorlds()) {
+            plugin.getLogger().warning("Criação de mundo recusada por falta de memória: " + name);
+            if (requester != null) {
+                requester.sendMessage(ChatColor.RED + "O servidor está com pouca memória no momento. " +
+                        "Tente criar seu mundo novamente em alguns minutos.");
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
         return CompletableFuture.supplyAsync(() -> {
             try {
                 // Verifica permissões
@@ -222,8 +239,15 @@ public class WorldManager implements Listener {
                 String worldPath = playerName;
                 customWorld.setWorldPath(worldPath);
 
+                // Escolhe o servidor de mundos que vai hospedar o mundo
+                if (configManager.isCrossServerMode()) {
+                    String server = plugin.getWorldPlacementManager().assign(customWorld);
+                    plugin.getLogger().info("[MUNDO] Mundo " + worldName + " será criado no servidor " + server);
+                }
+
                 // Salva no banco de dados PRIMEIRO para garantir que o mundo exista no banco
                 databaseManager.saveWorld(customWorld);
+                plugin.getWorldRegistryManager().publish(customWorld, WorldRegistryManager.SECTION_ALL);
                 plugin.getLogger().info("[MUNDO] Mundo salvo no banco de dados: " + worldName);
 
                 // Adiciona aos mundos carregados
@@ -259,28 +283,38 @@ public class WorldManager implements Listener {
                                 requester.sendMessage(ChatColor.RED + "Falha ao enviar mensagem de criação para o servidor de mundos!");
                             }
                             // Não criar localmente em caso de falha - apenas notificar o erro
-                            return null;
+                            return CompletableFuture.<CustomWorld>completedFuture(null);
                         }
 
                         // O MessagingManager agora lida com o teleporte após delay
-                        return customWorld;
+                        return CompletableFuture.completedFuture(customWorld);
                     } else {
                         plugin.getLogger().severe("MessagingManager não foi inicializado! Não é possível enviar mensagem cross-server");
                         if (requester != null) {
                             requester.sendMessage(ChatColor.RED + "Erro interno: MessagingManager não inicializado!");
                         }
                         // Neste caso, não criamos localmente - apenas reportamos o erro
-                        return null;
+                        return CompletableFuture.<CustomWorld>completedFuture(null);
                     }
                 } else {
-                    // Cria o mundo localmente se não estiver em modo cross-server
-                    createWorldLocally(worldName, customWorld);
+                    // Cria o mundo localmente pela fila de carregamento se não estiver em modo cross-server.
+                    // A criação continua quando o mundo sair da fila, sem prender esta thread.
+                    UUID requesterUUID = requester != null ? requester.getUniqueId() : ownerUUID;
+                    return plugin.getWorldLoadScheduler().submit(worldName, requesterUUID, null,
+                            () -> createWorldLocally(worldName, customWorld)).handle((world, error) -> {
+                        if (error != null) {
+                            plugin.getLogger().log(Level.SEVERE, "Falha ao criar mundo", error);
+                            if (requester != null) {
+                                requester.sendMessage(ChatColor.RED + "Erro ao criar mundo: " + error.getMessage());
+                            }
+                            throw new CompletionException(error);
+                        }
 
-                    // Registra no MultiVerse e finaliza a criação
-                    finalizeWorldCreation(customWorld, requester);
+                        // Registra no MultiVerse e finaliza a criação
+                        finalizeWorldCreation(customWorld, requester);
+                        return customWorld;
+                    });
                 }
-
-                return customWorld;
             } catch (Exception e) {
                 plugin.getLogger().log(Level.SEVERE, "Falha ao criar mundo", e);
                 if (requester != null) {
@@ -290,7 +324,7 @@ public class WorldManager implements Listener {
                 }
                 throw new RuntimeException("Falha ao criar mundo", e);
             }
-        }).exceptionally(e -> {
+        }).thenCompose(creation -> creation).exceptionally(e -> {
             plugin.getLogger().severe("Exceção não tratada na criação de mundo: " + e.getMessage());
             e.printStackTrace();
             return null;
@@ -316,14 +350,18 @@ public class WorldManager implements Listener {
             Bukkit.getScheduler().runTaskLater(plugin, () -> {
                 if (requester.isOnline()) {
                     requester.sendMessage(ChatColor.GREEN + "Teleportando para seu novo mundo: " + customWorld.getName());
-                    customWorld.teleportPlayer(requester);
+                    teleportManager.teleportWhenReady(requester, customWorld).thenAccept(success -> {
+                        if (!success) {
+                            return;
+                        }
 
-                    // Configura o jogador para modo criativo
-                    requester.setGameMode(GameMode.CREATIVE);
+                        // Configura o jogador para modo criativo
+                        requester.setGameMode(GameMode.CREATIVE);
 
-                    // Mensagem de bem-vindo
-                    requester.sendMessage(ChatColor.GREEN + "Bem-vindo ao seu novo mundo! Você está no modo criativo.");
-                    requester.sendMessage(ChatColor.YELLOW + "Use /worlds para gerenciar seus mundos.");
+                        // Mensagem de bem-vindo
+                        requester.sendMessage(ChatColor.GREEN + "Bem-vindo ao seu novo mundo! Você está no modo criativo.");
+                        requester.sendMessage(ChatColor.YELLOW + "Use /worlds para gerenciar seus mundos.");
+                    });
                 }
             }, 20L); // 1 segundo de delay
         }
@@ -417,7 +455,7 @@ public class WorldManager implements Listener {
      * @param customWorld Objeto CustomWorld associado
      * @throws IllegalStateException Se a criação falhar
      */
-    private void createWorldLocally(String worldName, CustomWorld customWorld) throws IllegalStateException {
+    private World createWorldLocally(String worldName, CustomWorld customWorld) throws IllegalStateException {
         plugin.getLogger().info("Criando mundo localmente: " + worldName);
 
         // Obtém nome do jogador para o diretório
@@ -441,6 +479,7 @@ public class WorldManager implements Listener {
 
         // Aplica configurações ao mundo
         applyWorldSettings(customWorld);
+        return world;
     }
 
     /**
@@ -526,6 +565,7 @@ public class WorldManager implements Listener {
 
                 // Remove do banco de dados
                 databaseManager.deleteWorld(customWorld);
+                plugin.getWorldRegistryManager().publish(customWorld, WorldRegistryManager.SECTION_DELETED);
                 plugin.getLogger().info("Mundo removido do banco de dados: " + worldName);
 
                 // Remove dos mundos carregados
@@ -563,6 +603,12 @@ public class WorldManager implements Listener {
             return customWorld.getWorld();
         }
 
+        // Arquivos sendo substituídos (restauração de snapshot)
+        if (plugin.getWorldLoadScheduler().isBlocked(customWorld.getWorldName())) {
+            plugin.getLogger().warning("Mundo " + customWorld.getWorldName() + " indisponível durante a restauração");
+            return null;
+        }
+
         plugin.getLogger().info("Carregando mundo: " + customWorld.getWorldName());
 
         World world = Bukkit.getWorld(customWorld.getWorldName());
@@ -593,6 +639,51 @@ public class WorldManager implements Listener {
         return world;
     }
 
+    /**
+     * Carrega um mundo pela fila de carregamento. A cópia dos arquivos é feita
+     * fora da thread principal e o WorldCreator respeita o orçamento por tick.
+     *
+     * @param customWorld Mundo personalizado a ser carregado
+     * @param requester UUID de quem solicitou (null para o servidor)
+     * @return CompletableFuture com o mundo carregado (null se falhar), completado na thread principal
+     */
+    public CompletableFuture<World> loadWorldQueued(CustomWorld customWorld, UUID requester) {
+        // Durante uma migração os arquivos estão mudando de servidor
+        if (customWorld.isMigrating()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        World current = customWorld.getWorld();
+        if (current != null) {
+            return CompletableFuture.completedFuture(current);
+        }
+
+        String worldName = customWorld.getWorldName();
+        String worldPath = customWorld.getWorldPath();
+
+        Callable<Boolean> prepare = null;
+        if (worldPath != null && !worldPath.isEmpty()) {
+            // Se a cópia falhar, a fase principal ainda tenta o caminho padrão
+            prepare = () -> {
+                WorldCreationUtils.prepareWorldFromPath(worldName, worldPath);
+                return true;
+            };
+        }
+
+        return plugin.getWorldLoadScheduler().submit(worldName, requester, prepare, () -> {
+            long loadStart = System.nanoTime();
+            World world = WorldCreationUtils.loadWorld(worldName);
+            plugin.getWorldFilePrefetcher().recordLoad(worldName, (System.nanoTime() - loadStart) / 1_000_000L);
+            if (world != null) {
+                plugin.getLogger().info("Mundo carregado com sucesso: " + worldName);
+                applyWorldSettings(customWorld);
+            } else {
+                plugin.getLogger().warning("Falha ao carregar mundo: " + worldName);
+            }
+            return world;
+        });
+    }
+
     /**
      * Teleporta um jogador para um mundo
      *
@@ -609,23 +700,17 @@ public class WorldManager implements Listener {
             // Usar o TeleportManager que verifica o servidor atual
             return teleportManager.teleportToWorld(player, customWorld.getWorldName());
         } else {
-            // Carrega o mundo se não estiver carregado
-            World world = loadWorld(customWorld);
-            if (world == null) {
-                player.sendMessage(ChatColor.RED + plugin.getLanguageManager().getMessage("world-load-failed"));
-                return false;
-            }
-
-            // Teleporta o jogador
-            boolean success = customWorld.teleportPlayer(player);
-            if (success) {
-                plugin.getLogger().info("Jogador teleportado com sucesso: " + player.getName() +
-                        " para " + customWorld.getWorldName());
-            } else {
-                plugin.getLogger().warning("Falha ao teleportar jogador: " + player.getName() +
-                        " para " + customWorld.getWorldName());
-            }
-            return success;
+            // Carrega o mundo pela fila e os chunks do destino antes de teleportar
+            teleportManager.teleportWhenReady(player, customWorld).thenAccept(success -> {
+                if (success) {
+                    plugin.getLogger().info("Jogador teleportado com sucesso: " + player.getName() +
+                            " para " + customWorld.getWorldName());
+                } else {
+                    plugin.getLogger().warning("Falha ao teleportar jogador: " + player.getName() +
+                            " para " + customWorld.getWorldName());
+                }
+            });
+            return true;
         }
     }
 
@@ -635,6 +720,16 @@ public class WorldManager implements Listener {
      * @param customWorld Mundo personalizado
      */
     public void applyWorldSettings(CustomWorld customWorld) {
+        applyWorldSettings(customWorld, true);
+    }
+
+    /**
+     * Aplica configurações de mundo a um mundo carregado
+     *
+     * @param customWorld Mundo personalizado
+     * @param applyGameMode true para também colocar os jogadores do mundo no modo de jogo padrão
+     */
+    public void applyWorldSettings(CustomWorld customWorld, boolean applyGameMode) {
         World world = customWorld.getWorld();
         if (world == null) {
             plugin.getLogger().warning("Tentativa de aplicar configurações a um mundo não carregado: " +
@@ -647,7 +742,6 @@ public class WorldManager implements Listener {
 
         // Aplica configurações
         world.setPVP(settings.isPvpEnabled());
-        world.setSpawnFlags(settings.isMobSpawning(), true);
 
         // Configura tempo e clima
         if (!settings.isTimeCycle()) {
@@ -665,44 +759,14 @@ public class WorldManager implements Listener {
             world.setGameRule(GameRule.DO_WEATHER_CYCLE, true);
         }
 
-        // Configura física de blocos e fluxo de fluidos
-        world.setGameRule(GameRule.DO_TILE_DROPS, settings.isPhysicsEnabled());
+        // Raids acompanham o spawn de mobs
         world.setGameRule(GameRule.DISABLE_RAIDS, !settings.isMobSpawning());
 
-        // Redstone - o GameRule DO_REDSTONE pode não existir em algumas versões do Bukkit
-        if (!settings.isRedstoneEnabled()) {
-            try {
-                // Tenta usar o GameRule se existir
-                @SuppressWarnings("unchecked")
-                GameRule<Boolean> redstoneRule = (GameRule<Boolean>) GameRule.getByName("DO_REDSTONE");
-                if (redstoneRule != null) {
-                    world.setGameRule(redstoneRule, false);
-                }
-            } catch (Exception e) {
-                // Se falhar, faz log do erro mas continua a execução
-                plugin.getLogger().warning("Não foi possível definir regra do redstone: " + e.getMessage());
-            }
-        } else {
-            try {
-                @SuppressWarnings("unchecked")
-                GameRule<Boolean> redstoneRule = (GameRule<Boolean>) GameRule.getByName("DO_REDSTONE");
-                if (redstoneRule != null) {
-                    world.setGameRule(redstoneRule, true);
-                }
-            } catch (Exception e) {
-                plugin.getLogger().warning("Não foi possível definir regra do redstone: " + e.getMessage());
-            }
-        }
-
-        // Fluxo de fluidos
-        if (!settings.isFluidFlow()) {
-            world.setGameRule(GameRule.DO_FIRE_TICK, false);
-        } else {
-            world.setGameRule(GameRule.DO_FIRE_TICK, true);
-        }
+        // A física antes desligava os drops de blocos, e a gamerule ficou gravada no level.dat desses mundos
+        world.setGameRule(GameRule.DO_TILE_DROPS, true);
 
-        // Velocidade de tick
-        world.setGameRule(GameRule.RANDOM_TICK_SPEED, settings.getTickSpeed());
+        // Propagação de fogo
+        world.setGameRule(GameRule.DO_FIRE_TICK, settings.isFireSpread());
 
         // Aplicar configurações adicionais
         world.setGameRule(GameRule.KEEP_INVENTORY, settings.isKeepInventory());
@@ -710,41 +774,11 @@ public class WorldManager implements Listener {
         world.setGameRule(GameRule.FALL_DAMAGE, settings.isFallDamage());
         world.setGameRule(GameRule.NATURAL_REGENERATION, settings.isHungerDepletion());
 
-        // Para o leaf decay:
-        try {
-            @SuppressWarnings("unchecked")
-            GameRule<Boolean> leafDecayRule = (GameRule<Boolean>) GameRule.getByName("LEAF_DECAY");
-            if (leafDecayRule != null) {
-                world.setGameRule(leafDecayRule, settings.isLeafDecay());
-            }
-        } catch (Exception e) {
-            // Ignora se a regra não existir
-        }
-
-        // Para o fire spread:
-        try {
-            @SuppressWarnings("unchecked")
-            GameRule<Boolean> fireSpreadRule = (GameRule<Boolean>) GameRule.getByName("FIRE_SPREAD");
-            if (fireSpreadRule != null) {
-                world.setGameRule(fireSpreadRule, settings.isFireSpread());
-            }
-        } catch (Exception e) {
-            // Ignora se a regra não existir
-        }
-
-        // Para os block updates:
-        try {
-            @SuppressWarnings("unchecked")
-            GameRule<Boolean> blockUpdatesRule = (GameRule<Boolean>) GameRule.getByName("BLOCK_UPDATES");
-            if (blockUpdatesRule != null) {
-                world.setGameRule(blockUpdatesRule, settings.isBlockUpdates());
-            }
-        } catch (Exception e) {
-            // Ignora se a regra não existir
-        }
+        // Velocidade de tick, spawn, flags dos listeners e perfil de recursos
+        applyRuntimeLimits(customWorld, world);
 
         // Aplica o modo de jogo padrão para o mundo
-        if (settings.getGameMode() != null) {
+        if (applyGameMode && settings.getGameMode() != null) {
             for (Player player : world.getPlayers()) {
                 if (!player.hasPermission("worldsmanager.gamemode.bypass")) {
                     player.setGameMode(settings.getGameMode());
@@ -755,6 +789,83 @@ public class WorldManager implements Listener {
         plugin.getLogger().info("Configurações aplicadas com sucesso ao mundo: " + customWorld.getWorldName());
     }
 
+    /**
+     * Reaplica só o que a limitação automática e o repouso alteram (velocidade
+     * de tick, spawn, flags dos listeners, perfil de recursos e autosave), sem
+     * mexer nos jogadores do mundo
+     *
+     * @param customWorld Mundo personalizado
+     */
+    public void applyRuntimeLimits(CustomWorld customWorld) {
+        World world = customWorld.getWorld();
+        if (world != null) {
+            applyRuntimeLimits(customWorld, world);
+        }
+    }
+
+    private void applyRuntimeLimits(CustomWorld customWorld, World world) {
+        WorldSettings settings = customWorld.getSettings();
+        world.setSpawnFlags(settings.isMobSpawning(), true);
+
+        // Velocidade de tick (reduzida enquanto o mundo estiver limitado)
+        ThrottleState throttle = customWorld.getThrottleState();
+        if (throttle.getLevel() >= ThrottleState.REDUCED_RANDOM_TICKS) {
+            world.setGameRule(GameRule.RANDOM_TICK_SPEED, Math.min(settings.getTickSpeed(), 1));
+        } else {
+            world.setGameRule(GameRule.RANDOM_TICK_SPEED, settings.getTickSpeed());
+        }
+
+        if (throttle.getLevel() >= ThrottleState.SPAWNING_PAUSED) {
+            world.setSpawnFlags(false, false);
+        }
+
+        // Redstone, física, fluidos e folhas não têm gamerule; são aplicados pelo WorldFlagListener
+        updateWorldFlags(world, settings, throttle);
+
+        // Perfil de recursos (spawn em memória, distâncias, limites de spawn e autosave)
+        plugin.getResourceProfileManager().applyProfile(customWorld, world);
+
+        // Mundo vazio em repouso: sem random ticks, spawn ou autosave até alguém entrar
+        if (customWorld.isQuiescent()) {
+            world.setGameRule(GameRule.RANDOM_TICK_SPEED, 0);
+            world.setSpawnFlags(false, false);
+            world.setAutoSave(false);
+        }
+    }
+
+    /**
+     * Atualiza a tabela de flags consultada pelos listeners de blocos
+     *
+     * @param world Mundo carregado
+     * @param settings Configurações do mundo
+     * @param throttle Estado de limitação automática do mundo
+     */
+    private void updateWorldFlags(World world, WorldSettings settings, ThrottleState throttle) {
+        byte flags = 0;
+        if (!settings.isRedstoneEnabled() || throttle.getLevel() >= ThrottleState.REDSTONE_FROZEN) {
+            flags |= WorldFlagTable.REDSTONE_DISABLED;
+        }
+        if (!settings.isPhysicsEnabled() || !settings.isBlockUpdates()) {
+            flags |= WorldFlagTable.PHYSICS_DISABLED;
+        }
+        if (!settings.isFluidFlow()) {
+            flags |= WorldFlagTable.FLUIDS_DISABLED;
+        }
+        if (!settings.isLeafDecay()) {
+            flags |= WorldFlagTable.LEAF_DECAY_DISABLED;
+        }
+        worldFlagTable.set(world, flags);
+    }
+
+    /**
+     * Obtém a tabela de flags dos mundos gerenciados
+     *
+     * @return Tabela de flags
+     */
+    public WorldFlagTable getWorldFlagTable() {
+        return worldFlagTable;
+    }
+
     /**
      * Atualiza as configurações de um mundo
      */
@@ -794,6 +905,7 @@ public class WorldManager implements Listener {
 
         // Salva no banco de dados
         databaseManager.saveWorld(customWorld);
+        plugin.getWorldRegistryManager().publish(customWorld, WorldRegistryManager.SECTION_SETTINGS);
         plugin.getLogger().info("Configurações salvas no banco de dados: " + customWorld.getWorldName());
     }
 
@@ -841,9 +953,24 @@ public class WorldManager implements Listener {
     }
 
     /**
-     * Método auxiliar para descarregar um mundo
+     * Remove um mundo excluído em outro servidor da lista de mundos carregados
+     *
+     * @param worldName Nome do mundo
+     */
+    public void removeLoadedWorld(String worldName) {
+        if (loadedWorlds.remove(worldName) != null) {
+            plugin.getLogger().info("Mundo removido da lista de mundos carregados: " + worldName);
+        }
+    }
+
+    /**
+     * Descarrega um mundo, levando os jogadores para o mundo principal
+     *
+     * @param worldName Nome do mundo
+     * @param save true para salvar o mundo antes de descarregar
+     * @return true se o mundo foi descarregado ou já não estava carregado
      */
-    private boolean unloadWorld(String worldName, boolean save) {
+    public boolean unloadWorld(String worldName, boolean save) {
         World world = Bukkit.getWorld(worldName);
         if (world == null) {
             return true;
@@ -903,6 +1030,13 @@ public class WorldManager implements Listener {
         plugin.getLogger().info("[MUNDO] Teleporte pendente adicionado para " + playerUUID + " para o mundo " + worldName);
     }
 
+    /**
+     * Remove o teleporte pendente de um jogador
+     */
+    public void removePendingTeleport(UUID playerUUID) {
+        pendingTeleports.remove(playerUUID);
+    }
+
     /**
      * Verifica e processa teleportes pendentes para um jogador
      */
@@ -922,20 +1056,18 @@ public class WorldManager implements Listener {
                 CustomWorld world = getWorldByName(worldName);
 
                 if (world != null) {
-                    // Primeiro tentamos carregar o mundo se ele não estiver carregado
+                    // Primeiro carregamos o mundo pela fila se ele não estiver carregado
                     if (!world.isLoaded()) {
                         plugin.getLogger().info("[MUNDO] Carregando mundo para teleporte pendente: " + worldName);
-                        loadWorld(world);
                     }
 
-                    if (world.isLoaded()) {
-                        world.teleportPlayer(player);
-                        player.sendMessage(ChatColor.GREEN + "Você foi teleportado para o mundo: " + world.getName());
-                    } else {
-                        plugin.getLogger().warning("Mundo não pôde ser carregado: " + worldName);
-                        player.sendMessage(ChatColor.RED + "Não foi possível teleportar você para o mundo. " +
-                                "Mundo não pôde ser carregado.");
-                    }
+                    teleportManager.teleportWhenReady(player, world).thenAccept(success -> {
+                        if (success) {
+                            player.sendMessage(ChatColor.GREEN + "Você foi teleportado para o mundo: " + world.getName());
+                        } else {
+                            plugin.getLogger().warning("Teleporte pendente não concluído: " + worldName);
+                        }
+                    });
                 } else {
                     plugin.getLogger().warning("Mundo para teleporte pendente não encontrado: " + worldName);
                     player.sendMessage(ChatColor.RED + "Não foi possível teleportar você para o mundo. " +
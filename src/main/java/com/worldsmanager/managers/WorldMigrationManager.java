@@ -0,0 +1,1153 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.messaging.MessageCodec;
+import com.worldsmanager.messaging.WorldMessage;
+import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.models.ServerHeartbeat;
+import com.worldsmanager.models.WorldMigration;
+import com.worldsmanager.utils.WorldCreationUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+/**
+ * Migração de mundos entre servidores de mundos.
+ *
+ * O servidor de origem conduz a migração em etapas, gravadas em
+ * migrations.yml a cada mudança:
+ * - PRE_SYNC: com o mundo ainda aberto, os arquivos seguem para uma pasta
+ *   temporária no destino;
+ * - EVACUATING: novas entradas são bloqueadas, os jogadores saem e o mundo é
+ *   salvo e descarregado;
+ * - FINAL_SYNC: seguem só os arquivos alterados desde a cópia inicial e as
+ *   exclusões, então o mundo fica indisponível por segundos;
+ * - COMMITTING: o destino confere cada arquivo pelo tamanho e pelo CRC32
+ *   enviados com o seu último trecho, assume a pasta e carrega o mundo;
+ * - COMMITTED: o servidor do mundo é trocado no banco, os jogadores seguem
+ *   para o destino e a cópia da origem é apagada.
+ *
+ * Uma falha até FINAL_SYNC desfaz a migração: o destino descarta o que
+ * recebeu e o mundo volta a abrir na origem. Ao iniciar, migrações
+ * interrompidas nessas etapas são desfeitas e as demais são retomadas, já que
+ * o commit pode ser repetido no destino sem efeito.
+ *
+ * Os trechos de arquivo são mensagens confiáveis da MessageOutbox, com até
+ * migration.window trechos aguardando confirmação. A confirmação só diz que o
+ * trecho chegou: se o destino não conseguir gravá-lo, ele responde com um
+ * WorldFailed e a origem desfaz a migração. A cópia da origem só é apagada
+ * depois que o destino conferiu os arquivos e carregou o mundo.
+ */
+public class WorldMigrationManager {
+
+    private static final String FILE_NAME = "migrations.yml";
+
+    // Maior trecho que ainda cabe em um frame do canal do plugin com o cabeçalho da mensagem
+    private static final int MAX_CHUNK_KB = 30;
+
+    // Arquivos alterados tão perto da leitura podem ter a mesma data de modificação depois de uma nova gravação
+    private static final long MTIME_GRANULARITY_MILLIS = 2000L;
+
+    private final WorldsManager plugin;
+    private final File file;
+
+    // Leitura e envio dos arquivos das migrações conduzidas por este servidor
+    private final ExecutorService worker;
+
+    // Gravação dos trechos recebidos, na ordem de chegada
+    private final ExecutorService receiver;
+
+    // Tamanho e CRC32 esperados de cada arquivo recebido, pelo nome do mundo; usado só pela thread de gravação
+    private final Map<String, Map<String, long[]>> receivedFiles = new HashMap<>();
+
+    // Primeira falha de gravação de cada migração recebida, pelo nome do mundo; usado só pela thread de gravação
+    private final Map<String, String> receiveFailures = new HashMap<>();
+
+    // Migrações conduzidas por este servidor, pelo nome do mundo
+    private final Map<String, WorldMigration> migrations = new ConcurrentHashMap<>();
+
+    // Resultado de cada migração iniciada nesta execução: o tempo de indisponibilidade em milissegundos
+    private final Map<String, CompletableFuture<Long>> results = new ConcurrentHashMap<>();
+
+    private BukkitTask task;
+    private long lastAutoCheck;
+    private long completed;
+    private long rolledBack;
+    private long lastUnavailableMillis = -1;
+
+    public WorldMigrationManager(WorldsManager plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "WorldsManager-Migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.receiver = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "WorldsManager-MigrationReceiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retoma ou desfaz as migrações interrompidas e agenda as verificações.
+     * Deve ser chamado depois que os mundos forem carregados do banco.
+     */
+    public void start() {
+        if (task != null || !plugin.getConfigManager().isCrossServerMode()) {
+            return;
+        }
+
+        load();
+        for (WorldMigration migration : new ArrayList<>(migrations.values())) {
+            resume(migration);
+        }
+
+        lastAutoCheck = System.currentTimeMillis();
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 20L, 20L);
+    }
+
+    /**
+     * Interrompe as migrações em andamento, que são retomadas ou desfeitas na próxima inicialização
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        worker.shutdownNow();
+        receiver.shutdown();
+        saveCheckpoints();
+    }
+
+    // Origem
+
+    /**
+     * Inicia a migração de um mundo deste servidor. Deve ser chamado na thread principal.
+     *
+     * @param customWorld Mundo a migrar
+     * @param target Servidor de mundos de destino
+     * @param trigger Origem do pedido (admin ou auto), registrada nos logs
+     * @return Futuro com o tempo em que o mundo ficou indisponível (ms), ou com o motivo se a migração for desfeita
+     */
+    public CompletableFuture<Long> migrate(CustomWorld customWorld, String target, String trigger) {
+        String self = plugin.getMessageOutbox().getServerName();
+        WorldPlacementManager placement = plugin.getWorldPlacementManager();
+        String worldName = customWorld.getWorldName();
+        String targetServer = findServer(target);
+
+        String error = null;
+        if (!plugin.getConfigManager().isCrossServerMode()) {
+            error = "A migração exige o modo cross-server";
+        } else if (plugin.getConfigManager().getMessagingProtocolVersion() < MessageCodec.RELIABLE_VERSION) {
+            error = "A migração exige messaging.protocol-version " + MessageCodec.RELIABLE_VERSION;
+        } else if (self == null) {
+            error = "O nome deste servidor ainda não é conhecido (cross-server.server-name)";
+        } else if (placement.isRemote(customWorld)) {
+            error = "O mundo está no servidor " + placement.getServerFor(customWorld) + "; inicie a migração por lá";
+        } else if (targetServer == null) {
+            error = "Servidor de destino fora de cross-server.worlds-servers: " + target;
+        } else if (targetServer.equalsIgnoreCase(self)) {
+            error = "O mundo já está neste servidor";
+        } else if (migrations.containsKey(worldName)) {
+            error = "O mundo já está sendo migrado";
+        } else if (WorldCreationUtils.resolveLiveWorldFolder(worldName, customWorld.getWorldPath()) == null) {
+            error = "Arquivos do mundo não encontrados";
+        }
+
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        if (error != null) {
+            result.completeExceptionally(new IllegalStateException(error));
+            return result;
+        }
+
+        String worldPath = customWorld.getWorldPath() != null ? customWorld.getWorldPath() : "";
+        WorldMigration migration = new WorldMigration(worldName, worldPath, self, targetServer, trigger,
+                System.currentTimeMillis());
+        migrations.put(worldName, migration);
+        results.put(worldName, result);
+        saveCheckpoints();
+
+        plugin.getLogger().info("Migração de " + worldName + " iniciada (" + trigger + "): " + self + " -> " + targetServer);
+
+        // Descarta arquivos que uma migração anterior para o mesmo destino tenha deixado pela metade
+        sendQuietly(targetServer, WorldMessage.migrationAbort(worldName, worldPath));
+
+        World world = customWorld.getWorld();
+        if (world != null) {
+            world.save();
+        }
+
+        worker.execute(() -> runSync(migration, WorldMigration.Step.PRE_SYNC));
+        return result;
+    }
+
+    /**
+     * Desfaz uma migração que ainda não chegou ao commit
+     *
+     * @param worldName Nome do mundo
+     * @return false se não houver migração ou se ela já estiver no commit
+     */
+    public boolean cancel(String worldName) {
+        WorldMigration migration = migrations.get(worldName);
+        if (migration == null || !migration.isReversible()) {
+            return false;
+        }
+
+        rollback(migration, "Cancelada por um administrador");
+        return true;
+    }
+
+    /**
+     * Executa uma passagem de sincronização na thread de migração e segue para a próxima etapa
+     */
+    private void runSync(WorldMigration migration, WorldMigration.Step step) {
+        long start = System.currentTimeMillis();
+        try {
+            int sent = sync(migration);
+            saveCheckpoints();
+            plugin.getLogger().info((step == WorldMigration.Step.PRE_SYNC ? "Cópia inicial" : "Sincronização final") +
+                    " de " + migration.getWorldName() + ": " + sent + " arquivos enviados em " +
+                    (System.currentTimeMillis() - start) + "ms");
+
+            runOnMainThread(() -> {
+                if (step == WorldMigration.Step.PRE_SYNC) {
+                    evacuate(migration);
+                } else {
+                    commit(migration);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Falha ao enviar os arquivos de " + migration.getWorldName(), e);
+            runOnMainThread(() -> rollback(migration, "Falha ao enviar os arquivos: " + e.getMessage()));
+        } catch (InterruptedException e) {
+            // Servidor desligando: a migração é tratada na próxima inicialização
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Envia ao destino os arquivos novos ou alterados desde a passagem anterior e as exclusões.
+     * Executado na thread de migração.
+     *
+     * @return Quantidade de arquivos enviados
+     */
+    private int sync(WorldMigration migration) throws IOException, InterruptedException {
+        File folder = WorldCreationUtils.resolveLiveWorldFolder(migration.getWorldName(), migration.getWorldPath());
+        if (folder == null) {
+            throw new IOException("Arquivos do mundo não encontrados");
+        }
+
+        List<File> files = new ArrayList<>();
+        collectFiles(folder, files);
+        String basePath = folder.getAbsolutePath();
+
+        int chunkSize = Math.max(1, Math.min(MAX_CHUNK_KB, plugin.getConfigManager().getMigrationChunkSizeKb())) * 1024;
+        int windowSize = Math.max(1, plugin.getConfigManager().getMigrationWindow());
+        Semaphore window = new Semaphore(windowSize);
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Map<String, long[]> synced = migration.getSyncedFiles();
+        Set<String> present = new HashSet<>();
+        byte[] buffer = new byte[chunkSize];
+        long passStart = System.currentTimeMillis();
+        long totalBytes = 0;
+        int sent = 0;
+
+        for (File source : files) {
+            String path = source.getAbsolutePath().substring(basePath.length() + 1).replace(File.separatorChar, '/');
+            present.add(path);
+
+            long length = source.length();
+            long modified = source.lastModified();
+            totalBytes += length;
+
+            long[] previous;
+            synchronized (synced) {
+                previous = synced.get(path);
+            }
+            if (previous != null && previous[0] == length && previous[1] == modified) {
+                continue;
+            }
+
+            try (InputStream in = new FileInputStream(source)) {
+                CRC32 crc = new CRC32();
+                long offset = 0;
+                do {
+                    int read = readChunk(in, buffer, (int) Math.min(chunkSize, length - offset));
+                    if (read < 0) {
+                        // O arquivo diminuiu durante a leitura; a data de modificação nova faz ele ser reenviado
+                        break;
+                    }
+                    crc.update(buffer, 0, read);
+                    long checksum = offset + read >= length ? crc.getValue() : 0;
+                    send(migration, WorldMessage.migrationChunk(migration.getWorldName(), migration.getWorldPath(),
+                            path, length, modified, offset, checksum, Arrays.copyOf(buffer, read)), window, failure);
+                    offset += read;
+                } while (offset < length);
+            }
+
+            // Uma gravação logo depois da leitura pode manter a mesma data; o arquivo segue de novo na próxima passagem
+            long recorded = modified >= passStart - MTIME_GRANULARITY_MILLIS ? -1 : modified;
+            synchronized (synced) {
+                synced.put(path, new long[]{length, recorded});
+            }
+            sent++;
+        }
+
+        List<String> removed = new ArrayList<>();
+        synchronized (synced) {
+            for (String path : synced.keySet()) {
+                if (!present.contains(path)) {
+                    removed.add(path);
+                }
+            }
+        }
+        for (String path : removed) {
+            send(migration, WorldMessage.migrationChunk(migration.getWorldName(), migration.getWorldPath(),
+                    path, -1, 0, 0, 0, new byte[0]), window, failure);
+            synchronized (synced) {
+                synced.remove(path);
+            }
+        }
+
+        // Espera todas as confirmações
+        window.acquire(windowSize);
+        window.release(windowSize);
+        if (failure.get() != null) {
+            throw new IOException(failure.get());
+        }
+
+        migration.setFileCount(present.size());
+        migration.setTotalBytes(totalBytes);
+        return sent;
+    }
+
+    /**
+     * Lê um trecho inteiro, a menos que o arquivo termine antes
+     *
+     * @return Bytes lidos (0 para um trecho vazio), ou -1 se o arquivo terminou antes do esperado
+     */
+    private static int readChunk(InputStream in, byte[] buffer, int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            int read = in.read(buffer, total, length - total);
+            if (read == -1) {
+                return total > 0 ? total : -1;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Entrega um trecho à caixa de saída na thread principal, respeitando a janela de trechos sem confirmação
+     */
+    private void send(WorldMigration migration, WorldMessage message, Semaphore window, AtomicReference<String> failure)
+            throws IOException, InterruptedException {
+        if (migrations.get(migration.getWorldName()) != migration) {
+            throw new IOException("Migração cancelada");
+        }
+        if (failure.get() != null) {
+            throw new IOException(failure.get());
+        }
+
+        window.acquire();
+        int size = message.getData().length;
+        CompletableFuture<CompletableFuture<Boolean>> handoff = new CompletableFuture<>();
+        runOnMainThread(() -> {
+            try {
+                handoff.complete(plugin.getMessageOutbox().send(migration.getTarget(), message, null));
+            } catch (IOException e) {
+                handoff.completeExceptionally(e);
+            }
+        });
+
+        handoff.thenCompose(delivered -> delivered).whenComplete((delivered, error) -> {
+            if (error == null && Boolean.TRUE.equals(delivered)) {
+                migration.addBytesSent(size);
+            } else {
+                failure.compareAndSet(null, "O servidor " + migration.getTarget() + " não confirmou " + message.getFilePath());
+            }
+            window.release();
+        });
+    }
+
+    /**
+     * Bloqueia novas entradas, retira os jogadores e descarrega o mundo
+     */
+    private void evacuate(WorldMigration migration) {
+        if (migrations.get(migration.getWorldName()) != migration) {
+            return;
+        }
+
+        CustomWorld customWorld = plugin.getWorldManager().getWorldByName(migration.getWorldName());
+        if (customWorld == null) {
+            rollback(migration, "Mundo não encontrado");
+            return;
+        }
+
+        migration.setStep(WorldMigration.Step.EVACUATING);
+        migration.setUnavailableSince(System.currentTimeMillis());
+        customWorld.setMigrating(true);
+
+        World world = customWorld.getWorld();
+        migration.setWasLoaded(world != null);
+        if (world != null) {
+            for (Player player : world.getPlayers()) {
+                migration.getEvacuatedPlayers().add(player.getUniqueId());
+                player.sendMessage(ChatColor.YELLOW + "Este mundo está sendo movido para outro servidor. " +
+                        "Você voltará a ele em instantes.");
+            }
+            saveCheckpoints();
+
+            // Os jogadores vão para o mundo principal e o mundo é salvo ao descarregar
+            if (!plugin.getWorldManager().unloadWorld(migration.getWorldName(), true)) {
+                rollback(migration, "Não foi possível descarregar o mundo");
+                return;
+            }
+        }
+
+        migration.setStep(WorldMigration.Step.FINAL_SYNC);
+        saveCheckpoints();
+        worker.execute(() -> runSync(migration, WorldMigration.Step.FINAL_SYNC));
+    }
+
+    /**
+     * Pede ao destino que assuma o mundo
+     */
+    private void commit(WorldMigration migration) {
+        if (migrations.get(migration.getWorldName()) != migration) {
+            return;
+        }
+
+        migration.setStep(WorldMigration.Step.COMMITTING);
+        saveCheckpoints();
+        sendCommit(migration);
+    }
+
+    private void sendCommit(WorldMigration migration) {
+        // A resposta precisa saber para onde voltar
+        if (plugin.getMessageOutbox().getServerName() == null) {
+            return;
+        }
+
+        WorldMessage message = WorldMessage.migrationCommit(migration.getWorldName(), migration.getWorldPath(),
+                migration.getFileCount(), migration.getTotalBytes());
+        migration.setCommitSentAt(System.currentTimeMillis());
+        try {
+            plugin.getMessageOutbox().send(migration.getTarget(), message, null);
+            migration.setCommitMessageId(message.getMessageId());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Erro ao enviar o commit de " + migration.getWorldName(), e);
+        }
+    }
+
+    /**
+     * Trata a resposta do destino a um commit
+     *
+     * @param message Mensagem WorldReady ou WorldFailed
+     * @return false se a resposta não for de uma migração deste servidor
+     */
+    public boolean handleReply(WorldMessage message) {
+        // Trecho que o destino recebeu mas não conseguiu gravar
+        WorldMigration failed = migrations.get(message.getWorldName());
+        if (message.getType() == MessageCodec.TYPE_WORLD_FAILED && failed != null && failed.isReversible() &&
+                failed.getTarget().equalsIgnoreCase(message.getOrigin())) {
+            rollback(failed, "O servidor " + failed.getTarget() + " não gravou os arquivos: " + message.getReason());
+            return true;
+        }
+
+        for (WorldMigration migration : migrations.values()) {
+            if (migration.getStep() != WorldMigration.Step.COMMITTING || migration.getCommitMessageId() == 0 ||
+                    migration.getCommitMessageId() != message.getCorrelationId()) {
+                continue;
+            }
+
+            if (message.getType() == MessageCodec.TYPE_WORLD_READY) {
+                finish(migration);
+            } else {
+                // O destino só recusa o commit antes de assumir a pasta, então a cópia da origem continua valendo
+                rollback(migration, "O servidor " + migration.getTarget() + " recusou o mundo: " + message.getReason());
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Troca o servidor do mundo no banco e apaga a cópia da origem
+     */
+    private void finish(WorldMigration migration) {
+        migration.setStep(WorldMigration.Step.COMMITTED);
+        saveCheckpoints();
+
+        CustomWorld customWorld = plugin.getWorldManager().getWorldByName(migration.getWorldName());
+        if (customWorld != null) {
+            customWorld.setServerName(migration.getTarget());
+        }
+
+        worker.execute(() -> {
+            // A partir daqui os servidores levam os jogadores ao destino
+            if (customWorld != null) {
+                plugin.getWorldRegistryManager().saveAndPublish(customWorld, WorldRegistryManager.SECTION_SERVER);
+            }
+            deleteSourceCopy(migration);
+            runOnMainThread(() -> complete(migration, customWorld));
+        });
+    }
+
+    private void deleteSourceCopy(WorldMigration migration) {
+        String worldName = migration.getWorldName();
+        File container = new File(Bukkit.getWorldContainer(), worldName);
+        File storage = getStorageFolder(worldName, migration.getWorldPath());
+        for (File folder : new File[]{container, storage}) {
+            try {
+                WorldCreationUtils.deleteDirectory(folder);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Não foi possível apagar a cópia antiga de " + worldName +
+                        " em " + folder.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    private void complete(WorldMigration migration, CustomWorld customWorld) {
+        String worldName = migration.getWorldName();
+        if (customWorld != null) {
+            customWorld.setMigrating(false);
+        }
+
+        // Leva ao destino os jogadores retirados do mundo que ainda estão neste servidor
+        for (UUID uuid : migration.getEvacuatedPlayers()) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null && player.isOnline()) {
+                plugin.getMessagingManager().sendTeleportToWorldMessage(player, worldName);
+            }
+        }
+
+        migrations.remove(worldName);
+        saveCheckpoints();
+        completed++;
+
+        long unavailable = migration.getUnavailableSince() > 0 ? System.currentTimeMillis() - migration.getUnavailableSince() : -1;
+        lastUnavailableMillis = unavailable;
+        plugin.getLogger().info("Migração de " + worldName + " concluída: " + migration.getSource() + " -> " +
+                migration.getTarget() + " em " + (System.currentTimeMillis() - migration.getStartedAt()) + "ms, " +
+                (migration.getBytesSent() / 1024) + " KB enviados" +
+                (unavailable >= 0 ? ", indisponível por " + unavailable + "ms" : ""));
+
+        CompletableFuture<Long> result = results.remove(worldName);
+        if (result != null) {
+            result.complete(unavailable);
+        }
+    }
+
+    /**
+     * Desfaz uma migração: o destino descarta os arquivos e o mundo volta a abrir na origem
+     */
+    private void rollback(WorldMigration migration, String reason) {
+        String worldName = migration.getWorldName();
+        if (!migrations.remove(worldName, migration)) {
+            return;
+        }
+        saveCheckpoints();
+        rolledBack++;
+
+        plugin.getLogger().warning("Migração de " + worldName + " para " + migration.getTarget() +
+                " desfeita na etapa " + migration.getStep() + ": " + reason);
+        sendQuietly(migration.getTarget(), WorldMessage.migrationAbort(worldName, migration.getWorldPath()));
+
+        CustomWorld customWorld = plugin.getWorldManager().getWorldByName(worldName);
+        if (customWorld != null) {
+            customWorld.setMigrating(false);
+
+            List<UUID> evacuated = migration.getEvacuatedPlayers();
+            if (migration.wasLoaded() && customWorld.getWorld() == null) {
+                plugin.getWorldManager().loadWorldQueued(customWorld, null).thenAccept(world -> {
+                    if (world == null) {
+                        return;
+                    }
+                    for (UUID uuid : evacuated) {
+                        Player player = Bukkit.getPlayer(uuid);
+                        if (player != null && player.isOnline()) {
+                            plugin.getWorldManager().getTeleportManager().teleportWhenReady(player, customWorld);
+                        }
+                    }
+                });
+            }
+        }
+
+        CompletableFuture<Long> result = results.remove(worldName);
+        if (result != null) {
+            result.completeExceptionally(new IllegalStateException(reason));
+        }
+    }
+
+    /**
+     * Retoma uma migração gravada por uma execução anterior
+     */
+    private void resume(WorldMigration migration) {
+        CustomWorld customWorld = plugin.getWorldManager().getWorldByName(migration.getWorldName());
+        if (customWorld != null) {
+            customWorld.setMigrating(true);
+        }
+
+        if (migration.isReversible()) {
+            rollback(migration, "Servidor reiniciado durante a migração");
+        } else if (migration.getStep() == WorldMigration.Step.COMMITTING) {
+            plugin.getLogger().info("Retomando o commit da migração de " + migration.getWorldName() +
+                    " para " + migration.getTarget());
+            sendCommit(migration);
+        } else {
+            plugin.getLogger().info("Concluindo a migração de " + migration.getWorldName() + " para " + migration.getTarget());
+            finish(migration);
+        }
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        long timeout = Math.max(5, plugin.getConfigManager().getMigrationCommitTimeoutSeconds()) * 1000L;
+        for (WorldMigration migration : migrations.values()) {
+            if (migration.getStep() != WorldMigration.Step.COMMITTING) {
+                continue;
+            }
+
+            // Commits ainda não enviados aguardam o nome deste servidor; os sem resposta são repetidos
+            if (migration.getCommitMessageId() == 0 || now - migration.getCommitSentAt() > timeout) {
+                if (migration.getCommitMessageId() != 0) {
+                    plugin.getLogger().warning("Sem resposta de " + migration.getTarget() + " ao commit de " +
+                            migration.getWorldName() + "; repetindo");
+                }
+                sendCommit(migration);
+            }
+        }
+
+        long interval = Math.max(10, plugin.getConfigManager().getMigrationAutoCheckIntervalSeconds()) * 1000L;
+        if (now - lastAutoCheck >= interval) {
+            lastAutoCheck = now;
+            checkAutoMigration();
+        }
+    }
+
+    /**
+     * Migra o mundo mais custoso deste servidor quando outro servidor de mundos estiver bem menos carregado
+     */
+    private void checkAutoMigration() {
+        if (!plugin.getConfigManager().isMigrationAutoEnabled() || !migrations.isEmpty()) {
+            return;
+        }
+
+        String self = plugin.getMessageOutbox().getServerName();
+        WorldPlacementManager placement = plugin.getWorldPlacementManager();
+        ServerHeartbeatManager heartbeats = plugin.getServerHeartbeatManager();
+        if (self == null || !placement.isWorldsServer(self)) {
+            return;
+        }
+
+        ServerHeartbeat own = heartbeats.getHeartbeat(self);
+        String target = placement.getLeastLoadedServer(null, self);
+        if (own == null || target == null) {
+            return;
+        }
+
+        // Sobrecarregado, qualquer servidor menos carregado serve; senão a diferença precisa compensar a migração
+        double ownScore = placement.getScorer().score(own);
+        double targetScore = placement.getScorer().score(heartbeats.getHeartbeat(target));
+        double gap = ownScore - targetScore;
+        if (gap <= 0 || (!own.isOverloaded() && gap < plugin.getConfigManager().getMigrationAutoMinScoreGap())) {
+            return;
+        }
+
+        CustomWorld candidate = findAutoCandidate();
+        if (candidate == null) {
+            return;
+        }
+
+        plugin.getLogger().info(String.format("Migração automática de %s: %s (pontuação %.2f) -> %s (pontuação %.2f)",
+                candidate.getWorldName(), self, ownScore, target, targetScore));
+        migrate(candidate, target, "auto").exceptionally(error -> {
+            plugin.getLogger().warning("Migração automática de " + candidate.getWorldName() + " não concluída: " +
+                    error.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Escolhe o mundo carregado de maior custo no profiler entre os com poucos jogadores
+     */
+    private CustomWorld findAutoCandidate() {
+        int maxPlayers = plugin.getConfigManager().getMigrationAutoMaxPlayers();
+        CustomWorld best = null;
+        double bestCost = -1;
+
+        for (CustomWorld customWorld : plugin.getWorldManager().getAllWorlds()) {
+            World world = customWorld.getWorld();
+            if (world == null || customWorld.isMigrating() || plugin.getWorldPlacementManager().isRemote(customWorld) ||
+                    world.getPlayers().size() > maxPlayers) {
+                continue;
+            }
+
+            WorldProfiler.WorldStats stats = plugin.getWorldProfiler().getStats(customWorld.getWorldName());
+            double cost = stats != null ? stats.getAverageScore(WorldProfiler.WINDOW_5M) : 0;
+            if (cost > bestCost) {
+                best = customWorld;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    // Destino
+
+    /**
+     * Grava um trecho de arquivo recebido na pasta temporária da migração
+     *
+     * @param message Mensagem MigrationChunk
+     */
+    public void handleChunk(WorldMessage message) {
+        receiver.execute(() -> {
+            try {
+                writeChunk(message);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Falha ao gravar " + message.getFilePath() + " da migração de " +
+                        message.getWorldName(), e);
+
+                // O trecho já foi confirmado: a origem é avisada uma vez e o commit fica recusado
+                String reason = "Falha ao gravar " + message.getFilePath() + ": " + e.getMessage();
+                if (receiveFailures.putIfAbsent(message.getWorldName(), reason) == null) {
+                    runOnMainThread(() -> reply(message, reason));
+                }
+            }
+        });
+    }
+
+    private void writeChunk(WorldMessage message) throws IOException {
+        File staging = getStagingFolder(message.getWorldName(), message.getWorldPath());
+        File output = new File(staging, message.getFilePath());
+
+        // Nenhum caminho pode escapar da pasta temporária
+        if (!output.getCanonicalPath().startsWith(staging.getCanonicalPath() + File.separator)) {
+            throw new IOException("Caminho inválido na migração: " + message.getFilePath());
+        }
+
+        Map<String, long[]> expected = receivedFiles.get(message.getWorldName());
+        if (expected == null) {
+            expected = new HashMap<>();
+            receivedFiles.put(message.getWorldName(), expected);
+        }
+
+        if (message.getFileLength() < 0) {
+            expected.remove(message.getFilePath());
+            Files.deleteIfExists(output.toPath());
+            return;
+        }
+
+        // Um arquivo reenviado só volta a valer quando o seu último trecho chegar
+        if (message.getFileOffset() == 0) {
+            expected.remove(message.getFilePath());
+        }
+
+        File parent = output.getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+
+        byte[] data = message.getData();
+        boolean last = message.getFileOffset() + data.length >= message.getFileLength();
+        try (RandomAccessFile out = new RandomAccessFile(output, "rw")) {
+            out.seek(message.getFileOffset());
+            out.write(data);
+            if (last) {
+                out.setLength(message.getFileLength());
+            }
+        }
+        if (last) {
+            output.setLastModified(message.getLastModified());
+            expected.put(message.getFilePath(), new long[]{message.getFileLength(), message.getChecksum()});
+        }
+    }
+
+    /**
+     * Descarta os arquivos recebidos de uma migração desfeita
+     *
+     * @param message Mensagem MigrationAbort
+     */
+    public void handleAbort(WorldMessage message) {
+        receiver.execute(() -> {
+            receivedFiles.remove(message.getWorldName());
+            receiveFailures.remove(message.getWorldName());
+            try {
+                WorldCreationUtils.deleteDirectory(getStagingFolder(message.getWorldName(), message.getWorldPath()));
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Falha ao descartar os arquivos da migração de " +
+                        message.getWorldName(), e);
+            }
+        });
+    }
+
+    /**
+     * Confere os arquivos recebidos, assume a pasta do mundo e o carrega.
+     * Passa pela thread de gravação para que todos os trechos anteriores já estejam no disco.
+     *
+     * @param message Mensagem MigrationCommit
+     */
+    public void handleCommit(WorldMessage message) {
+        receiver.execute(() -> {
+            String failure;
+            try {
+                failure = takeOver(message);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Falha ao assumir os arquivos de " + message.getWorldName(), e);
+                failure = "Falha ao assumir os arquivos: " + e.getMessage();
+            }
+
+            String reason = failure;
+            runOnMainThread(() -> {
+                if (reason != null) {
+                    reply(message, reason);
+                } else {
+                    loadCommitted(message);
+                }
+            });
+        });
+    }
+
+    /**
+     * Confere cada arquivo recebido pelo tamanho e pelo CRC32 e move a pasta temporária para o armazenamento de mundos
+     *
+     * @return Motivo da recusa, ou null se a pasta foi assumida
+     */
+    private String takeOver(WorldMessage message) throws IOException {
+        File staging = getStagingFolder(message.getWorldName(), message.getWorldPath());
+        File storage = getStorageFolder(message.getWorldName(), message.getWorldPath());
+
+        if (!staging.isDirectory()) {
+            // Commit repetido depois de um reinício da origem
+            return new File(storage, "level.dat").exists() ? null : "Nenhum arquivo recebido";
+        }
+
+        List<File> files = new ArrayList<>();
+        collectFiles(staging, files);
+        long totalBytes = 0;
+        for (File received : files) {
+            totalBytes += received.length();
+        }
+        if (files.size() != message.getFileCount() || totalBytes != message.getTotalBytes()) {
+            return "Arquivos incompletos: " + files.size() + "/" + message.getFileCount() + " arquivos, " +
+                    totalBytes + "/" + message.getTotalBytes() + " bytes";
+        }
+        if (!new File(staging, "level.dat").exists()) {
+            return "level.dat ausente";
+        }
+
+        String writeFailure = receiveFailures.get(message.getWorldName());
+        if (writeFailure != null) {
+            return writeFailure;
+        }
+
+        // Sem a lista (servidor reiniciado durante a migração) não há como conferir o conteúdo
+        Map<String, long[]> expected = receivedFiles.get(message.getWorldName());
+        if (expected == null || expected.size() != files.size()) {
+            return "Arquivos recebidos sem conferência: " + (expected != null ? expected.size() : 0) + "/" +
+                    files.size() + " arquivos";
+        }
+
+        String basePath = staging.getAbsolutePath();
+        for (File received : files) {
+            String path = received.getAbsolutePath().substring(basePath.length() + 1).replace(File.separatorChar, '/');
+            long[] file = expected.get(path);
+            if (file == null) {
+                return "Arquivo inesperado: " + path;
+            }
+            if (received.length() != file[0] || checksum(received) != file[1]) {
+                return "Arquivo corrompido: " + path;
+            }
+        }
+
+        // Uma cópia de quando o mundo esteve aqui antes seria carregada no lugar da nova
+        WorldCreationUtils.deleteDirectory(storage);
+        WorldCreationUtils.deleteDirectory(new File(Bukkit.getWorldContainer(), message.getWorldName()));
+        storage.getParentFile().mkdirs();
+        Files.move(staging.toPath(), storage.toPath());
+        receivedFiles.remove(message.getWorldName());
+        return null;
+    }
+
+    private static long checksum(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private void loadCommitted(WorldMessage message) {
+        String worldName = message.getWorldName();
+        CustomWorld customWorld = plugin.getWorldManager().getWorldByName(worldName);
+        if (customWorld == null) {
+            // Mundo criado depois que este servidor iniciou: o registro vem do banco
+            receiver.execute(() -> {
+                CustomWorld found = plugin.getDatabaseManager().getWorld(worldName);
+                runOnMainThread(() -> {
+                    if (found == null) {
+                        returnToStaging(message);
+                        reply(message, "Mundo não encontrado no banco de dados");
+                        return;
+                    }
+                    plugin.getWorldManager().addLoadedWorld(found);
+                    loadCommitted(message);
+                });
+            });
+            return;
+        }
+
+        String previousServer = customWorld.getServerName();
+        customWorld.setServerName(plugin.getMessageOutbox().getServerName());
+        plugin.getWorldManager().loadWorldQueued(customWorld, null).whenComplete((world, error) -> {
+            if (world != null) {
+                plugin.getLogger().info("Mundo " + worldName + " recebido de " + message.getOrigin() + " e carregado");
+                reply(message, null);
+                return;
+            }
+
+            // A origem desfaz a migração e o descarte apaga a pasta devolvida
+            customWorld.setServerName(previousServer);
+            returnToStaging(message);
+            reply(message, "Falha ao carregar o mundo no destino");
+        });
+    }
+
+    private void returnToStaging(WorldMessage message) {
+        receiver.execute(() -> {
+            File staging = getStagingFolder(message.getWorldName(), message.getWorldPath());
+            File storage = getStorageFolder(message.getWorldName(), message.getWorldPath());
+            try {
+                if (storage.isDirectory() && !staging.exists()) {
+                    Files.move(storage.toPath(), staging.toPath());
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Falha ao devolver os arquivos de " + message.getWorldName(), e);
+            }
+        });
+    }
+
+    private void reply(WorldMessage request, String failureReason) {
+        if (request.getMessageId() == 0 || request.getOrigin() == null) {
+            return;
+        }
+
+        sendQuietly(request.getOrigin(), failureReason == null
+                ? WorldMessage.worldReady(request.getMessageId(), request.getWorldName())
+                : WorldMessage.worldFailed(request.getMessageId(), request.getWorldName(), failureReason));
+    }
+
+    // Checkpoints
+
+    /**
+     * Grava as migrações em andamento (ou apaga o arquivo se não houver nenhuma)
+     */
+    private synchronized void saveCheckpoints() {
+        try {
+            if (migrations.isEmpty()) {
+                Files.deleteIfExists(file.toPath());
+                return;
+            }
+
+            YamlConfiguration yaml = new YamlConfiguration();
+            for (WorldMigration migration : migrations.values()) {
+                ConfigurationSection section = yaml.createSection("migrations." + migration.getWorldName());
+                section.set("world-path", migration.getWorldPath());
+                section.set("source", migration.getSource());
+                section.set("target", migration.getTarget());
+                section.set("trigger", migration.getTrigger());
+                section.set("started-at", migration.getStartedAt());
+                section.set("step", migration.getStep().name());
+                section.set("was-loaded", migration.wasLoaded());
+                section.set("file-count", migration.getFileCount());
+                section.set("total-bytes", migration.getTotalBytes());
+
+                List<String> players = new ArrayList<>();
+                for (UUID uuid : migration.getEvacuatedPlayers()) {
+                    players.add(uuid.toString());
+                }
+                section.set("players", players);
+
+                // Tamanho:modificação:caminho, já que caminhos com ponto não servem de chave no YAML
+                List<String> files = new ArrayList<>();
+                Map<String, long[]> synced = migration.getSyncedFiles();
+                synchronized (synced) {
+                    for (Map.Entry<String, long[]> entry : synced.entrySet()) {
+                        files.add(entry.getValue()[0] + ":" + entry.getValue()[1] + ":" + entry.getKey());
+                    }
+                }
+                section.set("files", files);
+            }
+
+            File tempFile = new File(file.getParentFile(), FILE_NAME + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(tempFile)) {
+                out.write(yaml.saveToString().getBytes(StandardCharsets.UTF_8));
+                out.getFD().sync();
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Erro ao gravar " + FILE_NAME, e);
+        }
+    }
+
+    private void load() {
+        if (!file.isFile()) {
+            return;
+        }
+
+        ConfigurationSection root = YamlConfiguration.loadConfiguration(file).getConfigurationSection("migrations");
+        if (root == null) {
+            return;
+        }
+
+        for (String worldName : root.getKeys(false)) {
+            ConfigurationSection section = root.getConfigurationSection(worldName);
+            try {
+                WorldMigration migration = new WorldMigration(worldName, section.getString("world-path", ""),
+                        section.getString("source"), section.getString("target"), section.getString("trigger", "admin"),
+                        section.getLong("started-at"));
+                migration.setStep(WorldMigration.Step.valueOf(section.getString("step")));
+                migration.setWasLoaded(section.getBoolean("was-loaded"));
+                migration.setFileCount(section.getInt("file-count"));
+                migration.setTotalBytes(section.getLong("total-bytes"));
+
+                for (String uuid : section.getStringList("players")) {
+                    migration.getEvacuatedPlayers().add(UUID.fromString(uuid));
+                }
+                for (String entry : section.getStringList("files")) {
+                    String[] parts = entry.split(":", 3);
+                    migration.getSyncedFiles().put(parts[2], new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])});
+                }
+
+                migrations.put(worldName, migration);
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "Migração inválida ignorada em " + FILE_NAME + ": " + worldName, e);
+            }
+        }
+    }
+
+    // Métodos auxiliares
+
+    private String findServer(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (String server : plugin.getWorldPlacementManager().getServers()) {
+            if (server.equalsIgnoreCase(name)) {
+                return server;
+            }
+        }
+        return null;
+    }
+
+    private void sendQuietly(String server, WorldMessage message) {
+        try {
+            plugin.getMessageOutbox().send(server, message, null);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Falha ao enviar " + message + " para " + server, e);
+        }
+    }
+
+    private void runOnMainThread(Runnable runnable) {
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, runnable);
+        }
+    }
+
+    private static File getStorageFolder(String worldName, String worldPath) {
+        return worldPath != null && !worldPath.isEmpty()
+                ? WorldCreationUtils.getWorldDirectoryInPath(worldName, worldPath)
+                : WorldCreationUtils.getWorldDirectory(worldName);
+    }
+
+    /**
+     * Pasta temporária dos arquivos recebidos, ao lado da pasta definitiva do mundo
+     */
+    private static File getStagingFolder(String worldName, String worldPath) throws IOException {
+        File storage = getStorageFolder(worldName, worldPath);
+        File staging = new File(storage.getParentFile(), "." + worldName + ".migration");
+
+        // Nome e pasta vêm de outro servidor: não podem sair da pasta de mundos
+        String basePath = WorldCreationUtils.getWorldsBaseFolder().getCanonicalPath() + File.separator;
+        if (worldName.isEmpty() || !staging.getCanonicalPath().startsWith(basePath)) {
+            throw new IOException("Pasta de migração inválida para " + worldName);
+        }
+        return staging;
+    }
+
+    private static void collectFiles(File folder, List<File> files) {
+        File[] children = folder.listFiles();
+        if (children == null) {
+            return;
+        }
+
+        for (File child : children) {
+            if (child.isDirectory()) {
+                collectFiles(child, files);
+            } else if (!child.getName().equals("session.lock") && !child.getName().equals("uid.dat")) {
+                files.add(child);
+            }
+        }
+    }
+
+    public Collection<WorldMigration> getMigrations() {
+        return migrations.values();
+    }
+
+    public boolean isMigrating(String worldName) {
+        return migrations.containsKey(worldName);
+    }
+
+    public long getCompletedCount() {
+        return completed;
+    }
+
+    public long getRolledBackCount() {
+        return rolledBack;
+    }
+
+    public long getLastUnavailableMillis() {
+        return lastUnavailableMillis;
+    }
+}
@@ -0,0 +1,262 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.models.ServerHeartbeat;
+import com.worldsmanager.utils.ConsistentHashRing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distribuição dos mundos entre os servidores de mundos.
+ *
+ * Um mundo novo vai para o servidor que o anel de hash consistente indica para
+ * o nome interno do mundo. Quando esse servidor enviou heartbeat recente, ele
+ * disputa com os outros servidores com heartbeat recente e não
+ * sobrecarregados, e fica o de menor pontuação do PlacementScorer. Um servidor
+ * sem heartbeat recente não é tratado como indisponível: com o transporte
+ * bungee os heartbeats só circulam com jogadores online, então a falta deles
+ * não diz nada sobre a carga, e o servidor continua recebendo a sua parte do
+ * anel. O servidor escolhido fica salvo no banco (coluna server_name). A
+ * partir daí o mundo pertence a esse servidor mesmo que a lista mude: só uma
+ * migração o move. Mundos criados antes da distribuição, sem servidor salvo,
+ * pertencem ao cross-server.worlds-server, onde sempre estiveram.
+ *
+ * Como o anel só redistribui cerca de 1/N dos nomes quando um servidor entra
+ * na lista, getMisplacedWorlds() mostra quantos mundos teriam de ser movidos
+ * para seguir a distribuição atual.
+ */
+public class WorldPlacementManager {
+
+    // Pontos de cada servidor no anel; com 512 cada servidor recebe a média de mundos com ~10% de desvio
+    private static final int VIRTUAL_NODES = 512;
+
+    private final WorldsManager plugin;
+    private volatile ConsistentHashRing ring;
+    private volatile PlacementScorer scorer = PlacementScorer.DEFAULT;
+
+    public WorldPlacementManager(WorldsManager plugin) {
+        this.plugin = plugin;
+        loadServers();
+    }
+
+    /**
+     * Monta o anel com os servidores do config.yml
+     */
+    public void loadServers() {
+        List<String> servers = plugin.getConfigManager().getWorldsServers();
+        if (servers == null || servers.isEmpty()) {
+            servers = Collections.singletonList(getDefaultServer());
+        }
+
+        ring = new ConsistentHashRing(servers, VIRTUAL_NODES);
+        if (ring.getNodes().size() > 1) {
+            plugin.getLogger().info("Mundos distribuídos entre " + ring.getNodes().size() + " servidores: " +
+                    String.join(", ", ring.getNodes()));
+        }
+    }
+
+    /**
+     * Define o servidor de um mundo novo, se ele ainda não tiver um
+     *
+     * @param world Mundo ainda não salvo
+     * @return Servidor do mundo
+     */
+    public String assign(CustomWorld world) {
+        if (world.getServerName() == null) {
+            world.setServerName(chooseServer(world.getWorldName()));
+        }
+        return world.getServerName();
+    }
+
+    /**
+     * Escolhe o servidor menos carregado para um novo mundo
+     *
+     * @param worldName Nome interno do mundo
+     * @return Servidor de menor pontuação entre os saudáveis, ou o indicado pelo anel
+     */
+    public String chooseServer(String worldName) {
+        String planned = getPlannedServer(worldName);
+        ServerHeartbeatManager heartbeats = plugin.getServerHeartbeatManager();
+        if (ring.getNodes().size() < 2 || heartbeats == null) {
+            return planned;
+        }
+
+        // Sem heartbeat do servidor do anel não há como saber se outro está mais livre
+        ServerHeartbeat plannedHeartbeat = heartbeats.getHeartbeat(planned);
+        if (plannedHeartbeat == null) {
+            return planned;
+        }
+
+        // Em um empate fica o servidor do anel
+        String best = getLeastLoadedServer(planned, null);
+        if (best != null) {
+            return best;
+        }
+
+        // O servidor do anel está sobrecarregado: um servidor sem heartbeat recente ainda pode receber o mundo
+        for (String server : ring.getNodes()) {
+            if (heartbeats.getHeartbeat(server) == null) {
+                plugin.getLogger().info("Servidor " + planned + " sobrecarregado; criando " + worldName +
+                        " em " + server + ", que não enviou heartbeat recente");
+                return server;
+            }
+        }
+        plugin.getLogger().warning("Todos os servidores de mundos estão sobrecarregados; " +
+                "usando o servidor do anel para " + worldName);
+        return planned;
+    }
+
+    /**
+     * Obtém o servidor de menor pontuação entre os que têm heartbeat recente e não estão sobrecarregados.
+     * Servidores sem heartbeat recente ficam de fora, já que não há carga para comparar.
+     *
+     * @param preferred Servidor que fica com a escolha em um empate (pode ser null)
+     * @param exclude Servidor fora da escolha (pode ser null)
+     * @return Servidor escolhido ou null se nenhum estiver disponível
+     */
+    public String getLeastLoadedServer(String preferred, String exclude) {
+        ServerHeartbeatManager heartbeats = plugin.getServerHeartbeatManager();
+        if (heartbeats == null) {
+            return null;
+        }
+
+        String best = null;
+        double bestScore = 0;
+        for (String server : ring.getNodes()) {
+            ServerHeartbeat heartbeat = heartbeats.getHeartbeat(server);
+            if (heartbeat == null || heartbeat.isOverloaded() || server.equalsIgnoreCase(exclude)) {
+                continue;
+            }
+
+            double score = scorer.score(heartbeat);
+            if (best == null || score < bestScore || (score == bestScore && server.equalsIgnoreCase(preferred))) {
+                best = server;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Obtém o servidor onde o mundo está
+     *
+     * @param world Mundo
+     * @return Servidor salvo no mundo, ou o worlds-server para mundos sem servidor salvo
+     */
+    public String getServerFor(CustomWorld world) {
+        String serverName = world.getServerName();
+        return serverName != null && !serverName.isEmpty() ? serverName : getDefaultServer();
+    }
+
+    /**
+     * Obtém o servidor onde um mundo está, pelo nome interno
+     *
+     * @param worldName Nome interno do mundo
+     * @return Servidor do mundo, ou o worlds-server se o mundo não for conhecido
+     */
+    public String getServerFor(String worldName) {
+        CustomWorld world = plugin.getWorldManager() != null ? plugin.getWorldManager().getWorldByName(worldName) : null;
+        return world != null ? getServerFor(world) : getDefaultServer();
+    }
+
+    /**
+     * Obtém o servidor que a distribuição atual escolhe para um nome de mundo
+     *
+     * @param worldName Nome interno do mundo
+     * @return Servidor indicado pelo anel
+     */
+    public String getPlannedServer(String worldName) {
+        String server = ring.getNode(worldName);
+        return server != null ? server : getDefaultServer();
+    }
+
+    /**
+     * Verifica se um servidor faz parte da distribuição
+     *
+     * @param server Nome do servidor
+     * @return true se o servidor estiver em cross-server.worlds-servers
+     */
+    public boolean isWorldsServer(String server) {
+        return ring.contains(server);
+    }
+
+    /**
+     * Verifica se um mundo sabidamente pertence a outro servidor
+     *
+     * @param world Mundo
+     * @return true no modo cross-server se o mundo não estiver neste servidor; false se o nome
+     *         deste servidor ainda não for conhecido
+     */
+    public boolean isRemote(CustomWorld world) {
+        if (!plugin.getConfigManager().isCrossServerMode() || plugin.getMessageOutbox() == null) {
+            return false;
+        }
+        String self = plugin.getMessageOutbox().getServerName();
+        return self != null && !self.equalsIgnoreCase(getServerFor(world));
+    }
+
+    /**
+     * Obtém os mundos que estão em um servidor diferente do escolhido pela distribuição atual
+     *
+     * @return Mundos fora do lugar
+     */
+    public List<CustomWorld> getMisplacedWorlds() {
+        List<CustomWorld> misplaced = new ArrayList<>();
+        for (CustomWorld world : plugin.getWorldManager().getAllWorlds()) {
+            if (!getServerFor(world).equalsIgnoreCase(getPlannedServer(world.getWorldName()))) {
+                misplaced.add(world);
+            }
+        }
+        return misplaced;
+    }
+
+    /**
+     * Conta os mundos de cada servidor, incluindo servidores que saíram da lista
+     *
+     * @return Quantidade de mundos por servidor
+     */
+    public Map<String, Integer> countWorldsByServer() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String server : ring.getNodes()) {
+            counts.put(server, 0);
+        }
+        for (CustomWorld world : plugin.getWorldManager().getAllWorlds()) {
+            String server = getServerFor(world);
+            String key = server;
+            for (String existing : counts.keySet()) {
+                if (existing.equalsIgnoreCase(server)) {
+                    key = existing;
+                    break;
+                }
+            }
+            counts.merge(key, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    public List<String> getServers() {
+        return ring.getNodes();
+    }
+
+    public PlacementScorer getScorer() {
+        return scorer;
+    }
+
+    /**
+     * Define a função de pontuação usada na escolha do servidor de novos mundos
+     *
+     * @param scorer Função de pontuação (null restaura a padrão)
+     */
+    public void setScorer(PlacementScorer scorer) {
+        this.scorer = scorer != null ? scorer : PlacementScorer.DEFAULT;
+    }
+
+    private String getDefaultServer() {
+        return plugin.getConfigManager().getWorldsServerName();
+    }
+}
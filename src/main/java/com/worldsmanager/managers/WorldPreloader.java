@@ -0,0 +1,378 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.CustomWorld;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Pré-carregamento dos mundos com mais chance de serem visitados.
+ *
+ * Cada mundo tem uma pontuação de popularidade que sobe a cada visita e cai
+ * pela metade a cada preload.half-life-hours. Cada servidor grava no banco só
+ * as visitas que recebeu desde a última gravação, somadas à pontuação gravada,
+ * e relê a pontuação de toda a rede em seguida.
+ * Periodicamente os mundos são ordenados pela pontuação somada a bônus por
+ * dono e jogadores confiáveis online na rede (PlayerList do BungeeCord no modo
+ * cross-server), e os primeiros ainda não carregados entram na fila de
+ * carregamento como pedidos do sistema, respeitando a admissão e o orçamento
+ * por tick da fila e o controle de memória.
+ */
+public class WorldPreloader implements PluginMessageListener {
+
+    private static final String BUNGEE_CHANNEL = "BungeeCord";
+
+    private static final double VISIT_WEIGHT = 1.0;
+    private static final double ONLINE_OWNER_BONUS = 5.0;
+    private static final double ONLINE_TRUSTED_BONUS = 2.0;
+    private static final int MAX_TRUSTED_BONUSES = 3;
+
+    private final WorldsManager plugin;
+
+    // Pontuação por ID do mundo; mundos ainda sem ID não são pontuados
+    private Map<Integer, Double> scores = new HashMap<>();
+
+    // Visitas recebidas por este servidor ainda não gravadas no banco
+    private Map<Integer, Double> pendingVisits = new HashMap<>();
+
+    // Nomes (em minúsculas) dos jogadores online na rede, segundo o último PlayerList
+    private Set<String> networkPlayers = Collections.emptySet();
+
+    // Mundos do topo do ranking na última rodada, mantidos carregados (em repouso) enquanto vazios
+    private Set<String> preferredWorlds = Collections.emptySet();
+
+    private long lastDecay = System.currentTimeMillis();
+    private BukkitTask task;
+    private int hits;
+    private int misses;
+    private int preloaded;
+
+    public WorldPreloader(WorldsManager plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Carrega as pontuações salvas e agenda o ciclo de pré-carregamento
+     */
+    public void start() {
+        if (task != null || !plugin.getConfigManager().isPreloadEnabled()) {
+            return;
+        }
+
+        if (plugin.getConfigManager().isCrossServerMode()) {
+            plugin.getServer().getMessenger().registerIncomingPluginChannel(plugin, BUNGEE_CHANNEL, this);
+        }
+
+        long halfLife = getHalfLifeMillis();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Map<Integer, Double> saved = plugin.getDatabaseManager().getPopularityScores(halfLife);
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                for (Map.Entry<Integer, Double> entry : saved.entrySet()) {
+                    scores.merge(entry.getKey(), entry.getValue(), Double::sum);
+                }
+                lastDecay = System.currentTimeMillis();
+                plugin.getLogger().info("Popularidade carregada para " + saved.size() + " mundos");
+            });
+        });
+
+        // A primeira rodada espera o PlayerList pedido na rodada anterior e a carga inicial dos mundos
+        long intervalTicks = Math.max(10, plugin.getConfigManager().getPreloadIntervalSeconds()) * 20L;
+        requestNetworkPlayers();
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::run, 20L * 30, intervalTicks);
+    }
+
+    /**
+     * Interrompe o ciclo e grava as visitas pendentes
+     *
+     * @param async true para salvar em outra thread
+     */
+    public void shutdown(boolean async) {
+        if (task == null) {
+            return;
+        }
+
+        task.cancel();
+        task = null;
+        plugin.getServer().getMessenger().unregisterIncomingPluginChannel(plugin, BUNGEE_CHANNEL, this);
+
+        Map<Integer, Double> visits = pendingVisits;
+        pendingVisits = new HashMap<>();
+        long now = System.currentTimeMillis();
+        long halfLife = getHalfLifeMillis();
+        if (async) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin,
+                    () -> plugin.getDatabaseManager().addPopularityScores(visits, now, halfLife));
+        } else {
+            plugin.getDatabaseManager().addPopularityScores(visits, now, halfLife);
+        }
+    }
+
+    /**
+     * Registra a chegada de um jogador a um mundo gerenciado
+     *
+     * @param customWorld Mundo visitado
+     * @param wasLoaded true se o mundo já estava carregado na chegada
+     */
+    public void recordVisit(CustomWorld customWorld, boolean wasLoaded) {
+        if (wasLoaded) {
+            hits++;
+        } else {
+            misses++;
+        }
+
+        if (customWorld.getId() != -1) {
+            scores.merge(customWorld.getId(), VISIT_WEIGHT, Double::sum);
+            pendingVisits.merge(customWorld.getId(), VISIT_WEIGHT, Double::sum);
+        }
+    }
+
+    private void run() {
+        decay();
+        preloadTopWorlds();
+        requestNetworkPlayers();
+
+        // Grava as visitas a cada rodada e relê a pontuação somada pelos outros servidores
+        Map<Integer, Double> visits = pendingVisits;
+        pendingVisits = new HashMap<>();
+        long now = System.currentTimeMillis();
+        long halfLife = getHalfLifeMillis();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            plugin.getDatabaseManager().addPopularityScores(visits, now, halfLife);
+            Map<Integer, Double> saved = plugin.getDatabaseManager().getPopularityScores(halfLife);
+            if (saved.isEmpty() || !plugin.isEnabled()) {
+                return;
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                // Visitas recebidas durante a leitura ainda não estão no banco
+                for (Map.Entry<Integer, Double> entry : pendingVisits.entrySet()) {
+                    saved.merge(entry.getKey(), entry.getValue(), Double::sum);
+                }
+                scores = saved;
+                lastDecay = System.currentTimeMillis();
+            });
+        });
+    }
+
+    private void decay() {
+        long now = System.currentTimeMillis();
+        double factor = Math.pow(0.5, (double) (now - lastDecay) / getHalfLifeMillis());
+        lastDecay = now;
+
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            entry.setValue(entry.getValue() * factor);
+        }
+    }
+
+    private void preloadTopWorlds() {
+        MemoryGovernor memoryGovernor = plugin.getMemoryGovernor();
+        if (memoryGovernor != null && memoryGovernor.getLevel() != MemoryGovernor.NORMAL) {
+            preferredWorlds = Collections.emptySet();
+            return;
+        }
+
+        // Pré-carregamento só ocupa a fila quando nenhum jogador está esperando
+        WorldLoadScheduler scheduler = plugin.getWorldLoadScheduler();
+        if (scheduler.getQueuedCount() > 0 || scheduler.getInFlightCount() > 0) {
+            return;
+        }
+
+        List<CustomWorld> ranking = getRanking();
+        int limit = Math.max(0, plugin.getConfigManager().getPreloadTopWorlds());
+        int submitted = 0;
+        Set<String> preferred = new HashSet<>();
+
+        for (int i = 0; i < ranking.size() && i < limit; i++) {
+            CustomWorld customWorld = ranking.get(i);
+            if (getRankScore(customWorld) <= 0) {
+                break;
+            }
+
+            preferred.add(customWorld.getWorldName());
+            if (customWorld.isLoaded()) {
+                continue;
+            }
+
+            submitted++;
+            plugin.getWorldManager().loadWorldQueued(customWorld, WorldLoadScheduler.SYSTEM_REQUESTER)
+                    .whenComplete((world, error) -> {
+                        if (world != null) {
+                            preloaded++;
+                        }
+                    });
+        }
+
+        preferredWorlds = preferred;
+
+        if (submitted > 0) {
+            plugin.getLogger().info("Pré-carregando " + submitted + " mundos populares");
+        }
+    }
+
+    /**
+     * Verifica se um mundo está entre os mantidos pré-carregados
+     *
+     * @param customWorld Mundo
+     * @return true se o mundo estava no topo do ranking na última rodada
+     */
+    public boolean isPreferred(CustomWorld customWorld) {
+        return preferredWorlds.contains(customWorld.getWorldName());
+    }
+
+    /**
+     * Ordena os mundos gerenciados pela chance de serem visitados
+     *
+     * @return Mundos do mais para o menos provável
+     */
+    public List<CustomWorld> getRanking() {
+        Set<String> online = networkPlayers;
+        Map<CustomWorld, Double> rankScores = new HashMap<>();
+        for (CustomWorld customWorld : plugin.getWorldManager().getAllWorlds()) {
+            // Mundos de outros servidores de mundos não são carregados aqui
+            if (plugin.getWorldPlacementManager().isRemote(customWorld)) {
+                continue;
+            }
+            rankScores.put(customWorld, getRankScore(customWorld, online));
+        }
+
+        List<CustomWorld> ranking = new ArrayList<>(rankScores.keySet());
+        ranking.sort((a, b) -> Double.compare(rankScores.get(b), rankScores.get(a)));
+        return ranking;
+    }
+
+    /**
+     * Calcula a pontuação de ranking de um mundo
+     *
+     * @param customWorld Mundo
+     * @return Popularidade somada aos bônus de jogadores online
+     */
+    public double getRankScore(CustomWorld customWorld) {
+        return getRankScore(customWorld, networkPlayers);
+    }
+
+    private double getRankScore(CustomWorld customWorld, Set<String> online) {
+        double score = getPopularity(customWorld);
+
+        if (isOnline(customWorld.getOwnerUUID(), online)) {
+            score += ONLINE_OWNER_BONUS;
+        }
+
+        int trustedOnline = 0;
+        for (UUID trusted : customWorld.getTrustedPlayers()) {
+            if (trustedOnline >= MAX_TRUSTED_BONUSES) {
+                break;
+            }
+            if (isOnline(trusted, online)) {
+                trustedOnline++;
+            }
+        }
+        return score + trustedOnline * ONLINE_TRUSTED_BONUS;
+    }
+
+    /**
+     * Obtém a popularidade de um mundo
+     *
+     * @param customWorld Mundo
+     * @return Pontuação de popularidade
+     */
+    public double getPopularity(CustomWorld customWorld) {
+        Double score = scores.get(customWorld.getId());
+        return score != null ? score : 0.0;
+    }
+
+    private boolean isOnline(UUID playerUUID, Set<String> online) {
+        if (Bukkit.getPlayer(playerUUID) != null) {
+            return true;
+        }
+
+        // Jogadores em outros servidores da rede são comparados pelo nome em cache
+        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerUUID);
+        return offlinePlayer.getName() != null && online.contains(offlinePlayer.getName().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Pede ao BungeeCord a lista de jogadores da rede, usando qualquer jogador online como portador
+     */
+    private void requestNetworkPlayers() {
+        if (!plugin.getConfigManager().isCrossServerMode()) {
+            return;
+        }
+
+        Player carrier = null;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            carrier = player;
+            break;
+        }
+        if (carrier == null) {
+            return;
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF("PlayerList");
+            out.writeUTF("ALL");
+            carrier.sendPluginMessage(plugin, BUNGEE_CHANNEL, bytes.toByteArray());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Falha ao pedir a lista de jogadores da rede", e);
+        }
+    }
+
+    @Override
+    public void onPluginMessageReceived(String channel, Player player, byte[] message) {
+        if (!channel.equals(BUNGEE_CHANNEL)) {
+            return;
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(message));
+            if (!in.readUTF().equals("PlayerList") || !in.readUTF().equals("ALL")) {
+                return;
+            }
+
+            Set<String> names = new HashSet<>();
+            for (String name : in.readUTF().split(", ")) {
+                if (!name.isEmpty()) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+            networkPlayers = names;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.FINE, "Resposta PlayerList inválida", e);
+        }
+    }
+
+    private long getHalfLifeMillis() {
+        return Math.max(1, plugin.getConfigManager().getPreloadHalfLifeHours()) * 3600000L;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getPreloadedCount() {
+        return preloaded;
+    }
+}
@@ -0,0 +1,384 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.utils.ServerMetrics;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Profiler por amostragem do custo dos mundos.
+ *
+ * A cada tick no máximo um mundo é amostrado (entidades, tile entities e
+ * chunks carregados), de forma que o profiler custe bem menos de 0,5 ms por
+ * tick. O servidor não informa o tempo de tick por mundo, então o custo de
+ * cada mundo é estimado por um score ponderado e o tempo de tick do servidor
+ * (quando disponível, no Paper) é dividido proporcionalmente a esse score.
+ */
+public class WorldProfiler {
+
+    public static final long WINDOW_1M = 60_000L;
+    public static final long WINDOW_5M = 300_000L;
+    public static final long WINDOW_15M = 900_000L;
+
+    // Pesos do score de custo
+    private static final double ENTITY_WEIGHT = 1.0;
+    private static final double TILE_ENTITY_WEIGHT = 0.5;
+    private static final double CHUNK_WEIGHT = 0.2;
+
+    private static final int WORLD_LIST_REFRESH_TICKS = 20;
+    private static final int MAX_SAMPLES = 360;
+
+    // Contadores baratos do Paper; no Spigot é preciso montar listas
+    private static final Method GET_ENTITY_COUNT = findWorldMethod("getEntityCount");
+    private static final Method GET_TILE_ENTITY_COUNT = findWorldMethod("getTileEntityCount");
+    private static final Method GET_CHUNK_COUNT = findWorldMethod("getChunkCount");
+
+    private final WorldsManager plugin;
+    private final ServerMetrics serverMetrics = new ServerMetrics();
+    private final Map<String, WorldStats> stats = new HashMap<>();
+
+    private List<World> worlds = new ArrayList<>();
+    private int cursor;
+    private long ticks;
+    private double averageSelfNanos;
+    private BukkitTask tickTask;
+
+    public WorldProfiler(WorldsManager plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Histórico de amostras de um mundo em um buffer circular
+     */
+    public static class WorldStats {
+        private final String worldName;
+        private final long[] times;
+        private final int[] entities;
+        private final int[] tileEntities;
+        private final int[] chunks;
+        private int head;
+        private int count;
+        private boolean managed;
+        private long lastSample;
+
+        private WorldStats(String worldName, int capacity) {
+            this.worldName = worldName;
+            this.times = new long[capacity];
+            this.entities = new int[capacity];
+            this.tileEntities = new int[capacity];
+            this.chunks = new int[capacity];
+        }
+
+        private void add(long time, int entityCount, int tileEntityCount, int chunkCount) {
+            times[head] = time;
+            entities[head] = entityCount;
+            tileEntities[head] = tileEntityCount;
+            chunks[head] = chunkCount;
+            head = (head + 1) % times.length;
+            if (count < times.length) {
+                count++;
+            }
+            lastSample = time;
+        }
+
+        private int latestIndex() {
+            return (head - 1 + times.length) % times.length;
+        }
+
+        /**
+         * Calcula o score médio de custo dentro de uma janela
+         *
+         * @param windowMillis Tamanho da janela
+         * @return Score médio (0 se não houver amostras na janela)
+         */
+        public double getAverageScore(long windowMillis) {
+            long since = System.currentTimeMillis() - windowMillis;
+            double total = 0;
+            int samples = 0;
+            for (int i = 0, index = latestIndex(); i < count; i++, index = (index - 1 + times.length) % times.length) {
+                if (times[index] < since) {
+                    break;
+                }
+                total += score(entities[index], tileEntities[index], chunks[index]);
+                samples++;
+            }
+            return samples > 0 ? total / samples : 0;
+        }
+
+        public String getWorldName() {
+            return worldName;
+        }
+
+        public boolean isManaged() {
+            return managed;
+        }
+
+        public int getLatestEntities() {
+            return count > 0 ? entities[latestIndex()] : 0;
+        }
+
+        public int getLatestTileEntities() {
+            return count > 0 ? tileEntities[latestIndex()] : 0;
+        }
+
+        public int getLatestChunks() {
+            return count > 0 ? chunks[latestIndex()] : 0;
+        }
+
+        public long getLastSample() {
+            return lastSample;
+        }
+    }
+
+    /**
+     * Inicia a amostragem
+     */
+    public void start() {
+        if (tickTask == null) {
+            tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Encerra a amostragem
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    private void tick() {
+        serverMetrics.onTick();
+        if (!plugin.getConfigManager().isProfilerEnabled()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        ticks++;
+
+        if (ticks % WORLD_LIST_REFRESH_TICKS == 1) {
+            refreshWorlds();
+        }
+
+        if (!worlds.isEmpty()) {
+            cursor = (cursor + 1) % worlds.size();
+            World world = worlds.get(cursor);
+            WorldStats worldStats = stats.get(world.getName());
+            long now = System.currentTimeMillis();
+            long intervalMillis = plugin.getConfigManager().getProfilerSampleIntervalSeconds() * 1000L;
+
+            if (worldStats != null && now - worldStats.lastSample >= intervalMillis) {
+                sample(world, worldStats, now);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        averageSelfNanos += (elapsed - averageSelfNanos) * 0.05;
+    }
+
+    private void refreshWorlds() {
+        worlds = Bukkit.getWorlds();
+
+        int capacity = Math.max(2, Math.min(MAX_SAMPLES, plugin.getConfigManager().getProfilerHistoryMinutes() * 60 /
+                Math.max(1, plugin.getConfigManager().getProfilerSampleIntervalSeconds()) + 1));
+
+        Set<String> loaded = new HashSet<>();
+        for (World world : worlds) {
+            loaded.add(world.getName());
+            WorldStats worldStats = stats.get(world.getName());
+            if (worldStats == null || worldStats.times.length != capacity) {
+                worldStats = new WorldStats(world.getName(), capacity);
+                stats.put(world.getName(), worldStats);
+            }
+            worldStats.managed = plugin.getWorldManager().worldExists(world.getName());
+        }
+
+        // Mundos descarregados saem do ranking
+        stats.keySet().retainAll(loaded);
+    }
+
+    private void sample(World world, WorldStats worldStats, long now) {
+        int entityCount = countInt(GET_ENTITY_COUNT, world);
+        if (entityCount < 0) {
+            entityCount = world.getEntities().size();
+        }
+
+        int chunkCount = countInt(GET_CHUNK_COUNT, world);
+        if (chunkCount < 0) {
+            chunkCount = world.getLoadedChunks().length;
+        }
+
+        // Sem contador no Spigot; percorrer os chunks custaria mais que o orçamento do profiler
+        int tileEntityCount = Math.max(0, countInt(GET_TILE_ENTITY_COUNT, world));
+
+        worldStats.add(now, entityCount, tileEntityCount, chunkCount);
+    }
+
+    /**
+     * Obtém o ranking dos mundos por custo médio na janela
+     *
+     * @param windowMillis Tamanho da janela
+     * @return Mundos do mais caro para o mais barato
+     */
+    public List<WorldStats> getRanking(long windowMillis) {
+        List<WorldStats> ranking = new ArrayList<>(stats.values());
+        Map<WorldStats, Double> scores = new HashMap<>();
+        for (WorldStats worldStats : ranking) {
+            scores.put(worldStats, worldStats.getAverageScore(windowMillis));
+        }
+        ranking.sort((a, b) -> Double.compare(scores.get(b), scores.get(a)));
+        return ranking;
+    }
+
+    /**
+     * Estima quantos milissegundos de cada tick um mundo consome
+     *
+     * @param worldStats Estatísticas do mundo
+     * @param windowMillis Tamanho da janela
+     * @return Milissegundos estimados ou -1 se o servidor não informar o tempo de tick
+     */
+    public double getEstimatedTickMillis(WorldStats worldStats, long windowMillis) {
+        double mspt = serverMetrics.getAverageTickMillis();
+        if (mspt < 0) {
+            return -1;
+        }
+
+        double total = 0;
+        for (WorldStats other : stats.values()) {
+            total += other.getAverageScore(windowMillis);
+        }
+        return total > 0 ? mspt * worldStats.getAverageScore(windowMillis) / total : 0;
+    }
+
+    /**
+     * Obtém as estatísticas de um mundo
+     *
+     * @param worldName Nome do mundo
+     * @return Estatísticas ou null se o mundo não estiver carregado
+     */
+    public WorldStats getStats(String worldName) {
+        return stats.get(worldName);
+    }
+
+    public ServerMetrics getServerMetrics() {
+        return serverMetrics;
+    }
+
+    /**
+     * Obtém o custo médio do próprio profiler por tick
+     *
+     * @return Microssegundos por tick
+     */
+    public double getAverageSelfMicros() {
+        return averageSelfNanos / 1000.0;
+    }
+
+    /**
+     * Grava o estado atual do profiler em JSON na pasta profiler
+     *
+     * @return CompletableFuture com o arquivo gravado
+     */
+    public CompletableFuture<File> dump() {
+        // Os dados são montados na thread principal e gravados fora dela
+        String json = toJson();
+        File folder = new File(plugin.getDataFolder(), "profiler");
+        File file = new File(folder, "lag-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".json");
+
+        CompletableFuture<File> future = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            if (!folder.exists() && !folder.mkdirs()) {
+                future.completeExceptionally(new IOException("Não foi possível criar a pasta " + folder.getPath()));
+                return;
+            }
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+                writer.write(json);
+                future.complete(file);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Erro ao gravar relatório do profiler", e);
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private String toJson() {
+        StringBuilder json = new StringBuilder(4096);
+        json.append("{\n");
+        json.append("  \"timestamp\": ").append(System.currentTimeMillis()).append(",\n");
+        json.append("  \"tps\": ").append(format(serverMetrics.getTps())).append(",\n");
+        json.append("  \"mspt\": ").append(format(serverMetrics.getAverageTickMillis())).append(",\n");
+        json.append("  \"profilerMicrosPerTick\": ").append(format(getAverageSelfMicros())).append(",\n");
+        json.append("  \"worlds\": [");
+
+        boolean first = true;
+        for (WorldStats worldStats : getRanking(WINDOW_5M)) {
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            json.append("    {\"world\": \"").append(escape(worldStats.worldName)).append('"')
+                    .append(", \"managed\": ").append(worldStats.managed)
+                    .append(", \"entities\": ").append(worldStats.getLatestEntities())
+                    .append(", \"tileEntities\": ").append(worldStats.getLatestTileEntities())
+                    .append(", \"chunks\": ").append(worldStats.getLatestChunks())
+                    .append(", \"score1m\": ").append(format(worldStats.getAverageScore(WINDOW_1M)))
+                    .append(", \"score5m\": ").append(format(worldStats.getAverageScore(WINDOW_5M)))
+                    .append(", \"score15m\": ").append(format(worldStats.getAverageScore(WINDOW_15M)))
+                    .append(", \"estimatedMspt5m\": ").append(format(getEstimatedTickMillis(worldStats, WINDOW_5M)))
+                    .append('}');
+        }
+        json.append("\n  ]\n}\n");
+        return json.toString();
+    }
+
+    private static double score(int entities, int tileEntities, int chunks) {
+        return entities * ENTITY_WEIGHT + tileEntities * TILE_ENTITY_WEIGHT + chunks * CHUNK_WEIGHT;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static int countInt(Method method, World world) {
+        if (method == null) {
+            return -1;
+        }
+        try {
+            return ((Number) method.invoke(world)).intValue();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            return -1;
+        }
+    }
+
+    private static Method findWorldMethod(String name) {
+        try {
+            return World.class.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
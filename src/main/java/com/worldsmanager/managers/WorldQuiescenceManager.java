@@ -0,0 +1,194 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.CustomWorld;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modo de repouso para mundos gerenciados sem jogadores.
+ *
+ * Depois de um período vazio, o mundo deixa de receber random ticks, spawn de
+ * mobs e autosave, e os chunks fora da área do spawn são descarregados. O
+ * mundo continua carregado, então a entrada de um jogador restaura as
+ * configurações na hora. Mundos que ficam em repouso por mais tempo que
+ * performance.unload-unused-worlds são descarregados por completo.
+ */
+public class WorldQuiescenceManager implements Listener {
+
+    // Raio, em chunks, mantido carregado ao redor do spawn
+    private static final int SPAWN_CHUNK_RADIUS = 1;
+
+    private final WorldsManager plugin;
+    private BukkitTask checkTask;
+
+    public WorldQuiescenceManager(WorldsManager plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Inicia as verificações periódicas
+     */
+    public void start() {
+        if (checkTask != null || !plugin.getConfigManager().isQuiescenceEnabled()) {
+            return;
+        }
+
+        long intervalTicks = Math.max(1, plugin.getConfigManager().getQuiescenceCheckIntervalSeconds()) * 20L;
+        checkTask = Bukkit.getScheduler().runTaskTimer(plugin, this::check, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Encerra as verificações e restaura os mundos em repouso
+     */
+    public void shutdown() {
+        if (checkTask != null) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+
+        for (CustomWorld customWorld : plugin.getWorldManager().getAllWorlds()) {
+            if (customWorld.isQuiescent()) {
+                wake(customWorld);
+            }
+            customWorld.setEmptySince(0);
+        }
+    }
+
+    private void check() {
+        long now = System.currentTimeMillis();
+        long graceMillis = Math.max(0, plugin.getConfigManager().getQuiescenceGraceSeconds()) * 1000L;
+        long unloadMillis = Math.max(0, plugin.getConfigManager().getUnloadUnusedWorldsMinutes()) * 60000L;
+
+        // Copia para permitir descarregar mundos durante a iteração
+        List<CustomWorld> worlds = new ArrayList<>(plugin.getWorldManager().getAllWorlds());
+        for (CustomWorld customWorld : worlds) {
+            World world = customWorld.getWorld();
+            if (world == null) {
+                customWorld.setQuiescent(false);
+                customWorld.setEmptySince(0);
+                continue;
+            }
+
+            if (!world.getPlayers().isEmpty()) {
+                customWorld.setEmptySince(0);
+                if (customWorld.isQuiescent()) {
+                    wake(customWorld);
+                }
+                continue;
+            }
+
+            if (customWorld.getEmptySince() == 0) {
+                customWorld.setEmptySince(now);
+                continue;
+            }
+
+            long idle = now - customWorld.getEmptySince();
+            if (!customWorld.isQuiescent()) {
+                if (idle >= graceMillis) {
+                    quiesce(customWorld, world);
+                }
+            } else if (unloadMillis > 0 && idle >= unloadMillis && !isPreloadTarget(customWorld)) {
+                plugin.getLogger().info("Descarregando mundo sem uso há " + (idle / 60000) + " minutos: " + world.getName());
+                customWorld.setQuiescent(false);
+                customWorld.setEmptySince(0);
+                plugin.getWorldManager().unloadWorld(world.getName(), true);
+            }
+        }
+    }
+
+    /**
+     * Mundos mantidos pelo pré-carregamento ficam em repouso em vez de serem descarregados
+     */
+    private boolean isPreloadTarget(CustomWorld customWorld) {
+        WorldPreloader preloader = plugin.getWorldPreloader();
+        return preloader != null && preloader.isPreferred(customWorld);
+    }
+
+    /**
+     * Coloca um mundo vazio em repouso
+     */
+    private void quiesce(CustomWorld customWorld, World world) {
+        // O autosave fica pausado durante o repouso, então grava o estado atual antes
+        world.save();
+
+        customWorld.setQuiescent(true);
+        plugin.getWorldManager().applyRuntimeLimits(customWorld);
+
+        Chunk spawnChunk = world.getSpawnLocation().getChunk();
+        int unloaded = 0;
+        for (Chunk chunk : world.getLoadedChunks()) {
+            if (Math.abs(chunk.getX() - spawnChunk.getX()) <= SPAWN_CHUNK_RADIUS &&
+                    Math.abs(chunk.getZ() - spawnChunk.getZ()) <= SPAWN_CHUNK_RADIUS) {
+                continue;
+            }
+            if (world.unloadChunkRequest(chunk.getX(), chunk.getZ())) {
+                unloaded++;
+            }
+        }
+
+        plugin.getLogger().info("Mundo em repouso: " + world.getName() + " (" + unloaded + " chunks liberados)");
+    }
+
+    /**
+     * Restaura o que o repouso alterou (velocidade de tick, spawn e autosave).
+     * O modo de jogo de quem está chegando não é tocado.
+     *
+     * @param customWorld Mundo a restaurar
+     */
+    public void wake(CustomWorld customWorld) {
+        customWorld.setQuiescent(false);
+        customWorld.setEmptySince(0);
+        if (customWorld.isLoaded()) {
+            plugin.getWorldManager().applyRuntimeLimits(customWorld);
+            plugin.getLogger().info("Mundo saiu do repouso: " + customWorld.getWorldName());
+        }
+    }
+
+    // Eventos
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        // Restaura antes da chegada para que o jogador já encontre o mundo normal
+        if (event.getTo() != null && event.getTo().getWorld() != event.getFrom().getWorld()) {
+            wakeIfQuiescent(event.getTo().getWorld());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        wakeIfQuiescent(event.getPlayer().getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        wakeIfQuiescent(event.getPlayer().getWorld());
+    }
+
+    private void wakeIfQuiescent(World world) {
+        if (world == null) {
+            return;
+        }
+
+        CustomWorld customWorld = plugin.getWorldManager().getWorldByName(world.getName());
+        if (customWorld == null) {
+            return;
+        }
+
+        customWorld.setEmptySince(0);
+        if (customWorld.isQuiescent()) {
+            wake(customWorld);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.messaging.MessageCodec;
+import com.worldsmanager.messaging.WorldMessage;
+import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.models.WorldSettings;
+import org.bukkit.Bukkit;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Coerência do registro de mundos entre os servidores.
+ *
+ * Cada servidor guarda em memória os mundos lidos do banco, e uma mudança
+ * feita em um deles (criação, exclusão, configurações, confiáveis, spawn,
+ * servidor do mundo) não aparecia nos outros até um reload. Depois de gravar
+ * a mudança, quem a fez publica para todos os servidores o nome do mundo, a
+ * versão gravada (worlds.version, incrementada a cada gravação) e as seções
+ * alteradas, sem confirmação.
+ *
+ * Quem recebe ignora versões que já tem, aplica direto as mudanças que cabem
+ * na mensagem (exclusão e troca de servidor) e relê só aquele mundo do banco
+ * nos demais casos. Um aviso perdido é corrigido pela próxima mudança do
+ * mesmo mundo ou por um reload.
+ */
+public class WorldRegistryManager {
+
+    // Seções do registro de um mundo, combinadas em uma máscara
+    public static final int SECTION_INFO = 1; // Nome, ícone e pasta
+    public static final int SECTION_SETTINGS = 1 << 1;
+    public static final int SECTION_TRUST = 1 << 2;
+    public static final int SECTION_SPAWN = 1 << 3;
+    public static final int SECTION_SERVER = 1 << 4;
+    public static final int SECTION_DELETED = 1 << 5;
+    public static final int SECTION_ALL = SECTION_INFO | SECTION_SETTINGS | SECTION_TRUST | SECTION_SPAWN | SECTION_SERVER;
+
+    private final WorldsManager plugin;
+
+    // Mundos sendo relidos do banco; um aviso que chega durante a leitura pede uma nova leitura
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Set<String> stale = ConcurrentHashMap.newKeySet();
+
+    private long published;
+    private long patched;
+    private long refreshed;
+    private long ignored;
+
+    public WorldRegistryManager(WorldsManager plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Avisa os outros servidores de que o registro de um mundo mudou. Deve ser
+     * chamado depois da gravação no banco, que define a versão do mundo; pode
+     * ser chamado de qualquer thread.
+     *
+     * @param customWorld Mundo alterado
+     * @param sections Seções alteradas (SECTION_*)
+     */
+    public void publish(CustomWorld customWorld, int sections) {
+        if (!plugin.getConfigManager().isCrossServerMode() ||
+                plugin.getConfigManager().getMessagingProtocolVersion() < MessageCodec.RELIABLE_VERSION) {
+            return;
+        }
+
+        String worldName = customWorld.getWorldName();
+        long version = (sections & SECTION_DELETED) != 0 ? customWorld.getVersion() + 1 : customWorld.getVersion();
+        String serverName = customWorld.getServerName();
+        if (Bukkit.isPrimaryThread()) {
+            broadcast(worldName, version, sections, serverName);
+        } else if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> broadcast(worldName, version, sections, serverName));
+        }
+    }
+
+    /**
+     * Grava o mundo no banco e avisa os outros servidores
+     *
+     * @param customWorld Mundo alterado
+     * @param sections Seções alteradas (SECTION_*)
+     */
+    public void saveAndPublish(CustomWorld customWorld, int sections) {
+        plugin.getDatabaseManager().saveWorld(customWorld);
+        publish(customWorld, sections);
+    }
+
+    private void broadcast(String worldName, long version, int sections, String serverName) {
+        WorldMessage message = WorldMessage.registryChange(plugin.getMessageOutbox().getServerName(), worldName,
+                version, sections, serverName);
+        try {
+            if (plugin.getOutboundDispatcher().broadcast(message)) {
+                published++;
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.FINE, "Falha ao publicar a mudança de " + worldName, e);
+        }
+    }
+
+    /**
+     * Aplica um aviso de mudança recebido de outro servidor
+     *
+     * @param message Mensagem RegistryChange
+     */
+    public void handleChange(WorldMessage message) {
+        String self = plugin.getMessageOutbox().getServerName();
+        if (message.getOrigin() != null && message.getOrigin().equalsIgnoreCase(self)) {
+            return;
+        }
+
+        String worldName = message.getWorldName();
+        CustomWorld local = plugin.getWorldManager().getWorldByName(worldName);
+
+        if ((message.getSections() & SECTION_DELETED) != 0) {
+            // O servidor que hospeda o mundo exclui os arquivos pela mensagem DeleteWorld
+            if (local != null && !local.isLoaded()) {
+                plugin.getWorldManager().removeLoadedWorld(worldName);
+                invalidateTrusted(local.getTrustedPlayers(), new HashSet<>());
+                patched++;
+            }
+            return;
+        }
+
+        if (local != null && local.getVersion() >= message.getVersion()) {
+            ignored++;
+            return;
+        }
+
+        // Troca de servidor sem outra mudança perdida no meio: a mensagem já traz tudo
+        if (local != null && message.getSections() == SECTION_SERVER && message.getServerName() != null &&
+                message.getVersion() == local.getVersion() + 1) {
+            local.setServerName(message.getServerName());
+            local.setVersion(message.getVersion());
+            patched++;
+            return;
+        }
+
+        refresh(worldName);
+    }
+
+    /**
+     * Relê um mundo do banco fora da thread principal e atualiza a cópia local
+     *
+     * @param worldName Nome do mundo
+     */
+    public void refresh(String worldName) {
+        if (!refreshing.add(worldName)) {
+            stale.add(worldName);
+            return;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            CustomWorld stored = plugin.getDatabaseManager().getWorld(worldName);
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    apply(worldName, stored);
+                    refreshing.remove(worldName);
+                    if (stale.remove(worldName)) {
+                        refresh(worldName);
+                    }
+                });
+            }
+        });
+    }
+
+    private void apply(String worldName, CustomWorld stored) {
+        WorldManager worldManager = plugin.getWorldManager();
+        CustomWorld local = worldManager.getWorldByName(worldName);
+
+        if (stored == null) {
+            // Excluído depois do aviso
+            if (local != null && !local.isLoaded()) {
+                worldManager.removeLoadedWorld(worldName);
+            }
+            return;
+        }
+
+        if (local == null) {
+            worldManager.addLoadedWorld(stored);
+            invalidateTrusted(new HashSet<>(), stored.getTrustedPlayers());
+            refreshed++;
+            return;
+        }
+
+        if (stored.getVersion() <= local.getVersion()) {
+            ignored++;
+            return;
+        }
+
+        Set<UUID> previousTrusted = new HashSet<>(local.getTrustedPlayers());
+        WorldSettings previousSettings = local.getSettings();
+        local.copyPersistedFrom(stored);
+        invalidateTrusted(previousTrusted, local.getTrustedPlayers());
+
+        // Só uma mudança nas configurações é reaplicada, e o modo de jogo dos jogadores só muda junto com o padrão
+        WorldSettings settings = local.getSettings();
+        if (local.isLoaded() && !previousSettings.serialize().equals(settings.serialize())) {
+            worldManager.applyWorldSettings(local, previousSettings.getGameMode() != settings.getGameMode());
+        }
+        refreshed++;
+    }
+
+    /**
+     * Descarta as decisões de proteção dos jogadores que entraram ou saíram da lista de confiáveis
+     */
+    private void invalidateTrusted(Iterable<UUID> before, Iterable<UUID> after) {
+        Set<UUID> changed = new HashSet<>();
+        for (UUID uuid : before) {
+            changed.add(uuid);
+        }
+        for (UUID uuid : after) {
+            if (!changed.remove(uuid)) {
+                changed.add(uuid);
+            }
+        }
+
+        for (UUID uuid : changed) {
+            plugin.getWorldProtectionListener().invalidatePlayer(uuid);
+        }
+    }
+
+    public long getPublishedCount() {
+        return published;
+    }
+
+    public long getPatchedCount() {
+        return patched;
+    }
+
+    public long getRefreshedCount() {
+        return refreshed;
+    }
+
+    public long getIgnoredCount() {
+        return ignored;
+    }
+}
@@ -0,0 +1,162 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.models.ThrottleState;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limitação automática de mundos que excedem o orçamento de tick.
+ *
+ * Usa as medições do WorldProfiler: um mundo que fica acima do orçamento em
+ * verificações consecutivas sobe um nível de limitação (random ticks
+ * reduzidos, spawn pausado, redstone congelada e, por fim, descarregamento
+ * quando vazio). Quando o custo cai abaixo de uma fração do orçamento por
+ * tempo suficiente, o mundo desce um nível. Os limites são aplicados por
+ * applyRuntimeLimits por cima das configurações do dono, sem alterá-las e sem
+ * mexer no modo de jogo dos jogadores. O nível fica guardado no banco, então
+ * um mundo limitado continua limitado depois de descarregado.
+ */
+public class WorldThrottleManager {
+
+    private final WorldsManager plugin;
+    private BukkitTask checkTask;
+
+    public WorldThrottleManager(WorldsManager plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Inicia as verificações periódicas
+     */
+    public void start() {
+        if (checkTask != null || !plugin.getConfigManager().isThrottleEnabled()) {
+            return;
+        }
+
+        long intervalTicks = Math.max(1, plugin.getConfigManager().getThrottleCheckIntervalSeconds()) * 20L;
+        checkTask = Bukkit.getScheduler().runTaskTimer(plugin, this::check, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Encerra as verificações e remove os limites dos mundos carregados.
+     * O nível guardado no banco é mantido para o próximo início.
+     */
+    public void shutdown() {
+        if (checkTask != null) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+
+        for (CustomWorld customWorld : plugin.getWorldManager().getAllWorlds()) {
+            if (customWorld.getThrottleState().isThrottled()) {
+                customWorld.getThrottleState().setLevel(ThrottleState.NONE);
+                plugin.getWorldManager().applyRuntimeLimits(customWorld);
+            }
+        }
+    }
+
+    private void check() {
+        WorldProfiler profiler = plugin.getWorldProfiler();
+        int escalateAfter = Math.max(1, plugin.getConfigManager().getThrottleEscalateAfterChecks());
+        int restoreAfter = Math.max(1, plugin.getConfigManager().getThrottleRestoreAfterChecks());
+        double restoreRatio = plugin.getConfigManager().getThrottleRestoreRatio();
+
+        // Copia para permitir descarregar mundos durante a iteração
+        List<CustomWorld> worlds = new ArrayList<>(plugin.getWorldManager().getAllWorlds());
+        for (CustomWorld customWorld : worlds) {
+            ThrottleState state = customWorld.getThrottleState();
+            World world = customWorld.getWorld();
+
+            // O nível de um mundo descarregado vale para o próximo carregamento
+            if (world == null) {
+                continue;
+            }
+
+            WorldProfiler.WorldStats stats = profiler.getStats(world.getName());
+            if (stats == null || stats.getLastSample() == 0) {
+                continue;
+            }
+
+            double load = getBudgetUsage(profiler, stats);
+            if (load > 1.0) {
+                if (state.markOverBudget() >= escalateAfter && state.getLevel() < ThrottleState.UNLOAD_PENDING) {
+                    changeLevel(customWorld, world, state.getLevel() + 1, load);
+                }
+            } else if (load < restoreRatio) {
+                if (state.markQuiet() >= restoreAfter && state.isThrottled()) {
+                    changeLevel(customWorld, world, state.getLevel() - 1, load);
+                }
+            } else {
+                state.markSteady();
+            }
+
+            if (state.getLevel() == ThrottleState.UNLOAD_PENDING && world.getPlayers().isEmpty()) {
+                plugin.getLogger().warning("Descarregando mundo limitado e vazio: " + world.getName());
+                // Volta carregado com a redstone congelada e desce de nível se o custo normalizar
+                state.setLevel(ThrottleState.REDSTONE_FROZEN);
+                saveLevel(customWorld);
+                plugin.getWorldManager().unloadWorld(world.getName(), true);
+            }
+        }
+    }
+
+    /**
+     * Calcula a fração do orçamento usada por um mundo no último minuto.
+     * Usa o tempo de tick estimado quando o servidor o informa e o score de custo caso contrário.
+     */
+    private double getBudgetUsage(WorldProfiler profiler, WorldProfiler.WorldStats stats) {
+        double estimatedMillis = profiler.getEstimatedTickMillis(stats, WorldProfiler.WINDOW_1M);
+        if (estimatedMillis >= 0) {
+            return estimatedMillis / Math.max(0.1, plugin.getConfigManager().getThrottleMaxWorldMspt());
+        }
+        return stats.getAverageScore(WorldProfiler.WINDOW_1M) / Math.max(1, plugin.getConfigManager().getThrottleMaxWorldScore());
+    }
+
+    private void changeLevel(CustomWorld customWorld, World world, int level, double load) {
+        ThrottleState state = customWorld.getThrottleState();
+        boolean escalating = level > state.getLevel();
+        state.setLevel(level);
+        plugin.getWorldManager().applyRuntimeLimits(customWorld);
+        saveLevel(customWorld);
+
+        plugin.getLogger().info("Limitação do mundo " + world.getName() + " " + (escalating ? "aumentada" : "reduzida") +
+                " para o nível " + level + " (" + ThrottleState.describe(level) + ", uso do orçamento " +
+                String.format("%.0f%%", load * 100) + ")");
+
+        String message;
+        if (escalating) {
+            message = ChatColor.RED + "[Mundo] " + ChatColor.YELLOW + "O mundo " + customWorld.getName() +
+                    " está consumindo muitos recursos do servidor. Limite aplicado: " + ThrottleState.describe(level) + ".";
+            if (level == ThrottleState.UNLOAD_PENDING) {
+                message += " O mundo será descarregado quando ficar vazio.";
+            }
+        } else {
+            message = ChatColor.GREEN + "[Mundo] O consumo do mundo " + customWorld.getName() +
+                    " normalizou. Limite atual: " + ThrottleState.describe(level) + ".";
+        }
+
+        for (Player player : world.getPlayers()) {
+            player.sendMessage(message);
+        }
+
+        Player owner = Bukkit.getPlayer(customWorld.getOwnerUUID());
+        if (owner != null && owner.getWorld() != world) {
+            owner.sendMessage(message);
+        }
+    }
+
+    private void saveLevel(CustomWorld customWorld) {
+        int worldId = customWorld.getId();
+        int level = customWorld.getThrottleState().getLevel();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin,
+                () -> plugin.getDatabaseManager().saveThrottleLevel(worldId, level));
+    }
+}
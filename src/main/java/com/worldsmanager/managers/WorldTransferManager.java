@@ -0,0 +1,490 @@
+package com.worldsmanager.managers;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.models.WorldSettings;
+import com.worldsmanager.utils.IoRateLimiter;
+import com.worldsmanager.utils.WorldCreationUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Gerenciador de exportação e importação de mundos.
+ *
+ * A exportação grava os arquivos do mundo direto em um ZIP, sem cópia
+ * intermediária. A importação extrai o ZIP em paralelo para a pasta de
+ * armazenamento, valida o level.dat e os cabeçalhos das regiões e registra
+ * o novo mundo no banco de dados. Toda leitura e escrita acontece no pool de
+ * I/O limitado, com um limite de taxa por operação.
+ */
+public class WorldTransferManager {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SECTOR_SIZE = 4096;
+
+    private final WorldsManager plugin;
+    private final File exportsFolder;
+    private final File importsFolder;
+    private final ExecutorService ioPool;
+    private final ExecutorService coordinator;
+
+    public WorldTransferManager(WorldsManager plugin) {
+        this.plugin = plugin;
+        this.exportsFolder = new File(plugin.getDataFolder(), "exports");
+        this.importsFolder = new File(plugin.getDataFolder(), "imports");
+
+        int threads = Math.max(1, plugin.getConfigManager().getTransferIoThreads());
+        this.ioPool = Executors.newFixedThreadPool(threads, createThreadFactory("WorldsManager-TransferIO"));
+        // Coordena as importações sem ocupar uma thread do pool de I/O enquanto espera as extrações
+        this.coordinator = Executors.newSingleThreadExecutor(createThreadFactory("WorldsManager-Transfer"));
+
+        if (!exportsFolder.exists()) {
+            exportsFolder.mkdirs();
+        }
+        if (!importsFolder.exists()) {
+            importsFolder.mkdirs();
+        }
+    }
+
+    /**
+     * Encerra os pools de I/O
+     */
+    public void shutdown() {
+        coordinator.shutdown();
+        ioPool.shutdown();
+    }
+
+    public File getExportsFolder() {
+        return exportsFolder;
+    }
+
+    public File getImportsFolder() {
+        return importsFolder;
+    }
+
+    // Exportação
+
+    /**
+     * Exporta um mundo para um arquivo ZIP na pasta exports.
+     * Deve ser chamado na thread principal: o mundo é salvo e o autosave é
+     * pausado até o fim da exportação para que os arquivos não mudem durante a leitura.
+     *
+     * @param customWorld Mundo a ser exportado
+     * @return CompletableFuture com o arquivo gerado
+     */
+    public CompletableFuture<File> exportWorld(CustomWorld customWorld) {
+        String worldName = customWorld.getWorldName();
+
+        World world = customWorld.getWorld();
+        boolean autoSave = false;
+        if (world != null) {
+            autoSave = world.isAutoSave();
+            world.save();
+            world.setAutoSave(false);
+        }
+
+        File sourceFolder = WorldCreationUtils.resolveLiveWorldFolder(worldName, customWorld.getWorldPath());
+        if (sourceFolder == null) {
+            restoreAutoSave(worldName, autoSave);
+            CompletableFuture<File> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IOException("Arquivos do mundo não encontrados: " + worldName));
+            return failed;
+        }
+
+        String fileName = worldName + "-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".zip";
+        File archive = new File(exportsFolder, fileName);
+        final boolean restoreAutoSave = autoSave;
+
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                long bytes = writeArchive(sourceFolder, archive);
+                plugin.getLogger().info("Mundo " + worldName + " exportado para " + archive.getName() + " em " +
+                        (System.currentTimeMillis() - start) + "ms (" + (bytes / 1024) + " KB lidos)");
+                return archive;
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Falha ao exportar mundo " + worldName, e);
+                throw new CompletionException(e);
+            } finally {
+                restoreAutoSave(worldName, restoreAutoSave);
+            }
+        }, ioPool);
+    }
+
+    /**
+     * Grava a pasta do mundo em um ZIP, lendo cada arquivo em blocos
+     *
+     * @return Total de bytes lidos
+     */
+    private long writeArchive(File sourceFolder, File archive) throws IOException, InterruptedException {
+        IoRateLimiter limiter = IoRateLimiter.ofKilobytes(plugin.getConfigManager().getTransferIoLimitKb());
+        File partial = new File(archive.getParentFile(), archive.getName() + ".part");
+        List<File> files = new ArrayList<>();
+        collectFiles(sourceFolder, files);
+
+        String basePath = sourceFolder.getAbsolutePath();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long total = 0;
+
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(partial), BUFFER_SIZE))) {
+            for (File file : files) {
+                String entryName = file.getAbsolutePath().substring(basePath.length() + 1).replace(File.separatorChar, '/');
+                ZipEntry entry = new ZipEntry(entryName);
+                entry.setTime(file.lastModified());
+                zip.putNextEntry(entry);
+
+                try (InputStream in = new FileInputStream(file)) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        limiter.acquire(read);
+                        zip.write(buffer, 0, read);
+                        total += read;
+                    }
+                }
+                zip.closeEntry();
+            }
+        } catch (IOException | InterruptedException e) {
+            partial.delete();
+            throw e;
+        }
+
+        Files.move(partial.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return total;
+    }
+
+    private void restoreAutoSave(String worldName, boolean autoSave) {
+        if (!autoSave) {
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            World world = Bukkit.getWorld(worldName);
+            if (world != null) {
+                world.setAutoSave(true);
+            }
+        });
+    }
+
+    // Importação
+
+    /**
+     * Importa um mundo de um arquivo ZIP como um novo mundo do jogador
+     *
+     * @param archive Arquivo ZIP
+     * @param ownerUUID UUID do novo proprietário
+     * @param displayName Nome de exibição do mundo
+     * @return CompletableFuture com o mundo registrado, completado na thread principal
+     */
+    public CompletableFuture<CustomWorld> importWorld(File archive, UUID ownerUUID, String displayName) {
+        // O nome do dono precisa ser resolvido antes de sair da thread principal
+        OfflinePlayer owner = Bukkit.getOfflinePlayer(ownerUUID);
+        String playerFolder = owner.getName() != null ? owner.getName().toLowerCase() : "unknown";
+
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.currentTimeMillis();
+            String worldName = "wm_" + UUID.randomUUID().toString().substring(0, 8);
+            File targetFolder = WorldCreationUtils.getWorldDirectoryInPath(worldName, playerFolder);
+            File staging = new File(targetFolder.getParentFile(), "." + worldName + ".import");
+
+            try {
+                extractArchive(archive, staging);
+                validateWorldFolder(staging);
+
+                if (!targetFolder.getParentFile().exists()) {
+                    targetFolder.getParentFile().mkdirs();
+                }
+                Files.move(staging.toPath(), targetFolder.toPath());
+
+                CustomWorld customWorld = new CustomWorld(displayName, ownerUUID, worldName, Material.GRASS_BLOCK);
+                customWorld.setSettings(new WorldSettings(plugin.getConfigManager().getDefaultWorldSettings()));
+                customWorld.setWorldPath(playerFolder);
+
+                plugin.getDatabaseManager().saveWorld(customWorld);
+
+                plugin.getLogger().info("Mundo importado de " + archive.getName() + " como " + worldName +
+                        " em " + (System.currentTimeMillis() - start) + "ms");
+                return customWorld;
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Falha ao importar mundo de " + archive.getName(), e);
+                try {
+                    WorldCreationUtils.deleteDirectory(staging);
+                } catch (IOException cleanup) {
+                    plugin.getLogger().warning("Não foi possível remover a pasta temporária: " + staging.getAbsolutePath());
+                }
+                throw new CompletionException(e);
+            }
+        }, coordinator).thenCompose(this::registerImportedWorld);
+    }
+
+    /**
+     * Registra o mundo importado na thread principal, onde a lista de mundos carregados é lida
+     */
+    private CompletableFuture<CustomWorld> registerImportedWorld(CustomWorld customWorld) {
+        CompletableFuture<CustomWorld> registered = new CompletableFuture<>();
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            plugin.getWorldManager().addLoadedWorld(customWorld);
+            plugin.getWorldRegistryManager().publish(customWorld, WorldRegistryManager.SECTION_ALL);
+            registered.complete(customWorld);
+        });
+        return registered;
+    }
+
+    /**
+     * Extrai o ZIP em paralelo no pool de I/O.
+     * Se todo o conteúdo estiver dentro de uma única pasta, ela é removida do caminho.
+     */
+    private void extractArchive(File archive, File destination) throws IOException {
+        long maxBytes = plugin.getConfigManager().getMaxImportSizeMb() * 1024L * 1024L;
+        IoRateLimiter limiter = IoRateLimiter.ofKilobytes(plugin.getConfigManager().getTransferIoLimitKb());
+
+        WorldCreationUtils.deleteDirectory(destination);
+        destination.mkdirs();
+        String destinationPath = destination.getCanonicalPath() + File.separator;
+
+        try (ZipFile zip = new ZipFile(archive)) {
+            List<ZipEntry> entries = new ArrayList<>();
+            Enumeration<? extends ZipEntry> enumeration = zip.entries();
+            while (enumeration.hasMoreElements()) {
+                ZipEntry entry = enumeration.nextElement();
+                if (!entry.isDirectory()) {
+                    entries.add(entry);
+                }
+            }
+
+            String rootPrefix = findRootPrefix(entries);
+            if (rootPrefix == null) {
+                throw new IOException("O arquivo não contém um level.dat");
+            }
+
+            AtomicLong extracted = new AtomicLong();
+            AtomicInteger nextEntry = new AtomicInteger();
+            int workers = Math.max(1, plugin.getConfigManager().getTransferIoThreads());
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+            for (int w = 0; w < workers; w++) {
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int index;
+                    while ((index = nextEntry.getAndIncrement()) < entries.size()) {
+                        ZipEntry entry = entries.get(index);
+                        try {
+                            extractEntry(zip, entry, rootPrefix, destination, destinationPath,
+                                    buffer, limiter, extracted, maxBytes);
+                        } catch (IOException | InterruptedException e) {
+                            // Faz os demais workers pararem no próximo arquivo
+                            nextEntry.set(entries.size());
+                            throw new CompletionException(e);
+                        }
+                    }
+                }, ioPool));
+            }
+
+            try {
+                CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            }
+        }
+    }
+
+    private void extractEntry(ZipFile zip, ZipEntry entry, String rootPrefix, File destination, String destinationPath,
+                              byte[] buffer, IoRateLimiter limiter, AtomicLong extracted, long maxBytes)
+            throws IOException, InterruptedException {
+        String name = entry.getName().replace('\\', '/');
+        if (!name.startsWith(rootPrefix)) {
+            return;
+        }
+        name = name.substring(rootPrefix.length());
+
+        // Arquivos de sessão pertencem ao servidor de origem
+        String baseName = name.substring(name.lastIndexOf('/') + 1);
+        if (name.isEmpty() || baseName.equals("session.lock") || baseName.equals("uid.dat")) {
+            return;
+        }
+
+        File output = new File(destination, name);
+        // Proteção contra "zip slip": nenhuma entrada pode escapar da pasta de destino
+        if (!output.getCanonicalPath().startsWith(destinationPath)) {
+            throw new IOException("Entrada inválida no arquivo: " + entry.getName());
+        }
+
+        File parent = output.getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+
+        try (InputStream in = zip.getInputStream(entry);
+             OutputStream out = new FileOutputStream(output)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (extracted.addAndGet(read) > maxBytes) {
+                    throw new IOException("O mundo importado excede o tamanho máximo de " +
+                            plugin.getConfigManager().getMaxImportSizeMb() + " MB");
+                }
+                limiter.acquire(read);
+                out.write(buffer, 0, read);
+            }
+        }
+
+        if (entry.getTime() > 0) {
+            output.setLastModified(entry.getTime());
+        }
+    }
+
+    /**
+     * Encontra a pasta que contém o level.dat dentro do ZIP
+     *
+     * @return Prefixo a remover dos caminhos ("" para a raiz) ou null se não houver level.dat
+     */
+    private String findRootPrefix(List<ZipEntry> entries) {
+        String best = null;
+        for (ZipEntry entry : entries) {
+            String name = entry.getName().replace('\\', '/');
+            if (name.equals("level.dat")) {
+                return "";
+            }
+            if (name.endsWith("/level.dat")) {
+                String prefix = name.substring(0, name.length() - "level.dat".length());
+                if (best == null || prefix.length() < best.length()) {
+                    best = prefix;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Valida o level.dat e os cabeçalhos dos arquivos de região extraídos
+     */
+    private void validateWorldFolder(File folder) throws IOException {
+        File levelDat = new File(folder, "level.dat");
+        if (!levelDat.exists()) {
+            throw new IOException("level.dat ausente");
+        }
+
+        // level.dat é um NBT comprimido com gzip cuja raiz deve ser um compound (tag 10)
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new FileInputStream(levelDat)))) {
+            if (in.readByte() != 10) {
+                throw new IOException("level.dat inválido: raiz não é um compound NBT");
+            }
+            in.readUTF();
+        } catch (ZipException | EOFException e) {
+            throw new IOException("level.dat corrompido", e);
+        }
+
+        List<File> files = new ArrayList<>();
+        collectFiles(folder, files);
+        for (File file : files) {
+            if (file.getName().endsWith(".mca")) {
+                validateRegionHeader(file);
+            }
+        }
+    }
+
+    private void validateRegionHeader(File file) throws IOException {
+        long length = file.length();
+        if (length == 0) {
+            return;
+        }
+        if (length < SECTOR_SIZE * 2L) {
+            throw new IOException("Arquivo de região truncado: " + file.getName());
+        }
+
+        long sectorsInFile = (length + SECTOR_SIZE - 1) / SECTOR_SIZE;
+        byte[] header = new byte[SECTOR_SIZE];
+        try (RandomAccessFile region = new RandomAccessFile(file, "r")) {
+            region.readFully(header);
+        }
+
+        for (int i = 0; i < SECTOR_SIZE; i += 4) {
+            int location = ((header[i] & 0xFF) << 24) | ((header[i + 1] & 0xFF) << 16)
+                    | ((header[i + 2] & 0xFF) << 8) | (header[i + 3] & 0xFF);
+            if (location == 0) {
+                continue;
+            }
+
+            int offset = location >>> 8;
+            int sectors = location & 0xFF;
+            if (offset < 2 || offset + sectors > sectorsInFile) {
+                throw new IOException("Cabeçalho de região inválido em " + file.getName());
+            }
+        }
+    }
+
+    // Métodos auxiliares
+
+    private void collectFiles(File folder, List<File> files) {
+        File[] children = folder.listFiles();
+        if (children == null) {
+            return;
+        }
+
+        for (File child : children) {
+            if (child.isDirectory()) {
+                collectFiles(child, files);
+            } else if (!child.getName().equals("session.lock") && !child.getName().equals("uid.dat")) {
+                files.add(child);
+            }
+        }
+    }
+
+    private static ThreadFactory createThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        };
+    }
+
+    /**
+     * Envia uma mensagem com prefixo na thread principal
+     *
+     * @param sender Destinatário (pode ser null)
+     * @param message Mensagem com códigos de cor
+     */
+    public void notifySync(CommandSender sender, String message) {
+        if (sender == null) {
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, () -> sender.sendMessage(ChatColor.translateAlternateColorCodes('&',
+                plugin.getLanguageManager().getPrefix() + message)));
+    }
+}
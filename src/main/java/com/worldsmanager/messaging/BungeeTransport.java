@@ -0,0 +1,128 @@
+package com.worldsmanager.messaging;
+
+import com.worldsmanager.WorldsManager;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.io.IOException;
+
+/**
+ * Transporte pelo subcanal Forward do BungeeCord.
+ *
+ * Cada mensagem precisa de um jogador online para ser transportada até o
+ * proxy, e o BungeeCord só a entrega se houver jogadores no servidor de
+ * destino. A recepção continua no WorldsMessageListener, que abre o envelope
+ * Forward e repassa o conteúdo a onForward.
+ */
+public class BungeeTransport implements MessageTransport {
+
+    public static final String NAME = "bungee";
+
+    private static final String BUNGEE_CHANNEL = "BungeeCord";
+    private static final String PLUGIN_CHANNEL = "WorldsManager";
+
+    // Destino do Forward que o BungeeCord entrega a todos os outros servidores
+    private static final String ALL_SERVERS = "ALL";
+
+    private final WorldsManager plugin;
+    private final TransportStats stats = new TransportStats();
+    private Receiver receiver;
+
+    public BungeeTransport(WorldsManager plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void start(Receiver receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void shutdown() {
+        receiver = null;
+    }
+
+    @Override
+    public boolean canSend(String server, Player carrier) {
+        return findCarrier(carrier) != null;
+    }
+
+    @Override
+    public boolean send(String server, byte[] data, int offset, int length, Player carrier) throws IOException {
+        return forward(server, data, offset, length, carrier);
+    }
+
+    @Override
+    public boolean broadcast(byte[] data, int offset, int length) throws IOException {
+        return forward(ALL_SERVERS, data, offset, length, null);
+    }
+
+    private boolean forward(String server, byte[] data, int offset, int length, Player carrier) throws IOException {
+        byte[] frame = MessageCodec.encodeForward(server, PLUGIN_CHANNEL, data, offset, length);
+
+        Player player = findCarrier(carrier);
+        if (player == null) {
+            return false;
+        }
+
+        try {
+            player.sendPluginMessage(plugin, BUNGEE_CHANNEL, frame);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Erro ao enviar mensagem através do jogador " + player.getName() + ": " + e.getMessage());
+            stats.recordFailure();
+
+            Player alternative = null;
+            for (Player online : Bukkit.getOnlinePlayers()) {
+                if (!online.equals(player)) {
+                    alternative = online;
+                    break;
+                }
+            }
+            if (alternative == null) {
+                return false;
+            }
+            alternative.sendPluginMessage(plugin, BUNGEE_CHANNEL, frame);
+        }
+
+        stats.recordSent(frame.length);
+        return true;
+    }
+
+    /**
+     * Entrega o conteúdo de um Forward recebido
+     *
+     * @param data Array com a mensagem
+     * @param offset Início da mensagem no array
+     * @param length Tamanho da mensagem
+     * @return false se o transporte não estiver iniciado
+     */
+    public boolean onForward(byte[] data, int offset, int length) {
+        Receiver current = receiver;
+        if (current == null) {
+            return false;
+        }
+        stats.recordReceived(length);
+        current.receive(data, offset, length);
+        return true;
+    }
+
+    @Override
+    public TransportStats getStats() {
+        return stats;
+    }
+
+    private Player findCarrier(Player preferred) {
+        if (preferred != null && preferred.isOnline()) {
+            return preferred;
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            return player;
+        }
+        return null;
+    }
+}
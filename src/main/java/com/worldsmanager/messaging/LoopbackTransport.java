@@ -0,0 +1,79 @@
+package com.worldsmanager.messaging;
+
+import com.worldsmanager.WorldsManager;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+
+/**
+ * Transporte dentro do próprio processo: toda mensagem enviada, qualquer que
+ * seja o destino, é recebida por este mesmo servidor no tick seguinte.
+ *
+ * Serve para testar o fluxo completo (codificação, lotes, caixa de saída e
+ * confirmações) em um único servidor e para medir o custo do plugin sem a
+ * rede. Com messaging.transport: loopback, o servidor responde aos próprios
+ * pedidos como se fosse o servidor de mundos.
+ */
+public class LoopbackTransport implements MessageTransport {
+
+    public static final String NAME = "loopback";
+
+    private final WorldsManager plugin;
+    private final TransportStats stats = new TransportStats();
+    private Receiver receiver;
+
+    public LoopbackTransport(WorldsManager plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void start(Receiver receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void shutdown() {
+        receiver = null;
+    }
+
+    @Override
+    public boolean canSend(String server, Player carrier) {
+        return receiver != null;
+    }
+
+    @Override
+    public boolean send(String server, byte[] data, int offset, int length, Player carrier) {
+        if (receiver == null) {
+            return false;
+        }
+
+        // Copia, pois o array pode ser um buffer reaproveitado pelo chamador
+        byte[] copy = Arrays.copyOfRange(data, offset, offset + length);
+        stats.recordSent(length);
+
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            Receiver current = receiver;
+            if (current != null) {
+                stats.recordReceived(copy.length);
+                current.receive(copy, 0, copy.length);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public boolean broadcast(byte[] data, int offset, int length) {
+        return send(null, data, offset, length, null);
+    }
+
+    @Override
+    public TransportStats getStats() {
+        return stats;
+    }
+}
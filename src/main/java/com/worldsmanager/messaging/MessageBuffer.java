@@ -0,0 +1,258 @@
+package com.worldsmanager.messaging;
+
+import java.io.UTFDataFormatException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Buffer de escrita crescente para a codificação de mensagens.
+ *
+ * Os buffers são reaproveitados por um pequeno pool: acquire() entrega um
+ * buffer vazio e release() o devolve, de modo que codificar uma mensagem
+ * aloca apenas o array final entregue ao canal.
+ */
+public final class MessageBuffer {
+
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+    private static final int POOL_SIZE = 8;
+
+    private static final ArrayDeque<MessageBuffer> POOL = new ArrayDeque<>();
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    private MessageBuffer() {
+    }
+
+    /**
+     * Obtém um buffer vazio do pool (ou um novo, se o pool estiver vazio)
+     *
+     * @return Buffer pronto para escrita
+     */
+    public static MessageBuffer acquire() {
+        MessageBuffer buffer;
+        synchronized (POOL) {
+            buffer = POOL.pollFirst();
+        }
+        if (buffer == null) {
+            buffer = new MessageBuffer();
+        }
+        buffer.length = 0;
+        return buffer;
+    }
+
+    /**
+     * Devolve o buffer ao pool. O buffer não deve ser usado depois disso.
+     */
+    public void release() {
+        // Buffers que cresceram demais por uma mensagem rara não ficam presos na memória
+        if (data.length > MAX_POOLED_CAPACITY) {
+            return;
+        }
+        synchronized (POOL) {
+            if (POOL.size() < POOL_SIZE) {
+                POOL.addFirst(this);
+            }
+        }
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    public void writeByte(int value) {
+        ensure(1);
+        data[length++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeShort(int value) {
+        ensure(2);
+        data[length++] = (byte) (value >>> 8);
+        data[length++] = (byte) value;
+    }
+
+    public void writeInt(int value) {
+        ensure(4);
+        data[length++] = (byte) (value >>> 24);
+        data[length++] = (byte) (value >>> 16);
+        data[length++] = (byte) (value >>> 8);
+        data[length++] = (byte) value;
+    }
+
+    public void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    /**
+     * Escreve um inteiro sem sinal em 1 a 5 bytes (7 bits por byte)
+     */
+    public void writeVarInt(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Escreve um long sem sinal em 1 a 10 bytes (7 bits por byte)
+     */
+    public void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Escreve um inteiro com sinal em zigue-zague, para que valores negativos pequenos também ocupem poucos bytes
+     */
+    public void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Escreve um UUID em 16 bytes
+     */
+    public void writeUuid(UUID uuid) {
+        writeLong(uuid.getMostSignificantBits());
+        writeLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Escreve um texto em UTF-8 precedido do tamanho em bytes (varint)
+     */
+    public void writeString(String value) {
+        int encodedLength = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                encodedLength++;
+            } else if (c < 0x800) {
+                encodedLength += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    encodedLength += 4;
+                    i++;
+                } else {
+                    encodedLength++;
+                }
+            } else {
+                encodedLength += 3;
+            }
+        }
+
+        writeVarInt(encodedLength);
+        ensure(encodedLength);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                data[length++] = (byte) c;
+            } else if (c < 0x800) {
+                data[length++] = (byte) (0xC0 | (c >> 6));
+                data[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    data[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    data[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    data[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    data[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    // Surrogate isolado não tem representação em UTF-8
+                    data[length++] = '?';
+                }
+            } else {
+                data[length++] = (byte) (0xE0 | (c >> 12));
+                data[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                data[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Escreve um texto no formato de DataOutput.writeUTF, usado pelo BungeeCord e pelo formato legado
+     *
+     * @throws UTFDataFormatException Se o texto codificado passar de 65535 bytes
+     */
+    public void writeUTF(String value) throws UTFDataFormatException {
+        int encodedLength = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x01 && c <= 0x7F) {
+                encodedLength++;
+            } else if (c <= 0x7FF) {
+                encodedLength += 2;
+            } else {
+                encodedLength += 3;
+            }
+        }
+        if (encodedLength > 0xFFFF) {
+            throw new UTFDataFormatException("Texto codificado grande demais: " + encodedLength + " bytes");
+        }
+
+        writeShort(encodedLength);
+        ensure(encodedLength);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x01 && c <= 0x7F) {
+                data[length++] = (byte) c;
+            } else if (c <= 0x7FF) {
+                data[length++] = (byte) (0xC0 | (c >> 6));
+                data[length++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                data[length++] = (byte) (0xE0 | (c >> 12));
+                data[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                data[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    public void writeBytes(byte[] bytes, int offset, int count) {
+        ensure(count);
+        System.arraycopy(bytes, offset, data, length, count);
+        length += count;
+    }
+
+    /**
+     * Sobrescreve dois bytes já escritos, usado para preencher um tamanho reservado antes do conteúdo
+     */
+    public void setShort(int position, int value) {
+        data[position] = (byte) (value >>> 8);
+        data[position + 1] = (byte) value;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Obtém o array interno; apenas os primeiros length() bytes são válidos
+     */
+    public byte[] array() {
+        return data;
+    }
+
+    /**
+     * Copia o conteúdo escrito para um array do tamanho exato
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, length);
+    }
+}
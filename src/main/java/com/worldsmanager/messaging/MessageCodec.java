@@ -0,0 +1,702 @@
+package com.worldsmanager.messaging;
+
+import com.worldsmanager.models.ServerHeartbeat;
+import com.worldsmanager.models.WorldSettings;
+import org.bukkit.GameMode;
+import org.bukkit.Material;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Codificação das mensagens trocadas entre os servidores pelo canal do plugin.
+ *
+ * O formato binário começa com o byte mágico 0xA7, a versão do protocolo e o
+ * tipo numérico da mensagem. UUIDs ocupam 16 bytes, textos e números usam
+ * tamanho variável e as opções booleanas do WorldSettings são empacotadas em
+ * bits. Mensagens no formato legado (ação em texto e campos com writeUTF)
+ * continuam sendo lidas, e messaging.protocol-version escolhe o formato de
+ * envio, para que servidores antigos e novos convivam durante uma atualização.
+ *
+ * Um lote (TYPE_BATCH) leva várias mensagens em um só frame: a quantidade e,
+ * para cada mensagem, o tamanho seguido do tipo e do conteúdo, sem repetir o
+ * cabeçalho.
+ *
+ * A partir da versão 2, o bit mais alto do tipo indica uma mensagem confiável,
+ * seguida do seu ID e do servidor de origem, que o destino confirma com um
+ * TYPE_ACK (ver MessageOutbox).
+ */
+public final class MessageCodec {
+
+    public static final int MAGIC = 0xA7;
+
+    // Versão 0 é o formato legado, sem cabeçalho
+    public static final int LEGACY_VERSION = 0;
+    public static final int PROTOCOL_VERSION = 2;
+
+    // Primeira versão com IDs de mensagem e confirmações
+    public static final int RELIABLE_VERSION = 2;
+
+    public static final int TYPE_CREATE_WORLD = 1;
+    public static final int TYPE_TELEPORT_TO_WORLD = 2;
+    public static final int TYPE_DELETE_WORLD = 3;
+    public static final int TYPE_UPDATE_WORLD_SETTINGS = 4;
+    public static final int TYPE_BATCH = 5;
+    public static final int TYPE_ACK = 6;
+    public static final int TYPE_WORLD_READY = 7;
+    public static final int TYPE_WORLD_FAILED = 8;
+    public static final int TYPE_PING = 9;
+    public static final int TYPE_PONG = 10;
+    public static final int TYPE_HEARTBEAT = 11;
+    public static final int TYPE_MIGRATION_CHUNK = 12;
+    public static final int TYPE_MIGRATION_COMMIT = 13;
+    public static final int TYPE_MIGRATION_ABORT = 14;
+    public static final int TYPE_REGISTRY_CHANGE = 15;
+
+    // Nomes dos tipos, indexados pelo tipo; até TYPE_UPDATE_WORLD_SETTINGS são também as ações do formato legado
+    private static final String[] TYPE_NAMES = {null, "CreateWorld", "TeleportToWorld", "DeleteWorld", "UpdateWorldSettings",
+            "Batch", "Ack", "WorldReady", "WorldFailed", "Ping", "Pong", "Heartbeat", "MigrationChunk", "MigrationCommit",
+            "MigrationAbort", "RegistryChange"};
+
+    // Bit do byte de tipo que indica o cabeçalho de mensagem confiável
+    private static final int RELIABLE_FLAG = 0x80;
+
+    // Ordem fixa para não depender da ordem do enum em versões diferentes do servidor
+    private static final GameMode[] GAME_MODES = {GameMode.SURVIVAL, GameMode.CREATIVE, GameMode.ADVENTURE, GameMode.SPECTATOR};
+
+    private static final int FLAG_PVP = 1;
+    private static final int FLAG_MOB_SPAWNING = 1 << 1;
+    private static final int FLAG_TIME_CYCLE = 1 << 2;
+    private static final int FLAG_WEATHER = 1 << 3;
+    private static final int FLAG_PHYSICS = 1 << 4;
+    private static final int FLAG_REDSTONE = 1 << 5;
+    private static final int FLAG_FLUID_FLOW = 1 << 6;
+    private static final int FLAG_KEEP_INVENTORY = 1 << 7;
+    private static final int FLAG_ANNOUNCE_DEATHS = 1 << 8;
+    private static final int FLAG_FALL_DAMAGE = 1 << 9;
+    private static final int FLAG_HUNGER = 1 << 10;
+    private static final int FLAG_FIRE_SPREAD = 1 << 11;
+    private static final int FLAG_LEAF_DECAY = 1 << 12;
+    private static final int FLAG_BLOCK_UPDATES = 1 << 13;
+
+    private MessageCodec() {
+    }
+
+    /**
+     * Obtém o nome de um tipo de mensagem para logs
+     *
+     * @param type Tipo da mensagem
+     * @return Nome do tipo
+     */
+    public static String getTypeName(int type) {
+        return type > 0 && type < TYPE_NAMES.length ? TYPE_NAMES[type] : "Tipo#" + type;
+    }
+
+    /**
+     * Codifica uma mensagem
+     *
+     * @param message Mensagem
+     * @param version Versão do protocolo (LEGACY_VERSION para o formato legado)
+     * @return Bytes da mensagem
+     * @throws IOException Se a mensagem não puder ser representada na versão pedida
+     */
+    public static byte[] encode(WorldMessage message, int version) throws IOException {
+        MessageBuffer buffer = MessageBuffer.acquire();
+        try {
+            write(buffer, message, version);
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Envolve uma mensagem já codificada no envelope Forward do BungeeCord
+     *
+     * @param server Servidor de destino
+     * @param channel Canal do plugin
+     * @param payload Array com a mensagem codificada
+     * @param offset Início da mensagem no array
+     * @param length Tamanho da mensagem
+     * @return Bytes prontos para o canal BungeeCord
+     * @throws IOException Se a mensagem não couber no canal do plugin
+     */
+    public static byte[] encodeForward(String server, String channel, byte[] payload, int offset, int length) throws IOException {
+        if (length > 0xFFFF) {
+            throw new IOException("Mensagem grande demais para o canal do plugin: " + length + " bytes");
+        }
+
+        MessageBuffer buffer = MessageBuffer.acquire();
+        try {
+            buffer.writeUTF("Forward");
+            buffer.writeUTF(server);
+            buffer.writeUTF(channel);
+            buffer.writeShort(length);
+            buffer.writeBytes(payload, offset, length);
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Escreve uma mensagem em um buffer
+     *
+     * @param buffer Buffer de destino
+     * @param message Mensagem
+     * @param version Versão do protocolo
+     * @throws IOException Se a mensagem não puder ser representada na versão pedida
+     */
+    public static void write(MessageBuffer buffer, WorldMessage message, int version) throws IOException {
+        if (version == LEGACY_VERSION) {
+            writeLegacy(buffer, message);
+            return;
+        }
+
+        buffer.writeByte(MAGIC);
+        buffer.writeByte(Math.min(version, PROTOCOL_VERSION));
+        writeEntry(buffer, message, version);
+    }
+
+    /**
+     * Escreve o tipo e o conteúdo de uma mensagem, sem o cabeçalho, como nas entradas de um lote
+     *
+     * @param buffer Buffer de destino
+     * @param message Mensagem
+     * @param version Versão do protocolo; o ID da mensagem só é escrito a partir de RELIABLE_VERSION
+     * @throws IOException Se o tipo da mensagem for desconhecido
+     */
+    public static void writeEntry(MessageBuffer buffer, WorldMessage message, int version) throws IOException {
+        if (version >= RELIABLE_VERSION && message.getMessageId() != 0) {
+            buffer.writeByte(message.getType() | RELIABLE_FLAG);
+            buffer.writeVarLong(message.getMessageId());
+            buffer.writeString(message.getOrigin() != null ? message.getOrigin() : "");
+        } else {
+            buffer.writeByte(message.getType());
+        }
+
+        switch (message.getType()) {
+            case TYPE_CREATE_WORLD:
+                buffer.writeString(message.getWorldName());
+                buffer.writeString(message.getDisplayName());
+                buffer.writeUuid(message.getOwnerUUID());
+                buffer.writeString(message.getIcon().name());
+                buffer.writeString(message.getWorldPath() != null ? message.getWorldPath() : "");
+                writeSettings(buffer, message.getSettings());
+                break;
+            case TYPE_TELEPORT_TO_WORLD:
+                buffer.writeUuid(message.getPlayerUUID());
+                buffer.writeString(message.getWorldName());
+                break;
+            case TYPE_DELETE_WORLD:
+                buffer.writeString(message.getWorldName());
+                break;
+            case TYPE_UPDATE_WORLD_SETTINGS:
+                buffer.writeString(message.getWorldName());
+                writeSettings(buffer, message.getSettings());
+                break;
+            case TYPE_ACK:
+                long[] ids = message.getAcknowledgedIds();
+                buffer.writeVarInt(ids.length);
+                for (long id : ids) {
+                    buffer.writeVarLong(id);
+                }
+                break;
+            case TYPE_WORLD_READY:
+                buffer.writeVarLong(message.getCorrelationId());
+                buffer.writeString(message.getWorldName());
+                break;
+            case TYPE_WORLD_FAILED:
+                buffer.writeVarLong(message.getCorrelationId());
+                buffer.writeString(message.getWorldName());
+                buffer.writeString(message.getReason() != null ? message.getReason() : "");
+                break;
+            case TYPE_PING:
+                buffer.writeLong(message.getSentAt());
+                buffer.writeString(message.getTransport());
+                buffer.writeString(message.getOrigin() != null ? message.getOrigin() : "");
+                break;
+            case TYPE_PONG:
+                buffer.writeLong(message.getSentAt());
+                buffer.writeString(message.getTransport());
+                break;
+            case TYPE_HEARTBEAT:
+                writeHeartbeat(buffer, message.getHeartbeat());
+                break;
+            case TYPE_MIGRATION_CHUNK:
+                buffer.writeString(message.getWorldName());
+                buffer.writeString(message.getWorldPath() != null ? message.getWorldPath() : "");
+                buffer.writeString(message.getFilePath());
+                buffer.writeSignedVarLong(message.getFileLength());
+                buffer.writeLong(message.getLastModified());
+                buffer.writeVarLong(message.getFileOffset());
+                buffer.writeVarLong(message.getChecksum());
+                byte[] data = message.getData() != null ? message.getData() : new byte[0];
+                buffer.writeVarInt(data.length);
+                buffer.writeBytes(data, 0, data.length);
+                break;
+            case TYPE_MIGRATION_COMMIT:
+                buffer.writeString(message.getWorldName());
+                buffer.writeString(message.getWorldPath() != null ? message.getWorldPath() : "");
+                buffer.writeVarInt(message.getFileCount());
+                buffer.writeVarLong(message.getTotalBytes());
+                break;
+            case TYPE_MIGRATION_ABORT:
+                buffer.writeString(message.getWorldName());
+                buffer.writeString(message.getWorldPath() != null ? message.getWorldPath() : "");
+                break;
+            case TYPE_REGISTRY_CHANGE:
+                // Enviada sem confirmação, então a origem vai no corpo
+                buffer.writeString(message.getOrigin() != null ? message.getOrigin() : "");
+                buffer.writeString(message.getWorldName());
+                buffer.writeVarLong(message.getVersion());
+                buffer.writeVarInt(message.getSections());
+                buffer.writeString(message.getServerName() != null ? message.getServerName() : "");
+                break;
+            default:
+                throw new IOException("Tipo de mensagem desconhecido: " + message.getType());
+        }
+    }
+
+    /**
+     * Escreve um lote de entradas (escritas com writeEntry e prefixadas pelo tamanho)
+     * com o cabeçalho do protocolo. Um lote com uma única entrada vira uma mensagem comum.
+     *
+     * @param buffer Buffer de destino
+     * @param entries Entradas do lote
+     * @param count Quantidade de entradas
+     * @param version Versão do protocolo usada nas entradas
+     * @throws IOException Se as entradas estiverem malformadas
+     */
+    public static void writeBatch(MessageBuffer buffer, MessageBuffer entries, int count, int version) throws IOException {
+        buffer.writeByte(MAGIC);
+        buffer.writeByte(Math.min(version, PROTOCOL_VERSION));
+
+        if (count == 1) {
+            MessageReader in = new MessageReader(entries.array(), 0, entries.length());
+            int entryLength = in.readVarInt();
+            buffer.writeBytes(entries.array(), in.position(), entryLength);
+        } else {
+            buffer.writeByte(TYPE_BATCH);
+            buffer.writeVarInt(count);
+            buffer.writeBytes(entries.array(), 0, entries.length());
+        }
+    }
+
+    /**
+     * Decodifica uma mensagem ou um lote, em qualquer um dos formatos
+     *
+     * @param data Array com a mensagem
+     * @param offset Início da mensagem no array
+     * @param length Tamanho da mensagem
+     * @return Mensagens na ordem em que foram enviadas
+     * @throws IOException Se a mensagem estiver malformada ou usar uma versão desconhecida
+     */
+    public static List<WorldMessage> decodeAll(byte[] data, int offset, int length) throws IOException {
+        if (length < 3 || (data[offset] & 0xFF) != MAGIC || (data[offset + 2] & 0xFF) != TYPE_BATCH) {
+            return Collections.singletonList(decode(data, offset, length));
+        }
+
+        MessageReader in = new MessageReader(data, offset, length);
+        readHeader(in);
+        in.skip(1);
+
+        int count = in.readVarInt();
+        if (count < 0 || count > length) {
+            throw new IOException("Quantidade inválida de mensagens no lote: " + count);
+        }
+
+        List<WorldMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int entryLength = in.readVarInt();
+            int entryOffset = in.position();
+            in.skip(entryLength);
+            messages.add(readEntry(new MessageReader(data, entryOffset, entryLength)));
+        }
+        return messages;
+    }
+
+    /**
+     * Decodifica uma mensagem em qualquer um dos formatos
+     *
+     * @param data Array com a mensagem
+     * @param offset Início da mensagem no array
+     * @param length Tamanho da mensagem
+     * @return Mensagem decodificada
+     * @throws IOException Se a mensagem estiver malformada ou usar uma versão desconhecida
+     */
+    public static WorldMessage decode(byte[] data, int offset, int length) throws IOException {
+        MessageReader in = new MessageReader(data, offset, length);
+
+        // Mensagens legadas começam com o tamanho da ação (writeUTF), cujo primeiro byte nunca é 0xA7
+        if (length > 0 && (data[offset] & 0xFF) == MAGIC) {
+            return read(in);
+        }
+        return readLegacy(in);
+    }
+
+    /**
+     * Lê uma mensagem no formato binário
+     *
+     * @param in Leitor posicionado no byte mágico
+     * @return Mensagem decodificada
+     * @throws IOException Se a mensagem estiver malformada ou usar uma versão desconhecida
+     */
+    public static WorldMessage read(MessageReader in) throws IOException {
+        readHeader(in);
+        return readEntry(in);
+    }
+
+    private static void readHeader(MessageReader in) throws IOException {
+        int magic = in.readUnsignedByte();
+        if (magic != MAGIC) {
+            throw new IOException("Byte mágico inválido: " + magic);
+        }
+
+        int version = in.readUnsignedByte();
+        if (version < 1 || version > PROTOCOL_VERSION) {
+            throw new IOException("Versão de protocolo não suportada: " + version + " (suportada: " + PROTOCOL_VERSION + ")");
+        }
+    }
+
+    /**
+     * Lê o tipo e o conteúdo de uma mensagem
+     *
+     * @param in Leitor posicionado no tipo
+     * @return Mensagem decodificada
+     * @throws IOException Se a mensagem estiver malformada
+     */
+    public static WorldMessage readEntry(MessageReader in) throws IOException {
+        int typeByte = in.readUnsignedByte();
+        WorldMessage message = new WorldMessage(typeByte & ~RELIABLE_FLAG);
+        if ((typeByte & RELIABLE_FLAG) != 0) {
+            message.setMessageId(in.readVarLong());
+            String origin = in.readString();
+            message.setOrigin(origin.isEmpty() ? null : origin);
+        }
+
+        switch (message.getType()) {
+            case TYPE_CREATE_WORLD:
+                message.setWorldName(in.readString());
+                message.setDisplayName(in.readString());
+                message.setOwnerUUID(in.readUuid());
+                message.setIcon(parseIcon(in.readString()));
+                message.setWorldPath(in.readString());
+                message.setSettings(readSettings(in));
+                break;
+            case TYPE_TELEPORT_TO_WORLD:
+                message.setPlayerUUID(in.readUuid());
+                message.setWorldName(in.readString());
+                break;
+            case TYPE_DELETE_WORLD:
+                message.setWorldName(in.readString());
+                break;
+            case TYPE_UPDATE_WORLD_SETTINGS:
+                message.setWorldName(in.readString());
+                message.setSettings(readSettings(in));
+                break;
+            case TYPE_ACK:
+                int count = in.readVarInt();
+                if (count < 0 || count > in.remaining()) {
+                    throw new IOException("Quantidade inválida de confirmações: " + count);
+                }
+                long[] ids = new long[count];
+                for (int i = 0; i < count; i++) {
+                    ids[i] = in.readVarLong();
+                }
+                message.setAcknowledgedIds(ids);
+                break;
+            case TYPE_WORLD_READY:
+                message.setCorrelationId(in.readVarLong());
+                message.setWorldName(in.readString());
+                break;
+            case TYPE_WORLD_FAILED:
+                message.setCorrelationId(in.readVarLong());
+                message.setWorldName(in.readString());
+                message.setReason(in.readString());
+                break;
+            case TYPE_PING:
+                message.setSentAt(in.readLong());
+                message.setTransport(in.readString());
+                String pingOrigin = in.readString();
+                message.setOrigin(pingOrigin.isEmpty() ? null : pingOrigin);
+                break;
+            case TYPE_PONG:
+                message.setSentAt(in.readLong());
+                message.setTransport(in.readString());
+                break;
+            case TYPE_HEARTBEAT:
+                message.setHeartbeat(readHeartbeat(in));
+                break;
+            case TYPE_MIGRATION_CHUNK:
+                message.setWorldName(in.readString());
+                message.setWorldPath(in.readString());
+                message.setFilePath(in.readString());
+                message.setFileLength(in.readSignedVarLong());
+                message.setLastModified(in.readLong());
+                message.setFileOffset(in.readVarLong());
+                message.setChecksum(in.readVarLong());
+                int dataLength = in.readVarInt();
+                if (dataLength < 0 || dataLength > in.remaining()) {
+                    throw new IOException("Tamanho inválido de trecho de arquivo: " + dataLength);
+                }
+                message.setData(in.readBytes(dataLength));
+                break;
+            case TYPE_MIGRATION_COMMIT:
+                message.setWorldName(in.readString());
+                message.setWorldPath(in.readString());
+                message.setFileCount(in.readVarInt());
+                message.setTotalBytes(in.readVarLong());
+                break;
+            case TYPE_MIGRATION_ABORT:
+                message.setWorldName(in.readString());
+                message.setWorldPath(in.readString());
+                break;
+            case TYPE_REGISTRY_CHANGE:
+                String changeOrigin = in.readString();
+                message.setOrigin(changeOrigin.isEmpty() ? null : changeOrigin);
+                message.setWorldName(in.readString());
+                message.setVersion(in.readVarLong());
+                message.setSections(in.readVarInt());
+                String serverName = in.readString();
+                message.setServerName(serverName.isEmpty() ? null : serverName);
+                break;
+            default:
+                throw new IOException("Tipo de mensagem desconhecido: " + message.getType());
+        }
+        return message;
+    }
+
+    // TPS e MSPT seguem em centésimos; valores desconhecidos são -1
+    private static void writeHeartbeat(MessageBuffer buffer, ServerHeartbeat heartbeat) {
+        buffer.writeString(heartbeat.getServer());
+        buffer.writeVarInt((int) Math.round(Math.max(0, heartbeat.getTps()) * 100));
+        buffer.writeSignedVarInt(heartbeat.getMspt() < 0 ? -1 : (int) Math.round(heartbeat.getMspt() * 100));
+        buffer.writeVarInt(heartbeat.getLoadedWorlds());
+        buffer.writeVarInt(heartbeat.getOnlinePlayers());
+        buffer.writeVarLong(heartbeat.getFreeHeapMb());
+        buffer.writeVarLong(heartbeat.getMaxHeapMb());
+        buffer.writeSignedVarLong(heartbeat.getFreeDiskMb());
+        buffer.writeBoolean(heartbeat.isOverloaded());
+    }
+
+    private static ServerHeartbeat readHeartbeat(MessageReader in) throws IOException {
+        String server = in.readString();
+        double tps = in.readVarInt() / 100.0;
+        int mspt = in.readSignedVarInt();
+        return new ServerHeartbeat(server, tps, mspt < 0 ? -1 : mspt / 100.0, in.readVarInt(), in.readVarInt(),
+                in.readVarLong(), in.readVarLong(), in.readSignedVarLong(), in.readBoolean());
+    }
+
+    private static void writeSettings(MessageBuffer buffer, WorldSettings settings) {
+        if (settings == null) {
+            settings = new WorldSettings();
+        }
+
+        int flags = 0;
+        flags |= settings.isPvpEnabled() ? FLAG_PVP : 0;
+        flags |= settings.isMobSpawning() ? FLAG_MOB_SPAWNING : 0;
+        flags |= settings.isTimeCycle() ? FLAG_TIME_CYCLE : 0;
+        flags |= settings.isWeatherEnabled() ? FLAG_WEATHER : 0;
+        flags |= settings.isPhysicsEnabled() ? FLAG_PHYSICS : 0;
+        flags |= settings.isRedstoneEnabled() ? FLAG_REDSTONE : 0;
+        flags |= settings.isFluidFlow() ? FLAG_FLUID_FLOW : 0;
+        flags |= settings.isKeepInventory() ? FLAG_KEEP_INVENTORY : 0;
+        flags |= settings.isAnnounceDeaths() ? FLAG_ANNOUNCE_DEATHS : 0;
+        flags |= settings.isFallDamage() ? FLAG_FALL_DAMAGE : 0;
+        flags |= settings.isHungerDepletion() ? FLAG_HUNGER : 0;
+        flags |= settings.isFireSpread() ? FLAG_FIRE_SPREAD : 0;
+        flags |= settings.isLeafDecay() ? FLAG_LEAF_DECAY : 0;
+        flags |= settings.isBlockUpdates() ? FLAG_BLOCK_UPDATES : 0;
+
+        buffer.writeVarInt(flags);
+        buffer.writeSignedVarLong(settings.getFixedTime());
+        buffer.writeSignedVarInt(settings.getTickSpeed());
+        buffer.writeByte(gameModeIndex(settings.getGameMode()));
+        buffer.writeString(settings.getResourceProfile() != null ? settings.getResourceProfile() : "");
+    }
+
+    private static WorldSettings readSettings(MessageReader in) throws IOException {
+        WorldSettings settings = new WorldSettings();
+
+        int flags = in.readVarInt();
+        settings.setPvpEnabled((flags & FLAG_PVP) != 0);
+        settings.setMobSpawning((flags & FLAG_MOB_SPAWNING) != 0);
+        settings.setTimeCycle((flags & FLAG_TIME_CYCLE) != 0);
+        settings.setWeatherEnabled((flags & FLAG_WEATHER) != 0);
+        settings.setPhysicsEnabled((flags & FLAG_PHYSICS) != 0);
+        settings.setRedstoneEnabled((flags & FLAG_REDSTONE) != 0);
+        settings.setFluidFlow((flags & FLAG_FLUID_FLOW) != 0);
+        settings.setKeepInventory((flags & FLAG_KEEP_INVENTORY) != 0);
+        settings.setAnnounceDeaths((flags & FLAG_ANNOUNCE_DEATHS) != 0);
+        settings.setFallDamage((flags & FLAG_FALL_DAMAGE) != 0);
+        settings.setHungerDepletion((flags & FLAG_HUNGER) != 0);
+        settings.setFireSpread((flags & FLAG_FIRE_SPREAD) != 0);
+        settings.setLeafDecay((flags & FLAG_LEAF_DECAY) != 0);
+        settings.setBlockUpdates((flags & FLAG_BLOCK_UPDATES) != 0);
+
+        settings.setFixedTime(in.readSignedVarLong());
+        settings.setTickSpeed(in.readSignedVarInt());
+
+        int gameMode = in.readUnsignedByte();
+        settings.setGameMode(gameMode < GAME_MODES.length ? GAME_MODES[gameMode] : GameMode.SURVIVAL);
+
+        settings.setResourceProfile(in.readString());
+        return settings;
+    }
+
+    private static int gameModeIndex(GameMode gameMode) {
+        for (int i = 0; i < GAME_MODES.length; i++) {
+            if (GAME_MODES[i] == gameMode) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static Material parseIcon(String name) {
+        Material icon = Material.matchMaterial(name);
+        return icon != null ? icon : Material.GRASS_BLOCK;
+    }
+
+    // Formato legado
+
+    private static void writeLegacy(MessageBuffer buffer, WorldMessage message) throws IOException {
+        int type = message.getType();
+        if (type <= 0 || type > TYPE_UPDATE_WORLD_SETTINGS) {
+            throw new IOException("Tipo de mensagem sem representação no formato legado: " + type);
+        }
+
+        buffer.writeUTF(TYPE_NAMES[type]);
+        switch (type) {
+            case TYPE_CREATE_WORLD:
+                buffer.writeUTF(message.getWorldName());
+                buffer.writeUTF(message.getDisplayName());
+                buffer.writeUTF(message.getOwnerUUID().toString());
+                buffer.writeUTF(message.getIcon().name());
+                buffer.writeUTF(message.getWorldPath() != null ? message.getWorldPath() : "");
+                writeLegacySettings(buffer, message.getSettings());
+                break;
+            case TYPE_TELEPORT_TO_WORLD:
+                buffer.writeUTF(message.getPlayerUUID().toString());
+                buffer.writeUTF(message.getWorldName());
+                break;
+            case TYPE_DELETE_WORLD:
+                buffer.writeUTF(message.getWorldName());
+                break;
+            case TYPE_UPDATE_WORLD_SETTINGS:
+                buffer.writeUTF(message.getWorldName());
+                writeLegacySettings(buffer, message.getSettings());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static WorldMessage readLegacy(MessageReader in) throws IOException {
+        String action = in.readUTF();
+
+        int type = -1;
+        for (int i = 1; i <= TYPE_UPDATE_WORLD_SETTINGS; i++) {
+            if (TYPE_NAMES[i].equals(action)) {
+                type = i;
+                break;
+            }
+        }
+        if (type == -1) {
+            throw new IOException("Ação desconhecida recebida: " + action);
+        }
+
+        WorldMessage message = new WorldMessage(type);
+        switch (type) {
+            case TYPE_CREATE_WORLD:
+                message.setWorldName(in.readUTF());
+                message.setDisplayName(in.readUTF());
+                message.setOwnerUUID(UUID.fromString(in.readUTF()));
+                message.setIcon(parseIcon(in.readUTF()));
+
+                // Versões antigas não enviavam o caminho personalizado
+                message.setWorldPath(in.remaining() > 0 ? in.readUTF() : "");
+                message.setSettings(readLegacySettings(in));
+                break;
+            case TYPE_TELEPORT_TO_WORLD:
+                message.setPlayerUUID(UUID.fromString(in.readUTF()));
+                message.setWorldName(in.readUTF());
+                break;
+            case TYPE_DELETE_WORLD:
+                message.setWorldName(in.readUTF());
+                break;
+            case TYPE_UPDATE_WORLD_SETTINGS:
+                message.setWorldName(in.readUTF());
+                message.setSettings(readLegacySettings(in));
+                break;
+            default:
+                break;
+        }
+        return message;
+    }
+
+    private static void writeLegacySettings(MessageBuffer buffer, WorldSettings settings) throws IOException {
+        if (settings == null) {
+            settings = new WorldSettings();
+        }
+
+        buffer.writeBoolean(settings.isPvpEnabled());
+        buffer.writeBoolean(settings.isMobSpawning());
+        buffer.writeBoolean(settings.isTimeCycle());
+        buffer.writeLong(settings.getFixedTime());
+        buffer.writeBoolean(settings.isWeatherEnabled());
+        buffer.writeBoolean(settings.isPhysicsEnabled());
+        buffer.writeBoolean(settings.isRedstoneEnabled());
+        buffer.writeBoolean(settings.isFluidFlow());
+        buffer.writeInt(settings.getTickSpeed());
+
+        buffer.writeBoolean(settings.isKeepInventory());
+        buffer.writeBoolean(settings.isAnnounceDeaths());
+        buffer.writeBoolean(settings.isFallDamage());
+        buffer.writeBoolean(settings.isHungerDepletion());
+        buffer.writeBoolean(settings.isFireSpread());
+        buffer.writeBoolean(settings.isLeafDecay());
+        buffer.writeBoolean(settings.isBlockUpdates());
+        buffer.writeUTF(settings.getGameMode() != null ? settings.getGameMode().name() : "SURVIVAL");
+        buffer.writeUTF(settings.getResourceProfile() != null ? settings.getResourceProfile() : "");
+    }
+
+    private static WorldSettings readLegacySettings(MessageReader in) throws IOException {
+        WorldSettings settings = new WorldSettings();
+
+        settings.setPvpEnabled(in.readBoolean());
+        settings.setMobSpawning(in.readBoolean());
+        settings.setTimeCycle(in.readBoolean());
+        settings.setFixedTime(in.readLong());
+        settings.setWeatherEnabled(in.readBoolean());
+        settings.setPhysicsEnabled(in.readBoolean());
+        settings.setRedstoneEnabled(in.readBoolean());
+        settings.setFluidFlow(in.readBoolean());
+        settings.setTickSpeed(in.readInt());
+
+        // Campos adicionais e perfil de recursos ausentes em versões antigas da mensagem ficam com o padrão
+        if (in.remaining() > 0) {
+            settings.setKeepInventory(in.readBoolean());
+            settings.setAnnounceDeaths(in.readBoolean());
+            settings.setFallDamage(in.readBoolean());
+            settings.setHungerDepletion(in.readBoolean());
+            settings.setFireSpread(in.readBoolean());
+            settings.setLeafDecay(in.readBoolean());
+            settings.setBlockUpdates(in.readBoolean());
+
+            String gameMode = in.readUTF();
+            try {
+                settings.setGameMode(GameMode.valueOf(gameMode));
+            } catch (IllegalArgumentException e) {
+                settings.setGameMode(GameMode.SURVIVAL);
+            }
+        }
+
+        settings.setResourceProfile(in.remaining() > 0 ? in.readUTF() : null);
+        return settings;
+    }
+}
@@ -0,0 +1,517 @@
+package com.worldsmanager.messaging;
+
+import com.worldsmanager.WorldsManager;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+
+/**
+ * Caixa de saída das mensagens confiáveis entre servidores.
+ *
+ * Cada mensagem recebe um ID (uma sessão aleatória nos 32 bits altos e um
+ * contador nos baixos) e fica guardada até o destino confirmá-la com um
+ * TYPE_ACK. Mensagens sem confirmação são reenviadas com espera exponencial a
+ * partir de messaging.ack-timeout-seconds, até messaging.max-attempts envios
+ * ou messaging.outbox-max-age-seconds. O transporte ativo decide, por
+ * destino, se a mensagem pode seguir agora (o BungeeCord precisa de um
+ * jogador online, o socket de uma conexão aberta); as que não podem aguardam
+ * gravadas em outbox.dat e seguem assim que o destino voltar a ser
+ * alcançável. Do lado de quem recebe, os IDs já vistos de cada origem são
+ * lembrados para descartar as duplicatas dos reenvios.
+ *
+ * Com messaging.protocol-version abaixo de 2 as mensagens são enviadas uma
+ * única vez, sem ID e sem confirmação.
+ */
+public class MessageOutbox implements Listener, PluginMessageListener {
+
+    private static final String BUNGEE_CHANNEL = "BungeeCord";
+    private static final String FILE_NAME = "outbox.dat";
+    private static final int FILE_VERSION = 1;
+
+    private static final long MAX_BACKOFF_MILLIS = 60000L;
+
+    // Quantidade de IDs recebidos lembrados para descartar duplicatas
+    private static final int SEEN_CAPACITY = 4096;
+
+    private final WorldsManager plugin;
+    private final File file;
+
+    // Sessão deste processo; IDs de mensagens gravadas por uma execução anterior não colidem com os novos
+    private final long sessionId = (ThreadLocalRandom.current().nextInt() & 0xFFFFFFFFL) << 32;
+    private int counter;
+
+    // Mensagens aguardando confirmação, por ID, na ordem de envio
+    private final Map<Long, PendingMessage> pending = new LinkedHashMap<>();
+
+    // Confirmações a enviar, por servidor de origem
+    private final Map<String, List<Long>> acksToSend = new LinkedHashMap<>();
+
+    // IDs recebidos recentemente (origem#id), do menos para o mais recente
+    private final Map<String, Boolean> seen = new LinkedHashMap<String, Boolean>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > SEEN_CAPACITY;
+        }
+    };
+
+    // Nome deste servidor no BungeeCord (configurado ou obtido com GetServer)
+    private String serverName;
+
+    private BukkitTask task;
+    private boolean dirty;
+    private volatile boolean persisted;
+    private long saveSequence;
+    private long lastSavedSequence;
+
+    private long sent;
+    private long retransmissions;
+    private long acknowledged;
+    private long expired;
+    private long duplicates;
+
+    public MessageOutbox(WorldsManager plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+        String configured = plugin.getConfigManager().getServerName();
+        this.serverName = configured != null && !configured.isEmpty() ? configured : null;
+    }
+
+    /**
+     * Carrega as mensagens gravadas e inicia os reenvios
+     */
+    public void start() {
+        if (task != null) {
+            return;
+        }
+
+        load();
+
+        if (plugin.getConfigManager().isCrossServerMode()) {
+            plugin.getServer().getMessenger().registerIncomingPluginChannel(plugin, BUNGEE_CHANNEL, this);
+            requestServerName();
+        }
+
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 5L, 5L);
+    }
+
+    /**
+     * Interrompe os reenvios e grava as mensagens ainda não confirmadas
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        flushAcks();
+        if (!pending.isEmpty() || persisted) {
+            write(++saveSequence, encodePending());
+        }
+    }
+
+    /**
+     * Envia uma mensagem confiável para um servidor. Deve ser chamado na thread principal.
+     *
+     * @param destination Servidor de destino
+     * @param message Mensagem
+     * @param carrier Jogador preferido para transportar a mensagem (pode ser null)
+     * @return Futuro com true quando o destino confirmar o recebimento, ou false se a mensagem expirar
+     * @throws IOException Se a mensagem não puder ser codificada
+     */
+    public CompletableFuture<Boolean> send(String destination, WorldMessage message, Player carrier) throws IOException {
+        if (plugin.getConfigManager().getMessagingProtocolVersion() < MessageCodec.RELIABLE_VERSION) {
+            return CompletableFuture.completedFuture(plugin.getOutboundDispatcher().send(destination, message, carrier));
+        }
+
+        message.setMessageId(sessionId | (++counter & 0xFFFFFFFFL));
+        PendingMessage entry = new PendingMessage(destination, message, System.currentTimeMillis());
+        pending.put(message.getMessageId(), entry);
+        dirty = true;
+
+        try {
+            transmit(entry, carrier);
+        } catch (IOException e) {
+            pending.remove(message.getMessageId());
+            throw e;
+        }
+        sent++;
+        return entry.future;
+    }
+
+    /**
+     * Registra o recebimento de uma mensagem e agenda a sua confirmação
+     *
+     * @param message Mensagem recebida
+     * @return false se a mensagem for uma duplicata já processada
+     */
+    public boolean accept(WorldMessage message) {
+        if (message.getMessageId() == 0) {
+            return true;
+        }
+
+        String origin = message.getOrigin();
+        if (origin != null) {
+            List<Long> ids = acksToSend.get(origin);
+            if (ids == null) {
+                ids = new ArrayList<>();
+                acksToSend.put(origin, ids);
+            }
+            ids.add(message.getMessageId());
+        } else if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("[DEBUG] Mensagem " + message + " sem servidor de origem; não será confirmada");
+        }
+
+        String key = (origin != null ? origin : "") + "#" + Long.toHexString(message.getMessageId());
+        if (seen.put(key, Boolean.TRUE) != null) {
+            duplicates++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Trata a confirmação de mensagens enviadas por este servidor
+     *
+     * @param message Mensagem TYPE_ACK
+     */
+    public void handleAck(WorldMessage message) {
+        for (long id : message.getAcknowledgedIds()) {
+            PendingMessage entry = pending.remove(id);
+            if (entry != null) {
+                acknowledged++;
+                dirty = true;
+                entry.future.complete(true);
+            }
+        }
+    }
+
+    /**
+     * Envia as confirmações acumuladas, agrupadas por servidor de origem
+     */
+    public void flushAcks() {
+        Iterator<Map.Entry<String, List<Long>>> iterator = acksToSend.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, List<Long>> entry = iterator.next();
+            List<Long> ids = entry.getValue();
+            long[] array = new long[ids.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = ids.get(i);
+            }
+
+            try {
+                if (plugin.getOutboundDispatcher().send(entry.getKey(), WorldMessage.ack(array), null)) {
+                    iterator.remove();
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Falha ao confirmar mensagens do servidor " + entry.getKey(), e);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void tick() {
+        flushAcks();
+
+        long now = System.currentTimeMillis();
+        long maxAge = Math.max(10, plugin.getConfigManager().getOutboxMaxAgeSeconds()) * 1000L;
+        int maxAttempts = Math.max(1, plugin.getConfigManager().getMessageMaxAttempts());
+
+        // Cada destino é consultado uma vez por tick: um servidor fora de alcance não segura os outros
+        Map<String, Boolean> reachable = new HashMap<>();
+        boolean stalled = false;
+
+        Iterator<PendingMessage> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            PendingMessage entry = iterator.next();
+
+            // A última tentativa ainda tem o seu prazo de confirmação antes de a mensagem expirar
+            if (now - entry.createdAt > maxAge || (entry.attempts >= maxAttempts && now >= entry.nextAttemptAt)) {
+                iterator.remove();
+                expired++;
+                dirty = true;
+                plugin.getLogger().warning("Mensagem " + entry.message + " para o servidor " + entry.destination +
+                        " expirou sem confirmação após " + entry.attempts + " envios");
+                entry.future.complete(false);
+                continue;
+            }
+
+            String destination = entry.destination.toLowerCase();
+            Boolean canSend = reachable.get(destination);
+            if (canSend == null) {
+                canSend = plugin.getOutboundDispatcher().canReach(entry.destination);
+                reachable.put(destination, canSend);
+            }
+            if (!canSend) {
+                stalled = true;
+                continue;
+            }
+            if (now < entry.nextAttemptAt) {
+                continue;
+            }
+
+            try {
+                if (entry.attempts > 0) {
+                    retransmissions++;
+                }
+                if (!transmit(entry, null)) {
+                    reachable.put(destination, false);
+                    stalled = true;
+                }
+            } catch (IOException e) {
+                iterator.remove();
+                dirty = true;
+                plugin.getLogger().log(Level.SEVERE, "Erro ao reenviar mensagem " + entry.message, e);
+                entry.future.complete(false);
+            }
+        }
+
+        // Enquanto algum destino está fora de alcance, ou depois de gravadas, o arquivo acompanha a caixa de saída
+        if (dirty && (persisted || stalled)) {
+            dirty = false;
+            long sequence = ++saveSequence;
+            byte[] data = encodePending();
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> write(sequence, data));
+        }
+    }
+
+    /**
+     * Entrega uma mensagem ao dispatcher e agenda a próxima tentativa
+     *
+     * @return false se nenhum transporte alcançar o destino no momento
+     */
+    private boolean transmit(PendingMessage entry, Player carrier) throws IOException {
+        // A origem é preenchida a cada envio, pois o nome do servidor pode ter chegado depois
+        entry.message.setOrigin(serverName);
+        if (!plugin.getOutboundDispatcher().send(entry.destination, entry.message, carrier)) {
+            entry.nextAttemptAt = 0;
+            return false;
+        }
+
+        entry.attempts++;
+        long timeout = Math.max(1, plugin.getConfigManager().getMessageAckTimeoutSeconds()) * 1000L;
+        entry.nextAttemptAt = System.currentTimeMillis() + Math.min(MAX_BACKOFF_MILLIS,
+                timeout << Math.min(16, entry.attempts - 1));
+        return true;
+    }
+
+    /**
+     * Codifica as mensagens pendentes no formato do outbox.dat (na thread principal)
+     */
+    private byte[] encodePending() {
+        MessageBuffer buffer = MessageBuffer.acquire();
+        MessageBuffer entry = MessageBuffer.acquire();
+        try {
+            buffer.writeByte(FILE_VERSION);
+            buffer.writeVarInt(pending.size());
+            for (PendingMessage message : pending.values()) {
+                entry.release();
+                entry = MessageBuffer.acquire();
+                MessageCodec.writeEntry(entry, message.message, MessageCodec.PROTOCOL_VERSION);
+
+                buffer.writeString(message.destination);
+                buffer.writeLong(message.createdAt);
+                buffer.writeVarInt(message.attempts);
+                buffer.writeVarInt(entry.length());
+                buffer.writeBytes(entry.array(), 0, entry.length());
+            }
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Erro ao codificar a caixa de saída", e);
+            return null;
+        } finally {
+            entry.release();
+            buffer.release();
+        }
+    }
+
+    /**
+     * Grava a caixa de saída (ou apaga o arquivo, se estiver vazia), ignorando gravações mais antigas que a última
+     */
+    private synchronized void write(long sequence, byte[] data) {
+        if (data == null || sequence <= lastSavedSequence) {
+            return;
+        }
+        lastSavedSequence = sequence;
+
+        try {
+            // Um arquivo só com o cabeçalho não tem mensagens
+            if (data.length <= 2) {
+                Files.deleteIfExists(file.toPath());
+                persisted = false;
+                return;
+            }
+
+            File tempFile = new File(file.getParentFile(), FILE_NAME + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(tempFile)) {
+                out.write(data);
+                out.getFD().sync();
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            persisted = true;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Erro ao gravar a caixa de saída de mensagens", e);
+        }
+    }
+
+    /**
+     * Carrega as mensagens não confirmadas gravadas pela execução anterior
+     */
+    private void load() {
+        if (!file.isFile()) {
+            return;
+        }
+
+        try {
+            MessageReader in = new MessageReader(Files.readAllBytes(file.toPath()));
+            int version = in.readUnsignedByte();
+            if (version != FILE_VERSION) {
+                throw new IOException("Versão de arquivo não suportada: " + version);
+            }
+
+            int count = in.readVarInt();
+            for (int i = 0; i < count; i++) {
+                String destination = in.readString();
+                long createdAt = in.readLong();
+                int attempts = in.readVarInt();
+                int length = in.readVarInt();
+                int end = in.position() + length;
+
+                WorldMessage message = MessageCodec.readEntry(in);
+                if (in.position() != end) {
+                    throw new IOException("Entrada com tamanho inconsistente: " + message);
+                }
+
+                PendingMessage entry = new PendingMessage(destination, message, createdAt);
+                entry.attempts = attempts;
+                pending.put(message.getMessageId(), entry);
+            }
+
+            persisted = true;
+            plugin.getLogger().info("Caixa de saída carregada com " + pending.size() + " mensagens não confirmadas");
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Caixa de saída inválida ignorada: " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Pergunta ao BungeeCord o nome deste servidor, se não estiver configurado
+     */
+    private void requestServerName() {
+        if (serverName != null || !plugin.getConfigManager().isCrossServerMode()) {
+            return;
+        }
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            try {
+                MessageBuffer buffer = MessageBuffer.acquire();
+                try {
+                    buffer.writeUTF("GetServer");
+                    player.sendPluginMessage(plugin, BUNGEE_CHANNEL, buffer.toByteArray());
+                } finally {
+                    buffer.release();
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Falha ao pedir o nome do servidor ao BungeeCord", e);
+            }
+            return;
+        }
+    }
+
+    @Override
+    public void onPluginMessageReceived(String channel, Player player, byte[] message) {
+        if (!channel.equals(BUNGEE_CHANNEL) || serverName != null) {
+            return;
+        }
+
+        try {
+            MessageReader in = new MessageReader(message);
+            if (!in.readUTF().equals("GetServer")) {
+                return;
+            }
+
+            serverName = in.readUTF();
+            plugin.getLogger().info("Nome do servidor no BungeeCord: " + serverName);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.FINE, "Resposta GetServer inválida", e);
+        }
+    }
+
+    /**
+     * Um jogador que entra pode transportar as mensagens que aguardavam
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            requestServerName();
+            if (task != null) {
+                tick();
+            }
+        }, 20L);
+    }
+
+    public String getServerName() {
+        return serverName;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getSentCount() {
+        return sent;
+    }
+
+    public long getRetransmissions() {
+        return retransmissions;
+    }
+
+    public long getAcknowledgedCount() {
+        return acknowledged;
+    }
+
+    public long getExpiredCount() {
+        return expired;
+    }
+
+    public long getDuplicatesDropped() {
+        return duplicates;
+    }
+
+    /**
+     * Mensagem aguardando a confirmação do destino
+     */
+    private static class PendingMessage {
+        private final String destination;
+        private final WorldMessage message;
+        private final long createdAt;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private int attempts;
+        private long nextAttemptAt;
+
+        private PendingMessage(String destination, WorldMessage message, long createdAt) {
+            this.destination = destination;
+            this.message = message;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.worldsmanager.messaging;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Leitura sequencial de uma mensagem recebida, sem copiar o array de origem.
+ * Os formatos correspondem aos métodos de escrita do MessageBuffer.
+ */
+public final class MessageReader {
+
+    private final byte[] data;
+    private final int limit;
+    private int position;
+
+    public MessageReader(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    public MessageReader(byte[] data, int offset, int length) {
+        this.data = data;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    private void require(int count) throws EOFException {
+        if (position + count > limit) {
+            throw new EOFException("Fim inesperado da mensagem");
+        }
+    }
+
+    public int readUnsignedByte() throws IOException {
+        require(1);
+        return data[position++] & 0xFF;
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readUnsignedByte() != 0;
+    }
+
+    public int readUnsignedShort() throws IOException {
+        require(2);
+        int value = ((data[position] & 0xFF) << 8) | (data[position + 1] & 0xFF);
+        position += 2;
+        return value;
+    }
+
+    public int readInt() throws IOException {
+        require(4);
+        int value = ((data[position] & 0xFF) << 24) | ((data[position + 1] & 0xFF) << 16) |
+                ((data[position + 2] & 0xFF) << 8) | (data[position + 3] & 0xFF);
+        position += 4;
+        return value;
+    }
+
+    public long readLong() throws IOException {
+        return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    public int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarInt longo demais");
+    }
+
+    public long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarLong longo demais");
+    }
+
+    public int readSignedVarInt() throws IOException {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readSignedVarLong() throws IOException {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public UUID readUuid() throws IOException {
+        return new UUID(readLong(), readLong());
+    }
+
+    public String readString() throws IOException {
+        int length = readVarInt();
+        if (length < 0) {
+            throw new IOException("Tamanho de texto inválido: " + length);
+        }
+        require(length);
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Lê um texto no formato de DataInput.readUTF
+     */
+    public String readUTF() throws IOException {
+        int length = readUnsignedShort();
+        require(length);
+
+        char[] chars = new char[length];
+        int count = 0;
+        int end = position + length;
+        while (position < end) {
+            int b = data[position++] & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0 && position < end) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (data[position++] & 0x3F));
+            } else if ((b & 0xF0) == 0xE0 && position + 1 < end) {
+                chars[count++] = (char) (((b & 0x0F) << 12) | ((data[position] & 0x3F) << 6) | (data[position + 1] & 0x3F));
+                position += 2;
+            } else {
+                throw new UTFDataFormatException("Texto malformado na posição " + (position - 1));
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    /**
+     * Lê bytes para um novo array
+     */
+    public byte[] readBytes(int count) throws IOException {
+        require(count);
+        byte[] bytes = Arrays.copyOfRange(data, position, position + count);
+        position += count;
+        return bytes;
+    }
+
+    /**
+     * Pula bytes sem lê-los
+     */
+    public void skip(int count) throws IOException {
+        require(count);
+        position += count;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public int remaining() {
+        return limit - position;
+    }
+}
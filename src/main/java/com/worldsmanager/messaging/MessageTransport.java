@@ -0,0 +1,90 @@
+package com.worldsmanager.messaging;
+
+import org.bukkit.entity.Player;
+
+import java.io.IOException;
+
+/**
+ * Meio de entrega das mensagens do plugin entre servidores.
+ *
+ * Os transportes levam mensagens já codificadas pelo MessageCodec (uma
+ * mensagem ou um lote) e entregam as recebidas ao Receiver na thread
+ * principal. O OutboundDispatcher escolhe o transporte de cada envio.
+ */
+public interface MessageTransport {
+
+    /**
+     * Obtém o nome do transporte, usado na configuração e nas estatísticas
+     *
+     * @return Nome do transporte
+     */
+    String getName();
+
+    /**
+     * Inicia o transporte
+     *
+     * @param receiver Destino das mensagens recebidas
+     */
+    void start(Receiver receiver);
+
+    /**
+     * Encerra o transporte, entregando o que for possível do que já foi enviado
+     */
+    void shutdown();
+
+    /**
+     * Verifica se uma mensagem para o servidor pode ser enviada agora
+     *
+     * @param server Servidor de destino
+     * @param carrier Jogador preferido para transportar a mensagem (pode ser null)
+     * @return true se o envio for possível
+     */
+    boolean canSend(String server, Player carrier);
+
+    /**
+     * Envia uma mensagem codificada. Deve ser chamado na thread principal.
+     *
+     * @param server Servidor de destino
+     * @param data Array com a mensagem
+     * @param offset Início da mensagem no array
+     * @param length Tamanho da mensagem
+     * @param carrier Jogador preferido para transportar a mensagem (pode ser null)
+     * @return false se a mensagem não puder ser entregue ao destino agora
+     * @throws IOException Se a mensagem não couber no transporte
+     */
+    boolean send(String server, byte[] data, int offset, int length, Player carrier) throws IOException;
+
+    /**
+     * Envia uma mensagem codificada a todos os servidores que o transporte alcança,
+     * sem confirmação. Deve ser chamado na thread principal.
+     *
+     * @param data Array com a mensagem
+     * @param offset Início da mensagem no array
+     * @param length Tamanho da mensagem
+     * @return false se nenhum servidor puder ser alcançado agora
+     * @throws IOException Se a mensagem não couber no transporte
+     */
+    boolean broadcast(byte[] data, int offset, int length) throws IOException;
+
+    /**
+     * Obtém as estatísticas do transporte
+     *
+     * @return Estatísticas
+     */
+    TransportStats getStats();
+
+    /**
+     * Destino das mensagens recebidas por um transporte
+     */
+    interface Receiver {
+
+        /**
+         * Processa uma mensagem recebida, na thread principal
+         *
+         * @param data Array com a mensagem
+         * @param offset Início da mensagem no array
+         * @param length Tamanho da mensagem
+         */
+        void receive(byte[] data, int offset, int length);
+    }
+}
@@ -0,0 +1,371 @@
+package com.worldsmanager.messaging;
+
+import com.worldsmanager.WorldsManager;
+import com.worldsmanager.listeners.WorldsMessageListener;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Envio das mensagens do plugin agrupadas por servidor de destino.
+ *
+ * As mensagens enviadas durante um tick são acumuladas por destino e, no
+ * tick seguinte, seguem em um único frame com um lote (TYPE_BATCH),
+ * respeitando messaging.batch-max-bytes. Um lote que passaria do limite é
+ * enviado antes de receber a próxima mensagem. No formato legado, ou com
+ * messaging.batching desativado, cada mensagem é enviada na hora.
+ *
+ * Os frames seguem pelo transporte de messaging.transport; se ele não
+ * alcançar o destino no momento, o BungeeCord é usado no lugar.
+ */
+public class OutboundDispatcher {
+
+    // Folga para o prefixo de tamanho de uma entrada ao conferir o limite do lote
+    private static final int ENTRY_OVERHEAD = 5;
+
+    private final WorldsManager plugin;
+
+    // Transportes disponíveis, pelo nome
+    private final Map<String, MessageTransport> transports = new LinkedHashMap<>();
+    private final BungeeTransport bungeeTransport;
+    private MessageTransport primary;
+
+    // Lotes pendentes por servidor de destino, na ordem em que foram abertos
+    private final Map<String, PendingBatch> pending = new LinkedHashMap<>();
+
+    private BukkitTask flushTask;
+    private BukkitTask pingTask;
+    private long messagesSent;
+
+    public OutboundDispatcher(WorldsManager plugin) {
+        this.plugin = plugin;
+        this.bungeeTransport = new BungeeTransport(plugin);
+        this.primary = bungeeTransport;
+        transports.put(BungeeTransport.NAME, bungeeTransport);
+    }
+
+    /**
+     * Inicia os transportes e o envio dos lotes a cada tick
+     */
+    public void start() {
+        if (flushTask != null) {
+            return;
+        }
+
+        String configured = plugin.getConfigManager().getMessageTransport();
+        if (configured == null) {
+            configured = BungeeTransport.NAME;
+        }
+        if (SocketTransport.NAME.equalsIgnoreCase(configured)) {
+            transports.put(SocketTransport.NAME, new SocketTransport(plugin));
+        } else if (LoopbackTransport.NAME.equalsIgnoreCase(configured)) {
+            transports.put(LoopbackTransport.NAME, new LoopbackTransport(plugin));
+        } else if (!BungeeTransport.NAME.equalsIgnoreCase(configured)) {
+            plugin.getLogger().warning("Transporte desconhecido em messaging.transport: " + configured + " (usando bungee)");
+        }
+
+        MessageTransport.Receiver receiver = this::receive;
+        for (MessageTransport transport : transports.values()) {
+            transport.start(receiver);
+        }
+        primary = transports.getOrDefault(configured.toLowerCase(), bungeeTransport);
+        plugin.getLogger().info("Transporte de mensagens: " + primary.getName());
+
+        flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, 1L, 1L);
+
+        int pingInterval = plugin.getConfigManager().getTransportPingIntervalSeconds();
+        if (pingInterval > 0) {
+            pingTask = Bukkit.getScheduler().runTaskTimer(plugin, this::pingPeers, 20L * 10, 20L * pingInterval);
+        }
+    }
+
+    /**
+     * Envia o que ainda estiver pendente, interrompe o envio periódico e encerra os transportes
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        if (pingTask != null) {
+            pingTask.cancel();
+            pingTask = null;
+        }
+        flush();
+
+        for (MessageTransport transport : transports.values()) {
+            transport.shutdown();
+        }
+    }
+
+    /**
+     * Envia uma mensagem para um servidor. Deve ser chamado na thread principal.
+     *
+     * @param server Servidor de destino
+     * @param message Mensagem
+     * @param carrier Jogador preferido para transportar a mensagem (pode ser null)
+     * @return false se nenhum transporte alcançar o destino no momento
+     * @throws IOException Se a mensagem não puder ser codificada
+     */
+    public boolean send(String server, WorldMessage message, Player carrier) throws IOException {
+        int version = plugin.getConfigManager().getMessagingProtocolVersion();
+
+        // Servidores no formato legado não entendem lotes
+        if (version == MessageCodec.LEGACY_VERSION || !plugin.getConfigManager().isMessageBatchingEnabled() || flushTask == null) {
+            MessageTransport transport = selectTransport(server, carrier);
+            return transport != null && sendNow(transport, server, message, version, carrier);
+        }
+
+        if (selectTransport(server, carrier) == null) {
+            return false;
+        }
+
+        PendingBatch batch = pending.get(server);
+        if (batch == null) {
+            batch = new PendingBatch();
+            pending.put(server, batch);
+        }
+
+        MessageBuffer entry = MessageBuffer.acquire();
+        try {
+            MessageCodec.writeEntry(entry, message, version);
+            logEncoded(message, entry.length());
+
+            int maxBytes = Math.max(1024, plugin.getConfigManager().getMessageBatchMaxBytes());
+            if (batch.count > 0 && batch.entries.length() + entry.length() + ENTRY_OVERHEAD > maxBytes) {
+                flushBatch(server, batch);
+            }
+
+            batch.entries.writeVarInt(entry.length());
+            batch.entries.writeBytes(entry.array(), 0, entry.length());
+            batch.count++;
+            if (carrier != null) {
+                batch.carrier = carrier;
+            }
+        } finally {
+            entry.release();
+        }
+        return true;
+    }
+
+    /**
+     * Envia uma mensagem a todos os servidores alcançáveis, na hora e sem confirmação.
+     * Deve ser chamado na thread principal.
+     *
+     * @param message Mensagem
+     * @return false se nenhum transporte alcançar outro servidor no momento
+     * @throws IOException Se a mensagem não puder ser codificada
+     */
+    public boolean broadcast(WorldMessage message) throws IOException {
+        MessageBuffer payload = MessageBuffer.acquire();
+        try {
+            MessageCodec.write(payload, message, plugin.getConfigManager().getMessagingProtocolVersion());
+            logEncoded(message, payload.length());
+
+            if (primary.broadcast(payload.array(), 0, payload.length()) ||
+                    (primary != bungeeTransport && bungeeTransport.broadcast(payload.array(), 0, payload.length()))) {
+                messagesSent++;
+                return true;
+            }
+            return false;
+        } finally {
+            payload.release();
+        }
+    }
+
+    /**
+     * Envia os lotes pendentes de todos os destinos
+     */
+    public void flush() {
+        Iterator<Map.Entry<String, PendingBatch>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, PendingBatch> entry = iterator.next();
+            PendingBatch batch = entry.getValue();
+            if (batch.count > 0) {
+                flushBatch(entry.getKey(), batch);
+            }
+            batch.entries.release();
+            iterator.remove();
+        }
+    }
+
+    private void flushBatch(String server, PendingBatch batch) {
+        MessageBuffer payload = MessageBuffer.acquire();
+        try {
+            MessageCodec.writeBatch(payload, batch.entries, batch.count, plugin.getConfigManager().getMessagingProtocolVersion());
+
+            MessageTransport transport = selectTransport(server, batch.carrier);
+            if (transport != null && transport.send(server, payload.array(), 0, payload.length(), batch.carrier)) {
+                messagesSent += batch.count;
+            } else {
+                plugin.getLogger().warning("Nenhum transporte alcança o servidor " + server + " para enviar " +
+                        batch.count + " mensagens. Mensagens descartadas.");
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Erro ao enviar lote de mensagens para o servidor " + server, e);
+        } finally {
+            payload.release();
+        }
+
+        batch.entries.release();
+        batch.entries = MessageBuffer.acquire();
+        batch.count = 0;
+        batch.carrier = null;
+    }
+
+    /**
+     * Codifica e envia uma mensagem avulsa por um transporte específico
+     */
+    private boolean sendNow(MessageTransport transport, String server, WorldMessage message, int version, Player carrier)
+            throws IOException {
+        MessageBuffer payload = MessageBuffer.acquire();
+        try {
+            MessageCodec.write(payload, message, version);
+            logEncoded(message, payload.length());
+            if (!transport.send(server, payload.array(), 0, payload.length(), carrier)) {
+                return false;
+            }
+            messagesSent++;
+            return true;
+        } finally {
+            payload.release();
+        }
+    }
+
+    /**
+     * Verifica se algum transporte alcança um servidor agora, sem jogador preferido
+     *
+     * @param server Servidor de destino
+     * @return true se uma mensagem para o servidor puder ser enviada neste momento
+     */
+    public boolean canReach(String server) {
+        return selectTransport(server, null) != null;
+    }
+
+    /**
+     * Escolhe o transporte configurado, ou o BungeeCord se ele não alcançar o destino no momento
+     */
+    private MessageTransport selectTransport(String server, Player carrier) {
+        if (primary.canSend(server, carrier)) {
+            return primary;
+        }
+        if (primary != bungeeTransport && bungeeTransport.canSend(server, carrier)) {
+            return bungeeTransport;
+        }
+        return null;
+    }
+
+    /**
+     * Entrega uma mensagem recebida por qualquer transporte ao listener de mensagens
+     */
+    private void receive(byte[] data, int offset, int length) {
+        WorldsMessageListener listener = plugin.getWorldsMessageListener();
+        if (listener != null) {
+            listener.receive(data, offset, length);
+        }
+    }
+
+    /**
+     * Mede a latência de cada transporte com um PING ao servidor de mundos e aos servidores do socket
+     */
+    private void pingPeers() {
+        String self = plugin.getMessageOutbox().getServerName();
+        int version = plugin.getConfigManager().getMessagingProtocolVersion();
+        if (self == null || version < MessageCodec.RELIABLE_VERSION) {
+            return;
+        }
+
+        String worldsServer = plugin.getConfigManager().getWorldsServerName();
+        for (MessageTransport transport : transports.values()) {
+            // Pelo loopback, a própria resposta mede o custo local
+            String target = transport instanceof LoopbackTransport ? self : worldsServer;
+            if (!transport.canSend(target, null) || (target.equalsIgnoreCase(self) && !(transport instanceof LoopbackTransport))) {
+                continue;
+            }
+
+            try {
+                sendNow(transport, target, WorldMessage.ping(transport.getName(), self), version, null);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.FINE, "Falha ao enviar PING pelo transporte " + transport.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Responde a um PING pelo mesmo transporte que ele mediu
+     *
+     * @param ping Mensagem PING recebida
+     */
+    public void handlePing(WorldMessage ping) {
+        if (ping.getOrigin() == null) {
+            return;
+        }
+
+        MessageTransport transport = transports.get(ping.getTransport());
+        if (transport == null || !transport.canSend(ping.getOrigin(), null)) {
+            transport = selectTransport(ping.getOrigin(), null);
+        }
+        if (transport == null) {
+            return;
+        }
+
+        try {
+            sendNow(transport, ping.getOrigin(), WorldMessage.pong(ping),
+                    plugin.getConfigManager().getMessagingProtocolVersion(), null);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.FINE, "Falha ao responder PING de " + ping.getOrigin(), e);
+        }
+    }
+
+    /**
+     * Registra a latência medida por um PONG
+     *
+     * @param pong Mensagem PONG recebida
+     */
+    public void handlePong(WorldMessage pong) {
+        MessageTransport transport = transports.get(pong.getTransport());
+        if (transport != null) {
+            transport.getStats().recordLatency(System.nanoTime() - pong.getSentAt());
+        }
+    }
+
+    private void logEncoded(WorldMessage message, int length) {
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("[DEBUG] Mensagem " + MessageCodec.getTypeName(message.getType()) +
+                    " codificada com " + length + " bytes");
+        }
+    }
+
+    public BungeeTransport getBungeeTransport() {
+        return bungeeTransport;
+    }
+
+    public MessageTransport getPrimaryTransport() {
+        return primary;
+    }
+
+    public Collection<MessageTransport> getTransports() {
+        return Collections.unmodifiableCollection(transports.values());
+    }
+
+    public long getMessagesSent() {
+        return messagesSent;
+    }
+
+    /**
+     * Mensagens acumuladas para um destino, já codificadas e prefixadas pelo tamanho
+     */
+    private static class PendingBatch {
+        private MessageBuffer entries = MessageBuffer.acquire();
+        private int count;
+        private Player carrier;
+    }
+}
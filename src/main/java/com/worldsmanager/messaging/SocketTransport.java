@@ -0,0 +1,478 @@
+package com.worldsmanager.messaging;
+
+import com.worldsmanager.WorldsManager;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Transporte direto entre servidores por TCP, sem passar pelo proxy e sem
+ * depender de jogadores online.
+ *
+ * Cada servidor escuta em messaging.socket.port e abre uma conexão de saída
+ * para cada servidor de messaging.socket.peers ("Nome=host:porta"). Toda
+ * conexão começa com um desafio: quem recebe a conexão envia um nonce
+ * aleatório, e quem conecta responde com o HMAC-SHA256 do nonce e do seu nome
+ * usando o segredo compartilhado (messaging.socket.secret), que nunca trafega
+ * pela rede; depois seguem frames de [tamanho int][mensagem]. Os envios vão
+ * para uma fila por servidor, escrita por uma thread própria sem esperar
+ * resposta, de modo que várias mensagens ficam em trânsito ao mesmo tempo; a
+ * confirmação de entrega é feita pela caixa de saída. Conexões perdidas são
+ * refeitas com espera exponencial.
+ */
+public class SocketTransport implements MessageTransport {
+
+    public static final String NAME = "socket";
+
+    private static final int PROTOCOL_MAGIC = 0x574D5332; // "WMS2"
+    private static final int MAX_FRAME_BYTES = 1024 * 1024;
+    // Os frames do HELLO são pequenos (nonce, HMAC e nome do servidor)
+    private static final int MAX_HELLO_FRAME_BYTES = 256;
+    private static final int NONCE_BYTES = 32;
+    // Conexões de entrada que ainda não se autenticaram
+    private static final int MAX_PENDING_HANDSHAKES = 8;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final int HELLO_TIMEOUT_MILLIS = 10000;
+    private static final long MIN_RECONNECT_MILLIS = 1000L;
+    private static final long MAX_RECONNECT_MILLIS = 30000L;
+
+    private final WorldsManager plugin;
+    private final TransportStats stats = new TransportStats();
+
+    // Conexões de saída por nome do servidor de destino
+    private final Map<String, Peer> peers = new HashMap<>();
+
+    // Conexões de entrada abertas, para encerrá-las no desligamento
+    private final Set<Socket> inbound = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pendingHandshakes = new AtomicInteger();
+    private final SecureRandom random = new SecureRandom();
+
+    private volatile Receiver receiver;
+    private volatile boolean running;
+    private ServerSocket serverSocket;
+    private Thread acceptThread;
+    private byte[] secret;
+    private String localName;
+
+    public SocketTransport(WorldsManager plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void start(Receiver receiver) {
+        if (running) {
+            return;
+        }
+
+        String configuredSecret = plugin.getConfigManager().getSocketTransportSecret();
+        if (configuredSecret == null || configuredSecret.isEmpty()) {
+            plugin.getLogger().severe("messaging.socket.secret não configurado; transporte por socket desativado");
+            return;
+        }
+
+        this.receiver = receiver;
+        this.secret = configuredSecret.getBytes(StandardCharsets.UTF_8);
+        this.localName = plugin.getConfigManager().getServerName();
+        this.running = true;
+
+        int port = plugin.getConfigManager().getSocketTransportPort();
+        if (port > 0) {
+            try {
+                serverSocket = new ServerSocket();
+                serverSocket.setReuseAddress(true);
+                serverSocket.bind(new InetSocketAddress(plugin.getConfigManager().getSocketTransportBindAddress(), port));
+                acceptThread = newThread(this::acceptLoop, "WorldsManager-SocketAccept");
+                acceptThread.start();
+                plugin.getLogger().info("Transporte por socket escutando na porta " + port);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Não foi possível escutar na porta " + port, e);
+            }
+        }
+
+        List<String> configuredPeers = plugin.getConfigManager().getSocketTransportPeers();
+        for (String entry : configuredPeers) {
+            int separator = entry.indexOf('=');
+            int portSeparator = entry.lastIndexOf(':');
+            if (separator <= 0 || portSeparator <= separator) {
+                plugin.getLogger().warning("Servidor inválido em messaging.socket.peers (use Nome=host:porta): " + entry);
+                continue;
+            }
+
+            String name = entry.substring(0, separator).trim();
+            try {
+                String host = entry.substring(separator + 1, portSeparator).trim();
+                int peerPort = Integer.parseInt(entry.substring(portSeparator + 1).trim());
+                Peer peer = new Peer(name, host, peerPort);
+                peers.put(name.toLowerCase(), peer);
+                peer.thread.start();
+            } catch (NumberFormatException e) {
+                plugin.getLogger().warning("Porta inválida em messaging.socket.peers: " + entry);
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        // As filas têm até um segundo para esvaziar
+        for (Peer peer : peers.values()) {
+            try {
+                peer.thread.join(1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            peer.close();
+        }
+        peers.clear();
+
+        closeQuietly(serverSocket);
+        for (Socket socket : inbound) {
+            closeQuietly(socket);
+        }
+        inbound.clear();
+        receiver = null;
+    }
+
+    @Override
+    public boolean canSend(String server, Player carrier) {
+        Peer peer = peers.get(server.toLowerCase());
+        return peer != null && peer.connected && peer.queue.remainingCapacity() > 0;
+    }
+
+    @Override
+    public boolean send(String server, byte[] data, int offset, int length, Player carrier) throws IOException {
+        if (length > MAX_FRAME_BYTES) {
+            throw new IOException("Mensagem grande demais para o transporte por socket: " + length + " bytes");
+        }
+
+        Peer peer = peers.get(server.toLowerCase());
+        if (peer == null || !peer.connected) {
+            return false;
+        }
+        return peer.queue.offerLast(Arrays.copyOfRange(data, offset, offset + length));
+    }
+
+    @Override
+    public boolean broadcast(byte[] data, int offset, int length) throws IOException {
+        if (length > MAX_FRAME_BYTES) {
+            throw new IOException("Mensagem grande demais para o transporte por socket: " + length + " bytes");
+        }
+
+        // Só os servidores de messaging.socket.peers conectados no momento
+        boolean sent = false;
+        byte[] frame = null;
+        for (Peer peer : peers.values()) {
+            if (!peer.connected) {
+                continue;
+            }
+            if (frame == null) {
+                frame = Arrays.copyOfRange(data, offset, offset + length);
+            }
+            sent |= peer.queue.offerLast(frame);
+        }
+        return sent;
+    }
+
+    @Override
+    public TransportStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Obtém quantos servidores configurados estão conectados
+     *
+     * @return Conexões de saída ativas
+     */
+    public int getConnectedPeers() {
+        int connected = 0;
+        for (Peer peer : peers.values()) {
+            if (peer.connected) {
+                connected++;
+            }
+        }
+        return connected;
+    }
+
+    public int getConfiguredPeers() {
+        return peers.size();
+    }
+
+    public int getInboundConnections() {
+        return inbound.size();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                if (pendingHandshakes.incrementAndGet() > MAX_PENDING_HANDSHAKES) {
+                    pendingHandshakes.decrementAndGet();
+                    plugin.getLogger().warning("Conexão recusada de " + socket.getRemoteSocketAddress() +
+                            ": conexões demais aguardando autenticação");
+                    closeQuietly(socket);
+                    continue;
+                }
+                socket.setTcpNoDelay(true);
+                inbound.add(socket);
+                newThread(() -> readLoop(socket), "WorldsManager-SocketIn-" + socket.getRemoteSocketAddress()).start();
+            } catch (IOException e) {
+                if (running) {
+                    plugin.getLogger().log(Level.WARNING, "Erro ao aceitar conexão do transporte por socket", e);
+                }
+            }
+        }
+    }
+
+    private void readLoop(Socket socket) {
+        String remote = String.valueOf(socket.getRemoteSocketAddress());
+        boolean authenticated = false;
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            // O HELLO precisa chegar logo e responder ao desafio com o segredo certo
+            socket.setSoTimeout(HELLO_TIMEOUT_MILLIS);
+            if (in.readInt() != PROTOCOL_MAGIC) {
+                throw new IOException("Conexão sem o cabeçalho do transporte");
+            }
+            byte[] nonce = new byte[NONCE_BYTES];
+            random.nextBytes(nonce);
+            out.writeInt(PROTOCOL_MAGIC);
+            writeFrame(out, nonce);
+            out.flush();
+
+            byte[] presented = readFrame(in, MAX_HELLO_FRAME_BYTES);
+            byte[] nameBytes = readFrame(in, MAX_HELLO_FRAME_BYTES);
+            if (!MessageDigest.isEqual(presented, sign(nonce, nameBytes))) {
+                plugin.getLogger().warning("Conexão recusada de " + remote + ": segredo inválido");
+                return;
+            }
+            String peerName = new String(nameBytes, StandardCharsets.UTF_8);
+            socket.setSoTimeout(0);
+            authenticated = true;
+            pendingHandshakes.decrementAndGet();
+            plugin.getLogger().info("Servidor " + (peerName.isEmpty() ? remote : peerName) + " conectado pelo transporte por socket");
+
+            while (running) {
+                byte[] frame = readFrame(in);
+                stats.recordReceived(frame.length);
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    Receiver current = receiver;
+                    if (current != null) {
+                        current.receive(frame, 0, frame.length);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            if (running && !(e instanceof SocketException)) {
+                plugin.getLogger().log(Level.FINE, "Conexão de entrada encerrada: " + remote, e);
+            }
+        } finally {
+            if (!authenticated) {
+                pendingHandshakes.decrementAndGet();
+            }
+            inbound.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    /**
+     * Calcula a resposta ao desafio: HMAC-SHA256 do nonce seguido do nome de quem conecta
+     */
+    private byte[] sign(byte[] nonce, byte[] nameBytes) throws IOException {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+            mac.update(nonce);
+            mac.update(nameBytes);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IOException("HMAC indisponível: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] readFrame(DataInputStream in) throws IOException {
+        return readFrame(in, MAX_FRAME_BYTES);
+    }
+
+    private static byte[] readFrame(DataInputStream in, int maxBytes) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > maxBytes) {
+            throw new IOException("Frame com tamanho inválido: " + length);
+        }
+        byte[] frame = new byte[length];
+        in.readFully(frame);
+        return frame;
+    }
+
+    private static void writeFrame(DataOutputStream out, byte[] frame) throws IOException {
+        out.writeInt(frame.length);
+        out.write(frame);
+    }
+
+    private Thread newThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // Já está sendo encerrado
+        }
+    }
+
+    /**
+     * Conexão de saída para um servidor, com a sua fila de envio e a thread que a escreve
+     */
+    private class Peer {
+        private final String name;
+        private final String host;
+        private final int port;
+        private final LinkedBlockingDeque<byte[]> queue = new LinkedBlockingDeque<>(QUEUE_CAPACITY);
+        private final Thread thread;
+        private volatile boolean connected;
+        private volatile Socket socket;
+
+        private Peer(String name, String host, int port) {
+            this.name = name;
+            this.host = host;
+            this.port = port;
+            this.thread = newThread(this::writeLoop, "WorldsManager-SocketOut-" + name);
+        }
+
+        private void writeLoop() {
+            long reconnectDelay = MIN_RECONNECT_MILLIS;
+            while (running) {
+                try {
+                    connect();
+                    reconnectDelay = MIN_RECONNECT_MILLIS;
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                    out.writeInt(PROTOCOL_MAGIC);
+                    out.flush();
+                    handshake(out);
+                    connected = true;
+                    plugin.getLogger().info("Transporte por socket conectado ao servidor " + name);
+
+                    // Depois de um desligamento, continua até esvaziar a fila
+                    while (running || !queue.isEmpty()) {
+                        byte[] frame = queue.pollFirst(100, TimeUnit.MILLISECONDS);
+                        if (frame == null) {
+                            continue;
+                        }
+                        try {
+                            writeFrame(out, frame);
+                            // Agrupa na mesma escrita o que já estiver na fila
+                            if (queue.isEmpty()) {
+                                out.flush();
+                            }
+                        } catch (IOException e) {
+                            queue.offerFirst(frame);
+                            throw e;
+                        }
+                        stats.recordSent(frame.length + 4);
+                    }
+                    out.flush();
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException e) {
+                    boolean wasConnected = connected;
+                    close();
+                    stats.recordFailure();
+                    if (!running) {
+                        return;
+                    }
+                    if (wasConnected) {
+                        plugin.getLogger().warning("Conexão com o servidor " + name + " perdida: " + e.getMessage());
+                    }
+
+                    try {
+                        Thread.sleep(reconnectDelay);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    reconnectDelay = Math.min(MAX_RECONNECT_MILLIS, reconnectDelay * 2);
+                }
+            }
+        }
+
+        /**
+         * Responde ao desafio do servidor de destino com o HMAC do nonce recebido
+         */
+        private void handshake(DataOutputStream out) throws IOException {
+            socket.setSoTimeout(HELLO_TIMEOUT_MILLIS);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            if (in.readInt() != PROTOCOL_MAGIC) {
+                throw new IOException("Servidor " + name + " não respondeu com o cabeçalho do transporte");
+            }
+            byte[] nonce = readFrame(in, MAX_HELLO_FRAME_BYTES);
+            byte[] nameBytes = (localName != null ? localName : "").getBytes(StandardCharsets.UTF_8);
+            writeFrame(out, sign(nonce, nameBytes));
+            writeFrame(out, nameBytes);
+            out.flush();
+            socket.setSoTimeout(0);
+        }
+
+        private void connect() throws IOException {
+            Socket newSocket = new Socket();
+            try {
+                newSocket.setTcpNoDelay(true);
+                newSocket.setKeepAlive(true);
+                newSocket.connect(new InetSocketAddress(host, port), 5000);
+            } catch (IOException e) {
+                closeQuietly(newSocket);
+                throw e;
+            }
+            socket = newSocket;
+        }
+
+        private void close() {
+            connected = false;
+            closeQuietly(socket);
+            socket = null;
+        }
+    }
+}
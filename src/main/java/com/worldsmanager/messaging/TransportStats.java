@@ -0,0 +1,102 @@
+package com.worldsmanager.messaging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de tráfego e latência de um transporte. Podem ser atualizados
+ * pelas threads de rede do transporte.
+ */
+public final class TransportStats {
+
+    // Peso de cada nova amostra na média móvel da latência
+    private static final double LATENCY_ALPHA = 0.2;
+
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong framesReceived = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private long latencySamples;
+    private double averageLatencyMillis;
+    private double lastLatencyMillis;
+
+    public void recordSent(int bytes) {
+        framesSent.incrementAndGet();
+        bytesSent.addAndGet(bytes);
+    }
+
+    public void recordReceived(int bytes) {
+        framesReceived.incrementAndGet();
+        bytesReceived.addAndGet(bytes);
+    }
+
+    public void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    /**
+     * Registra o tempo de ida e volta de um PING
+     *
+     * @param roundTripNanos Tempo de ida e volta em nanossegundos
+     */
+    public synchronized void recordLatency(long roundTripNanos) {
+        lastLatencyMillis = roundTripNanos / 1_000_000.0;
+        averageLatencyMillis = latencySamples == 0 ? lastLatencyMillis
+                : averageLatencyMillis + LATENCY_ALPHA * (lastLatencyMillis - averageLatencyMillis);
+        latencySamples++;
+    }
+
+    public long getFramesSent() {
+        return framesSent.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getFramesReceived() {
+        return framesReceived.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public synchronized long getLatencySamples() {
+        return latencySamples;
+    }
+
+    public synchronized double getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    public synchronized double getLastLatencyMillis() {
+        return lastLatencyMillis;
+    }
+
+    /**
+     * Obtém a vazão média de envio desde o início do transporte
+     *
+     * @return Bytes enviados por segundo
+     */
+    public double getSendThroughput() {
+        long elapsed = Math.max(1, System.currentTimeMillis() - startedAt);
+        return bytesSent.get() * 1000.0 / elapsed;
+    }
+
+    /**
+     * Obtém a vazão média de recebimento desde o início do transporte
+     *
+     * @return Bytes recebidos por segundo
+     */
+    public double getReceiveThroughput() {
+        long elapsed = Math.max(1, System.currentTimeMillis() - startedAt);
+        return bytesReceived.get() * 1000.0 / elapsed;
+    }
+}
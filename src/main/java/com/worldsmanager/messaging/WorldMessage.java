@@ -0,0 +1,499 @@
+package com.worldsmanager.messaging;
+
+import com.worldsmanager.models.CustomWorld;
+import com.worldsmanager.models.ServerHeartbeat;
+import com.worldsmanager.models.WorldSettings;
+import org.bukkit.Material;
+
+import java.util.UUID;
+
+/**
+ * Mensagem trocada entre o lobby e o servidor de mundos.
+ *
+ * Os campos preenchidos dependem do tipo (constantes TYPE_* do MessageCodec).
+ */
+public class WorldMessage {
+
+    private final int type;
+
+    // ID e servidor de origem das mensagens confiáveis (0 e null nas demais)
+    private long messageId;
+    private String origin;
+
+    private String worldName;
+    private String displayName;
+    private UUID ownerUUID;
+    private UUID playerUUID;
+    private Material icon;
+    private String worldPath;
+    private WorldSettings settings;
+    private long[] acknowledgedIds;
+
+    // ID da mensagem respondida por WorldReady/WorldFailed e o motivo da falha
+    private long correlationId;
+    private String reason;
+
+    // Medição de latência: instante do PING (System.nanoTime de quem o enviou) e o transporte medido
+    private long sentAt;
+    private String transport;
+
+    // Estado de carga de um servidor de mundos
+    private ServerHeartbeat heartbeat;
+
+    // Trecho de arquivo de uma migração: caminho relativo, posição, tamanho final (-1 = excluído), modificação
+    // e, no último trecho, o CRC32 do arquivo inteiro
+    private String filePath;
+    private long fileOffset;
+    private long fileLength;
+    private long lastModified;
+    private long checksum;
+    private byte[] data;
+
+    // Totais que o destino confere no commit de uma migração
+    private int fileCount;
+    private long totalBytes;
+
+    // Mudança no registro de mundos: versão gravada no banco, seções alteradas e servidor do mundo
+    private long version;
+    private int sections;
+    private String serverName;
+
+    public WorldMessage(int type) {
+        this.type = type;
+    }
+
+    /**
+     * Cria a mensagem de criação de um mundo
+     *
+     * @param world Mundo a ser criado
+     * @return Mensagem
+     */
+    public static WorldMessage createWorld(CustomWorld world) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_CREATE_WORLD);
+        message.worldName = world.getWorldName();
+        message.displayName = world.getName();
+        message.ownerUUID = world.getOwnerUUID();
+        message.icon = world.getIcon();
+        message.worldPath = world.getWorldPath() != null ? world.getWorldPath() : "";
+        message.settings = world.getSettings();
+        return message;
+    }
+
+    /**
+     * Cria a mensagem que prepara o teleporte de um jogador a caminho do servidor de mundos
+     *
+     * @param playerUUID UUID do jogador
+     * @param worldName Nome do mundo de destino
+     * @return Mensagem
+     */
+    public static WorldMessage teleportToWorld(UUID playerUUID, String worldName) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_TELEPORT_TO_WORLD);
+        message.playerUUID = playerUUID;
+        message.worldName = worldName;
+        return message;
+    }
+
+    /**
+     * Cria a mensagem de exclusão de um mundo
+     *
+     * @param worldName Nome do mundo
+     * @return Mensagem
+     */
+    public static WorldMessage deleteWorld(String worldName) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_DELETE_WORLD);
+        message.worldName = worldName;
+        return message;
+    }
+
+    /**
+     * Cria a mensagem de atualização das configurações de um mundo
+     *
+     * @param worldName Nome do mundo
+     * @param settings Novas configurações
+     * @return Mensagem
+     */
+    public static WorldMessage updateWorldSettings(String worldName, WorldSettings settings) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_UPDATE_WORLD_SETTINGS);
+        message.worldName = worldName;
+        message.settings = settings;
+        return message;
+    }
+
+    /**
+     * Cria a confirmação de recebimento de mensagens confiáveis
+     *
+     * @param ids IDs das mensagens recebidas
+     * @return Mensagem
+     */
+    public static WorldMessage ack(long[] ids) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_ACK);
+        message.acknowledgedIds = ids;
+        return message;
+    }
+
+    /**
+     * Cria a resposta de que um mundo pedido está carregado e pronto para receber o jogador
+     *
+     * @param correlationId ID da mensagem CreateWorld ou TeleportToWorld respondida
+     * @param worldName Nome do mundo
+     * @return Mensagem
+     */
+    public static WorldMessage worldReady(long correlationId, String worldName) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_WORLD_READY);
+        message.correlationId = correlationId;
+        message.worldName = worldName;
+        return message;
+    }
+
+    /**
+     * Cria a resposta de que um mundo pedido não pôde ser criado ou carregado
+     *
+     * @param correlationId ID da mensagem CreateWorld ou TeleportToWorld respondida
+     * @param worldName Nome do mundo
+     * @param reason Motivo exibido ao jogador
+     * @return Mensagem
+     */
+    public static WorldMessage worldFailed(long correlationId, String worldName, String reason) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_WORLD_FAILED);
+        message.correlationId = correlationId;
+        message.worldName = worldName;
+        message.reason = reason;
+        return message;
+    }
+
+    /**
+     * Cria a mensagem de medição de latência de um transporte
+     *
+     * @param transport Nome do transporte medido
+     * @param origin Servidor que deve receber o PONG
+     * @return Mensagem
+     */
+    public static WorldMessage ping(String transport, String origin) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_PING);
+        message.sentAt = System.nanoTime();
+        message.transport = transport;
+        message.origin = origin;
+        return message;
+    }
+
+    /**
+     * Cria a resposta a um PING, devolvendo o instante em que ele foi enviado
+     *
+     * @param ping PING recebido
+     * @return Mensagem
+     */
+    public static WorldMessage pong(WorldMessage ping) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_PONG);
+        message.sentAt = ping.sentAt;
+        message.transport = ping.transport;
+        return message;
+    }
+
+    /**
+     * Cria o heartbeat de um servidor de mundos
+     *
+     * @param heartbeat Estado de carga do servidor
+     * @return Mensagem
+     */
+    public static WorldMessage heartbeat(ServerHeartbeat heartbeat) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_HEARTBEAT);
+        message.heartbeat = heartbeat;
+        return message;
+    }
+
+    /**
+     * Cria um trecho de arquivo de uma migração
+     *
+     * @param worldName Nome do mundo
+     * @param worldPath Pasta do mundo no armazenamento
+     * @param filePath Caminho do arquivo relativo à pasta do mundo
+     * @param fileLength Tamanho final do arquivo, ou -1 se ele foi excluído na origem
+     * @param lastModified Data de modificação do arquivo
+     * @param offset Posição do trecho no arquivo
+     * @param checksum CRC32 do arquivo inteiro no último trecho (0 nos demais)
+     * @param data Conteúdo do trecho
+     * @return Mensagem
+     */
+    public static WorldMessage migrationChunk(String worldName, String worldPath, String filePath, long fileLength,
+                                              long lastModified, long offset, long checksum, byte[] data) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_MIGRATION_CHUNK);
+        message.worldName = worldName;
+        message.worldPath = worldPath;
+        message.filePath = filePath;
+        message.fileLength = fileLength;
+        message.lastModified = lastModified;
+        message.fileOffset = offset;
+        message.checksum = checksum;
+        message.data = data;
+        return message;
+    }
+
+    /**
+     * Cria o pedido para o destino conferir os arquivos recebidos e assumir o mundo
+     *
+     * @param worldName Nome do mundo
+     * @param worldPath Pasta do mundo no armazenamento
+     * @param fileCount Quantidade de arquivos do mundo
+     * @param totalBytes Tamanho total dos arquivos
+     * @return Mensagem
+     */
+    public static WorldMessage migrationCommit(String worldName, String worldPath, int fileCount, long totalBytes) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_MIGRATION_COMMIT);
+        message.worldName = worldName;
+        message.worldPath = worldPath;
+        message.fileCount = fileCount;
+        message.totalBytes = totalBytes;
+        return message;
+    }
+
+    /**
+     * Cria o aviso de que uma migração foi desfeita e os arquivos recebidos podem ser descartados
+     *
+     * @param worldName Nome do mundo
+     * @param worldPath Pasta do mundo no armazenamento
+     * @return Mensagem
+     */
+    public static WorldMessage migrationAbort(String worldName, String worldPath) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_MIGRATION_ABORT);
+        message.worldName = worldName;
+        message.worldPath = worldPath;
+        return message;
+    }
+
+    /**
+     * Cria o aviso de que o registro de um mundo mudou no banco
+     *
+     * @param origin Servidor que fez a mudança
+     * @param worldName Nome do mundo
+     * @param version Versão do registro depois da mudança
+     * @param sections Seções alteradas (constantes SECTION_* do WorldRegistryManager)
+     * @param serverName Servidor de mundos onde o mundo fica (pode ser null)
+     * @return Mensagem
+     */
+    public static WorldMessage registryChange(String origin, String worldName, long version, int sections, String serverName) {
+        WorldMessage message = new WorldMessage(MessageCodec.TYPE_REGISTRY_CHANGE);
+        message.origin = origin;
+        message.worldName = worldName;
+        message.version = version;
+        message.sections = sections;
+        message.serverName = serverName;
+        return message;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public long getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(long messageId) {
+        this.messageId = messageId;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getWorldName() {
+        return worldName;
+    }
+
+    public void setWorldName(String worldName) {
+        this.worldName = worldName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public UUID getOwnerUUID() {
+        return ownerUUID;
+    }
+
+    public void setOwnerUUID(UUID ownerUUID) {
+        this.ownerUUID = ownerUUID;
+    }
+
+    public UUID getPlayerUUID() {
+        return playerUUID;
+    }
+
+    public void setPlayerUUID(UUID playerUUID) {
+        this.playerUUID = playerUUID;
+    }
+
+    public Material getIcon() {
+        return icon;
+    }
+
+    public void setIcon(Material icon) {
+        this.icon = icon;
+    }
+
+    public String getWorldPath() {
+        return worldPath;
+    }
+
+    public void setWorldPath(String worldPath) {
+        this.worldPath = worldPath;
+    }
+
+    public WorldSettings getSettings() {
+        return settings;
+    }
+
+    public void setSettings(WorldSettings settings) {
+        this.settings = settings;
+    }
+
+    public long[] getAcknowledgedIds() {
+        return acknowledgedIds;
+    }
+
+    public void setAcknowledgedIds(long[] acknowledgedIds) {
+        this.acknowledgedIds = acknowledgedIds;
+    }
+
+    public long getCorrelationId() {
+        return correlationId;
+    }
+
+    public void setCorrelationId(long correlationId) {
+        this.correlationId = correlationId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public long getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(long sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    public String getTransport() {
+        return transport;
+    }
+
+    public void setTransport(String transport) {
+        this.transport = transport;
+    }
+
+    public ServerHeartbeat getHeartbeat() {
+        return heartbeat;
+    }
+
+    public void setHeartbeat(ServerHeartbeat heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public long getFileOffset() {
+        return fileOffset;
+    }
+
+    public void setFileOffset(long fileOffset) {
+        this.fileOffset = fileOffset;
+    }
+
+    public long getFileLength() {
+        return fileLength;
+    }
+
+    public void setFileLength(long fileLength) {
+        this.fileLength = fileLength;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(long checksum) {
+        this.checksum = checksum;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public void setFileCount(int fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public int getSections() {
+        return sections;
+    }
+
+    public void setSections(int sections) {
+        this.sections = sections;
+    }
+
+    public String getServerName() {
+        return serverName;
+    }
+
+    public void setServerName(String serverName) {
+        this.serverName = serverName;
+    }
+
+    @Override
+    public String toString() {
+        return MessageCodec.getTypeName(type) + "{id=" + Long.toHexString(messageId) + ", world=" + worldName + "}";
+    }
+}
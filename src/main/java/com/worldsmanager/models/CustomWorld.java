@@ -31,6 +31,12 @@ public class CustomWorld {
     private List<UUID> trustedPlayers;
     private Location spawnPoint;
     private String worldPath; // Caminho relativo à pasta mundos-jogadores
+    private String serverName; // Servidor de mundos onde o mundo fica (null = cross-server.worlds-server)
+    private long version; // Versão do registro no banco, incrementada a cada gravação
+    private final ThrottleState throttleState = new ThrottleState(); // Nível persistido à parte (saveThrottleLevel)
+    private boolean quiescent; // Não persistido
+    private long emptySince; // Não persistido
+    private volatile boolean migrating; // Não persistido: entradas bloqueadas durante uma migração
 
     /**
      * Construtor para mundos existentes
@@ -111,17 +117,39 @@ public class CustomWorld {
             }
         }
 
-        World world = getWorld();
-        Location teleportLocation = (spawnPoint != null) ? spawnPoint : world.getSpawnLocation();
+        Location teleportLocation = getTeleportLocation();
 
         // Configura o modo de jogo apropriado
+        applyGameMode(player);
+
+        return player.teleport(teleportLocation);
+    }
+
+    /**
+     * Obtém o destino dos teleportes para este mundo
+     *
+     * @return Ponto de spawn definido ou o spawn do mundo, ou null se o mundo não estiver carregado
+     */
+    public Location getTeleportLocation() {
+        if (spawnPoint != null) {
+            return spawnPoint;
+        }
+        World world = getWorld();
+        return world != null ? world.getSpawnLocation() : null;
+    }
+
+    /**
+     * Aplica o modo de jogo deste mundo a um jogador
+     *
+     * @param player Jogador que está entrando no mundo
+     */
+    public void applyGameMode(Player player) {
         if (player.getUniqueId().equals(ownerUUID)) {
             player.setGameMode(GameMode.CREATIVE);
-        } else if (settings != null && settings.getGameMode() != null) {
+        } else if (settings != null && settings.getGameMode() != null &&
+                !player.hasPermission("worldsmanager.gamemode.bypass")) {
             player.setGameMode(settings.getGameMode());
         }
-
-        return player.teleport(teleportLocation);
     }
 
     /**
@@ -225,6 +253,34 @@ public class CustomWorld {
         return settings;
     }
 
+    public ThrottleState getThrottleState() {
+        return throttleState;
+    }
+
+    public boolean isQuiescent() {
+        return quiescent;
+    }
+
+    public void setQuiescent(boolean quiescent) {
+        this.quiescent = quiescent;
+    }
+
+    public long getEmptySince() {
+        return emptySince;
+    }
+
+    public void setEmptySince(long emptySince) {
+        this.emptySince = emptySince;
+    }
+
+    public boolean isMigrating() {
+        return migrating;
+    }
+
+    public void setMigrating(boolean migrating) {
+        this.migrating = migrating;
+    }
+
     public void setSettings(WorldSettings settings) {
         this.settings = settings;
     }
@@ -259,4 +315,43 @@ public class CustomWorld {
     public void setWorldPath(String worldPath) {
         this.worldPath = worldPath;
     }
+
+    /**
+     * Obtém o servidor de mundos onde o mundo fica
+     *
+     * @return Nome do servidor no BungeeCord, ou null para mundos anteriores à distribuição
+     */
+    public String getServerName() {
+        return serverName;
+    }
+
+    public void setServerName(String serverName) {
+        this.serverName = serverName;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Copia os dados persistidos de uma cópia mais recente do mesmo mundo lida do banco,
+     * mantendo o estado local (throttle, quiescência, migração)
+     *
+     * @param stored Mundo lido do banco
+     */
+    public void copyPersistedFrom(CustomWorld stored) {
+        this.id = stored.id;
+        this.name = stored.name;
+        this.icon = stored.icon;
+        this.settings = stored.settings;
+        this.trustedPlayers = new ArrayList<>(stored.trustedPlayers);
+        this.spawnPoint = stored.spawnPoint;
+        this.worldPath = stored.worldPath;
+        this.serverName = stored.serverName;
+        this.version = stored.version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.worldsmanager.models;
+
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.SpawnCategory;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Perfil de recursos de um mundo: controla o quanto de memória e processamento
+ * um mundo carregado consome (spawn em memória, distâncias, limites de spawn e autosave)
+ */
+public class ResourceProfile {
+
+    private static final Logger logger = Logger.getLogger("WorldsManager");
+
+    // Métodos do Paper para distâncias por mundo (não existem na API do Spigot)
+    private static final Method SET_VIEW_DISTANCE = findWorldMethod("setViewDistance");
+    private static final Method SET_SIMULATION_DISTANCE = findWorldMethod("setSimulationDistance");
+
+    private final String name;
+    private final int priority;
+    private final boolean keepSpawnInMemory;
+    private final int viewDistance;
+    private final int simulationDistance;
+    private final boolean autoSave;
+    private final Map<SpawnCategory, Integer> spawnLimits;
+    private final Map<SpawnCategory, Integer> ticksPerSpawns;
+
+    public ResourceProfile(String name, int priority, boolean keepSpawnInMemory, int viewDistance,
+                           int simulationDistance, boolean autoSave,
+                           Map<SpawnCategory, Integer> spawnLimits, Map<SpawnCategory, Integer> ticksPerSpawns) {
+        this.name = name;
+        this.priority = priority;
+        this.keepSpawnInMemory = keepSpawnInMemory;
+        this.viewDistance = viewDistance;
+        this.simulationDistance = simulationDistance;
+        this.autoSave = autoSave;
+        this.spawnLimits = spawnLimits;
+        this.ticksPerSpawns = ticksPerSpawns;
+    }
+
+    /**
+     * Cria um perfil a partir de uma seção do config.yml
+     *
+     * @param name Nome do perfil
+     * @param section Seção de configuração
+     * @return Perfil carregado
+     */
+    public static ResourceProfile fromConfig(String name, ConfigurationSection section) {
+        return new ResourceProfile(
+                name,
+                section.getInt("priority", 0),
+                section.getBoolean("keep-spawn-in-memory", false),
+                section.getInt("view-distance", 0),
+                section.getInt("simulation-distance", 0),
+                section.getBoolean("auto-save", true),
+                readCategories(name, section.getConfigurationSection("spawn-limits")),
+                readCategories(name, section.getConfigurationSection("ticks-per-spawns")));
+    }
+
+    private static Map<SpawnCategory, Integer> readCategories(String profileName, ConfigurationSection section) {
+        if (section == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<SpawnCategory, Integer> values = new EnumMap<>(SpawnCategory.class);
+        for (String key : section.getKeys(false)) {
+            try {
+                SpawnCategory category = SpawnCategory.valueOf(key.toUpperCase());
+                if (category != SpawnCategory.MISC) {
+                    values.put(category, section.getInt(key));
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warning("Categoria de spawn inválida no perfil " + profileName + ": " + key);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Aplica o perfil a um mundo carregado. Valores menores que zero (ou zero
+     * para distâncias) mantêm o padrão do servidor.
+     *
+     * @param world Mundo carregado
+     */
+    public void applyTo(World world) {
+        world.setKeepSpawnInMemory(keepSpawnInMemory);
+        world.setAutoSave(autoSave);
+
+        for (Map.Entry<SpawnCategory, Integer> entry : spawnLimits.entrySet()) {
+            if (entry.getValue() >= 0) {
+                world.setSpawnLimit(entry.getKey(), entry.getValue());
+            }
+        }
+
+        for (Map.Entry<SpawnCategory, Integer> entry : ticksPerSpawns.entrySet()) {
+            if (entry.getValue() >= 0) {
+                world.setTicksPerSpawns(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (viewDistance > 0) {
+            invokeDistance(SET_VIEW_DISTANCE, world, viewDistance);
+        }
+        if (simulationDistance > 0) {
+            invokeDistance(SET_SIMULATION_DISTANCE, world, simulationDistance);
+        }
+    }
+
+    /**
+     * Verifica se o servidor permite distâncias por mundo (Paper)
+     *
+     * @return true se as distâncias podem ser aplicadas
+     */
+    public static boolean supportsPerWorldDistances() {
+        return SET_VIEW_DISTANCE != null;
+    }
+
+    private static void invokeDistance(Method method, World world, int distance) {
+        if (method == null) {
+            return;
+        }
+        try {
+            method.invoke(world, Math.max(2, Math.min(32, distance)));
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            logger.warning("Não foi possível definir " + method.getName() + " no mundo " + world.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private static Method findWorldMethod(String methodName) {
+        try {
+            return World.class.getMethod(methodName, int.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    // Getters
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public boolean isKeepSpawnInMemory() {
+        return keepSpawnInMemory;
+    }
+
+    public int getViewDistance() {
+        return viewDistance;
+    }
+
+    public int getSimulationDistance() {
+        return simulationDistance;
+    }
+
+    public boolean isAutoSave() {
+        return autoSave;
+    }
+
+    public Map<SpawnCategory, Integer> getSpawnLimits() {
+        return Collections.unmodifiableMap(spawnLimits);
+    }
+
+    public Map<SpawnCategory, Integer> getTicksPerSpawns() {
+        return Collections.unmodifiableMap(ticksPerSpawns);
+    }
+}
@@ -0,0 +1,94 @@
+package com.worldsmanager.models;
+
+/**
+ * Estado de carga publicado periodicamente por um servidor de mundos
+ */
+public class ServerHeartbeat {
+
+    private final String server;
+    private final double tps;
+    private final double mspt; // -1 se o servidor não informar o tempo de tick
+    private final int loadedWorlds;
+    private final int onlinePlayers;
+    private final long freeHeapMb;
+    private final long maxHeapMb;
+    private final long freeDiskMb; // -1 se desconhecido
+    private final boolean overloaded;
+    private long receivedAt; // Não transmitido: quando o heartbeat chegou a este servidor
+
+    public ServerHeartbeat(String server, double tps, double mspt, int loadedWorlds, int onlinePlayers,
+                           long freeHeapMb, long maxHeapMb, long freeDiskMb, boolean overloaded) {
+        this.server = server;
+        this.tps = tps;
+        this.mspt = mspt;
+        this.loadedWorlds = loadedWorlds;
+        this.onlinePlayers = onlinePlayers;
+        this.freeHeapMb = freeHeapMb;
+        this.maxHeapMb = maxHeapMb;
+        this.freeDiskMb = freeDiskMb;
+        this.overloaded = overloaded;
+    }
+
+    /**
+     * Obtém a fração do heap em uso
+     *
+     * @return Fração entre 0 e 1
+     */
+    public double getHeapUsedFraction() {
+        return maxHeapMb > 0 ? Math.max(0, Math.min(1, 1.0 - (double) freeHeapMb / maxHeapMb)) : 0;
+    }
+
+    /**
+     * Obtém a idade do heartbeat
+     *
+     * @param now Instante atual em milissegundos
+     * @return Milissegundos desde a chegada
+     */
+    public long getAgeMillis(long now) {
+        return now - receivedAt;
+    }
+
+    public String getServer() {
+        return server;
+    }
+
+    public double getTps() {
+        return tps;
+    }
+
+    public double getMspt() {
+        return mspt;
+    }
+
+    public int getLoadedWorlds() {
+        return loadedWorlds;
+    }
+
+    public int getOnlinePlayers() {
+        return onlinePlayers;
+    }
+
+    public long getFreeHeapMb() {
+        return freeHeapMb;
+    }
+
+    public long getMaxHeapMb() {
+        return maxHeapMb;
+    }
+
+    public long getFreeDiskMb() {
+        return freeDiskMb;
+    }
+
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    public long getReceivedAt() {
+        return receivedAt;
+    }
+
+    public void setReceivedAt(long receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+}
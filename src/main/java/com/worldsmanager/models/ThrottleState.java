@@ -0,0 +1,91 @@
+package com.worldsmanager.models;
+
+/**
+ * Estado de limitação automática de um mundo que excedeu o orçamento de tick.
+ *
+ * Fica ao lado das WorldSettings no CustomWorld e o nível é guardado na
+ * mesma linha do banco (world_settings.throttle_level), mas não altera as
+ * configurações do dono: os limites de cada nível são aplicados por cima
+ * das configurações sempre que elas são aplicadas ao mundo.
+ */
+public class ThrottleState {
+
+    public static final int NONE = 0;
+    public static final int REDUCED_RANDOM_TICKS = 1;
+    public static final int SPAWNING_PAUSED = 2;
+    public static final int REDSTONE_FROZEN = 3;
+    public static final int UNLOAD_PENDING = 4;
+
+    private int level = NONE;
+    private int overBudgetChecks;
+    private int quietChecks;
+    private long lastChange;
+
+    /**
+     * Registra uma verificação acima do orçamento
+     *
+     * @return Número de verificações consecutivas acima do orçamento
+     */
+    public int markOverBudget() {
+        quietChecks = 0;
+        return ++overBudgetChecks;
+    }
+
+    /**
+     * Registra uma verificação abaixo do limite de restauração
+     *
+     * @return Número de verificações consecutivas abaixo do limite
+     */
+    public int markQuiet() {
+        overBudgetChecks = 0;
+        return ++quietChecks;
+    }
+
+    /**
+     * Registra uma verificação entre o limite de restauração e o orçamento
+     */
+    public void markSteady() {
+        overBudgetChecks = 0;
+        quietChecks = 0;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = Math.max(NONE, Math.min(UNLOAD_PENDING, level));
+        this.overBudgetChecks = 0;
+        this.quietChecks = 0;
+        this.lastChange = System.currentTimeMillis();
+    }
+
+    public boolean isThrottled() {
+        return level > NONE;
+    }
+
+    public long getLastChange() {
+        return lastChange;
+    }
+
+    /**
+     * Obtém a descrição de um nível de limitação
+     *
+     * @param level Nível
+     * @return Descrição em texto
+     */
+    public static String describe(int level) {
+        switch (level) {
+            case REDUCED_RANDOM_TICKS:
+                return "random ticks reduzidos";
+            case SPAWNING_PAUSED:
+                return "spawn de mobs pausado";
+            case REDSTONE_FROZEN:
+                return "redstone congelada";
+            case UNLOAD_PENDING:
+                return "descarregamento quando vazio";
+            default:
+                return "sem limitação";
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.worldsmanager.models;
+
+/**
+ * Lease de um mundo no banco: o servidor que pode manter o mundo carregado e até quando
+ */
+public class WorldLease {
+
+    private final String worldName;
+    private final String nodeId;
+    private final long expiresAt;
+
+    public WorldLease(String worldName, String nodeId, long expiresAt) {
+        this.worldName = worldName;
+        this.nodeId = nodeId;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Verifica se o lease ainda vale
+     *
+     * @param now Instante atual em milissegundos
+     * @return true antes do vencimento
+     */
+    public boolean isValid(long now) {
+        return expiresAt >= now;
+    }
+
+    public String getWorldName() {
+        return worldName;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+}
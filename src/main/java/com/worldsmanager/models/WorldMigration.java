@@ -0,0 +1,164 @@
+package com.worldsmanager.models;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Migração de um mundo entre servidores de mundos, acompanhada pelo servidor de origem
+ */
+public class WorldMigration {
+
+    /**
+     * Etapas, na ordem em que acontecem. Até FINAL_SYNC a cópia da origem
+     * continua intacta e a migração pode ser desfeita; a partir de COMMITTING
+     * ela só pode seguir em frente.
+     */
+    public enum Step {
+        PRE_SYNC,
+        EVACUATING,
+        FINAL_SYNC,
+        COMMITTING,
+        COMMITTED
+    }
+
+    private final String worldName;
+    private final String worldPath;
+    private final String source;
+    private final String target;
+    private final String trigger;
+    private final long startedAt;
+    private volatile Step step = Step.PRE_SYNC;
+
+    // Arquivos que o destino já tem (caminho relativo -> {tamanho, modificação}), para a sincronização incremental
+    private final Map<String, long[]> syncedFiles = new HashMap<>();
+
+    // Jogadores retirados do mundo, levados ao destino no fim
+    private final List<UUID> evacuatedPlayers = new ArrayList<>();
+    private boolean wasLoaded;
+
+    // Totais conferidos pelo destino no commit
+    private int fileCount;
+    private long totalBytes;
+
+    private long unavailableSince; // Não persistido
+    private long commitMessageId; // Não persistido
+    private long commitSentAt; // Não persistido
+    private volatile long bytesSent; // Não persistido
+
+    public WorldMigration(String worldName, String worldPath, String source, String target, String trigger, long startedAt) {
+        this.worldName = worldName;
+        this.worldPath = worldPath;
+        this.source = source;
+        this.target = target;
+        this.trigger = trigger;
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Verifica se a migração ainda pode ser desfeita mantendo o mundo na origem
+     *
+     * @return true antes do commit
+     */
+    public boolean isReversible() {
+        return step.ordinal() < Step.COMMITTING.ordinal();
+    }
+
+    public String getWorldName() {
+        return worldName;
+    }
+
+    public String getWorldPath() {
+        return worldPath;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public String getTrigger() {
+        return trigger;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public Step getStep() {
+        return step;
+    }
+
+    public void setStep(Step step) {
+        this.step = step;
+    }
+
+    public Map<String, long[]> getSyncedFiles() {
+        return syncedFiles;
+    }
+
+    public List<UUID> getEvacuatedPlayers() {
+        return evacuatedPlayers;
+    }
+
+    public boolean wasLoaded() {
+        return wasLoaded;
+    }
+
+    public void setWasLoaded(boolean wasLoaded) {
+        this.wasLoaded = wasLoaded;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public void setFileCount(int fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getUnavailableSince() {
+        return unavailableSince;
+    }
+
+    public void setUnavailableSince(long unavailableSince) {
+        this.unavailableSince = unavailableSince;
+    }
+
+    public long getCommitMessageId() {
+        return commitMessageId;
+    }
+
+    public void setCommitMessageId(long commitMessageId) {
+        this.commitMessageId = commitMessageId;
+    }
+
+    public long getCommitSentAt() {
+        return commitSentAt;
+    }
+
+    public void setCommitSentAt(long commitSentAt) {
+        this.commitSentAt = commitSentAt;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public void addBytesSent(long bytes) {
+        this.bytesSent += bytes;
+    }
+}
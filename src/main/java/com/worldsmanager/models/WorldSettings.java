@@ -30,6 +30,8 @@ public class WorldSettings implements ConfigurationSerializable {
     private boolean leafDecay;
     private boolean blockUpdates;
     private GameMode gameMode;
+    private String resourceProfile;
+    private String ownerProfile; // Último perfil obtido pelas permissões do dono
 
     /**
      * Construtor padrão com valores padrão
@@ -52,6 +54,7 @@ public class WorldSettings implements ConfigurationSerializable {
         this.leafDecay = true;
         this.blockUpdates = true;
         this.gameMode = GameMode.SURVIVAL;
+        this.resourceProfile = null; // Seleção automática pelo dono do mundo
     }
 
     /**
@@ -77,6 +80,8 @@ public class WorldSettings implements ConfigurationSerializable {
         this.leafDecay = other.leafDecay;
         this.blockUpdates = other.blockUpdates;
         this.gameMode = other.gameMode;
+        this.resourceProfile = other.resourceProfile;
+        this.ownerProfile = other.ownerProfile;
     }
 
     /**
@@ -108,6 +113,9 @@ public class WorldSettings implements ConfigurationSerializable {
         } catch (IllegalArgumentException e) {
             this.gameMode = GameMode.SURVIVAL;
         }
+
+        this.resourceProfile = (String) map.get("resourceProfile");
+        this.ownerProfile = (String) map.get("ownerProfile");
     }
 
     @Override
@@ -130,6 +138,12 @@ public class WorldSettings implements ConfigurationSerializable {
         map.put("leafDecay", leafDecay);
         map.put("blockUpdates", blockUpdates);
         map.put("gameMode", gameMode.name());
+        if (resourceProfile != null) {
+            map.put("resourceProfile", resourceProfile);
+        }
+        if (ownerProfile != null) {
+            map.put("ownerProfile", ownerProfile);
+        }
         return map;
     }
 
@@ -441,6 +455,42 @@ public class WorldSettings implements ConfigurationSerializable {
         this.gameMode = gameMode;
     }
 
+    /**
+     * Obtém o perfil de recursos escolhido para o mundo
+     *
+     * @return Nome do perfil ou null para seleção automática
+     */
+    public String getResourceProfile() {
+        return resourceProfile;
+    }
+
+    /**
+     * Define o perfil de recursos do mundo
+     *
+     * @param resourceProfile Nome do perfil ou null para seleção automática
+     */
+    public void setResourceProfile(String resourceProfile) {
+        this.resourceProfile = resourceProfile != null && !resourceProfile.isEmpty() ? resourceProfile : null;
+    }
+
+    /**
+     * Obtém o perfil de recursos obtido pelas permissões do dono na última vez que ele estava online
+     *
+     * @return Nome do perfil ou null se ainda não foi resolvido
+     */
+    public String getOwnerProfile() {
+        return ownerProfile;
+    }
+
+    /**
+     * Define o perfil de recursos obtido pelas permissões do dono
+     *
+     * @param ownerProfile Nome do perfil
+     */
+    public void setOwnerProfile(String ownerProfile) {
+        this.ownerProfile = ownerProfile != null && !ownerProfile.isEmpty() ? ownerProfile : null;
+    }
+
     /**
      * Obtém o tempo como uma string formatada
      *
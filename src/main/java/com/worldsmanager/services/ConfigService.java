@@ -4,6 +4,7 @@ import com.worldsmanager.models.WorldSettings;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.WorldType;
+import org.bukkit.configuration.ConfigurationSection;
 
 import java.util.List;
 
@@ -22,6 +23,14 @@ public interface ConfigService {
      */
     void saveConfig();
 
+    /**
+     * Obtém uma seção do config.yml para configurações com estrutura livre
+     *
+     * @param path Caminho da seção
+     * @return Seção encontrada ou null se não existir
+     */
+    ConfigurationSection getSection(String path);
+
     /**
      * Obtém as configurações padrão para novos mundos
      *
@@ -163,6 +172,13 @@ public interface ConfigService {
      */
     String getWorldsServerName();
 
+    /**
+     * Obtém os servidores de mundos entre os quais os mundos são distribuídos
+     *
+     * @return Nomes de cross-server.worlds-servers (vazio = apenas o worlds-server)
+     */
+    List<String> getWorldsServers();
+
     /**
      * Verifica se o teleporte automático está habilitado
      *
@@ -177,6 +193,545 @@ public interface ConfigService {
      */
     int getTeleportDelay();
 
+    /**
+     * Verifica se os snapshots de mundos estão habilitados
+     *
+     * @return true se os snapshots estiverem habilitados
+     */
+    boolean isSnapshotsEnabled();
+
+    /**
+     * Obtém o limite de I/O das operações de snapshot
+     *
+     * @return Limite em KB por segundo (0 = ilimitado)
+     */
+    int getSnapshotIoLimitKb();
+
+    /**
+     * Obtém o número máximo de snapshots mantidos por mundo
+     *
+     * @return Máximo de snapshots (0 = ilimitado)
+     */
+    int getSnapshotMaxPerWorld();
+
+    /**
+     * Obtém o intervalo dos snapshots automáticos
+     *
+     * @return Intervalo em minutos (0 = desativado)
+     */
+    int getSnapshotIntervalMinutes();
+
+    /**
+     * Obtém o número de threads de I/O para exportação e importação
+     *
+     * @return Número de threads
+     */
+    int getTransferIoThreads();
+
+    /**
+     * Obtém o limite de I/O de cada exportação ou importação
+     *
+     * @return Limite em KB por segundo (0 = ilimitado)
+     */
+    int getTransferIoLimitKb();
+
+    /**
+     * Obtém o tamanho máximo descompactado de um mundo importado
+     *
+     * @return Tamanho máximo em MB
+     */
+    int getMaxImportSizeMb();
+
+    /**
+     * Obtém o número máximo de carregamentos ou criações de mundo em andamento
+     *
+     * @return Número máximo de operações simultâneas
+     */
+    int getWorldLoadMaxConcurrent();
+
+    /**
+     * Obtém o número máximo de mundos carregados ou criados por tick
+     *
+     * @return Operações por tick
+     */
+    int getWorldLoadMaxPerTick();
+
+    /**
+     * Obtém o orçamento de tempo por tick para carregar ou criar mundos
+     *
+     * @return Orçamento em milissegundos
+     */
+    int getWorldLoadTickBudgetMs();
+
+    /**
+     * Obtém o intervalo dos avisos de posição na fila de carregamento
+     *
+     * @return Intervalo em segundos (0 = desativado)
+     */
+    int getWorldLoadPositionUpdateSeconds();
+
+    /**
+     * Obtém o limite de entidades por chunk nos mundos gerenciados
+     *
+     * @return Limite de entidades (0 = desativado)
+     */
+    int getEntityLimitPerChunk();
+
+    /**
+     * Obtém quantos chunks a varredura de entidades verifica por tick
+     *
+     * @return Chunks verificados por tick
+     */
+    int getEntitySweepChunksPerTick();
+
+    /**
+     * Obtém por quanto tempo a decisão de acesso de um jogador fica em cache
+     *
+     * @return Tempo em segundos
+     */
+    int getAccessCacheSeconds();
+
+    /**
+     * Obtém as ações bloqueadas para jogadores sem acesso ao mundo
+     *
+     * @return Nomes das ações em security.blocked-actions
+     */
+    List<String> getBlockedActions();
+
+    /**
+     * Verifica se o profiler de mundos está habilitado
+     *
+     * @return true se o profiler estiver habilitado
+     */
+    boolean isProfilerEnabled();
+
+    /**
+     * Obtém o intervalo mínimo entre duas amostras do mesmo mundo
+     *
+     * @return Intervalo em segundos
+     */
+    int getProfilerSampleIntervalSeconds();
+
+    /**
+     * Obtém por quanto tempo o histórico de amostras é mantido
+     *
+     * @return Histórico em minutos
+     */
+    int getProfilerHistoryMinutes();
+
+    /**
+     * Verifica se a limitação automática de mundos está habilitada
+     *
+     * @return true se a limitação estiver habilitada
+     */
+    boolean isThrottleEnabled();
+
+    /**
+     * Obtém o intervalo entre as verificações de custo dos mundos
+     *
+     * @return Intervalo em segundos
+     */
+    int getThrottleCheckIntervalSeconds();
+
+    /**
+     * Obtém o tempo de tick máximo estimado para um mundo antes de ser limitado
+     *
+     * @return Tempo em milissegundos por tick
+     */
+    double getThrottleMaxWorldMspt();
+
+    /**
+     * Obtém o score de custo máximo de um mundo quando o servidor não informa o tempo de tick
+     *
+     * @return Score máximo
+     */
+    int getThrottleMaxWorldScore();
+
+    /**
+     * Obtém quantas verificações seguidas acima do orçamento aumentam a limitação
+     *
+     * @return Número de verificações
+     */
+    int getThrottleEscalateAfterChecks();
+
+    /**
+     * Obtém quantas verificações seguidas abaixo do limite reduzem a limitação
+     *
+     * @return Número de verificações
+     */
+    int getThrottleRestoreAfterChecks();
+
+    /**
+     * Obtém a fração do orçamento abaixo da qual o mundo é considerado calmo
+     *
+     * @return Fração do orçamento
+     */
+    double getThrottleRestoreRatio();
+
+    /**
+     * Verifica se o detector de máquinas de lag está habilitado
+     *
+     * @return true se o detector estiver habilitado
+     */
+    boolean isLagMachineDetectionEnabled();
+
+    /**
+     * Obtém o número de atualizações por segundo em uma posição que caracteriza uma máquina de lag
+     *
+     * @return Atualizações por segundo
+     */
+    int getLagMachineMaxUpdatesPerSecond();
+
+    /**
+     * Obtém a ação aplicada às máquinas de lag detectadas
+     *
+     * @return NONE, DISABLE ou BREAK
+     */
+    String getLagMachineAction();
+
+    /**
+     * Obtém o intervalo mínimo entre avisos de detecção no mesmo mundo
+     *
+     * @return Intervalo em segundos
+     */
+    int getLagMachineReportCooldownSeconds();
+
+    /**
+     * Obtém o tempo sem jogadores após o qual um mundo é descarregado
+     *
+     * @return Tempo em minutos (0 = desativado)
+     */
+    int getUnloadUnusedWorldsMinutes();
+
+    /**
+     * Verifica se o modo de repouso de mundos vazios está habilitado
+     *
+     * @return true se o modo de repouso estiver habilitado
+     */
+    boolean isQuiescenceEnabled();
+
+    /**
+     * Obtém o tempo sem jogadores antes de um mundo entrar em repouso
+     *
+     * @return Tempo em segundos
+     */
+    int getQuiescenceGraceSeconds();
+
+    /**
+     * Obtém o intervalo entre as verificações de mundos vazios
+     *
+     * @return Intervalo em segundos
+     */
+    int getQuiescenceCheckIntervalSeconds();
+
+    /**
+     * Verifica se o controle de memória está habilitado
+     *
+     * @return true se o controle estiver habilitado
+     */
+    boolean isMemoryGovernorEnabled();
+
+    /**
+     * Obtém a fração da old gen a partir da qual mundos vazios são descarregados
+     *
+     * @return Fração entre 0 e 1
+     */
+    double getMemorySoftWatermark();
+
+    /**
+     * Obtém a fração da old gen a partir da qual carregamentos e criações são suspensos
+     *
+     * @return Fração entre 0 e 1
+     */
+    double getMemoryHardWatermark();
+
+    /**
+     * Obtém a fração da old gen abaixo da qual as restrições são removidas
+     *
+     * @return Fração entre 0 e 1
+     */
+    double getMemoryRecoverWatermark();
+
+    /**
+     * Obtém o intervalo da verificação periódica de memória
+     *
+     * @return Intervalo em segundos
+     */
+    int getMemoryCheckIntervalSeconds();
+
+    /**
+     * Obtém quantos mundos vazios podem ser descarregados a cada verificação sob pressão de memória
+     *
+     * @return Número de mundos
+     */
+    int getMemoryUnloadPerCheck();
+
+    /**
+     * Obtém o raio de chunks carregados ao redor do destino antes de um teleporte
+     *
+     * @return Raio em chunks
+     */
+    int getTeleportPreloadRadius();
+
+    /**
+     * Obtém quantos chunks são carregados por tick quando o servidor não oferece carregamento assíncrono
+     *
+     * @return Chunks por tick
+     */
+    int getTeleportFallbackChunksPerTick();
+
+    /**
+     * Verifica se o pré-carregamento de mundos populares está habilitado
+     *
+     * @return true se o pré-carregamento estiver habilitado
+     */
+    boolean isPreloadEnabled();
+
+    /**
+     * Obtém o intervalo entre as rodadas de pré-carregamento
+     *
+     * @return Intervalo em segundos
+     */
+    int getPreloadIntervalSeconds();
+
+    /**
+     * Obtém quantos mundos do topo do ranking são mantidos pré-carregados
+     *
+     * @return Número de mundos
+     */
+    int getPreloadTopWorlds();
+
+    /**
+     * Obtém a meia-vida da pontuação de popularidade dos mundos
+     *
+     * @return Meia-vida em horas
+     */
+    int getPreloadHalfLifeHours();
+
+    /**
+     * Verifica se a pré-leitura dos arquivos de mundos está habilitada
+     *
+     * @return true se a pré-leitura estiver habilitada
+     */
+    boolean isPrefetchEnabled();
+
+    /**
+     * Obtém o raio de chunks ao redor do spawn cujas regiões são pré-lidas
+     *
+     * @return Raio em chunks
+     */
+    int getPrefetchChunkRadius();
+
+    /**
+     * Obtém a versão do protocolo usada para enviar mensagens entre servidores (0 = formato legado)
+     *
+     * @return Versão do protocolo
+     */
+    int getMessagingProtocolVersion();
+
+    /**
+     * Verifica se as mensagens para o mesmo servidor são agrupadas em um lote por tick
+     *
+     * @return true se o agrupamento estiver habilitado
+     */
+    boolean isMessageBatchingEnabled();
+
+    /**
+     * Obtém o tamanho máximo de um lote de mensagens
+     *
+     * @return Tamanho máximo em bytes
+     */
+    int getMessageBatchMaxBytes();
+
+    /**
+     * Obtém o nome deste servidor na rede BungeeCord (vazio para perguntar ao proxy)
+     *
+     * @return Nome do servidor
+     */
+    String getServerName();
+
+    /**
+     * Obtém o tempo de espera pela confirmação antes de reenviar uma mensagem
+     *
+     * @return Tempo em segundos
+     */
+    int getMessageAckTimeoutSeconds();
+
+    /**
+     * Obtém o número máximo de envios de uma mensagem confiável
+     *
+     * @return Número máximo de tentativas
+     */
+    int getMessageMaxAttempts();
+
+    /**
+     * Obtém por quanto tempo uma mensagem não confirmada é mantida na caixa de saída
+     *
+     * @return Tempo em segundos
+     */
+    int getOutboxMaxAgeSeconds();
+
+    /**
+     * Obtém o transporte das mensagens entre servidores (bungee, socket ou loopback)
+     *
+     * @return Nome do transporte
+     */
+    String getMessageTransport();
+
+    /**
+     * Obtém o intervalo entre as medições de latência dos transportes (0 desativa)
+     *
+     * @return Intervalo em segundos
+     */
+    int getTransportPingIntervalSeconds();
+
+    /**
+     * Obtém a porta em que o transporte por socket escuta (0 para não escutar)
+     *
+     * @return Porta TCP
+     */
+    int getSocketTransportPort();
+
+    /**
+     * Obtém o endereço em que o transporte por socket escuta (padrão 127.0.0.1)
+     *
+     * @return Endereço local
+     */
+    String getSocketTransportBindAddress();
+
+    /**
+     * Obtém os servidores alcançados pelo transporte por socket
+     *
+     * @return Entradas de messaging.socket.peers no formato Nome=host:porta
+     */
+    List<String> getSocketTransportPeers();
+
+    /**
+     * Obtém o segredo compartilhado exigido nas conexões do transporte por socket
+     *
+     * @return Segredo (vazio desativa o transporte)
+     */
+    String getSocketTransportSecret();
+
+    /**
+     * Obtém o intervalo entre os heartbeats publicados pelos servidores de mundos (0 desativa)
+     *
+     * @return Intervalo em segundos
+     */
+    int getHeartbeatIntervalSeconds();
+
+    /**
+     * Obtém por quanto tempo o último heartbeat de um servidor de mundos continua valendo
+     *
+     * @return Validade em segundos
+     */
+    int getHeartbeatTimeoutSeconds();
+
+    /**
+     * Obtém o TPS abaixo do qual um servidor de mundos se declara sobrecarregado
+     *
+     * @return TPS mínimo
+     */
+    double getHeartbeatOverloadTps();
+
+    /**
+     * Obtém o tempo médio de tick acima do qual um servidor de mundos se declara sobrecarregado
+     *
+     * @return Milissegundos por tick
+     */
+    double getHeartbeatOverloadMspt();
+
+    /**
+     * Obtém o espaço livre em disco abaixo do qual um servidor de mundos se declara sobrecarregado
+     *
+     * @return Espaço mínimo em MB
+     */
+    int getHeartbeatMinFreeDiskMb();
+
+    /**
+     * Obtém o tamanho dos trechos de arquivo enviados em uma migração (KB)
+     *
+     * @return Tamanho em KB
+     */
+    int getMigrationChunkSizeKb();
+
+    /**
+     * Obtém quantos trechos de uma migração podem aguardar confirmação ao mesmo tempo
+     *
+     * @return Quantidade de trechos
+     */
+    int getMigrationWindow();
+
+    /**
+     * Obtém o tempo de espera pela resposta do destino antes de repetir o commit
+     *
+     * @return Tempo em segundos
+     */
+    int getMigrationCommitTimeoutSeconds();
+
+    /**
+     * Verifica se mundos são migrados automaticamente de servidores sobrecarregados
+     *
+     * @return true se a migração automática estiver ativada
+     */
+    boolean isMigrationAutoEnabled();
+
+    /**
+     * Obtém o intervalo entre as verificações da migração automática
+     *
+     * @return Intervalo em segundos
+     */
+    int getMigrationAutoCheckIntervalSeconds();
+
+    /**
+     * Obtém a diferença mínima de pontuação entre este servidor e o destino para migrar automaticamente
+     *
+     * @return Diferença de pontuação
+     */
+    double getMigrationAutoMinScoreGap();
+
+    /**
+     * Obtém o máximo de jogadores em um mundo escolhido pela migração automática
+     *
+     * @return Quantidade de jogadores
+     */
+    int getMigrationAutoMaxPlayers();
+
+    /**
+     * Verifica se um lease no banco é exigido antes de carregar um mundo
+     *
+     * @return true se os leases estiverem ativados
+     */
+    boolean isLeasesEnabled();
+
+    /**
+     * Obtém o identificador deste servidor nos leases (vazio = cross-server.server-name ou um ID gerado)
+     *
+     * @return Identificador configurado
+     */
+    String getLeaseNodeId();
+
+    /**
+     * Obtém por quanto tempo um lease vale sem renovação
+     *
+     * @return Tempo em segundos
+     */
+    int getLeaseTtlSeconds();
+
+    /**
+     * Obtém o intervalo entre as renovações dos leases deste servidor
+     *
+     * @return Intervalo em segundos
+     */
+    int getLeaseRenewIntervalSeconds();
+
+    /**
+     * Obtém por quanto tempo os leases continuam valendo depois que o plugin é desativado
+     *
+     * @return Tempo em segundos
+     */
+    int getLeaseShutdownGraceSeconds();
+
     /**
      * Obtém o idioma padrão
      *
@@ -0,0 +1,159 @@
+package com.worldsmanager.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pré-carregamento dos chunks de destino antes de um teleporte.
+ *
+ * No Paper usa World.getChunkAtAsync e Entity.teleportAsync, obtidos por
+ * reflexão, para que a leitura ou geração dos chunks não aconteça na thread
+ * principal. No Spigot os chunks são carregados aos poucos, alguns por tick,
+ * antes do teleporte. Em ambos os casos cada chunk é preso por um ticket do
+ * plugin logo depois de carregado, até release() ser chamado. O ticket não
+ * vem antes: adicioná-lo carrega o chunk na hora, na thread principal.
+ */
+public class ChunkPreloader {
+
+    private static final Method GET_CHUNK_AT_ASYNC = findMethod(World.class, "getChunkAtAsync", int.class, int.class, boolean.class);
+    private static final Method TELEPORT_ASYNC = findMethod(Entity.class, "teleportAsync", Location.class);
+
+    private ChunkPreloader() {
+    }
+
+    private static Method findMethod(Class<?> type, String name, Class<?>... parameters) {
+        try {
+            return type.getMethod(name, parameters);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Verifica se o servidor oferece carregamento assíncrono de chunks
+     *
+     * @return true no Paper
+     */
+    public static boolean isAsyncSupported() {
+        return GET_CHUNK_AT_ASYNC != null;
+    }
+
+    /**
+     * Carrega a área de chunks ao redor de uma localização
+     *
+     * @param plugin Plugin dono dos tickets
+     * @param center Localização de destino
+     * @param radius Raio em chunks (0 = apenas o chunk do destino)
+     * @param chunksPerTick Chunks carregados por tick quando não houver carregamento assíncrono
+     * @return CompletableFuture completado na thread principal quando todos os chunks estiverem carregados
+     */
+    public static CompletableFuture<Void> preload(Plugin plugin, Location center, int radius, int chunksPerTick) {
+        World world = center.getWorld();
+        List<int[]> chunks = getChunksAround(center, radius);
+
+        if (GET_CHUNK_AT_ASYNC != null) {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks.size()];
+            try {
+                for (int i = 0; i < chunks.size(); i++) {
+                    int[] chunk = chunks.get(i);
+                    // O Paper completa o futuro na thread principal, com o chunk já carregado
+                    futures[i] = ((CompletableFuture<?>) GET_CHUNK_AT_ASYNC.invoke(world, chunk[0], chunk[1], true))
+                            .thenAccept(loaded -> world.addPluginChunkTicket(chunk[0], chunk[1], plugin));
+                }
+                return CompletableFuture.allOf(futures);
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                plugin.getLogger().warning("Falha ao carregar chunks de forma assíncrona, usando o carregamento por ticks: " +
+                        e.getMessage());
+            }
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        int perTick = Math.max(1, chunksPerTick);
+        new BukkitRunnable() {
+            private int index;
+
+            @Override
+            public void run() {
+                int loaded = 0;
+                while (index < chunks.size() && loaded < perTick) {
+                    int[] chunk = chunks.get(index++);
+                    if (!world.isChunkLoaded(chunk[0], chunk[1])) {
+                        world.loadChunk(chunk[0], chunk[1], true);
+                        loaded++;
+                    }
+                    world.addPluginChunkTicket(chunk[0], chunk[1], plugin);
+                }
+
+                if (index >= chunks.size()) {
+                    cancel();
+                    future.complete(null);
+                }
+            }
+        }.runTaskTimer(plugin, 0L, 1L);
+        return future;
+    }
+
+    /**
+     * Libera os tickets adicionados por preload()
+     *
+     * @param plugin Plugin dono dos tickets
+     * @param center Localização usada no preload
+     * @param radius Raio usado no preload
+     */
+    public static void release(Plugin plugin, Location center, int radius) {
+        World world = center.getWorld();
+        for (int[] chunk : getChunksAround(center, radius)) {
+            world.removePluginChunkTicket(chunk[0], chunk[1], plugin);
+        }
+    }
+
+    /**
+     * Teleporta um jogador, de forma assíncrona quando o servidor permitir
+     *
+     * @param player Jogador
+     * @param location Destino
+     * @return CompletableFuture com o resultado do teleporte
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletableFuture<Boolean> teleport(Player player, Location location) {
+        if (TELEPORT_ASYNC != null) {
+            try {
+                return (CompletableFuture<Boolean>) TELEPORT_ASYNC.invoke(player, location);
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                Bukkit.getLogger().fine("teleportAsync indisponível: " + e.getMessage());
+            }
+        }
+        return CompletableFuture.completedFuture(player.teleport(location));
+    }
+
+    /**
+     * Lista os chunks ao redor de uma localização, do centro para as bordas
+     */
+    private static List<int[]> getChunksAround(Location center, int radius) {
+        int centerX = center.getBlockX() >> 4;
+        int centerZ = center.getBlockZ() >> 4;
+        int size = Math.max(0, radius);
+
+        List<int[]> chunks = new ArrayList<>((2 * size + 1) * (2 * size + 1));
+        for (int ring = 0; ring <= size; ring++) {
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dz = -ring; dz <= ring; dz++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) == ring) {
+                        chunks.add(new int[]{centerX + dx, centerZ + dz});
+                    }
+                }
+            }
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,118 @@
+package com.worldsmanager.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Anel de hash consistente para distribuir chaves entre servidores.
+ *
+ * Cada servidor ocupa vários pontos (nós virtuais) do anel, e uma chave
+ * pertence ao primeiro ponto no sentido horário a partir do seu hash. Ao
+ * incluir ou remover um servidor, só as chaves dos trechos que ele ganha ou
+ * perde mudam de dono: cerca de 1/N delas com N servidores. Os nomes são
+ * comparados sem diferenciar maiúsculas. Imutável e thread-safe.
+ */
+public final class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final List<String> nodes;
+
+    /**
+     * @param nodes Servidores do anel
+     * @param virtualNodes Pontos de cada servidor no anel
+     */
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        List<String> distinct = new ArrayList<>();
+        for (String node : nodes) {
+            if (node == null || node.trim().isEmpty()) {
+                continue;
+            }
+            String trimmed = node.trim();
+            boolean duplicate = false;
+            for (String existing : distinct) {
+                if (existing.equalsIgnoreCase(trimmed)) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (duplicate) {
+                continue;
+            }
+
+            distinct.add(trimmed);
+            String base = trimmed.toLowerCase(Locale.ROOT);
+            for (int i = 0; i < Math.max(1, virtualNodes); i++) {
+                // Em uma colisão de pontos, fica o servidor de menor nome para o resultado não depender da ordem
+                long point = hash(base + "#" + i);
+                String current = ring.get(point);
+                if (current == null || current.compareToIgnoreCase(trimmed) > 0) {
+                    ring.put(point, trimmed);
+                }
+            }
+        }
+        this.nodes = Collections.unmodifiableList(distinct);
+    }
+
+    /**
+     * Obtém o servidor responsável por uma chave
+     *
+     * @param key Chave (por exemplo, o nome interno de um mundo)
+     * @return Servidor responsável, ou null se o anel estiver vazio
+     */
+    public String getNode(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Verifica se um servidor faz parte do anel
+     *
+     * @param node Nome do servidor
+     * @return true se o servidor estiver no anel
+     */
+    public boolean contains(String node) {
+        for (String existing : nodes) {
+            if (existing.equalsIgnoreCase(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    /**
+     * Calcula a posição de uma chave no anel com os 8 primeiros bytes do MD5,
+     * que espalham bem chaves parecidas como wm_1a2b3c4d
+     */
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (digest[i] & 0xFF);
+            }
+            return value;
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM tem MD5
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.worldsmanager.utils;
+
+/**
+ * Limitador de taxa de I/O baseado em token bucket.
+ * Usado pelas operações em segundo plano (snapshots, exportação) para que
+ * nunca disputem o disco com o salvamento de chunks do servidor.
+ */
+public class IoRateLimiter {
+
+    private final long bytesPerSecond;
+    private double availableTokens;
+    private long lastRefill;
+
+    /**
+     * Cria um limitador
+     *
+     * @param bytesPerSecond Bytes por segundo permitidos (0 ou negativo = ilimitado)
+     */
+    public IoRateLimiter(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.availableTokens = bytesPerSecond;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Cria um limitador a partir de um valor em KB/s
+     *
+     * @param kilobytesPerSecond KB por segundo (0 = ilimitado)
+     * @return Limitador configurado
+     */
+    public static IoRateLimiter ofKilobytes(int kilobytesPerSecond) {
+        return new IoRateLimiter(kilobytesPerSecond * 1024L);
+    }
+
+    /**
+     * Verifica se o limitador está ativo
+     *
+     * @return true se houver limite configurado
+     */
+    public boolean isLimited() {
+        return bytesPerSecond > 0;
+    }
+
+    /**
+     * Consome a quantidade de bytes indicada, bloqueando a thread atual
+     * até que haja orçamento disponível. Nunca deve ser chamado na thread principal.
+     *
+     * @param bytes Quantidade de bytes lidos ou escritos
+     * @throws InterruptedException Se a thread for interrompida durante a espera
+     */
+    public synchronized void acquire(long bytes) throws InterruptedException {
+        if (bytesPerSecond <= 0 || bytes <= 0) {
+            return;
+        }
+
+        refill();
+        availableTokens -= bytes;
+
+        if (availableTokens < 0) {
+            long waitMillis = (long) Math.ceil((-availableTokens * 1000.0) / bytesPerSecond);
+            if (waitMillis > 0) {
+                // Mantém o monitor durante a espera para serializar as threads que dividem o limite
+                Thread.sleep(waitMillis);
+            }
+            refill();
+        }
+    }
+
+    /**
+     * Reabastece os tokens de acordo com o tempo decorrido
+     */
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefill) / 1_000_000_000.0;
+        lastRefill = now;
+        // Permite no máximo um segundo de rajada acumulada
+        availableTokens = Math.min(bytesPerSecond, availableTokens + elapsedSeconds * bytesPerSecond);
+    }
+
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+}
@@ -0,0 +1,250 @@
+package com.worldsmanager.utils;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de long para int com endereçamento aberto, sem objetos por entrada.
+ *
+ * Usado para contadores por chunk e por posição nos caminhos quentes dos
+ * eventos, onde um HashMap&lt;Long, Integer&gt; geraria lixo a cada acesso.
+ * Não é thread-safe.
+ */
+public class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    public LongIntHashMap() {
+        this(64);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Monta a chave de um chunk a partir de suas coordenadas
+     *
+     * @param chunkX Coordenada X do chunk
+     * @param chunkZ Coordenada Z do chunk
+     * @return Chave do chunk
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Monta a chave de uma posição de bloco (26 bits para X e Z, 12 bits para Y)
+     *
+     * @param x Coordenada X
+     * @param y Coordenada Y
+     * @param z Coordenada Z
+     * @return Chave da posição
+     */
+    public static long blockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFFL);
+    }
+
+    public static int blockKeyX(long key) {
+        return (int) (key >> 38);
+    }
+
+    public static int blockKeyY(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    public static int blockKeyZ(long key) {
+        return (int) (key << 26 >> 38);
+    }
+
+    /**
+     * Obtém o valor de uma chave
+     *
+     * @param key Chave
+     * @return Valor ou 0 se a chave não existir
+     */
+    public int get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : 0;
+    }
+
+    /**
+     * Verifica se a chave existe
+     *
+     * @param key Chave
+     * @return true se existir
+     */
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Define o valor de uma chave
+     *
+     * @param key Chave
+     * @param value Valor
+     */
+    public void put(long key, int value) {
+        int slot = slotFor(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insertAt(slot, key, value);
+    }
+
+    /**
+     * Soma um valor ao existente (0 se a chave não existir)
+     *
+     * @param key Chave
+     * @param delta Valor a somar
+     * @return Novo valor
+     */
+    public int addTo(long key, int delta) {
+        int slot = slotFor(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                values[slot] += delta;
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        insertAt(slot, key, delta);
+        return delta;
+    }
+
+    /**
+     * Remove uma chave
+     *
+     * @param key Chave
+     * @return Valor removido ou 0 se a chave não existia
+     */
+    public int remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return 0;
+        }
+
+        int removed = values[slot];
+        size--;
+
+        // Desloca as entradas seguintes para manter as sequências de sondagem sem marcadores
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int ideal = slotFor(keys[next]);
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap] = false;
+        return removed;
+    }
+
+    /**
+     * Remove todas as entradas mantendo a capacidade
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(used, false);
+            size = 0;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Percorre as entradas do mapa
+     *
+     * @param visitor Função chamada para cada entrada
+     */
+    public void forEach(EntryVisitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Função de visita das entradas
+     */
+    public interface EntryVisitor {
+        void visit(long key, int value);
+    }
+
+    private int find(long key) {
+        int slot = slotFor(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insertAt(int slot, long key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private int slotFor(long key) {
+        // Mistura os bits para espalhar coordenadas próximas
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        allocate(capacity);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotFor(oldKeys[i]);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
+                size++;
+            }
+        }
+    }
+}
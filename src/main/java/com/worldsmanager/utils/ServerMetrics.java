@@ -0,0 +1,90 @@
+package com.worldsmanager.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+import java.lang.reflect.Method;
+
+/**
+ * Métricas gerais do servidor (TPS e tempo médio de tick).
+ *
+ * No Paper os valores vêm de Server.getTPS() e Server.getAverageTickTime(),
+ * obtidos por reflexão. No Spigot o TPS é estimado pelo intervalo entre ticks
+ * medido em onTick(), que deve ser chamado uma vez por tick; o tempo de tick
+ * não é conhecido nesse caso e é informado como -1.
+ */
+public class ServerMetrics {
+
+    private static final Method GET_TPS = findServerMethod("getTPS");
+    private static final Method GET_AVERAGE_TICK_TIME = findServerMethod("getAverageTickTime");
+
+    // Suavização da média móvel exponencial do intervalo entre ticks
+    private static final double SMOOTHING = 0.05;
+
+    private long lastTickNanos;
+    private double averageIntervalMillis = 50.0;
+
+    /**
+     * Registra a passagem de um tick
+     */
+    public void onTick() {
+        long now = System.nanoTime();
+        if (lastTickNanos != 0) {
+            double interval = (now - lastTickNanos) / 1_000_000.0;
+            averageIntervalMillis += (interval - averageIntervalMillis) * SMOOTHING;
+        }
+        lastTickNanos = now;
+    }
+
+    /**
+     * Obtém o TPS do último minuto
+     *
+     * @return TPS (no máximo 20)
+     */
+    public double getTps() {
+        if (GET_TPS != null) {
+            try {
+                double[] tps = (double[]) GET_TPS.invoke(Bukkit.getServer());
+                if (tps != null && tps.length > 0) {
+                    return Math.min(20.0, tps[0]);
+                }
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                // Usa a estimativa própria
+            }
+        }
+        return Math.min(20.0, 1000.0 / Math.max(1.0, averageIntervalMillis));
+    }
+
+    /**
+     * Obtém o tempo médio de processamento de um tick
+     *
+     * @return Milissegundos por tick ou -1 se o servidor não informar
+     */
+    public double getAverageTickMillis() {
+        if (GET_AVERAGE_TICK_TIME != null) {
+            try {
+                return ((Number) GET_AVERAGE_TICK_TIME.invoke(Bukkit.getServer())).doubleValue();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Verifica se o tempo de tick é informado pelo servidor
+     *
+     * @return true no Paper
+     */
+    public boolean hasTickTime() {
+        return GET_AVERAGE_TICK_TIME != null;
+    }
+
+    private static Method findServerMethod(String name) {
+        try {
+            return Server.class.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
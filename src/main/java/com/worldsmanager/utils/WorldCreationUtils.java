@@ -317,6 +317,31 @@ public class WorldCreationUtils {
         return new File(playerDir, worldName);
     }
 
+    /**
+     * Obtém a pasta com a cópia mais recente de um mundo.
+     * Mundos carregados rodam a partir da cópia no container do servidor,
+     * então ela tem prioridade sobre a pasta de armazenamento do plugin.
+     *
+     * @param worldName Nome do mundo
+     * @param playerFolder Pasta do jogador (pode ser null)
+     * @return Pasta do mundo ou null se nenhuma cópia existir
+     */
+    public static File resolveLiveWorldFolder(String worldName, String playerFolder) {
+        File containerDir = new File(Bukkit.getWorldContainer(), worldName);
+        if (new File(containerDir, "level.dat").exists()) {
+            return containerDir;
+        }
+
+        File storageDir = (playerFolder != null && !playerFolder.isEmpty())
+                ? getWorldDirectoryInPath(worldName, playerFolder)
+                : getWorldDirectory(worldName);
+        if (new File(storageDir, "level.dat").exists()) {
+            return storageDir;
+        }
+
+        return null;
+    }
+
     /**
      * Carrega um mundo existente da pasta de mundos do plugin
      *
@@ -411,58 +436,7 @@ public class WorldCreationUtils {
                 return existingWorld;
             }
 
-            // Verifica se o diretório do mundo existe no caminho personalizado
-            File worldsBaseFolder = getWorldsBaseFolder();
-            File playerDir = new File(worldsBaseFolder, playerFolder);
-            File worldDir = new File(playerDir, worldName);
-
-            // Log detalhado para diagnosticar problemas
-            logger.info("Tentando carregar mundo de: " + worldDir.getAbsolutePath());
-            if (!worldDir.exists()) {
-                logger.warning("Diretório do mundo não existe no caminho especificado: " + worldDir.getAbsolutePath());
-
-                // Tentar encontrar o mundo procurando em todas as subpastas
-                logger.info("Tentando encontrar mundo em todas as subpastas de " + worldsBaseFolder.getAbsolutePath());
-                WorldLocator locator = new WorldLocator(worldName);
-                try {
-                    Files.walkFileTree(worldsBaseFolder.toPath(), locator);
-                    if (locator.getFoundWorldPath() != null) {
-                        worldDir = locator.getFoundWorldPath().toFile();
-                        logger.info("Mundo encontrado em: " + worldDir.getAbsolutePath());
-                    } else {
-                        logger.warning("Mundo não encontrado em nenhuma subpasta.");
-                        return null;
-                    }
-                } catch (IOException e) {
-                    logger.severe("Erro ao procurar mundo: " + e.getMessage());
-                    return null;
-                }
-            }
-
-            // Copiar o mundo para o diretório padrão para carregamento
-            File defaultWorldDir = new File(Bukkit.getWorldContainer(), worldName);
-            try {
-                // Se já existir, remova primeiro
-                if (defaultWorldDir.exists()) {
-                    deleteDirectory(defaultWorldDir);
-                }
-
-                logger.info("Copiando mundo de " + worldDir.getAbsolutePath() +
-                        " para " + defaultWorldDir.getAbsolutePath());
-
-                copyDirectory(worldDir, defaultWorldDir);
-                logger.info("Mundo copiado do caminho personalizado para carregamento: " + worldName);
-
-                // Verifica conteúdo
-                File[] files = defaultWorldDir.listFiles();
-                if (files != null) {
-                    logger.info("Arquivos copiados para pasta de carregamento:");
-                    for (File file : files) {
-                        logger.info("- " + file.getName());
-                    }
-                }
-            } catch (IOException e) {
-                logger.log(Level.SEVERE, "Erro ao copiar mundo do caminho personalizado", e);
+            if (!prepareWorldFromPath(worldName, playerFolder)) {
                 return null;
             }
 
@@ -489,6 +463,73 @@ public class WorldCreationUtils {
         }
     }
 
+    /**
+     * Copia um mundo da pasta do plugin para o container do servidor, deixando-o
+     * pronto para o WorldCreator. Não usa a API do Bukkit além de getWorldContainer,
+     * então pode ser executado fora da thread principal.
+     *
+     * @param worldName Nome do mundo
+     * @param playerFolder Pasta do jogador
+     * @return true se a cópia foi feita
+     */
+    public static boolean prepareWorldFromPath(String worldName, String playerFolder) {
+        // Verifica se o diretório do mundo existe no caminho personalizado
+        File worldsBaseFolder = getWorldsBaseFolder();
+        File playerDir = new File(worldsBaseFolder, playerFolder);
+        File worldDir = new File(playerDir, worldName);
+
+        // Log detalhado para diagnosticar problemas
+        logger.info("Tentando carregar mundo de: " + worldDir.getAbsolutePath());
+        if (!worldDir.exists()) {
+            logger.warning("Diretório do mundo não existe no caminho especificado: " + worldDir.getAbsolutePath());
+
+            // Tentar encontrar o mundo procurando em todas as subpastas
+            logger.info("Tentando encontrar mundo em todas as subpastas de " + worldsBaseFolder.getAbsolutePath());
+            WorldLocator locator = new WorldLocator(worldName);
+            try {
+                Files.walkFileTree(worldsBaseFolder.toPath(), locator);
+                if (locator.getFoundWorldPath() != null) {
+                    worldDir = locator.getFoundWorldPath().toFile();
+                    logger.info("Mundo encontrado em: " + worldDir.getAbsolutePath());
+                } else {
+                    logger.warning("Mundo não encontrado em nenhuma subpasta.");
+                    return false;
+                }
+            } catch (IOException e) {
+                logger.severe("Erro ao procurar mundo: " + e.getMessage());
+                return false;
+            }
+        }
+
+        // Copiar o mundo para o diretório padrão para carregamento
+        File defaultWorldDir = new File(Bukkit.getWorldContainer(), worldName);
+        try {
+            // Se já existir, remova primeiro
+            if (defaultWorldDir.exists()) {
+                deleteDirectory(defaultWorldDir);
+            }
+
+            logger.info("Copiando mundo de " + worldDir.getAbsolutePath() +
+                    " para " + defaultWorldDir.getAbsolutePath());
+
+            copyDirectory(worldDir, defaultWorldDir);
+            logger.info("Mundo copiado do caminho personalizado para carregamento: " + worldName);
+
+            // Verifica conteúdo
+            File[] files = defaultWorldDir.listFiles();
+            if (files != null) {
+                logger.info("Arquivos copiados para pasta de carregamento:");
+                for (File file : files) {
+                    logger.info("- " + file.getName());
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Erro ao copiar mundo do caminho personalizado", e);
+            return false;
+        }
+    }
+
     /**
      * Classe auxiliar para localizar um mundo em subpastas
      */
@@ -592,7 +633,7 @@ public class WorldCreationUtils {
      * @param directory Diretório a ser excluído
      * @throws IOException Se ocorrer um erro de IO
      */
-    private static void deleteDirectory(File directory) throws IOException {
+    public static void deleteDirectory(File directory) throws IOException {
         if (!directory.exists()) {
             return;
         }
@@ -0,0 +1,141 @@
+package com.worldsmanager.utils;
+
+import org.bukkit.World;
+
+/**
+ * Tabela de flags por mundo para os listeners de eventos muito frequentes
+ * (física, redstone, fluidos).
+ *
+ * O mundo é localizado pelo seu hash de identidade em um vetor pequeno e
+ * esparso, então a consulta custa uma comparação de referência e a leitura
+ * de um byte, sem HashMap nem busca do CustomWorld. A tabela é reconstruída
+ * pelo WorldManager sempre que as configurações de um mundo são aplicadas.
+ * Acesso apenas pela thread principal.
+ */
+public class WorldFlagTable {
+
+    public static final byte REDSTONE_DISABLED = 1;
+    public static final byte PHYSICS_DISABLED = 1 << 1;
+    public static final byte FLUIDS_DISABLED = 1 << 2;
+    public static final byte LEAF_DECAY_DISABLED = 1 << 3;
+
+    private static final int MIN_CAPACITY = 32;
+
+    private World[] worlds = new World[MIN_CAPACITY];
+    private byte[] flags = new byte[MIN_CAPACITY];
+    private int mask = MIN_CAPACITY - 1;
+    private int size;
+
+    /**
+     * Obtém as flags de um mundo
+     *
+     * @param world Mundo
+     * @return Flags do mundo (0 se o mundo não tiver restrições)
+     */
+    public byte get(World world) {
+        int slot = System.identityHashCode(world) & mask;
+        World current;
+        while ((current = worlds[slot]) != null) {
+            if (current == world) {
+                return flags[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Verifica se uma flag está ativa para o mundo
+     *
+     * @param world Mundo
+     * @param flag Flag a verificar
+     * @return true se a flag estiver ativa
+     */
+    public boolean has(World world, byte flag) {
+        return (get(world) & flag) != 0;
+    }
+
+    /**
+     * Define as flags de um mundo; flags 0 removem o mundo da tabela
+     *
+     * @param world Mundo
+     * @param value Flags
+     */
+    public void set(World world, byte value) {
+        if (value == 0) {
+            remove(world);
+            return;
+        }
+
+        int slot = System.identityHashCode(world) & mask;
+        while (worlds[slot] != null) {
+            if (worlds[slot] == world) {
+                flags[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        worlds[slot] = world;
+        flags[slot] = value;
+        size++;
+
+        // Mantém a tabela no máximo 1/4 ocupada para que a primeira posição quase sempre acerte
+        if (size * 4 > worlds.length) {
+            rebuild(worlds.length << 1, null);
+        }
+    }
+
+    /**
+     * Remove um mundo da tabela
+     *
+     * @param world Mundo
+     */
+    public void remove(World world) {
+        for (World current : worlds) {
+            if (current == world) {
+                rebuild(worlds.length, world);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove todos os mundos da tabela
+     */
+    public void clear() {
+        worlds = new World[MIN_CAPACITY];
+        flags = new byte[MIN_CAPACITY];
+        mask = MIN_CAPACITY - 1;
+        size = 0;
+    }
+
+    private void rebuild(int capacity, World excluded) {
+        World[] oldWorlds = worlds;
+        byte[] oldFlags = flags;
+
+        World[] newWorlds = new World[capacity];
+        byte[] newFlags = new byte[capacity];
+        int newMask = capacity - 1;
+        int newSize = 0;
+
+        for (int i = 0; i < oldWorlds.length; i++) {
+            World world = oldWorlds[i];
+            if (world == null || world == excluded) {
+                continue;
+            }
+            int slot = System.identityHashCode(world) & newMask;
+            while (newWorlds[slot] != null) {
+                slot = (slot + 1) & newMask;
+            }
+            newWorlds[slot] = world;
+            newFlags[slot] = oldFlags[i];
+            newSize++;
+        }
+
+        worlds = newWorlds;
+        flags = newFlags;
+        mask = newMask;
+        size = newSize;
+    }
+}